@@ -0,0 +1,92 @@
+package com.example.batch.validator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.batch.dto.OldCustomerDto;
+
+/**
+ * 顧客1件分の形式チェックについて、以前の正規表現による判定と{@link FieldFormats}の判定を比較するベンチマーク。
+ *
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec}で実行します
+ * （{@code -Djmh.args="FieldFormatsBenchmark -prof gc"}で割り当て量も計測できます）。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldFormatsBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^(0\\d{1,4}-\\d{1,4}-\\d{4}|0\\d{9,10})$");
+
+    private static final Pattern ZIP_PATTERN = Pattern.compile("^\\d{3}-\\d{4}$");
+
+    /** 正常な行と、3項目とも形式が不正な行 */
+    @Param({ "valid", "invalid" })
+    public String row;
+
+    private OldCustomerDto customer;
+
+    private final CustomerValidator validator = new CustomerValidator();
+
+    @Setup
+    public void setUp() {
+        boolean valid = "valid".equals(row);
+        customer = new OldCustomerDto();
+        customer.setCustomerCode("CUST001");
+        customer.setCustomerName("山田太郎");
+        customer.setEmail(valid ? "yamada.taro@example.com" : "yamada.taro@example");
+        customer.setPhone(valid ? "090-1234-5678" : "090-1234-567");
+        customer.setPostalCode(valid ? "150-0001" : "1500001");
+        customer.setGenderCode(1);
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        blackhole.consume(EMAIL_PATTERN.matcher(customer.getEmail()).matches());
+        blackhole.consume(PHONE_PATTERN.matcher(customer.getPhone()).matches());
+        blackhole.consume(ZIP_PATTERN.matcher(customer.getPostalCode()).matches());
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        blackhole.consume(FieldFormats.isEmail(customer.getEmail()));
+        blackhole.consume(FieldFormats.isPhone(customer.getPhone()));
+        blackhole.consume(FieldFormats.isPostalCode(customer.getPostalCode()));
+    }
+
+    /**
+     * 必須・性別コードのチェックとエラーメッセージの組み立てを含む、バリデーション全体。
+     */
+    @Benchmark
+    public Object validate() {
+        try {
+            validator.validate(customer);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.batch.bulkload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 一括ロードモードの後処理を行うTasklet。
+ *
+ * <p>
+ * 移行ステップの後に、{@link BulkLoadPrepareTasklet}が削除したインデックスを復元し、
+ * テーブルを通常の状態に戻します：
+ * </p>
+ * <ol>
+ * <li>インデックスを並列に再作成（インデックスごとに別のコネクションを使用）</li>
+ * <li>一意制約を再作成したインデックスで復元（{@code ADD CONSTRAINT ... USING INDEX}）</li>
+ * <li>{@code ANALYZE} で統計情報を更新</li>
+ * <li>テーブルをLOGGEDに戻す</li>
+ * </ol>
+ *
+ * <p>
+ * 各処理は既に完了している場合は何もしないため、途中で失敗した場合もリスタートで再実行できます。
+ * 一意インデックスの作成がデータの重複で失敗した場合、テーブルはUNLOGGEDのまま残るため、
+ * 重複を解消してからリスタートしてください。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class BulkLoadFinalizeTasklet implements Tasklet {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkLoadFinalizeTasklet.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int indexParallelism;
+
+    /**
+     * Taskletを生成します。
+     *
+     * @param dataSource       新データベース用のDataSource
+     * @param indexParallelism インデックスを同時に作成する最大数
+     */
+    public BulkLoadFinalizeTasklet(DataSource dataSource, int indexParallelism) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.indexParallelism = Math.max(1, indexParallelism);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        ExecutionContext jobContext = contribution.getStepExecution().getJobExecution().getExecutionContext();
+        List<String> tables = (List<String>) jobContext.get(BulkLoadPrepareTasklet.TABLES_KEY);
+        if (tables == null) {
+            logger.warn("【一括ロード】前処理の記録がないため、後処理をスキップします");
+            return RepeatStatus.FINISHED;
+        }
+        Map<String, String> indexes = (Map<String, String>) jobContext.get(BulkLoadPrepareTasklet.DEFERRED_INDEXES_KEY);
+        Map<String, String> constraints = (Map<String, String>) jobContext
+                .get(BulkLoadPrepareTasklet.DEFERRED_CONSTRAINTS_KEY);
+        ExecutionContext stepContext = contribution.getStepExecution().getExecutionContext();
+
+        long start = System.currentTimeMillis();
+        rebuildIndexes(indexes);
+        for (Map.Entry<String, String> constraint : constraints.entrySet()) {
+            Boolean attached = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conindid = ?::regclass)",
+                    Boolean.class, constraint.getKey());
+            if (!Boolean.TRUE.equals(attached)) {
+                jdbcTemplate.execute(constraint.getValue());
+            }
+        }
+        stepContext.putLong(BulkLoadPhase.REBUILD_INDEXES.getContextKey(), System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        for (String table : tables) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        stepContext.putLong(BulkLoadPhase.ANALYZE.getContextKey(), System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        for (String table : tables) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " SET LOGGED");
+        }
+        stepContext.putLong(BulkLoadPhase.SET_LOGGED.getContextKey(), System.currentTimeMillis() - start);
+
+        logger.info("【一括ロード】後処理完了: テーブル={}, 再作成したインデックス={}件", tables, indexes.size());
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * インデックスを並列に作成します。
+     *
+     * <p>
+     * 各タスクは別スレッドで実行されるため、Taskletのトランザクションには参加せず、
+     * それぞれ専用のコネクション（自動コミット）で作成します。
+     * </p>
+     */
+    private void rebuildIndexes(Map<String, String> indexes) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(indexParallelism, indexes.size()));
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (Map.Entry<String, String> index : indexes.entrySet()) {
+                // リスタート時に作成済みのインデックスがあってもエラーにしない
+                String ddl = index.getValue().replaceFirst(" INDEX ", " INDEX IF NOT EXISTS ");
+                futures.add(CompletableFuture.runAsync(() -> {
+                    long start = System.currentTimeMillis();
+                    jdbcTemplate.execute(ddl);
+                    logger.info("【一括ロード】インデックスを作成しました: {} ({} ms)",
+                            index.getKey(), System.currentTimeMillis() - start);
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.batch.bulkload;
+
+/**
+ * 一括ロードモードの前処理・後処理の各フェーズ。
+ *
+ * <p>
+ * 各フェーズの所要時間は、前処理・後処理ステップの{@code ExecutionContext}に
+ * {@link #getContextKey()}のキーで記録され、統計レポートに出力されます。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public enum BulkLoadPhase {
+
+    /** セカンダリインデックス・一意制約の削除 */
+    DROP_INDEXES("インデックス削除"),
+
+    /** テーブルのUNLOGGED化 */
+    SET_UNLOGGED("UNLOGGED化"),
+
+    /** インデックス・一意制約の再作成 */
+    REBUILD_INDEXES("インデックス再作成"),
+
+    /** 統計情報の更新 */
+    ANALYZE("ANALYZE"),
+
+    /** テーブルのLOGGED化 */
+    SET_LOGGED("LOGGED化");
+
+    private final String label;
+
+    BulkLoadPhase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return レポートに出力するフェーズ名
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return 所要時間（ミリ秒）を記録するExecutionContextのキー
+     */
+    public String getContextKey() {
+        return "bulkLoad." + name() + ".millis";
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.batch.bulkload;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.batch.writer.NewTableMappings;
+import com.example.batch.writer.WriterMode;
+
+/**
+ * 一括ロードモードの前処理を行うTasklet。
+ *
+ * <p>
+ * 空の移行先テーブルへ大量に挿入する場合、1行ごとの一意インデックスの更新と
+ * WALの書き込みが大きな負荷になります。このTaskletは移行ステップの前に、
+ * 対象テーブル（ジョブパラメータ targets）ごとに以下を実行します：
+ * </p>
+ * <ol>
+ * <li>主キー以外のインデックス・一意制約の定義を記録して削除</li>
+ * <li>テーブルをUNLOGGEDに変更</li>
+ * </ol>
+ *
+ * <p>
+ * 削除したインデックスの定義はジョブの{@code ExecutionContext}に保存されるため、
+ * ジョブが途中で失敗してもリスタート時に{@link BulkLoadFinalizeTasklet}が復元します。
+ * </p>
+ *
+ * <p>
+ * 一意制約がない間は重複を検出できないため、空でないテーブルや、
+ * 一意制約を使うUpsert（upsertEnabled、writerMode=upsert / staging）との併用はエラーとします。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class BulkLoadPrepareTasklet implements Tasklet {
+
+    /** ジョブのExecutionContextのキー: 一括ロードの対象テーブル */
+    public static final String TABLES_KEY = "bulkLoad.tables";
+
+    /** ジョブのExecutionContextのキー: 削除したインデックス（インデックス名 → 作成文） */
+    public static final String DEFERRED_INDEXES_KEY = "bulkLoad.deferredIndexes";
+
+    /** ジョブのExecutionContextのキー: 削除した一意制約（インデックス名 → 制約の追加文） */
+    public static final String DEFERRED_CONSTRAINTS_KEY = "bulkLoad.deferredConstraints";
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkLoadPrepareTasklet.class);
+
+    /** 主キー以外のインデックスと、それを使用する制約 */
+    private static final String INDEX_QUERY = "SELECT quote_ident(i.relname), pg_get_indexdef(x.indexrelid),"
+            + " quote_ident(c.conname), c.contype"
+            + " FROM pg_index x"
+            + " JOIN pg_class i ON i.oid = x.indexrelid"
+            + " LEFT JOIN pg_constraint c ON c.conindid = x.indexrelid AND c.conrelid = x.indrelid"
+            + " WHERE x.indrelid = ?::regclass AND NOT x.indisprimary"
+            + " ORDER BY i.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Taskletを生成します。
+     *
+     * @param dataSource 新データベース用のDataSource
+     */
+    public BulkLoadPrepareTasklet(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        JobParameters parameters = contribution.getStepExecution().getJobParameters();
+        WriterMode writerMode = WriterMode.of(parameters.getString("writerMode"));
+        if (writerMode == WriterMode.UPSERT || writerMode == WriterMode.STAGING
+                || "true".equalsIgnoreCase(parameters.getString("upsertEnabled"))) {
+            throw new IllegalArgumentException(
+                    "bulkLoad=true は空のテーブルへの挿入専用のため、Upsert（upsertEnabled / writerMode=upsert・staging）とは併用できません");
+        }
+
+        List<String> tables = targetTables(parameters.getString("targets"));
+        for (String table : tables) {
+            Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+            if (Boolean.TRUE.equals(exists)) {
+                throw new IllegalStateException("bulkLoad=true は空のテーブルにのみ使用できます: " + table);
+            }
+        }
+
+        ExecutionContext stepContext = contribution.getStepExecution().getExecutionContext();
+        Map<String, String> deferredIndexes = new LinkedHashMap<>();
+        Map<String, String> deferredConstraints = new LinkedHashMap<>();
+
+        long start = System.currentTimeMillis();
+        for (String table : tables) {
+            dropIndexes(table, deferredIndexes, deferredConstraints);
+        }
+        stepContext.putLong(BulkLoadPhase.DROP_INDEXES.getContextKey(), System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        for (String table : tables) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " SET UNLOGGED");
+        }
+        stepContext.putLong(BulkLoadPhase.SET_UNLOGGED.getContextKey(), System.currentTimeMillis() - start);
+
+        ExecutionContext jobContext = contribution.getStepExecution().getJobExecution().getExecutionContext();
+        jobContext.put(TABLES_KEY, new ArrayList<>(tables));
+        jobContext.put(DEFERRED_INDEXES_KEY, deferredIndexes);
+        jobContext.put(DEFERRED_CONSTRAINTS_KEY, deferredConstraints);
+        logger.info("【一括ロード】前処理完了: テーブル={}, 削除したインデックス={}件", tables, deferredIndexes.size());
+        return RepeatStatus.FINISHED;
+    }
+
+    private void dropIndexes(String table, Map<String, String> deferredIndexes,
+            Map<String, String> deferredConstraints) {
+        List<String[]> indexes = jdbcTemplate.query(INDEX_QUERY,
+                (rs, rowNum) -> new String[] { rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4) },
+                table);
+        for (String[] index : indexes) {
+            String indexName = index[0];
+            String indexDef = index[1];
+            String constraintName = index[2];
+            String constraintType = index[3];
+            if (constraintName == null) {
+                jdbcTemplate.execute("DROP INDEX " + indexName);
+            } else if ("u".equals(constraintType)) {
+                // 一意制約はインデックスとして再作成した後、USING INDEX で制約に戻す
+                jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + constraintName);
+                deferredConstraints.put(indexName, "ALTER TABLE " + table + " ADD CONSTRAINT " + constraintName
+                        + " UNIQUE USING INDEX " + indexName);
+            } else {
+                logger.info("【一括ロード】インデックス {} は制約（{}）で使用されているため残します", indexName, constraintType);
+                continue;
+            }
+            deferredIndexes.put(indexName, indexDef);
+            logger.info("【一括ロード】インデックスを削除しました: {}", indexName);
+        }
+    }
+
+    /**
+     * ジョブパラメータ targets から一括ロードの対象テーブルを解決します。
+     *
+     * @param targets ジョブパラメータの値（未指定の場合は全テーブル）
+     * @return 対象テーブル名
+     */
+    static List<String> targetTables(String targets) {
+        boolean all = targets == null || targets.isEmpty();
+        List<String> tables = new ArrayList<>();
+        if (all || targets.contains("customer")) {
+            tables.add(NewTableMappings.NEW_CUSTOMERS.getTable());
+        }
+        if (all || targets.contains("company")) {
+            tables.add(NewTableMappings.NEW_COMPANIES.getTable());
+        }
+        return tables;
+    }
+}
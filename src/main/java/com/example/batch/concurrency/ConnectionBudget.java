@@ -0,0 +1,177 @@
+package com.example.batch.concurrency;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 新データベースのコネクションプールを、同時に実行される移行ステップで分け合うための予算。
+ *
+ * <p>
+ * 顧客・会社のフローを並列実行（ジョブパラメータ parallel=true）し、さらに各フローを
+ * パーティション分割すると、同時に実行されるステップ数がコネクションプールの上限
+ * （{@code spring.datasource.hikari.maximum-pool-size}）を超え、
+ * コネクション待ちのタイムアウトが発生する場合があります。
+ * </p>
+ *
+ * <p>
+ * このクラスは移行ステップ（パーティションのワーカーを含む）にリスナーとして登録し、
+ * ステップの開始時に予算からコネクション数分の許可を取得し、終了時に返却します。
+ * 予算が不足している場合、ステップは他のステップが終了するまで開始を待ちます。
+ * 許可はチャンク処理を行うステップ単位で取得し、フローのスレッドやマネージャーステップは
+ * 取得しないため、フローとワーカーが互いの許可を待ち合うことはありません。
+ * </p>
+ *
+ * <p>
+ * 予算はプールの上限から、ジョブリポジトリの更新やREST API用に
+ * {@code batch.connection-budget.reserved}本を除いた数です。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+public class ConnectionBudget implements StepExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionBudget.class);
+
+    private final Semaphore permits;
+
+    private final int totalPermits;
+
+    private final int stepThreads;
+
+    private final int writerPoolSize;
+
+    private final int lookupConnections;
+
+    /** ステップ実行ID → 取得済みの許可数 */
+    private final Map<Long, Integer> held = new ConcurrentHashMap<>();
+
+    /**
+     * 予算を生成します。
+     *
+     * @param maxPoolSize            新データベースのコネクションプールの上限
+     * @param reserved               ステップ以外の用途に残すコネクション数
+     * @param stepThreads            移行ステップでチャンクを並列に処理するスレッド数
+     * @param writerPoolSize         移行ステップごとの書き込みスレッド数
+     * @param asyncEnabled           プロセッサを非同期（仮想スレッド）で実行する場合true
+     * @param asyncLookupConnections 非同期処理で既存データの検索に使用する、移行ステップごとのコネクション数
+     */
+    public ConnectionBudget(@Value("${spring.datasource.hikari.maximum-pool-size}") int maxPoolSize,
+            @Value("${batch.connection-budget.reserved:2}") int reserved,
+            @Value("${batch.multi-thread.threads:1}") int stepThreads,
+            @Value("${batch.writer-pool.size:1}") int writerPoolSize,
+            @Value("${batch.async.enabled:false}") boolean asyncEnabled,
+            @Value("${batch.async.lookup-connections:1}") int asyncLookupConnections) {
+        this.totalPermits = Math.max(1, maxPoolSize - reserved);
+        this.permits = new Semaphore(totalPermits, true);
+        this.stepThreads = Math.max(1, stepThreads);
+        this.writerPoolSize = writerPoolSize > 1 ? writerPoolSize : 0;
+        this.lookupConnections = asyncEnabled ? Math.max(1, asyncLookupConnections) : 0;
+        if (stepConnections() > totalPermits) {
+            logger.warn("【コネクション予算】1ステップが使用するコネクション数（{}）が予算（{}）を超えています。"
+                    + "コネクション待ちが発生する場合があります", stepConnections(), totalPermits);
+        }
+    }
+
+    /**
+     * @return ステップに割り当て可能なコネクション数
+     */
+    public int getTotalPermits() {
+        return totalPermits;
+    }
+
+    /**
+     * 非同期処理で、移行ステップごとに既存データの検索に使用できるコネクション数を返します。
+     *
+     * <p>
+     * 非同期プロセッサの仮想スレッドはチャンクのトランザクションの外で検索するため、
+     * 検索ごとにコネクションを使用します。{@link com.example.batch.processor.ChunkEntityLookup}は
+     * 同時に実行する検索をこの数までに制限します。
+     * </p>
+     *
+     * @return コネクション数（非同期処理を使用しない場合は0）
+     */
+    public int getLookupConnections() {
+        return lookupConnections;
+    }
+
+    /**
+     * 予算内で同時に実行できる移行ステップ数を返します。
+     *
+     * <p>
+     * パーティションのワーカーをこれより多く同時に起動しても、超えた分は開始前に予算の空きを待つだけのため、
+     * ワーカーを実行するスレッド数の上限に使用します。
+     * </p>
+     *
+     * @return 同時に実行できるステップ数（1以上）
+     */
+    public int getMaxConcurrentSteps() {
+        return Math.max(1, totalPermits / Math.min(stepConnections(), totalPermits));
+    }
+
+    /**
+     * @return 現在割り当てられていないコネクション数
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        int required = Math.min(requiredPermits(stepExecution), totalPermits);
+        if (!permits.tryAcquire(required)) {
+            logger.info("【コネクション予算】{} はコネクションの空きを待機します（必要: {}, 空き: {}）",
+                    stepExecution.getStepName(), required, permits.availablePermits());
+            try {
+                permits.acquire(required);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("コネクションの空き待ちが中断されました: " + stepExecution.getStepName(), e);
+            }
+        }
+        held.put(stepExecution.getId(), required);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Integer acquired = held.remove(stepExecution.getId());
+        if (acquired != null) {
+            permits.release(acquired);
+        }
+        return null;
+    }
+
+    /**
+     * ステップが同時に使用するコネクション数を返します。
+     *
+     * <p>
+     * チャンク処理のステップはトランザクションごとに1本のコネクションを使用します。
+     * マルチスレッドステップ（{@code batch.multi-thread.threads} が2以上）では、
+     * スレッド数分のトランザクションが同時に実行されます。
+     * 書き込みプール（{@code batch.writer-pool.size} が2以上）では、
+     * さらに書き込みスレッドごとに1本のコネクションを使用します。
+     * 非同期処理（{@code batch.async.enabled=true}）では、さらに既存データの検索用に
+     * {@code batch.async.lookup-connections}本のコネクションを使用します。
+     * </p>
+     *
+     * @param stepExecution ステップ実行
+     * @return コネクション数
+     */
+    protected int requiredPermits(StepExecution stepExecution) {
+        return stepConnections();
+    }
+
+    private int stepConnections() {
+        return stepThreads + writerPoolSize + lookupConnections;
+    }
+}
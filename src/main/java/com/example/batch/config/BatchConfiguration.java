@@ -1,12 +1,18 @@
 package com.example.batch.config;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.ItemReadListener;
 import org.springframework.batch.core.ItemWriteListener;
@@ -14,33 +20,91 @@ import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.job.builder.FlowBuilder;
 import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.job.flow.FlowExecutionStatus;
 import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
 import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.LineCallbackHandler;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.builder.MultiResourceItemReaderBuilder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import com.example.batch.bulkload.BulkLoadFinalizeTasklet;
+import com.example.batch.bulkload.BulkLoadPrepareTasklet;
+import com.example.batch.concurrency.ConnectionBudget;
 import com.example.batch.dto.OldCompanyDto;
 import com.example.batch.dto.OldCustomerDto;
+import com.example.batch.error.DataErrorPolicy;
+import com.example.batch.error.ErrorClassifier;
+import com.example.batch.error.FileRejectSink;
+import com.example.batch.error.RejectingItemProcessor;
 import com.example.batch.entity.newdb.NewCompany;
 import com.example.batch.entity.newdb.NewCustomer;
+import com.example.batch.listener.CustomRetryListener;
+import com.example.batch.listener.CustomSkipListener;
+import com.example.batch.listener.InputRecordCountListener;
 import com.example.batch.listener.JobCompletionNotificationListener;
+import com.example.batch.listener.ProgressListener;
+import com.example.batch.mapper.HeaderColumnMapper;
+import com.example.batch.mapper.OldCompanyMapper;
+import com.example.batch.mapper.OldCompanyRowMapper;
+import com.example.batch.mapper.OldCustomerMapper;
+import com.example.batch.mapper.OldCustomerRowMapper;
+import com.example.batch.metrics.BatchMetrics;
+import com.example.batch.metrics.MeteredItemProcessor;
+import com.example.batch.metrics.MeteredItemWriter;
+import com.example.batch.metrics.PipelineMetricsListener;
+import com.example.batch.monitor.LiveStepListener;
+import com.example.batch.monitor.LiveStepRegistry;
+import com.example.batch.monitor.MonitoredStage;
+import com.example.batch.partition.IdRangePartitioner;
+import com.example.batch.partition.LegacySnapshotRegistry;
+import com.example.batch.partition.SnapshotDataSource;
+import com.example.batch.partition.TsvByteRangePartitioner;
+import com.example.batch.processor.ChunkEntityLookup;
+import com.example.batch.reader.CheckpointingSynchronizedItemReader;
+import com.example.batch.reader.MappedTsvItemReader;
+import com.example.batch.reader.PrefetchingItemReader;
+import com.example.batch.tuning.AdaptiveChunkSizePolicy;
+import com.example.batch.tuning.ChunkSizeMetrics;
+import com.example.batch.writer.BisectingItemWriter;
+import com.example.batch.writer.NewTableMappings;
+import com.example.batch.writer.PgCopyItemWriter;
+import com.example.batch.writer.PgUpsertItemWriter;
+import com.example.batch.writer.PipelinedItemWriter;
+import com.example.batch.writer.StagingTableMerger;
+import com.example.batch.writer.TableMapping;
 import com.example.batch.writer.UpsertItemWriter;
+import com.example.batch.writer.WriterMode;
 
 /**
  * Spring Batchのバッチジョブ設定クラス。
@@ -49,7 +113,8 @@ import com.example.batch.writer.UpsertItemWriter;
  * このクラスは、データ移行バッチジョブの以下のコンポーネントを定義します：
  * </p>
  * <ul>
- * <li>TSVファイルからデータを読み込むReader（FlatFileItemReader）</li>
+ * <li>TSVファイルからデータを読み込むReader（FlatFileItemReader / MappedTsvItemReader）</li>
+ * <li>旧データベースからデータを読み込むReader（JdbcCursorItemReader）</li>
  * <li>データを変換するProcessor（ItemProcessor実装クラス）</li>
  * <li>データベースに書き込むWriter（JpaItemWriter）</li>
  * <li>Reader-Processor-Writerを組み合わせたStep</li>
@@ -74,6 +139,20 @@ import com.example.batch.writer.UpsertItemWriter;
 @Configuration
 public class BatchConfiguration {
 
+    private static final Logger logger = LoggerFactory.getLogger(BatchConfiguration.class);
+
+    /** ジョブパラメータ 'source' で旧データベースから読み込む際の値 */
+    public static final String SOURCE_DB = "db";
+
+    /** 顧客データTSVの項目名（FlatFileItemReader用、列の定義順） */
+    private static final String[] CUSTOMER_FIELD_NAMES = { "customerCode", "customerName", "email", "phone",
+            "address", "postalCode", "createdAt", "status", "genderCode" };
+
+    /** 会社データTSVの項目名（FlatFileItemReader用、列の定義順） */
+    private static final String[] COMPANY_FIELD_NAMES = { "companyCode", "companyName", "representativeName",
+            "industryType", "employeeCount", "capital", "establishedDate", "address", "postalCode", "phone",
+            "email", "status" };
+
     /** 顧客データTSVファイルのパス */
     @Value("${batch.input.customer-file}")
     private Resource customerInputResource;
@@ -82,18 +161,78 @@ public class BatchConfiguration {
     @Value("${batch.input.company-file}")
     private Resource companyInputResource;
 
-    /** チャンクサイズ */
+    /** チャンクサイズ（ジョブパラメータ 'chunkSize' 未指定時のデフォルト） */
     @Value("${batch.chunk-size}")
     private int chunkSize;
 
-    /** スキップ上限 */
-    @Value("${batch.skip-limit}")
-    private int skipLimit;
+    /** チャンクサイズを自動調整する場合true（ジョブパラメータ 'adaptiveChunk' 未指定時のデフォルト） */
+    @Value("${batch.adaptive-chunk.enabled:false}")
+    private boolean adaptiveChunkEnabled;
+
+    /** チャンクサイズの自動調整で目標とするトランザクション時間（ミリ秒） */
+    @Value("${batch.adaptive-chunk.target-millis:200}")
+    private long adaptiveChunkTargetMillis;
+
+    /** チャンクサイズの自動調整の下限 */
+    @Value("${batch.adaptive-chunk.min-size:10}")
+    private int adaptiveChunkMinSize;
+
+    /** チャンクサイズの自動調整の上限 */
+    @Value("${batch.adaptive-chunk.max-size:5000}")
+    private int adaptiveChunkMaxSize;
+
+    /** パーティション分割数（ジョブパラメータ 'partitions' 未指定時のデフォルト） */
+    @Value("${batch.partition.grid-size:4}")
+    private int partitionGridSize;
+
+    /** 旧データベースのカーソルから1回に取得する行数 */
+    @Value("${batch.legacy.fetch-size:1000}")
+    private int legacyFetchSize;
+
+    /** 一括ロードモードの後処理でインデックスを同時に作成する最大数 */
+    @Value("${batch.bulk-load.index-parallelism:4}")
+    private int bulkLoadIndexParallelism;
+
+    /** プロセッサを仮想スレッドで非同期に実行する場合true */
+    @Value("${batch.async.enabled:false}")
+    private boolean asyncEnabled;
+
+    /** 非同期処理で同時に処理するアイテムの最大数 */
+    @Value("${batch.async.concurrency-limit:64}")
+    private int asyncConcurrencyLimit;
+
+    /** 移行ステップでチャンクを並列に処理するスレッド数（1の場合はシングルスレッド） */
+    @Value("${batch.multi-thread.threads:1}")
+    private int stepThreads;
+
+    /** Readerが専用スレッドで先読みする最大件数（0の場合は先読みしない） */
+    @Value("${batch.reader.prefetch-size:0}")
+    private int readerPrefetchSize;
+
+    /** チャンクを並行に書き込む書き込みスレッド数（1の場合はチャンクのスレッドで書き込む） */
+    @Value("${batch.writer-pool.size:1}")
+    private int writerPoolSize;
+
+    /** 書き込み待ちのチャンクを保持するキューの容量 */
+    @Value("${batch.writer-pool.queue-capacity:4}")
+    private int writerPoolQueueCapacity;
+
+    /** 書き込みがデータのエラーで失敗した場合に、チャンクを二分して不正な行を特定する場合true */
+    @Value("${batch.write.bisect-on-error:false}")
+    private boolean writeBisectOnError;
+
+    /** 除外データのファイルの出力先（ジョブパラメータ 'replayRejects' での再処理に使用） */
+    @Value("${batch.rejects.output-dir:./rejects}")
+    private String rejectsOutputDir;
+
+    /** 進捗率のために入力ファイルの行数を数えるスレッド数（0の場合は数えない） */
+    @Value("${batch.progress.pre-scan-threads:4}")
+    private int progressPreScanThreads;
 
     // ========== 顧客移行設定 ==========
 
     /**
-     * 顧客データTSVファイルを読み込むReaderを生成します。
+     * 顧客データを読み込むReaderを生成します。
      *
      * <p>
      * このReaderは以下の処理を実行します：
@@ -101,50 +240,235 @@ public class BatchConfiguration {
      * <ul>
      * <li>TSVファイル（タブ区切り）の読み込み</li>
      * <li>1行目（ヘッダー行）のスキップ</li>
-     * <li>各フィールドをOldCustomerDtoにマッピング</li>
+     * <li>各フィールドをOldCustomerDtoにマッピング（{@link OldCustomerMapper}）</li>
      * <li>日付時刻の文字列からLocalDateTimeへの変換</li>
      * <li>性別コードの文字列からIntegerへの変換</li>
      * </ul>
      *
-     * @return 顧客データを読み込むFlatFileItemReader
+     * <p>
+     * 列位置は読み飛ばしたヘッダー行から一度だけ解決されます。
+     * </p>
+     *
+     * <p>
+     * ジョブパラメータ {@code customerReader=mmap} を指定すると、
+     * FlatFileItemReaderの代わりにメモリマップ方式の{@link MappedTsvItemReader}を使用します。
+     * 入力ファイルがファイルシステム上にない場合（JAR内のリソースなど）は
+     * FlatFileItemReaderにフォールバックします。
+     * </p>
+     *
+     * <p>
+     * パーティション分割実行時は、ステップのExecutionContextに設定されたバイト範囲
+     * （{@link TsvByteRangePartitioner}）のみを{@link MappedTsvItemReader}で読み込みます。
+     * </p>
+     *
+     * <p>
+     * ジョブパラメータ {@code source=db} を指定すると、TSVファイルの代わりに
+     * 旧データベースのold_customersテーブルから{@link JdbcCursorItemReader}で読み込みます。
+     * パーティション分割実行時は、{@link IdRangePartitioner}が割り当てたキー範囲のみを、
+     * マネージャーステップがエクスポートしたスナップショット上で読み込みます。
+     * </p>
+     *
+     * <p>
+     * ジョブパラメータ {@code replayRejects=<ジョブ実行ID>} を指定すると、そのジョブ実行で除外したデータのファイル
+     * （{@link FileRejectSink}）を読み込みます（{@code source}・パーティション分割より優先）。
+     * </p>
+     *
+     * <p>
+     * いずれのReaderも{@link CheckpointingSynchronizedItemReader}で包んで返します。
+     * マルチスレッドステップ（{@code batch.multi-thread.threads} が2以上）の場合は、
+     * 読み込みを直列化し、コミット済みの位置からリスタートできるようにします。
+     * </p>
+     *
+     * @param source           読込元（"db" または未指定）
+     * @param replayRejects    再処理する除外データのジョブ実行ID（未指定の場合は通常の読み込み）
+     * @param readerType       Readerの種類（"mmap" または未指定）
+     * @param startOffset      パーティションの開始位置（パーティション実行時のみ）
+     * @param endOffset        パーティションの終了位置（パーティション実行時のみ）
+     * @param minId            キー範囲の下限（旧データベースのパーティション実行時のみ）
+     * @param maxId            キー範囲の上限（旧データベースのパーティション実行時のみ）
+     * @param jobExecutionId   ジョブ実行ID（スナップショットの取得に使用）
+     * @param legacyDataSource 旧データベース用のDataSource（設定されている場合のみ）
+     * @param snapshotRegistry 旧データベースのスナップショットのレジストリ
+     * @param rejectSink       除外データの出力先（入力ファイルのヘッダー行を渡す）
+     * @return 顧客データを読み込むReader
+     * @throws IOException 入力ファイルの解決に失敗した場合
      */
     @Bean
-    public FlatFileItemReader<OldCustomerDto> oldCustomerTsvReader() {
-        return new FlatFileItemReaderBuilder<OldCustomerDto>()
+    @StepScope
+    public CheckpointingSynchronizedItemReader<OldCustomerDto> oldCustomerReader(
+            @Value("#{jobParameters['source']}") String source,
+            @Value("#{jobParameters['replayRejects']}") String replayRejects,
+            @Value("#{jobParameters['customerReader']}") String readerType,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset,
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId,
+            @Value("#{stepExecution.jobExecutionId}") Long jobExecutionId,
+            @Qualifier("legacyDataSource") ObjectProvider<DataSource> legacyDataSource,
+            LegacySnapshotRegistry snapshotRegistry,
+            FileRejectSink rejectSink) throws IOException {
+
+        if (replayRejects != null && !replayRejects.isBlank()) {
+            return synchronizedReader(rejectReplayReader(replayRejects, "customer", new OldCustomerMapper(),
+                    CUSTOMER_FIELD_NAMES), "oldCustomerReader");
+        }
+
+        if (SOURCE_DB.equalsIgnoreCase(source)) {
+            return synchronizedReader(legacyCustomerReader(
+                    legacyReadDataSource(legacyDataSource, snapshotRegistry, jobExecutionId), minId, maxId),
+                    "oldCustomerReader");
+        }
+
+        OldCustomerMapper mapper = new OldCustomerMapper();
+        LineCallbackHandler headerCallback = headerCallback(mapper, rejectSink, jobExecutionId, "customer");
+        boolean partitioned = startOffset != null && endOffset != null;
+        if (partitioned || MappedTsvItemReader.READER_TYPE.equalsIgnoreCase(readerType)) {
+            if (customerInputResource.isFile()) {
+                MappedTsvItemReader<OldCustomerDto> reader = new MappedTsvItemReader<>(
+                        customerInputResource.getFile().toPath(), mapper);
+                reader.setName("oldCustomerTsvReader");
+                reader.setLinesToSkip(1);
+                reader.setSkippedLinesCallback(headerCallback);
+                reader.setExpectedFieldCount(9);
+                if (partitioned) {
+                    reader.setRange(startOffset, endOffset);
+                }
+                return synchronizedReader(reader, "oldCustomerReader");
+            }
+            if (partitioned) {
+                throw new IllegalStateException(
+                        "パーティション分割にはファイルシステム上の入力ファイルが必要です: " + customerInputResource);
+            }
+            logger.warn("顧客ファイルがファイルシステム上にないため、FlatFileItemReaderを使用します: {}",
+                    customerInputResource);
+        }
+
+        return synchronizedReader(new FlatFileItemReaderBuilder<OldCustomerDto>()
                 .name("oldCustomerTsvReader")
                 .resource(customerInputResource)
                 .linesToSkip(1)
                 .delimited()
                 .delimiter("\t")
-                .names("customerCode", "customerName", "email", "phone", "address",
-                        "postalCode", "createdAt", "status", "genderCode")
-                .fieldSetMapper(fieldSet -> {
-                    OldCustomerDto dto = new OldCustomerDto();
-                    dto.setCustomerCode(fieldSet.readString("customerCode"));
-                    dto.setCustomerName(fieldSet.readString("customerName"));
-                    dto.setEmail(fieldSet.readString("email"));
-                    dto.setPhone(fieldSet.readString("phone"));
-                    dto.setAddress(fieldSet.readString("address"));
-                    dto.setPostalCode(fieldSet.readString("postalCode"));
-
-                    String createdAtStr = fieldSet.readString("createdAt");
-                    if (createdAtStr != null && !createdAtStr.isEmpty()) {
-                        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-                        dto.setCreatedAt(LocalDateTime.parse(createdAtStr, formatter));
-                    }
-
-                    dto.setStatus(fieldSet.readString("status"));
-
-                    String genderCodeStr = fieldSet.readString("genderCode");
-                    if (genderCodeStr != null && !genderCodeStr.isEmpty()) {
-                        dto.setGenderCode(Integer.parseInt(genderCodeStr));
-                    }
-
-                    return dto;
-                })
+                .names(CUSTOMER_FIELD_NAMES)
+                .skippedLinesCallback(headerCallback)
+                .fieldSetMapper(mapper)
+                .build(), "oldCustomerReader");
+    }
+
+    /**
+     * 旧データベースのold_customersテーブルを読み込むReaderを生成します。
+     *
+     * <p>
+     * 結果セット全体をメモリに展開しないよう、サーバー側カーソルから
+     * {@code batch.legacy.fetch-size}件ずつ取得します（PostgreSQLでは自動コミット無効が条件）。
+     * リスタート時に同じ順序で読み直せるよう、主キー順で取得します。
+     * </p>
+     *
+     * @param dataSource 旧データベース用のDataSource
+     * @param minId      キー範囲の下限（null の場合は全件）
+     * @param maxId      キー範囲の上限（null の場合は全件）
+     * @return 顧客データを読み込むJdbcCursorItemReader
+     */
+    private JdbcCursorItemReader<OldCustomerDto> legacyCustomerReader(DataSource dataSource, Long minId, Long maxId) {
+        boolean ranged = minId != null && maxId != null;
+        return new JdbcCursorItemReaderBuilder<OldCustomerDto>()
+                .name("oldCustomerJdbcReader")
+                .dataSource(dataSource)
+                .sql("SELECT " + OldCustomerRowMapper.COLUMNS + " FROM old_customers"
+                        + (ranged ? " WHERE id BETWEEN ? AND ?" : "") + " ORDER BY id")
+                .queryArguments(ranged ? new Object[] { minId, maxId } : new Object[0])
+                .rowMapper(new OldCustomerRowMapper())
+                .fetchSize(legacyFetchSize)
+                .connectionAutoCommit(false)
+                .build();
+    }
+
+    /**
+     * 除外データのファイル（{@link FileRejectSink}）を読み込むReaderを生成します。
+     *
+     * <p>
+     * ファイルは入力ファイルと同じヘッダー行・列の形式のため、同じマッパーで読み込みます。
+     * 除外の理由を記録したコメント行（{@code #}）は読み飛ばします。
+     * ファイルが切り替えられている場合は、連番順にすべて読み込みます。
+     * </p>
+     *
+     * @param <T>           読み込むアイテムの型
+     * @param replayRejects 再処理する除外データのジョブ実行ID
+     * @param target        対象名（customer / company）
+     * @param mapper        入力ファイルのマッパー
+     * @param names         項目名（列の定義順）
+     * @return Reader
+     * @throws IOException 出力先のディレクトリの読み込みに失敗した場合
+     * @throws IllegalArgumentException ジョブ実行IDが数値でない場合
+     */
+    private <T> ItemStreamReader<T> rejectReplayReader(String replayRejects, String target,
+            HeaderColumnMapper<T> mapper, String[] names) throws IOException {
+        long jobExecutionId;
+        try {
+            jobExecutionId = Long.parseLong(replayRejects.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("replayRejects にはジョブ実行IDを指定してください: " + replayRejects, e);
+        }
+        List<Path> files = FileRejectSink.rejectFiles(Paths.get(rejectsOutputDir), jobExecutionId, target);
+        logger.info("ジョブ実行 {} の除外データを再処理します（{}: {} ファイル）", jobExecutionId, target, files.size());
+        FlatFileItemReader<T> delegate = new FlatFileItemReaderBuilder<T>()
+                .name(target + "RejectFileReader")
+                .linesToSkip(1)
+                .comments("#")
+                .delimited()
+                .delimiter("\t")
+                .names(names)
+                .skippedLinesCallback(mapper)
+                .fieldSetMapper(mapper)
+                .build();
+        return new MultiResourceItemReaderBuilder<T>()
+                .name(target + "RejectReplayReader")
+                .resources(files.stream().map(FileSystemResource::new).toArray(Resource[]::new))
+                .delegate(delegate)
                 .build();
     }
 
+    /**
+     * 入力ファイルのヘッダー行を、マッパーと除外データの出力先の両方に渡すコールバックを生成します。
+     *
+     * <p>
+     * 除外データの出力先は、読み込みエラーの行を入力ファイルの列の順序から定義順に並べ替えるために使用します。
+     * </p>
+     *
+     * @param mapper         入力ファイルのマッパー
+     * @param rejectSink     除外データの出力先
+     * @param jobExecutionId ジョブ実行ID
+     * @param target         対象名（customer / company）
+     * @return コールバック
+     */
+    private static LineCallbackHandler headerCallback(HeaderColumnMapper<?> mapper, FileRejectSink rejectSink,
+            Long jobExecutionId, String target) {
+        return line -> {
+            mapper.handleLine(line);
+            rejectSink.sourceHeader(jobExecutionId, target, line);
+        };
+    }
+
+    /**
+     * Readerをマルチスレッドステップ・書き込みプール用のラッパーで包みます。
+     *
+     * <p>
+     * {@code batch.reader.prefetch-size} が1以上の場合は、元のReaderを{@link PrefetchingItemReader}で包み、
+     * チャンクの処理中も専用スレッドで次のアイテムを読み込みます。
+     * </p>
+     *
+     * @param <T>    読み込むアイテムの型
+     * @param reader 元のReader
+     * @param name   リスタート位置を保存するExecutionContextのキーの接頭辞
+     * @return ラッパー
+     */
+    private <T> CheckpointingSynchronizedItemReader<T> synchronizedReader(ItemStreamReader<T> reader, String name) {
+        ItemStreamReader<T> source = readerPrefetchSize > 0
+                ? new PrefetchingItemReader<>(reader, name, readerPrefetchSize)
+                : reader;
+        return new CheckpointingSynchronizedItemReader<>(source, name, stepThreads > 1 || writerPoolSize > 1);
+    }
+
     /**
      * 新顧客データをデータベースに書き込むWriterを生成します。
      *
@@ -153,14 +477,79 @@ public class BatchConfiguration {
      * エンティティを永続化します。
      * </p>
      *
+     * <p>
+     * ジョブパラメータ {@code writerMode=copy} の場合は、PostgreSQLのCOPYで
+     * チャンクを一括挿入する{@link PgCopyItemWriter}を、{@code writerMode=upsert} の場合は
+     * 複数行の INSERT ... ON CONFLICT で一括Upsertする{@link PgUpsertItemWriter}を使用します。
+     * {@code writerMode=staging} の場合は、ステップ実行ごとのステージングテーブルにCOPYし、
+     * ステップ終了時に{@link StagingTableMerger}が移行先テーブルへ反映します。
+     * </p>
+     *
+     * <p>
+     * {@code batch.write.bisect-on-error=true} の場合、JDBCで書き込む方式（copy / upsert / staging）は
+     * {@link BisectingItemWriter}で包み、データのエラーで失敗したチャンクを二分して不正な行を特定します。
+     * </p>
+     *
+     * <p>
+     * いずれのWriterも{@link PipelinedItemWriter}で包んで返します。
+     * {@code batch.writer-pool.size} が2以上の場合は、チャンクを書き込みスレッドのプールに渡し、
+     * 複数のコネクションで並行に書き込みます。
+     * </p>
+     *
      * @param newEntityManagerFactory 新データベース用のEntityManagerFactory
-     * @return 顧客データを書き込むJpaItemWriter
+     * @param newDataSource           新データベース用のDataSource
+     * @param transactionManager      書き込みプールのトランザクションマネージャー
+     * @param oldCustomerReader       顧客データリーダー（書き込みプールのリスタート位置の管理に使用）
+     * @param upsertEnabled           Upsertを有効にする場合true
+     * @param writerMode              書き込み方式（jpa / copy / upsert / staging、未指定の場合はjpa）
+     * @param copyFormat              COPYのデータ形式（text / binary、未指定の場合はbinary）
+     * @param stepExecution           ステップ実行（ステージングテーブル名の決定、メトリクスのタグに使用）
+     * @param batchMetrics            書き込み時間のメトリクス
+     * @param errorClassifier         エラーの分類（batch.write.bisect-on-error=true の場合に使用）
+     * @param errorPolicy             スキップ上限の判定（同上）
+     * @param skipListener            書き込みエラーの行の通知先（同上）
+     * @return 顧客データを書き込むWriter
      */
     @Bean
     @StepScope
-    public ItemWriter<NewCustomer> newCustomerWriter(
+    public PipelinedItemWriter<NewCustomer> newCustomerWriter(
             @Qualifier("newEntityManagerFactory") EntityManagerFactory newEntityManagerFactory,
-            @Value("#{jobParameters['upsertEnabled']}") String upsertEnabled) {
+            @Qualifier("newDataSource") DataSource newDataSource,
+            @Qualifier("newTransactionManager") PlatformTransactionManager transactionManager,
+            CheckpointingSynchronizedItemReader<OldCustomerDto> oldCustomerReader,
+            @Value("#{jobParameters['upsertEnabled']}") String upsertEnabled,
+            @Value("#{jobParameters['writerMode']}") String writerMode,
+            @Value("#{jobParameters['copyFormat']}") String copyFormat,
+            @Value("#{stepExecution}") StepExecution stepExecution,
+            BatchMetrics batchMetrics,
+            ErrorClassifier errorClassifier,
+            DataErrorPolicy errorPolicy,
+            CustomSkipListener<OldCustomerDto, NewCustomer> skipListener) {
+        requirePoolCompatibleWriter(writerMode, upsertEnabled);
+        ItemWriter<NewCustomer> writer = bisecting(customerWriter(newEntityManagerFactory, newDataSource,
+                upsertEnabled, writerMode, copyFormat, stepExecution), writerMode, newDataSource, errorClassifier,
+                errorPolicy, skipListener, stepExecution);
+        writer = new MeteredItemWriter<>(writer, batchMetrics, stepExecution);
+        return new PipelinedItemWriter<>(writer, oldCustomerReader, transactionManager, writerPoolSize,
+                writerPoolQueueCapacity);
+    }
+
+    /**
+     * 書き込み方式に応じた顧客データのWriterを生成します。
+     */
+    private ItemWriter<NewCustomer> customerWriter(EntityManagerFactory newEntityManagerFactory,
+            DataSource newDataSource, String upsertEnabled, String writerMode, String copyFormat,
+            StepExecution stepExecution) {
+        switch (WriterMode.of(writerMode)) {
+            case COPY:
+                return copyWriter(newDataSource, NewTableMappings.NEW_CUSTOMERS, copyFormat, upsertEnabled);
+            case UPSERT:
+                return new PgUpsertItemWriter<>(newDataSource, NewTableMappings.NEW_CUSTOMERS);
+            case STAGING:
+                return stagingWriter(newDataSource, NewTableMappings.NEW_CUSTOMERS, copyFormat, stepExecution);
+            default:
+                break;
+        }
 
         if ("true".equalsIgnoreCase(upsertEnabled)) {
             // SharedEntityManagerCreator creates a transactional EntityManager proxy
@@ -174,6 +563,59 @@ public class BatchConfiguration {
                 .build();
     }
 
+    /**
+     * 書き込みプールと併用できない書き込み方式でないことを確認します。
+     *
+     * <p>
+     * {@code writerMode=jpa} で {@code upsertEnabled=true} の場合、既存データのエンティティは
+     * チャンクのトランザクションの永続化コンテキスト（{@link ChunkEntityLookup}）で管理されています。
+     * 書き込みプールのスレッドがそれらを別のトランザクションでマージすると、チャンクのコミット時にも
+     * 同じエンティティがフラッシュされ、1行が2つのトランザクションから競合して書き込まれるため、併用できません。
+     * </p>
+     *
+     * @param writerMode    書き込み方式（ジョブパラメータ）
+     * @param upsertEnabled Upsertを有効にする場合true（ジョブパラメータ）
+     * @throws IllegalArgumentException 書き込みプールと併用できない場合
+     */
+    private void requirePoolCompatibleWriter(String writerMode, String upsertEnabled) {
+        boolean upsert = "true".equalsIgnoreCase(upsertEnabled);
+        if (writerPoolSize > 1 && WriterMode.of(writerMode).requiresEntityLookup(upsert)) {
+            throw new IllegalArgumentException("writerMode=jpa の upsertEnabled=true は batch.writer-pool.size が"
+                    + "2以上の場合は使用できません（writerMode=upsert または staging を使用してください）");
+        }
+    }
+
+    /**
+     * 移行ステップのチャンクサイズを決めるポリシーを生成します。
+     *
+     * <p>
+     * チャンクサイズはジョブパラメータ {@code chunkSize}（未指定の場合は{@code batch.chunk-size}）です。
+     * ジョブパラメータ {@code adaptiveChunk=true}（未指定の場合は{@code batch.adaptive-chunk.enabled}）の場合は、
+     * その値を初期値として、トランザクション時間が{@code batch.adaptive-chunk.target-millis}になるよう
+     * チャンクごとに調整します。ステップ実行ごとに生成されるため、調整結果は次の実行に引き継がれません。
+     * </p>
+     *
+     * @param chunkSizeParameter ジョブパラメータ chunkSize
+     * @param adaptiveChunk      ジョブパラメータ adaptiveChunk
+     * @param metrics            チャンクサイズのメトリクス
+     * @return チャンクサイズを決めるポリシー
+     */
+    @Bean
+    @StepScope
+    public AdaptiveChunkSizePolicy chunkSizePolicy(
+            @Value("#{jobParameters['chunkSize']}") String chunkSizeParameter,
+            @Value("#{jobParameters['adaptiveChunk']}") String adaptiveChunk,
+            ChunkSizeMetrics metrics) {
+        int initialSize = chunkSizeParameter != null && !chunkSizeParameter.isBlank()
+                ? Integer.parseInt(chunkSizeParameter.trim())
+                : chunkSize;
+        boolean adaptive = adaptiveChunk != null && !adaptiveChunk.isBlank()
+                ? "true".equalsIgnoreCase(adaptiveChunk.trim())
+                : adaptiveChunkEnabled;
+        return new AdaptiveChunkSizePolicy(initialSize, adaptive, adaptiveChunkTargetMillis,
+                adaptiveChunkMinSize, adaptiveChunkMaxSize, metrics);
+    }
+
     /**
      * 顧客データ移行ステップを生成します。
      *
@@ -181,50 +623,312 @@ public class BatchConfiguration {
      * このステップは、以下の処理をチャンク単位（100件ずつ）で実行します：
      * </p>
      * <ol>
-     * <li>TSVファイルから顧客データを読み込み（Reader）</li>
+     * <li>TSVファイル（または旧データベース）から顧客データを読み込み（Reader）</li>
      * <li>旧形式から新形式にデータを変換（Processor）</li>
      * <li>新データベースに書き込み（Writer）</li>
      * </ol>
      *
      * @param jobRepository        バッチジョブのメタデータを管理するリポジトリ
      * @param transactionManager   トランザクション管理用マネージャー
-     * @param oldCustomerTsvReader 顧客データTSVリーダー
+     * @param oldCustomerReader    顧客データリーダー
      * @param customerProcessor    顧客データ変換プロセッサ
      * @param newCustomerWriter    顧客データライター
+     * @param chunkSizePolicy      チャンクサイズを決めるポリシー
+     * @param customerEntityLookup Upsert時の既存顧客データのルックアップ
+     * @param newDataSource        新データベース用のDataSource（ステージングの反映に使用）
+     * @param connectionBudget     新データベースのコネクション予算
+     * @param asyncItemTaskExecutor 非同期処理（batch.async.enabled=true）用のTaskExecutor
+     * @param stepTaskExecutor     マルチスレッドステップ（batch.multi-thread.threads &gt; 1）用のTaskExecutor
+     * @param retryListener        リトライリスナー
+     * @param batchMetrics         チャンク処理のメトリクス
+     * @param liveStepRegistry     実行中のステップのレジストリ（/actuator/batch）
+     * @param errorPolicy          エラーの扱い（データの除外・スキップ）を決めるポリシー
      * @return 顧客データ移行ステップ
      */
     @Bean
     public Step customerMigrationStep(JobRepository jobRepository,
             @Qualifier("newTransactionManager") PlatformTransactionManager transactionManager,
-            FlatFileItemReader<OldCustomerDto> oldCustomerTsvReader,
+            ItemStreamReader<OldCustomerDto> oldCustomerReader,
             @Qualifier("effectiveCustomerProcessor") ItemProcessor<OldCustomerDto, NewCustomer> customerProcessor,
-            ItemWriter<NewCustomer> newCustomerWriter,
-            com.example.batch.listener.CustomSkipListener<OldCustomerDto, NewCustomer> skipListener,
-            com.example.batch.listener.ProgressListener<OldCustomerDto, NewCustomer> progressListener) {
-        return new StepBuilder("customerMigrationStep", jobRepository)
-                .<OldCustomerDto, NewCustomer>chunk(chunkSize, transactionManager)
-                .reader(oldCustomerTsvReader)
-                .processor(customerProcessor)
-                .writer(newCustomerWriter)
+            PipelinedItemWriter<NewCustomer> newCustomerWriter,
+            CustomSkipListener<OldCustomerDto, NewCustomer> skipListener,
+            ProgressListener<OldCustomerDto, NewCustomer> progressListener,
+            AdaptiveChunkSizePolicy chunkSizePolicy,
+            ChunkEntityLookup<OldCustomerDto, String, NewCustomer> customerEntityLookup,
+            @Qualifier("newDataSource") DataSource newDataSource,
+            ConnectionBudget connectionBudget,
+            @Qualifier("asyncItemTaskExecutor") TaskExecutor asyncItemTaskExecutor,
+            @Qualifier("stepTaskExecutor") TaskExecutor stepTaskExecutor,
+            CustomRetryListener retryListener,
+            BatchMetrics batchMetrics,
+            LiveStepRegistry liveStepRegistry,
+            DataErrorPolicy errorPolicy) {
+        StepCollaborators<OldCustomerDto> collaborators = new StepCollaborators<>(stepTaskExecutor, skipListener,
+                retryListener, progressListener, chunkSizePolicy, customerEntityLookup, connectionBudget, errorPolicy,
+                new InputRecordCountListener(customerInputResource, 1, progressPreScanThreads),
+                // writerMode=staging の場合、ステップ終了時にステージングテーブルを反映する
+                new StagingTableMerger<>(newDataSource, transactionManager, NewTableMappings.NEW_CUSTOMERS));
+        return migrationStep("customerMigrationStep", jobRepository, transactionManager, oldCustomerReader,
+                customerProcessor, newCustomerWriter, asyncItemTaskExecutor, batchMetrics, liveStepRegistry,
+                collaborators);
+    }
+
+    /**
+     * 移行ステップを生成します（顧客・会社で共通）。
+     *
+     * <p>
+     * {@code batch.async.enabled=true} の場合は、プロセッサを{@link AsyncItemProcessor}で包み、
+     * 各アイテムの処理（バリデーション・変換・マスク・既存データの検索）を
+     * 仮想スレッド上で並行に実行します。Writerは{@link AsyncItemWriter}が処理結果（Future）を
+     * 読み込み順に解決してから書き込むため、出力順は変わりません。
+     * データのエラーは仮想スレッド上で除外されます（{@link RejectingItemProcessor}）。
+     * それ以外の処理中の例外はFutureの解決時（書き込み時）に発生するため、書き込みスキップとして記録されます。
+     * </p>
+     *
+     * <p>
+     * {@code batch.multi-thread.threads} が2以上の場合は、チャンクを{@code stepTaskExecutor}上の
+     * 複数スレッドで並列に処理します（マルチスレッドステップ）。Readerは
+     * {@link CheckpointingSynchronizedItemReader}が直列化し、プロセッサ・Writerは
+     * チャンクをまたぐ可変状態を持たないため、そのまま共有できます。
+     * </p>
+     *
+     * @param <I>                   入力アイテムの型
+     * @param <O>                   出力アイテムの型
+     * @param name                  ステップ名
+     * @param jobRepository         バッチジョブのメタデータを管理するリポジトリ
+     * @param transactionManager    トランザクション管理用マネージャー
+     * @param reader                Reader
+     * @param processor             Processor
+     * @param writer                Writer
+     * @param asyncItemTaskExecutor 非同期処理用のTaskExecutor
+     * @param batchMetrics          チャンク処理のメトリクス
+     * @param liveStepRegistry      実行中のステップのレジストリ
+     * @param collaborators         ステップごとのリスナー・ポリシー
+     * @return 移行ステップ
+     */
+    private <I, O> Step migrationStep(String name, JobRepository jobRepository,
+            PlatformTransactionManager transactionManager, ItemStreamReader<I> reader,
+            ItemProcessor<I, O> processor, PipelinedItemWriter<O> writer, TaskExecutor asyncItemTaskExecutor,
+            BatchMetrics batchMetrics, LiveStepRegistry liveStepRegistry, StepCollaborators<I> collaborators) {
+        // 非同期処理の場合もAsyncItemProcessorの内側で計測し、仮想スレッド上の処理時間を記録する
+        // データのエラーは計測の内側で除外し、チャンクをロールバックさせない
+        MeteredItemProcessor<I, O> meteredProcessor = new MeteredItemProcessor<>(
+                new RejectingItemProcessor<>(processor, collaborators.errorPolicy()), batchMetrics,
+                asyncEnabled ? asyncConcurrencyLimit : stepThreads);
+        PipelineMetricsListener metricsListener = new PipelineMetricsListener(batchMetrics);
+        List<MonitoredStage> stages = new ArrayList<>();
+        if (reader instanceof MonitoredStage stage) {
+            stages.add(stage);
+        }
+        stages.add(meteredProcessor);
+        stages.add(writer);
+        LiveStepListener liveStepListener = new LiveStepListener(liveStepRegistry, stepThreads, stages);
+        if (!asyncEnabled) {
+            return chunkStep(name, jobRepository, transactionManager, reader, meteredProcessor, writer,
+                    collaborators, metricsListener, liveStepListener, writer);
+        }
+        AsyncItemProcessor<I, O> asyncProcessor = new AsyncItemProcessor<>();
+        asyncProcessor.setDelegate(meteredProcessor);
+        asyncProcessor.setTaskExecutor(asyncItemTaskExecutor);
+        AsyncItemWriter<O> asyncWriter = new AsyncItemWriter<>();
+        asyncWriter.setDelegate(writer);
+        return chunkStep(name, jobRepository, transactionManager, reader, asyncProcessor, asyncWriter,
+                collaborators, metricsListener, liveStepListener, writer);
+    }
+
+    /**
+     * チャンク処理のステップを生成します。
+     *
+     * <p>
+     * 非同期処理の場合、Writerに渡るアイテムの型 {@code X} は処理結果のFutureになります。
+     * スキップリスナー・進捗リスナーは書き込みアイテムを件数の集計とログ出力にのみ使用するため、
+     * どちらの型でも登録できます。
+     * </p>
+     *
+     * <p>
+     * Readerが{@link ChunkListener}を実装している場合（{@link CheckpointingSynchronizedItemReader}）は、
+     * StepBuilderがリスナーとして自動的に登録します。
+     * Writer（{@link PipelinedItemWriter}）は非同期処理の場合に{@link AsyncItemWriter}で包まれるため、
+     * 明示的に登録します（同じリスナーの重複登録は無視されます）。
+     * </p>
+     *
+     * @param <I>                入力アイテムの型
+     * @param <X>                Writerに渡るアイテムの型
+     * @param name               ステップ名
+     * @param jobRepository      バッチジョブのメタデータを管理するリポジトリ
+     * @param transactionManager トランザクション管理用マネージャー
+     * @param reader             Reader
+     * @param processor          Processor
+     * @param writer             Writer
+     * @param collaborators      ステップごとのリスナー・ポリシー
+     * @param metricsListener    段階ごとの所要時間のメトリクスのリスナー
+     * @param liveStepListener   実行中の状態のリスナー
+     * @param writerListener     書き込みプールの完了を待つリスナー
+     * @return ステップ
+     */
+    @SuppressWarnings("unchecked")
+    private <I, X> Step chunkStep(String name, JobRepository jobRepository,
+            PlatformTransactionManager transactionManager, ItemStreamReader<I> reader,
+            ItemProcessor<I, X> processor, ItemWriter<X> writer, StepCollaborators<I> collaborators,
+            PipelineMetricsListener metricsListener, LiveStepListener liveStepListener,
+            StepExecutionListener writerListener) {
+        DataErrorPolicy errorPolicy = collaborators.errorPolicy();
+        ProgressListener<I, ?> progressListener = collaborators.progressListener();
+        AdaptiveChunkSizePolicy chunkSizePolicy = collaborators.chunkSizePolicy();
+        // faultTolerant()の後のlistener(Object)はSimpleStepBuilderを返す
+        SimpleStepBuilder<I, X> builder = new StepBuilder(name, jobRepository)
+                .<I, X>chunk(chunkSizePolicy, transactionManager)
+                .reader(reader)
+                .processor(processor)
+                .writer(writer)
+                // 同時実行中のステップ全体でコネクションプールの上限を超えないよう、開始前に予算を確保する
+                .listener(collaborators.connectionBudget())
                 // エラーハンドリング設定
                 .faultTolerant()
-                .skip(Exception.class) // 全ての例外をスキップ対象に
-                .skipLimit(skipLimit) // application.ymlで設定可能
+                // スキップの判定はエラーの分類に従う（書き込みプールの失敗などはステップを失敗させる）
+                // 上限（batch.skip-limit）は除外件数とスキップ件数の合計に適用する
+                .skipPolicy(errorPolicy)
                 .retry(org.springframework.dao.DeadlockLoserDataAccessException.class)
                 .retry(org.springframework.dao.TransientDataAccessException.class)
                 .retryLimit(3) // 最大3回リトライ
-                .listener(skipListener)
-                // 進捗監視
+                .listener((SkipListener<I, X>) collaborators.skipListener())
+                .listener((StepExecutionListener) errorPolicy)
+                // 処理中に除外したデータはチャンクのコミット後に出力する（再処理での重複を防ぐ）
+                .listener((ChunkListener) errorPolicy)
+                .listener(collaborators.retryListener())
+                // 進捗監視（入力件数は進捗・実行中の状態のリスナーが参照するため、それらより先に数える）
+                .listener(collaborators.inputCountListener())
+                .listener((StepExecutionListener) progressListener)
                 .listener((ChunkListener) progressListener)
-                .listener((ItemReadListener<OldCustomerDto>) progressListener)
-                .listener((ItemWriteListener<NewCustomer>) progressListener)
-                .build();
+                .listener((ItemReadListener<I>) progressListener)
+                .listener((ItemWriteListener<X>) progressListener)
+                // 段階ごとの所要時間（読み込み）・ロールバックのメトリクス
+                .listener((ChunkListener) metricsListener)
+                .listener((ItemReadListener<Object>) metricsListener)
+                // 実行中の状態（/actuator/batch）
+                .listener((StepExecutionListener) liveStepListener)
+                .listener((ChunkListener) liveStepListener)
+                // チャンクサイズの調整（トランザクション時間の計測）
+                .listener((StepExecutionListener) chunkSizePolicy)
+                .listener((ChunkListener) chunkSizePolicy)
+                .listener((ItemWriteListener<Object>) chunkSizePolicy)
+                // Upsert時の既存データ検索（チャンク単位）
+                .listener((ChunkListener) collaborators.entityLookup())
+                .listener((ItemReadListener<I>) collaborators.entityLookup())
+                .listener(collaborators.stagingMerger())
+                // afterStepは登録と逆順に呼ばれるため、書き込みプールの完了待ちはステージングの反映より先に行われる
+                .listener(writerListener);
+        if (stepThreads > 1) {
+            // 同時に処理するチャンク数はTaskExecutor（stepTaskExecutor）の同時実行数で制限する
+            builder.taskExecutor(collaborators.stepTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 旧データベース用のDataSourceを取得します。
+     *
+     * @param legacyDataSource 旧データベース用のDataSource
+     * @return DataSource
+     * @throws IllegalStateException 旧データベースの接続先が設定されていない場合
+     */
+    private static DataSource requireLegacyDataSource(ObjectProvider<DataSource> legacyDataSource) {
+        DataSource dataSource = legacyDataSource.getIfAvailable();
+        if (dataSource == null) {
+            throw new IllegalStateException(
+                    "source=db を指定する場合は旧データベースの接続先（batch.legacy.datasource.url）を設定してください");
+        }
+        return dataSource;
+    }
+
+    /**
+     * 旧データベースから読み込む際のDataSourceを返します。
+     *
+     * <p>
+     * ジョブ実行でスナップショットがエクスポートされている場合（パーティション分割実行時）は、
+     * そのスナップショットを取り込むDataSourceを返します。
+     * </p>
+     *
+     * @param legacyDataSource 旧データベース用のDataSource
+     * @param snapshotRegistry スナップショットのレジストリ
+     * @param jobExecutionId   ジョブ実行ID
+     * @return DataSource
+     */
+    private static DataSource legacyReadDataSource(ObjectProvider<DataSource> legacyDataSource,
+            LegacySnapshotRegistry snapshotRegistry, Long jobExecutionId) {
+        DataSource dataSource = requireLegacyDataSource(legacyDataSource);
+        String snapshotId = snapshotRegistry.getSnapshotId(jobExecutionId);
+        return snapshotId != null ? new SnapshotDataSource(dataSource, snapshotId) : dataSource;
+    }
+
+    /**
+     * PostgreSQLのCOPYでチャンクを一括挿入するWriterを生成します。
+     *
+     * @param <T>           エンティティの型
+     * @param newDataSource 新データベース用のDataSource
+     * @param mapping       書き込み先テーブルの列定義
+     * @param copyFormat    COPYのデータ形式（text / binary）
+     * @param upsertEnabled Upsertを有効にする場合true
+     * @return Writer
+     * @throws IllegalArgumentException Upsertと併用された場合
+     */
+    private static <T> ItemWriter<T> copyWriter(DataSource newDataSource, TableMapping<T> mapping,
+            String copyFormat, String upsertEnabled) {
+        if ("true".equalsIgnoreCase(upsertEnabled)) {
+            // COPYは挿入のみのため、既存データの更新はできない
+            throw new IllegalArgumentException("writerMode=copy は upsertEnabled=true と併用できません");
+        }
+        return new PgCopyItemWriter<>(newDataSource, mapping, PgCopyItemWriter.Format.of(copyFormat));
+    }
+
+    /**
+     * ステップ実行のステージングテーブルにCOPYするWriterを生成します。
+     *
+     * @param <T>           エンティティの型
+     * @param newDataSource 新データベース用のDataSource
+     * @param mapping       移行先テーブルの列定義
+     * @param copyFormat    COPYのデータ形式（text / binary）
+     * @param stepExecution ステップ実行
+     * @return Writer
+     */
+    private static <T> ItemWriter<T> stagingWriter(DataSource newDataSource, TableMapping<T> mapping,
+            String copyFormat, StepExecution stepExecution) {
+        TableMapping<T> staging = mapping.withTable(
+                StagingTableMerger.stagingTableName(mapping.getTable(), stepExecution));
+        return new PgCopyItemWriter<>(newDataSource, staging, PgCopyItemWriter.Format.of(copyFormat));
+    }
+
+    /**
+     * {@code batch.write.bisect-on-error=true} の場合、Writerを{@link BisectingItemWriter}で包みます。
+     *
+     * @param <T>             エンティティの型
+     * @param writer          元のWriter
+     * @param writerMode      書き込み方式（ジョブパラメータ）
+     * @param newDataSource   新データベース用のDataSource
+     * @param errorClassifier エラーの分類
+     * @param errorPolicy     スキップ上限の判定
+     * @param skipListener    書き込みエラーの行の通知先
+     * @param stepExecution   ステップ実行
+     * @return Writer（対象外の場合は元のWriter）
+     */
+    private <T> ItemWriter<T> bisecting(ItemWriter<T> writer, String writerMode, DataSource newDataSource,
+            ErrorClassifier errorClassifier, DataErrorPolicy errorPolicy, CustomSkipListener<?, T> skipListener,
+            StepExecution stepExecution) {
+        if (!writeBisectOnError) {
+            return writer;
+        }
+        if (!WriterMode.of(writerMode).supportsBisect()) {
+            logger.info("batch.write.bisect-on-error は writerMode=jpa では使用できないため無効にします");
+            return writer;
+        }
+        return new BisectingItemWriter<>(writer, newDataSource, errorClassifier, errorPolicy, skipListener,
+                stepExecution);
     }
 
     // ========== 会社移行設定 ==========
 
     /**
-     * 会社データTSVファイルを読み込むReaderを生成します。
+     * 会社データを読み込むReaderを生成します。
      *
      * <p>
      * このReaderは以下の処理を実行します：
@@ -232,59 +936,144 @@ public class BatchConfiguration {
      * <ul>
      * <li>TSVファイル（タブ区切り）の読み込み</li>
      * <li>1行目（ヘッダー行）のスキップ</li>
-     * <li>各フィールドをOldCompanyDtoにマッピング</li>
+     * <li>各フィールドをOldCompanyDtoにマッピング（{@link OldCompanyMapper}）</li>
      * <li>数値フィールドの文字列から適切な型（Integer, Long）への変換</li>
      * <li>日付の文字列からLocalDateへの変換</li>
      * </ul>
      *
-     * @return 会社データを読み込むFlatFileItemReader
+     * <p>
+     * 列位置は読み飛ばしたヘッダー行から一度だけ解決されます。
+     * </p>
+     *
+     * <p>
+     * ジョブパラメータ {@code companyReader=mmap} を指定すると、
+     * FlatFileItemReaderの代わりにメモリマップ方式の{@link MappedTsvItemReader}を使用します。
+     * </p>
+     *
+     * <p>
+     * パーティション分割実行時は、ステップのExecutionContextに設定されたバイト範囲
+     * （{@link TsvByteRangePartitioner}）のみを{@link MappedTsvItemReader}で読み込みます。
+     * </p>
+     *
+     * <p>
+     * ジョブパラメータ {@code source=db} を指定すると、TSVファイルの代わりに
+     * 旧データベースのold_companiesテーブルから{@link JdbcCursorItemReader}で読み込みます。
+     * パーティション分割実行時は、{@link IdRangePartitioner}が割り当てたキー範囲のみを、
+     * マネージャーステップがエクスポートしたスナップショット上で読み込みます。
+     * </p>
+     *
+     * <p>
+     * ジョブパラメータ {@code replayRejects=<ジョブ実行ID>} を指定すると、そのジョブ実行で除外したデータのファイル
+     * （{@link FileRejectSink}）を読み込みます（{@code source}・パーティション分割より優先）。
+     * </p>
+     *
+     * <p>
+     * いずれのReaderも{@link CheckpointingSynchronizedItemReader}で包んで返します。
+     * マルチスレッドステップ（{@code batch.multi-thread.threads} が2以上）の場合は、
+     * 読み込みを直列化し、コミット済みの位置からリスタートできるようにします。
+     * </p>
+     *
+     * @param source           読込元（"db" または未指定）
+     * @param replayRejects    再処理する除外データのジョブ実行ID（未指定の場合は通常の読み込み）
+     * @param readerType       Readerの種類（"mmap" または未指定）
+     * @param startOffset      パーティションの開始位置（パーティション実行時のみ）
+     * @param endOffset        パーティションの終了位置（パーティション実行時のみ）
+     * @param minId            キー範囲の下限（旧データベースのパーティション実行時のみ）
+     * @param maxId            キー範囲の上限（旧データベースのパーティション実行時のみ）
+     * @param jobExecutionId   ジョブ実行ID（スナップショットの取得に使用）
+     * @param legacyDataSource 旧データベース用のDataSource（設定されている場合のみ）
+     * @param snapshotRegistry 旧データベースのスナップショットのレジストリ
+     * @param rejectSink       除外データの出力先（入力ファイルのヘッダー行を渡す）
+     * @return 会社データを読み込むReader
+     * @throws IOException 入力ファイルの解決に失敗した場合
      */
     @Bean
-    public FlatFileItemReader<OldCompanyDto> oldCompanyTsvReader() {
-        return new FlatFileItemReaderBuilder<OldCompanyDto>()
+    @StepScope
+    public CheckpointingSynchronizedItemReader<OldCompanyDto> oldCompanyReader(
+            @Value("#{jobParameters['source']}") String source,
+            @Value("#{jobParameters['replayRejects']}") String replayRejects,
+            @Value("#{jobParameters['companyReader']}") String readerType,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset,
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId,
+            @Value("#{stepExecution.jobExecutionId}") Long jobExecutionId,
+            @Qualifier("legacyDataSource") ObjectProvider<DataSource> legacyDataSource,
+            LegacySnapshotRegistry snapshotRegistry,
+            FileRejectSink rejectSink) throws IOException {
+
+        if (replayRejects != null && !replayRejects.isBlank()) {
+            return synchronizedReader(rejectReplayReader(replayRejects, "company", new OldCompanyMapper(),
+                    COMPANY_FIELD_NAMES), "oldCompanyReader");
+        }
+
+        if (SOURCE_DB.equalsIgnoreCase(source)) {
+            return synchronizedReader(legacyCompanyReader(
+                    legacyReadDataSource(legacyDataSource, snapshotRegistry, jobExecutionId), minId, maxId),
+                    "oldCompanyReader");
+        }
+
+        OldCompanyMapper mapper = new OldCompanyMapper();
+        LineCallbackHandler headerCallback = headerCallback(mapper, rejectSink, jobExecutionId, "company");
+        boolean partitioned = startOffset != null && endOffset != null;
+        if (partitioned || MappedTsvItemReader.READER_TYPE.equalsIgnoreCase(readerType)) {
+            if (companyInputResource.isFile()) {
+                MappedTsvItemReader<OldCompanyDto> reader = new MappedTsvItemReader<>(
+                        companyInputResource.getFile().toPath(), mapper);
+                reader.setName("oldCompanyTsvReader");
+                reader.setLinesToSkip(1);
+                reader.setSkippedLinesCallback(headerCallback);
+                reader.setExpectedFieldCount(12);
+                if (partitioned) {
+                    reader.setRange(startOffset, endOffset);
+                }
+                return synchronizedReader(reader, "oldCompanyReader");
+            }
+            if (partitioned) {
+                throw new IllegalStateException(
+                        "パーティション分割にはファイルシステム上の入力ファイルが必要です: " + companyInputResource);
+            }
+            logger.warn("会社ファイルがファイルシステム上にないため、FlatFileItemReaderを使用します: {}",
+                    companyInputResource);
+        }
+
+        return synchronizedReader(new FlatFileItemReaderBuilder<OldCompanyDto>()
                 .name("oldCompanyTsvReader")
                 .resource(companyInputResource)
                 .linesToSkip(1)
                 .delimited()
                 .delimiter("\t")
-                .names("companyCode", "companyName", "representativeName", "industryType",
-                        "employeeCount", "capital", "establishedDate", "address",
-                        "postalCode", "phone", "email", "status")
-                .fieldSetMapper(fieldSet -> {
-                    OldCompanyDto dto = new OldCompanyDto();
-                    dto.setCompanyCode(fieldSet.readString("companyCode"));
-                    dto.setCompanyName(fieldSet.readString("companyName"));
-                    dto.setRepresentativeName(fieldSet.readString("representativeName"));
-
-                    String industryTypeStr = fieldSet.readString("industryType");
-                    if (industryTypeStr != null && !industryTypeStr.isEmpty()) {
-                        dto.setIndustryType(Integer.parseInt(industryTypeStr));
-                    }
-
-                    String employeeCountStr = fieldSet.readString("employeeCount");
-                    if (employeeCountStr != null && !employeeCountStr.isEmpty()) {
-                        dto.setEmployeeCount(Integer.parseInt(employeeCountStr));
-                    }
-
-                    String capitalStr = fieldSet.readString("capital");
-                    if (capitalStr != null && !capitalStr.isEmpty()) {
-                        dto.setCapital(Long.parseLong(capitalStr));
-                    }
-
-                    String establishedDateStr = fieldSet.readString("establishedDate");
-                    if (establishedDateStr != null && !establishedDateStr.isEmpty()) {
-                        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-                        dto.setEstablishedDate(LocalDate.parse(establishedDateStr, formatter));
-                    }
-
-                    dto.setAddress(fieldSet.readString("address"));
-                    dto.setPostalCode(fieldSet.readString("postalCode"));
-                    dto.setPhone(fieldSet.readString("phone"));
-                    dto.setEmail(fieldSet.readString("email"));
-                    dto.setStatus(fieldSet.readString("status"));
-
-                    return dto;
-                })
+                .names(COMPANY_FIELD_NAMES)
+                .skippedLinesCallback(headerCallback)
+                .fieldSetMapper(mapper)
+                .build(), "oldCompanyReader");
+    }
+
+    /**
+     * 旧データベースのold_companiesテーブルを読み込むReaderを生成します。
+     *
+     * <p>
+     * 結果セット全体をメモリに展開しないよう、サーバー側カーソルから
+     * {@code batch.legacy.fetch-size}件ずつ取得します（PostgreSQLでは自動コミット無効が条件）。
+     * リスタート時に同じ順序で読み直せるよう、主キー順で取得します。
+     * </p>
+     *
+     * @param dataSource 旧データベース用のDataSource
+     * @param minId      キー範囲の下限（null の場合は全件）
+     * @param maxId      キー範囲の上限（null の場合は全件）
+     * @return 会社データを読み込むJdbcCursorItemReader
+     */
+    private JdbcCursorItemReader<OldCompanyDto> legacyCompanyReader(DataSource dataSource, Long minId, Long maxId) {
+        boolean ranged = minId != null && maxId != null;
+        return new JdbcCursorItemReaderBuilder<OldCompanyDto>()
+                .name("oldCompanyJdbcReader")
+                .dataSource(dataSource)
+                .sql("SELECT " + OldCompanyRowMapper.COLUMNS + " FROM old_companies"
+                        + (ranged ? " WHERE id BETWEEN ? AND ?" : "") + " ORDER BY id")
+                .queryArguments(ranged ? new Object[] { minId, maxId } : new Object[0])
+                .rowMapper(new OldCompanyRowMapper())
+                .fetchSize(legacyFetchSize)
+                .connectionAutoCommit(false)
                 .build();
     }
 
@@ -296,14 +1085,79 @@ public class BatchConfiguration {
      * エンティティを永続化します。
      * </p>
      *
+     * <p>
+     * ジョブパラメータ {@code writerMode=copy} の場合は、PostgreSQLのCOPYで
+     * チャンクを一括挿入する{@link PgCopyItemWriter}を、{@code writerMode=upsert} の場合は
+     * 複数行の INSERT ... ON CONFLICT で一括Upsertする{@link PgUpsertItemWriter}を使用します。
+     * {@code writerMode=staging} の場合は、ステップ実行ごとのステージングテーブルにCOPYし、
+     * ステップ終了時に{@link StagingTableMerger}が移行先テーブルへ反映します。
+     * </p>
+     *
+     * <p>
+     * {@code batch.write.bisect-on-error=true} の場合、JDBCで書き込む方式（copy / upsert / staging）は
+     * {@link BisectingItemWriter}で包み、データのエラーで失敗したチャンクを二分して不正な行を特定します。
+     * </p>
+     *
+     * <p>
+     * いずれのWriterも{@link PipelinedItemWriter}で包んで返します。
+     * {@code batch.writer-pool.size} が2以上の場合は、チャンクを書き込みスレッドのプールに渡し、
+     * 複数のコネクションで並行に書き込みます。
+     * </p>
+     *
      * @param newEntityManagerFactory 新データベース用のEntityManagerFactory
-     * @return 会社データを書き込むJpaItemWriter
+     * @param newDataSource           新データベース用のDataSource
+     * @param transactionManager      書き込みプールのトランザクションマネージャー
+     * @param oldCompanyReader        会社データリーダー（書き込みプールのリスタート位置の管理に使用）
+     * @param upsertEnabled           Upsertを有効にする場合true
+     * @param writerMode              書き込み方式（jpa / copy / upsert / staging、未指定の場合はjpa）
+     * @param copyFormat              COPYのデータ形式（text / binary、未指定の場合はbinary）
+     * @param stepExecution           ステップ実行（ステージングテーブル名の決定、メトリクスのタグに使用）
+     * @param batchMetrics            書き込み時間のメトリクス
+     * @param errorClassifier         エラーの分類（batch.write.bisect-on-error=true の場合に使用）
+     * @param errorPolicy             スキップ上限の判定（同上）
+     * @param skipListener            書き込みエラーの行の通知先（同上）
+     * @return 会社データを書き込むWriter
      */
     @Bean
     @StepScope
-    public ItemWriter<NewCompany> newCompanyWriter(
+    public PipelinedItemWriter<NewCompany> newCompanyWriter(
             @Qualifier("newEntityManagerFactory") EntityManagerFactory newEntityManagerFactory,
-            @Value("#{jobParameters['upsertEnabled']}") String upsertEnabled) {
+            @Qualifier("newDataSource") DataSource newDataSource,
+            @Qualifier("newTransactionManager") PlatformTransactionManager transactionManager,
+            CheckpointingSynchronizedItemReader<OldCompanyDto> oldCompanyReader,
+            @Value("#{jobParameters['upsertEnabled']}") String upsertEnabled,
+            @Value("#{jobParameters['writerMode']}") String writerMode,
+            @Value("#{jobParameters['copyFormat']}") String copyFormat,
+            @Value("#{stepExecution}") StepExecution stepExecution,
+            BatchMetrics batchMetrics,
+            ErrorClassifier errorClassifier,
+            DataErrorPolicy errorPolicy,
+            CustomSkipListener<OldCompanyDto, NewCompany> skipListener) {
+        requirePoolCompatibleWriter(writerMode, upsertEnabled);
+        ItemWriter<NewCompany> writer = bisecting(companyWriter(newEntityManagerFactory, newDataSource,
+                upsertEnabled, writerMode, copyFormat, stepExecution), writerMode, newDataSource, errorClassifier,
+                errorPolicy, skipListener, stepExecution);
+        writer = new MeteredItemWriter<>(writer, batchMetrics, stepExecution);
+        return new PipelinedItemWriter<>(writer, oldCompanyReader, transactionManager, writerPoolSize,
+                writerPoolQueueCapacity);
+    }
+
+    /**
+     * 書き込み方式に応じた会社データのWriterを生成します。
+     */
+    private ItemWriter<NewCompany> companyWriter(EntityManagerFactory newEntityManagerFactory,
+            DataSource newDataSource, String upsertEnabled, String writerMode, String copyFormat,
+            StepExecution stepExecution) {
+        switch (WriterMode.of(writerMode)) {
+            case COPY:
+                return copyWriter(newDataSource, NewTableMappings.NEW_COMPANIES, copyFormat, upsertEnabled);
+            case UPSERT:
+                return new PgUpsertItemWriter<>(newDataSource, NewTableMappings.NEW_COMPANIES);
+            case STAGING:
+                return stagingWriter(newDataSource, NewTableMappings.NEW_COMPANIES, copyFormat, stepExecution);
+            default:
+                break;
+        }
 
         if ("true".equalsIgnoreCase(upsertEnabled)) {
             // SharedEntityManagerCreator creates a transactional EntityManager proxy
@@ -324,43 +1178,360 @@ public class BatchConfiguration {
      * このステップは、以下の処理をチャンク単位（100件ずつ）で実行します：
      * </p>
      * <ol>
-     * <li>TSVファイルから会社データを読み込み（Reader）</li>
+     * <li>TSVファイル（または旧データベース）から会社データを読み込み（Reader）</li>
      * <li>旧形式から新形式にデータを変換（Processor）</li>
      * <li>新データベースに書き込み（Writer）</li>
      * </ol>
      *
      * @param jobRepository       バッチジョブのメタデータを管理するリポジトリ
      * @param transactionManager  トランザクション管理用マネージャー
-     * @param oldCompanyTsvReader 会社データTSVリーダー
+     * @param oldCompanyReader    会社データリーダー
      * @param companyProcessor    会社データ変換プロセッサ
      * @param newCompanyWriter    会社データライター
+     * @param chunkSizePolicy     チャンクサイズを決めるポリシー
+     * @param companyEntityLookup Upsert時の既存会社データのルックアップ
+     * @param newDataSource       新データベース用のDataSource（ステージングの反映に使用）
+     * @param connectionBudget    新データベースのコネクション予算
+     * @param asyncItemTaskExecutor 非同期処理（batch.async.enabled=true）用のTaskExecutor
+     * @param stepTaskExecutor     マルチスレッドステップ（batch.multi-thread.threads &gt; 1）用のTaskExecutor
+     * @param retryListener        リトライリスナー
+     * @param batchMetrics         チャンク処理のメトリクス
+     * @param liveStepRegistry     実行中のステップのレジストリ（/actuator/batch）
+     * @param errorPolicy          エラーの扱い（データの除外・スキップ）を決めるポリシー
      * @return 会社データ移行ステップ
      */
     @Bean
     public Step companyMigrationStep(JobRepository jobRepository,
             @Qualifier("newTransactionManager") PlatformTransactionManager transactionManager,
-            FlatFileItemReader<OldCompanyDto> oldCompanyTsvReader,
+            ItemStreamReader<OldCompanyDto> oldCompanyReader,
             @Qualifier("effectiveCompanyProcessor") ItemProcessor<OldCompanyDto, NewCompany> companyProcessor,
-            ItemWriter<NewCompany> newCompanyWriter,
-            com.example.batch.listener.CustomSkipListener<OldCompanyDto, NewCompany> skipListener,
-            com.example.batch.listener.ProgressListener<OldCompanyDto, NewCompany> progressListener) {
-        return new StepBuilder("companyMigrationStep", jobRepository)
-                .<OldCompanyDto, NewCompany>chunk(chunkSize, transactionManager)
-                .reader(oldCompanyTsvReader)
-                .processor(companyProcessor)
-                .writer(newCompanyWriter)
-                // エラーハンドリング設定
-                .faultTolerant()
-                .skip(Exception.class) // 全ての例外をスキップ対象に
-                .skipLimit(skipLimit) // application.ymlで設定可能
-                .retry(org.springframework.dao.DeadlockLoserDataAccessException.class)
-                .retry(org.springframework.dao.TransientDataAccessException.class)
-                .retryLimit(3) // 最大3回リトライ
-                .listener(skipListener)
-                // 進捗監視
-                .listener((ChunkListener) progressListener)
-                .listener((ItemReadListener<OldCompanyDto>) progressListener)
-                .listener((ItemWriteListener<NewCompany>) progressListener)
+            PipelinedItemWriter<NewCompany> newCompanyWriter,
+            CustomSkipListener<OldCompanyDto, NewCompany> skipListener,
+            ProgressListener<OldCompanyDto, NewCompany> progressListener,
+            AdaptiveChunkSizePolicy chunkSizePolicy,
+            ChunkEntityLookup<OldCompanyDto, String, NewCompany> companyEntityLookup,
+            @Qualifier("newDataSource") DataSource newDataSource,
+            ConnectionBudget connectionBudget,
+            @Qualifier("asyncItemTaskExecutor") TaskExecutor asyncItemTaskExecutor,
+            @Qualifier("stepTaskExecutor") TaskExecutor stepTaskExecutor,
+            CustomRetryListener retryListener,
+            BatchMetrics batchMetrics,
+            LiveStepRegistry liveStepRegistry,
+            DataErrorPolicy errorPolicy) {
+        StepCollaborators<OldCompanyDto> collaborators = new StepCollaborators<>(stepTaskExecutor, skipListener,
+                retryListener, progressListener, chunkSizePolicy, companyEntityLookup, connectionBudget, errorPolicy,
+                new InputRecordCountListener(companyInputResource, 1, progressPreScanThreads),
+                // writerMode=staging の場合、ステップ終了時にステージングテーブルを反映する
+                new StagingTableMerger<>(newDataSource, transactionManager, NewTableMappings.NEW_COMPANIES));
+        return migrationStep("companyMigrationStep", jobRepository, transactionManager, oldCompanyReader,
+                companyProcessor, newCompanyWriter, asyncItemTaskExecutor, batchMetrics, liveStepRegistry,
+                collaborators);
+    }
+
+    // ========== パーティション設定 ==========
+
+    /**
+     * パーティションのワーカーステップを並列実行するTaskExecutorを生成します。
+     *
+     * <p>
+     * 同時実行数はパーティション分割数（ジョブパラメータ "partitions"、未指定時は
+     * {@code batch.partition.grid-size}）です。ただし、コネクション予算（{@link ConnectionBudget}）内で
+     * 同時に実行できるワーカー数を上限とします。ワーカーは開始前に予算からコネクションを確保するため、
+     * 上限を超えて起動したスレッドは空きを待つだけになります。
+     * 旧データベースから読み込む場合は、スナップショットを保持するコネクションが1本加わるため、
+     * {@code batch.legacy.datasource.maximum-pool-size}は分割数+1以上にしてください。
+     * </p>
+     *
+     * <p>
+     * マネージャーステップの実行ごとに生成し、顧客・会社のフローを並列実行する場合も
+     * それぞれのステップが同時実行数を持ちます（予算は全ステップで共有されます）。
+     * </p>
+     *
+     * @param partitions       分割数（ジョブパラメータ、未指定時は batch.partition.grid-size）
+     * @param connectionBudget 新データベースのコネクション予算
+     * @return パーティション用のTaskExecutor
+     */
+    @Bean
+    @StepScope
+    public TaskExecutor partitionTaskExecutor(@Value("#{jobParameters['partitions']}") String partitions,
+            ConnectionBudget connectionBudget) {
+        int gridSize = MigrationStepDecider.parsePartitions(partitions, partitionGridSize);
+        int concurrency = Math.min(gridSize, connectionBudget.getMaxConcurrentSteps());
+        if (concurrency < gridSize) {
+            logger.info("【パーティション】コネクション予算により、{} 分割のワーカーを同時に {} 件まで実行します",
+                    gridSize, concurrency);
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("partition-");
+        executor.setConcurrencyLimit(concurrency);
+        return executor;
+    }
+
+    /**
+     * プロセッサを非同期に実行するTaskExecutorを生成します。
+     *
+     * <p>
+     * {@code batch.async.enabled=true} の場合に使用します。アイテムごとに仮想スレッドを起動し、
+     * 同時に処理するアイテム数は{@code batch.async.concurrency-limit}で制限します
+     * （上限に達した場合、チャンクのスレッドは空きを待ちます）。
+     * 上限は全ステップで共有されます。
+     * </p>
+     *
+     * @return 非同期処理用のTaskExecutor
+     */
+    @Bean
+    public TaskExecutor asyncItemTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-item-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(asyncConcurrencyLimit);
+        return executor;
+    }
+
+    /**
+     * マルチスレッドステップでチャンクを処理するTaskExecutorを生成します。
+     *
+     * <p>
+     * {@code batch.multi-thread.threads} が2以上の場合に使用します。
+     * 同時に処理するチャンク数はこのTaskExecutorの同時実行数（スレッド数）で制限します。
+     * 顧客・会社のフローを並列実行する場合もステップごとに上限が適用されるよう、
+     * ステップごとに別のインスタンスを生成します（プロトタイプスコープ）。
+     * ただし、チャンクを繰り返し実行する{@code TaskExecutorRepeatTemplate}は
+     * 処理中のチャンクを既定で4つまでに制限するため、5以上を指定しても同時に処理するチャンクは4つです。
+     * 各スレッドはチャンクのトランザクションごとにDBコネクションを1本使用し、
+     * ステップは開始前に{@link ConnectionBudget}からスレッド数分のコネクションを確保します。
+     * </p>
+     *
+     * @return マルチスレッドステップ用のTaskExecutor
+     */
+    @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public TaskExecutor stepTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("step-");
+        executor.setConcurrencyLimit(Math.max(1, stepThreads));
+        return executor;
+    }
+
+    /**
+     * 顧客・会社のフローを並列実行するTaskExecutorを生成します。
+     *
+     * <p>
+     * ジョブパラメータ parallel=true の場合に使用します。
+     * 各フローのステップは開始前に{@link ConnectionBudget}からコネクションを確保するため、
+     * パーティション分割と併用しても同時に使用するコネクション数はプールの上限を超えません。
+     * </p>
+     *
+     * @return フロー並列実行用のTaskExecutor
+     */
+    @Bean
+    public TaskExecutor migrationFlowTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("migration-flow-");
+        executor.setConcurrencyLimit(2);
+        return executor;
+    }
+
+    /**
+     * 顧客データを分割するPartitionerを生成します。
+     *
+     * <p>
+     * TSVファイルから読み込む場合は行境界に揃えたバイト範囲で、
+     * 旧データベースから読み込む場合（{@code source=db}）はold_customersの主キー範囲で分割します。
+     * 旧データベースの場合は、全ワーカーが同じ時点のデータを読み込むよう
+     * スナップショットをエクスポートし、分割範囲の計算もそのスナップショット上で行います。
+     * </p>
+     *
+     * @param partitions       分割数（ジョブパラメータ、未指定時は batch.partition.grid-size）
+     * @param source           読込元（"db" または未指定）
+     * @param stepExecution    マネージャーステップの実行情報
+     * @param legacyDataSource 旧データベース用のDataSource（設定されている場合のみ）
+     * @param snapshotRegistry 旧データベースのスナップショットのレジストリ
+     * @return 顧客データ用のPartitioner
+     * @throws IOException 入力ファイルの解決に失敗した場合
+     */
+    @Bean
+    @StepScope
+    public Partitioner customerPartitioner(
+            @Value("#{jobParameters['partitions']}") String partitions,
+            @Value("#{jobParameters['source']}") String source,
+            @Value("#{stepExecution}") StepExecution stepExecution,
+            @Qualifier("legacyDataSource") ObjectProvider<DataSource> legacyDataSource,
+            LegacySnapshotRegistry snapshotRegistry) throws IOException {
+        if (SOURCE_DB.equalsIgnoreCase(source)) {
+            return idRangePartitioner("old_customers", partitions, stepExecution, legacyDataSource, snapshotRegistry);
+        }
+        return byteRangePartitioner(customerInputResource, partitions);
+    }
+
+    /**
+     * 会社データを分割するPartitionerを生成します。
+     *
+     * <p>
+     * TSVファイルから読み込む場合は行境界に揃えたバイト範囲で、
+     * 旧データベースから読み込む場合（{@code source=db}）はold_companiesの主キー範囲で分割します。
+     * 旧データベースの場合は、全ワーカーが同じ時点のデータを読み込むよう
+     * スナップショットをエクスポートし、分割範囲の計算もそのスナップショット上で行います。
+     * </p>
+     *
+     * @param partitions       分割数（ジョブパラメータ、未指定時は batch.partition.grid-size）
+     * @param source           読込元（"db" または未指定）
+     * @param stepExecution    マネージャーステップの実行情報
+     * @param legacyDataSource 旧データベース用のDataSource（設定されている場合のみ）
+     * @param snapshotRegistry 旧データベースのスナップショットのレジストリ
+     * @return 会社データ用のPartitioner
+     * @throws IOException 入力ファイルの解決に失敗した場合
+     */
+    @Bean
+    @StepScope
+    public Partitioner companyPartitioner(
+            @Value("#{jobParameters['partitions']}") String partitions,
+            @Value("#{jobParameters['source']}") String source,
+            @Value("#{stepExecution}") StepExecution stepExecution,
+            @Qualifier("legacyDataSource") ObjectProvider<DataSource> legacyDataSource,
+            LegacySnapshotRegistry snapshotRegistry) throws IOException {
+        if (SOURCE_DB.equalsIgnoreCase(source)) {
+            return idRangePartitioner("old_companies", partitions, stepExecution, legacyDataSource, snapshotRegistry);
+        }
+        return byteRangePartitioner(companyInputResource, partitions);
+    }
+
+    /**
+     * 旧データベースのテーブルを主キー範囲で分割するPartitionerを生成します。
+     *
+     * @param table            テーブル名
+     * @param partitions       分割数（ジョブパラメータ）
+     * @param stepExecution    マネージャーステップの実行情報
+     * @param legacyDataSource 旧データベース用のDataSource
+     * @param snapshotRegistry スナップショットのレジストリ
+     * @return Partitioner
+     */
+    private Partitioner idRangePartitioner(String table, String partitions, StepExecution stepExecution,
+            ObjectProvider<DataSource> legacyDataSource, LegacySnapshotRegistry snapshotRegistry) {
+        DataSource dataSource = requireLegacyDataSource(legacyDataSource);
+        int gridSize = MigrationStepDecider.parsePartitions(partitions, partitionGridSize);
+        return ignored -> {
+            // スナップショットはマネージャーステップの終了時（LegacySnapshotRegistry#afterStep）に解放される
+            String snapshotId = snapshotRegistry.acquire(stepExecution, dataSource);
+            return new IdRangePartitioner(new SnapshotDataSource(dataSource, snapshotId), table, "id")
+                    .partition(gridSize);
+        };
+    }
+
+    /**
+     * 入力ファイルのバイト範囲分割を行うPartitionerを生成します。
+     *
+     * @param resource   入力ファイル
+     * @param partitions 分割数（ジョブパラメータ）
+     * @return Partitioner
+     * @throws IOException 入力ファイルの解決に失敗した場合
+     */
+    private Partitioner byteRangePartitioner(Resource resource, String partitions) throws IOException {
+        if (!resource.isFile()) {
+            throw new IllegalStateException("パーティション分割にはファイルシステム上の入力ファイルが必要です: " + resource);
+        }
+        TsvByteRangePartitioner partitioner = new TsvByteRangePartitioner(resource.getFile().toPath(), 1);
+        int gridSize = MigrationStepDecider.parsePartitions(partitions, partitionGridSize);
+        return ignored -> partitioner.partition(gridSize);
+    }
+
+    /**
+     * 顧客データ移行をパーティション分割して並列実行するステップを生成します。
+     *
+     * <p>
+     * ワーカーには{@code customerMigrationStep}をそのまま使用します。
+     * 各パーティションは「customerMigrationStep:partitionN」という名前の
+     * ステップ実行となり、それぞれが専用のReader・Processor・Writerを持ちます。
+     * </p>
+     *
+     * @param jobRepository         バッチジョブのメタデータを管理するリポジトリ
+     * @param customerMigrationStep ワーカーステップ
+     * @param customerPartitioner   顧客データ用のPartitioner
+     * @param partitionTaskExecutor ワーカーを実行するTaskExecutor
+     * @param snapshotRegistry      旧データベースのスナップショットのレジストリ
+     * @return 顧客データ移行のパーティションステップ
+     */
+    @Bean
+    public Step customerPartitionedStep(JobRepository jobRepository,
+            Step customerMigrationStep,
+            @Qualifier("customerPartitioner") Partitioner customerPartitioner,
+            @Qualifier("partitionTaskExecutor") TaskExecutor partitionTaskExecutor,
+            LegacySnapshotRegistry snapshotRegistry) {
+        return new StepBuilder("customerPartitionedStep", jobRepository)
+                .partitioner(customerMigrationStep.getName(), customerPartitioner)
+                .step(customerMigrationStep)
+                .gridSize(partitionGridSize)
+                .taskExecutor(partitionTaskExecutor)
+                // 旧データベースのスナップショットを全ワーカーの終了後に解放する
+                .listener(snapshotRegistry)
+                .build();
+    }
+
+    /**
+     * 会社データ移行をパーティション分割して並列実行するステップを生成します。
+     *
+     * @param jobRepository         バッチジョブのメタデータを管理するリポジトリ
+     * @param companyMigrationStep  ワーカーステップ
+     * @param companyPartitioner    会社データ用のPartitioner
+     * @param partitionTaskExecutor ワーカーを実行するTaskExecutor
+     * @param snapshotRegistry      旧データベースのスナップショットのレジストリ
+     * @return 会社データ移行のパーティションステップ
+     */
+    @Bean
+    public Step companyPartitionedStep(JobRepository jobRepository,
+            Step companyMigrationStep,
+            @Qualifier("companyPartitioner") Partitioner companyPartitioner,
+            @Qualifier("partitionTaskExecutor") TaskExecutor partitionTaskExecutor,
+            LegacySnapshotRegistry snapshotRegistry) {
+        return new StepBuilder("companyPartitionedStep", jobRepository)
+                .partitioner(companyMigrationStep.getName(), companyPartitioner)
+                .step(companyMigrationStep)
+                .gridSize(partitionGridSize)
+                .taskExecutor(partitionTaskExecutor)
+                // 旧データベースのスナップショットを全ワーカーの終了後に解放する
+                .listener(snapshotRegistry)
+                .build();
+    }
+
+    // ========== 一括ロード設定 ==========
+
+    /**
+     * 一括ロードモードの前処理ステップを生成します。
+     *
+     * <p>
+     * ジョブパラメータ bulkLoad=true の場合に移行ステップの前に実行し、
+     * 移行先テーブルのインデックスを削除してUNLOGGEDに変更します。
+     * </p>
+     *
+     * @param jobRepository      バッチジョブのメタデータを管理するリポジトリ
+     * @param transactionManager トランザクション管理用マネージャー
+     * @param newDataSource      新データベース用のDataSource
+     * @return 一括ロードの前処理ステップ
+     */
+    @Bean
+    public Step bulkLoadPrepareStep(JobRepository jobRepository,
+            @Qualifier("newTransactionManager") PlatformTransactionManager transactionManager,
+            @Qualifier("newDataSource") DataSource newDataSource) {
+        return new StepBuilder("bulkLoadPrepareStep", jobRepository)
+                .tasklet(new BulkLoadPrepareTasklet(newDataSource), transactionManager)
+                .build();
+    }
+
+    /**
+     * 一括ロードモードの後処理ステップを生成します。
+     *
+     * <p>
+     * ジョブパラメータ bulkLoad=true の場合に移行ステップの後に実行し、
+     * インデックスを並列に再作成してANALYZEを実行し、テーブルをLOGGEDに戻します。
+     * </p>
+     *
+     * @param jobRepository      バッチジョブのメタデータを管理するリポジトリ
+     * @param transactionManager トランザクション管理用マネージャー
+     * @param newDataSource      新データベース用のDataSource
+     * @return 一括ロードの後処理ステップ
+     */
+    @Bean
+    public Step bulkLoadFinalizeStep(JobRepository jobRepository,
+            @Qualifier("newTransactionManager") PlatformTransactionManager transactionManager,
+            @Qualifier("newDataSource") DataSource newDataSource) {
+        return new StepBuilder("bulkLoadFinalizeStep", jobRepository)
+                .tasklet(new BulkLoadFinalizeTasklet(newDataSource, bulkLoadIndexParallelism), transactionManager)
                 .build();
     }
 
@@ -371,6 +1542,8 @@ public class BatchConfiguration {
     /**
      * ステップを実行するかどうかを決定するDecider。
      * ジョブパラメータ "targets" に対象が含まれている場合のみ CONTINUE を返す。
+     * さらにジョブパラメータ "partitions" が2以上の場合は PARTITIONED を返し、
+     * パーティション分割ステップで実行する。
      */
     public static class MigrationStepDecider implements JobExecutionDecider {
         private final String targetName;
@@ -384,10 +1557,60 @@ public class BatchConfiguration {
             String targets = jobExecution.getJobParameters().getString("targets");
             // パラメータがない場合（デフォルト）は全て実行
             if (targets == null || targets.isEmpty() || targets.contains(targetName)) {
+                String partitions = jobExecution.getJobParameters().getString("partitions");
+                // 除外データの再処理（replayRejects）はファイルが小さいため分割しない
+                if (jobExecution.getJobParameters().getString("replayRejects") == null
+                        && parsePartitions(partitions, 1) > 1) {
+                    return new FlowExecutionStatus("PARTITIONED");
+                }
                 return new FlowExecutionStatus("CONTINUE");
             }
             return new FlowExecutionStatus("SKIP");
         }
+
+        /**
+         * ジョブパラメータ "partitions" を分割数として解釈します。
+         *
+         * @param partitions   ジョブパラメータの値
+         * @param defaultValue 未指定・不正な値の場合のデフォルト
+         * @return 分割数
+         */
+        static int parsePartitions(String partitions, int defaultValue) {
+            if (partitions == null || partitions.isBlank()) {
+                return defaultValue;
+            }
+            try {
+                return Math.max(1, Integer.parseInt(partitions.trim()));
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * 一括ロードの前処理・後処理を実行するかどうかを決定するDecider。
+     * ジョブパラメータ "bulkLoad" が true の場合のみ BULK_LOAD を返す。
+     */
+    public static class BulkLoadDecider implements JobExecutionDecider {
+
+        @Override
+        public FlowExecutionStatus decide(JobExecution jobExecution, StepExecution stepExecution) {
+            String bulkLoad = jobExecution.getJobParameters().getString("bulkLoad");
+            return new FlowExecutionStatus("true".equalsIgnoreCase(bulkLoad) ? "BULK_LOAD" : "SKIP");
+        }
+    }
+
+    /**
+     * 顧客・会社のフローを並列実行するかどうかを決定するDecider。
+     * ジョブパラメータ "parallel" が true の場合は PARALLEL、それ以外は SEQUENTIAL を返す。
+     */
+    public static class ParallelFlowDecider implements JobExecutionDecider {
+
+        @Override
+        public FlowExecutionStatus decide(JobExecution jobExecution, StepExecution stepExecution) {
+            String parallel = jobExecution.getJobParameters().getString("parallel");
+            return new FlowExecutionStatus("true".equalsIgnoreCase(parallel) ? "PARALLEL" : "SEQUENTIAL");
+        }
     }
 
     /**
@@ -395,6 +1618,13 @@ public class BatchConfiguration {
      *
      * <p>
      * このジョブは、ジョブパラメータ 'targets' に基づいてステップを実行します。
+     * ジョブパラメータ 'partitions' が2以上の場合は、各移行ステップを
+     * パーティション分割して並列実行します。
+     * ジョブパラメータ 'parallel' が true の場合は、顧客・会社のフローを並列に実行します。
+     * ジョブパラメータ 'bulkLoad' が true の場合は、移行の前後に
+     * 一括ロードの前処理・後処理ステップを実行します。
+     * ジョブパラメータ 'replayRejects' にジョブ実行IDを指定した場合は、入力ファイルの代わりに
+     * そのジョブ実行で除外したデータのファイルを読み込みます。
      * </p>
      *
      * @return データ移行バッチジョブ
@@ -403,9 +1633,16 @@ public class BatchConfiguration {
     public Job dataMigrationJob(JobRepository jobRepository,
             Step customerMigrationStep,
             Step companyMigrationStep,
+            Step customerPartitionedStep,
+            Step companyPartitionedStep,
+            Step bulkLoadPrepareStep,
+            Step bulkLoadFinalizeStep,
+            @Qualifier("migrationFlowTaskExecutor") TaskExecutor migrationFlowTaskExecutor,
             JobCompletionNotificationListener listener,
             com.example.batch.listener.StatisticsReportListener statisticsReportListener,
-            com.example.batch.listener.RollbackListener rollbackListener) {
+            com.example.batch.listener.RollbackListener rollbackListener,
+            FileRejectSink rejectSink,
+            BatchMetrics batchMetrics) {
 
         MigrationStepDecider customerDecider = new MigrationStepDecider("customer");
         MigrationStepDecider companyDecider = new MigrationStepDecider("company");
@@ -415,6 +1652,8 @@ public class BatchConfiguration {
                 .start(customerDecider)
                 .on("SKIP").end()
                 .from(customerDecider)
+                .on("PARTITIONED").to(customerPartitionedStep)
+                .from(customerDecider)
                 .on("CONTINUE").to(customerMigrationStep)
                 .build();
 
@@ -423,17 +1662,76 @@ public class BatchConfiguration {
                 .start(companyDecider)
                 .on("SKIP").end()
                 .from(companyDecider)
+                .on("PARTITIONED").to(companyPartitionedStep)
+                .from(companyDecider)
                 .on("CONTINUE").to(companyMigrationStep)
                 .build();
 
+        // Migration Flow（顧客・会社を順に、または並列に実行。targets による対象外のフローは各Deciderが終了させる）
+        ParallelFlowDecider parallelDecider = new ParallelFlowDecider();
+        Flow sequentialFlow = new FlowBuilder<Flow>("sequentialMigrationFlow")
+                .start(customerFlow)
+                .next(companyFlow)
+                .build();
+        Flow parallelFlow = new FlowBuilder<Flow>("parallelMigrationFlow")
+                .split(migrationFlowTaskExecutor)
+                .add(customerFlow, companyFlow)
+                .build();
+        Flow migrationFlow = new FlowBuilder<Flow>("migrationFlow")
+                .start(parallelDecider)
+                .on("PARALLEL").to(parallelFlow)
+                .from(parallelDecider)
+                .on("SEQUENTIAL").to(sequentialFlow)
+                .build();
+
+        // Bulk Load Flows（移行の前後）
+        BulkLoadDecider bulkLoadDecider = new BulkLoadDecider();
+        Flow bulkLoadPrepareFlow = new FlowBuilder<Flow>("bulkLoadPrepareFlow")
+                .start(bulkLoadDecider)
+                .on("SKIP").end()
+                .from(bulkLoadDecider)
+                .on("BULK_LOAD").to(bulkLoadPrepareStep)
+                .build();
+        Flow bulkLoadFinalizeFlow = new FlowBuilder<Flow>("bulkLoadFinalizeFlow")
+                .start(bulkLoadDecider)
+                .on("SKIP").end()
+                .from(bulkLoadDecider)
+                .on("BULK_LOAD").to(bulkLoadFinalizeStep)
+                .build();
+
         return new JobBuilder("dataMigrationJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(listener)
                 .listener(statisticsReportListener)
                 .listener(rollbackListener)
-                .start(customerFlow)
-                .next(companyFlow)
+                .listener(rejectSink)
+                .listener(batchMetrics)
+                .start(bulkLoadPrepareFlow)
+                .next(migrationFlow)
+                .next(bulkLoadFinalizeFlow)
                 .build()
                 .build();
     }
+
+    /**
+     * 移行ステップ（顧客・会社）ごとに生成・注入される、チャンク処理のリスナー・ポリシー。
+     *
+     * @param <I>                入力アイテムの型
+     * @param stepTaskExecutor   マルチスレッドステップ用のTaskExecutor（ステップごとに生成）
+     * @param skipListener       スキップリスナー
+     * @param retryListener      リトライリスナー
+     * @param progressListener   進捗リスナー
+     * @param chunkSizePolicy    チャンクサイズを決めるポリシー
+     * @param entityLookup       Upsert時の既存データのルックアップ
+     * @param connectionBudget   新データベースのコネクション予算
+     * @param errorPolicy        エラーの扱い（データの除外・スキップ）を決めるポリシー
+     * @param inputCountListener 入力件数を数えるリスナー（進捗率に使用）
+     * @param stagingMerger      ステージングテーブルの反映リスナー
+     */
+    private record StepCollaborators<I>(TaskExecutor stepTaskExecutor, CustomSkipListener<I, ?> skipListener,
+            CustomRetryListener retryListener, ProgressListener<I, ?> progressListener,
+            AdaptiveChunkSizePolicy chunkSizePolicy, ChunkEntityLookup<I, ?, ?> entityLookup,
+            ConnectionBudget connectionBudget, DataErrorPolicy errorPolicy, StepExecutionListener inputCountListener,
+            StepExecutionListener stagingMerger) {
+    }
 }
@@ -4,6 +4,7 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,6 +29,9 @@ import javax.sql.DataSource;
  *
  * <p>起動時に schema-new.sql を実行してテーブルを自動作成します。</p>
  *
+ * <p>旧データベースの接続先（batch.legacy.datasource.url）が設定されている場合は、
+ * 旧データベースから直接読み込むための読み取り専用DataSourceも作成します。</p>
+ *
  * @see com.example.batch.entity.newdb.NewCustomer
  * @see com.example.batch.entity.newdb.NewCompany
  */
@@ -49,6 +53,21 @@ public class DatabaseConfiguration {
     @Value("${spring.datasource.hikari.maximum-pool-size}")
     private int maxPoolSize;
 
+    @Value("${batch.legacy.datasource.url:}")
+    private String legacyDbUrl;
+
+    @Value("${batch.legacy.datasource.username:}")
+    private String legacyDbUsername;
+
+    @Value("${batch.legacy.datasource.password:}")
+    private String legacyDbPassword;
+
+    @Value("${batch.legacy.datasource.driver-class-name:org.postgresql.Driver}")
+    private String legacyDriverClassName;
+
+    @Value("${batch.legacy.datasource.maximum-pool-size:5}")
+    private int legacyMaxPoolSize;
+
     /**
      * 新データベース用のDataSourceを作成します。
      *
@@ -86,6 +105,44 @@ public class DatabaseConfiguration {
         return dataSource;
     }
 
+    /**
+     * 旧データベース用の読み取り専用DataSourceを作成します。
+     *
+     * <p>ジョブパラメータ source=db で旧データベースから直接読み込む際に使用します。
+     * 接続情報はapplication.ymlの batch.legacy.datasource から読み込まれ、
+     * 環境変数で上書き可能です：</p>
+     * <ul>
+     *   <li>LEGACY_DB_URL: データベースURL（未設定の場合、このBeanは作成されません）</li>
+     *   <li>LEGACY_DB_USERNAME: ユーザー名</li>
+     *   <li>LEGACY_DB_PASSWORD: パスワード</li>
+     *   <li>LEGACY_DB_POOL_SIZE: 最大コネクション数</li>
+     * </ul>
+     *
+     * <p>コネクションは読み取り専用・自動コミット無効で払い出されます。
+     * 自動コミットを無効にすることで、PostgreSQLのJDBCドライバはfetchSize単位で
+     * サーバー側カーソルから行を取得し、結果セット全体をメモリに展開しません。</p>
+     *
+     * <p>旧データベースが移行時以外は停止していることも多いため、
+     * プールは最初の接続要求時に初期化します。</p>
+     *
+     * @return 設定済みのHikariDataSource
+     */
+    @Bean
+    @ConditionalOnExpression("!'${batch.legacy.datasource.url:}'.isEmpty()")
+    public DataSource legacyDataSource() {
+        // 引数なしのコンストラクタで生成し、起動時には接続しない
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("legacy-pool");
+        dataSource.setJdbcUrl(legacyDbUrl);
+        dataSource.setUsername(legacyDbUsername);
+        dataSource.setPassword(legacyDbPassword);
+        dataSource.setDriverClassName(legacyDriverClassName);
+        dataSource.setMaximumPoolSize(legacyMaxPoolSize);
+        dataSource.setReadOnly(true);
+        dataSource.setAutoCommit(false);
+        return dataSource;
+    }
+
     /**
      * 新データベース用のEntityManagerFactoryを作成します。
      *
@@ -1,13 +1,18 @@
 package com.example.batch.config;
 
+import com.example.batch.concurrency.ConnectionBudget;
 import com.example.batch.dto.OldCompanyDto;
 import com.example.batch.dto.OldCustomerDto;
 import com.example.batch.entity.newdb.NewCompany;
 import com.example.batch.entity.newdb.NewCustomer;
 import com.example.batch.processor.*;
+import com.example.batch.writer.WriterMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +28,11 @@ import org.springframework.context.annotation.Configuration;
  * <li>マスク有効（テスト環境）: 変換+マスクの複合プロセッサ</li>
  * </ul>
  *
+ * <p>
+ * また、Upsert時にプロセッサが既存データをチャンク単位でまとめて検索するための
+ * {@link ChunkEntityLookup}を提供します。
+ * </p>
+ *
  * @author Spring Batch Data Migration Team
  * @version 1.0.0
  */
@@ -41,6 +51,12 @@ public class ProcessorConfiguration {
     @Autowired
     private CompanyMigrationProcessor companyMigrationProcessor;
 
+    @Autowired
+    private ConnectionBudget connectionBudget;
+
+    @PersistenceContext(unitName = "new")
+    private EntityManager entityManager;
+
     /**
      * 顧客データ処理用のプロセッサを提供します。
      *
@@ -76,4 +92,62 @@ public class ProcessorConfiguration {
         }
         return companyMigrationProcessor;
     }
+
+    /**
+     * 既存の顧客データをチャンク単位で検索するルックアップを提供します。
+     *
+     * <p>
+     * ステップに{@code ItemReadListener}・{@code ChunkListener}として登録し、
+     * {@link CustomerMigrationProcessor}から参照します。
+     * ジョブパラメータ upsertEnabled=true で、JPAで書き込む場合のみキーを記録します
+     * （writerMode=upsert はデータベース側で競合を解決するため検索しません）。
+     * 非同期処理で同時に実行する検索は、コネクション予算の{@link ConnectionBudget#getLookupConnections()}本までに制限します。
+     * </p>
+     *
+     * @param upsertEnabled Upsert有効フラグ（ジョブパラメータ）
+     * @param writerMode    書き込み方式（ジョブパラメータ）
+     * @return 顧客データのルックアップ
+     */
+    @Bean
+    @StepScope
+    public ChunkEntityLookup<OldCustomerDto, String, NewCustomer> customerEntityLookup(
+            @Value("#{jobParameters['upsertEnabled']}") String upsertEnabled,
+            @Value("#{jobParameters['writerMode']}") String writerMode) {
+        return new ChunkEntityLookup<>(OldCustomerDto::getCustomerCode, NewCustomer::getCustomerId,
+                keys -> entityManager.createQuery(
+                        "SELECT n FROM NewCustomer n WHERE n.customerId IN :customerIds", NewCustomer.class)
+                        .setParameter("customerIds", keys)
+                        .getResultList(),
+                WriterMode.of(writerMode).requiresEntityLookup("true".equalsIgnoreCase(upsertEnabled)),
+                connectionBudget.getLookupConnections());
+    }
+
+    /**
+     * 既存の会社データをチャンク単位で検索するルックアップを提供します。
+     *
+     * <p>
+     * ステップに{@code ItemReadListener}・{@code ChunkListener}として登録し、
+     * {@link CompanyMigrationProcessor}から参照します。
+     * ジョブパラメータ upsertEnabled=true で、JPAで書き込む場合のみキーを記録します
+     * （writerMode=upsert はデータベース側で競合を解決するため検索しません）。
+     * 非同期処理で同時に実行する検索は、コネクション予算の{@link ConnectionBudget#getLookupConnections()}本までに制限します。
+     * </p>
+     *
+     * @param upsertEnabled Upsert有効フラグ（ジョブパラメータ）
+     * @param writerMode    書き込み方式（ジョブパラメータ）
+     * @return 会社データのルックアップ
+     */
+    @Bean
+    @StepScope
+    public ChunkEntityLookup<OldCompanyDto, String, NewCompany> companyEntityLookup(
+            @Value("#{jobParameters['upsertEnabled']}") String upsertEnabled,
+            @Value("#{jobParameters['writerMode']}") String writerMode) {
+        return new ChunkEntityLookup<>(OldCompanyDto::getCompanyCode, NewCompany::getCompanyId,
+                keys -> entityManager.createQuery(
+                        "SELECT n FROM NewCompany n WHERE n.companyId IN :companyIds", NewCompany.class)
+                        .setParameter("companyIds", keys)
+                        .getResultList(),
+                WriterMode.of(writerMode).requiresEntityLookup("true".equalsIgnoreCase(upsertEnabled)),
+                connectionBudget.getLookupConnections());
+    }
 }
@@ -0,0 +1,80 @@
+package com.example.batch.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.validator.Validator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.batch.dto.OldCompanyDto;
+import com.example.batch.dto.OldCustomerDto;
+import com.example.batch.metrics.BatchMetrics;
+import com.example.batch.validator.CompanyValidator;
+import com.example.batch.validator.CustomerValidator;
+import com.example.batch.validator.rule.RuleBasedValidator;
+import com.example.batch.validator.rule.ValidationRule;
+import com.example.batch.validator.rule.ValidationRuleCompiler;
+import com.example.batch.validator.rule.ValidationRuleProperties;
+
+/**
+ * バリデータの選択を行う設定クラス。
+ *
+ * <p>
+ * {@code batch.validation.rules.customer} / {@code company} にルールが宣言されている場合は、
+ * 起動時にルールを変換した{@link RuleBasedValidator}を、宣言されていない場合は
+ * 組み込みのバリデータ（{@link CustomerValidator} / {@link CompanyValidator}）を返します。
+ * ルールの宣言が不正な場合は起動に失敗します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(ValidationRuleProperties.class)
+public class ValidationConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationConfiguration.class);
+
+    /**
+     * 顧客データのバリデータを提供します。
+     *
+     * @param properties        バリデーションルールの設定
+     * @param customerValidator 組み込みの顧客データバリデータ
+     * @param metrics           ルールごとの不合格件数の登録先
+     * @return 顧客データのバリデータ
+     */
+    @Bean(name = "effectiveCustomerValidator")
+    public Validator<OldCustomerDto> effectiveCustomerValidator(ValidationRuleProperties properties,
+            CustomerValidator customerValidator, BatchMetrics metrics) {
+        List<ValidationRule<OldCustomerDto>> rules = ValidationRuleCompiler.compile(OldCustomerDto.class,
+                "customer", properties.getRules("customer"), metrics);
+        if (rules.isEmpty()) {
+            return customerValidator;
+        }
+        logger.info("顧客データのバリデーションに設定のルールを使用します（{} 件）", rules.size());
+        return new RuleBasedValidator<>("顧客データ", OldCustomerDto::getCustomerCode, rules);
+    }
+
+    /**
+     * 会社データのバリデータを提供します。
+     *
+     * @param properties       バリデーションルールの設定
+     * @param companyValidator 組み込みの会社データバリデータ
+     * @param metrics          ルールごとの不合格件数の登録先
+     * @return 会社データのバリデータ
+     */
+    @Bean(name = "effectiveCompanyValidator")
+    public Validator<OldCompanyDto> effectiveCompanyValidator(ValidationRuleProperties properties,
+            CompanyValidator companyValidator, BatchMetrics metrics) {
+        List<ValidationRule<OldCompanyDto>> rules = ValidationRuleCompiler.compile(OldCompanyDto.class,
+                "company", properties.getRules("company"), metrics);
+        if (rules.isEmpty()) {
+            return companyValidator;
+        }
+        logger.info("会社データのバリデーションに設定のルールを使用します（{} 件）", rules.size());
+        return new RuleBasedValidator<>("会社データ", OldCompanyDto::getCompanyCode, rules);
+    }
+}
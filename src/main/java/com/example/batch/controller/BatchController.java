@@ -30,6 +30,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.batch.partition.PartitionSteps;
+import com.example.batch.tuning.CalibrationService;
+
 /**
  * バッチジョブを実行・監視するためのRESTコントローラー。
  *
@@ -43,6 +46,7 @@ import org.springframework.web.bind.annotation.RestController;
  * <li>GET /api/batch/latest - 最新のジョブ実行状態を取得</li>
  * <li>GET /api/batch/history - ジョブ実行履歴を取得</li>
  * <li>POST /api/batch/validate - データ件数を事前チェック</li>
+ * <li>POST /api/batch/calibrate - チャンクサイズ・書き込みスレッド数・書き込み方式を試行し推奨設定を出力</li>
  * </ul>
  *
  * @author Spring Batch Data Migration Team
@@ -68,6 +72,9 @@ public class BatchController {
     @Autowired(required = false)
     private JobOperator jobOperator;
 
+    @Autowired
+    private CalibrationService calibrationService;
+
     // 実行中のジョブを追跡
     private static final Map<Long, JobExecution> runningJobs = new ConcurrentHashMap<>();
 
@@ -215,6 +222,9 @@ public class BatchController {
 
             // 合計を計算
             for (var step : execution.getStepExecutions()) {
+                if (PartitionSteps.isManager(step)) {
+                    continue;
+                }
                 totalReadCount += step.getReadCount();
                 totalWriteCount += step.getWriteCount();
                 totalSkipCount += step.getReadSkipCount() + step.getProcessSkipCount() + step.getWriteSkipCount();
@@ -324,6 +334,9 @@ public class BatchController {
                     long totalSkip = 0;
 
                     for (StepExecution step : execution.getStepExecutions()) {
+                        if (PartitionSteps.isManager(step)) {
+                            continue;
+                        }
                         totalRead += step.getReadCount();
                         totalWrite += step.getWriteCount();
                         totalSkip += step.getReadSkipCount() + step.getProcessSkipCount() + step.getWriteSkipCount();
@@ -378,4 +391,76 @@ public class BatchController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * キャリブレーションを実行し、推奨設定のプロファイルを出力します。
+     *
+     * <p>
+     * 使い捨てのスキーマに試行データを書き込むため、ジョブの実行中は実行できません。
+     * 試行する組み合わせの数に応じて数分かかる場合があります。
+     * </p>
+     *
+     * @param params 試行条件（sampleSize、chunkSizes、concurrency、writerModes、maxCommitP99Millis）
+     * @return 試行結果と推奨設定
+     */
+    @PostMapping("/calibrate")
+    public ResponseEntity<Map<String, Object>> calibrate(@RequestBody(required = false) Map<String, String> params) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            Set<JobExecution> runningExecutions = jobExplorer.findRunningJobExecutions("dataMigrationJob");
+            if (!runningExecutions.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "バッチジョブの実行中はキャリブレーションを実行できません");
+                response.put("runningExecutionId", runningExecutions.iterator().next().getId());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+
+            CalibrationService.CalibrationResult result = calibrationService
+                    .calibrate(CalibrationService.Plan.of(params));
+
+            List<Map<String, Object>> trials = new ArrayList<>();
+            for (CalibrationService.Trial trial : result.trials()) {
+                trials.add(toMap(trial));
+            }
+
+            response.put("success", result.recommended() != null);
+            response.put("message", result.recommended() != null
+                    ? "キャリブレーションが完了しました"
+                    : "成功した試行がないため、推奨設定を出力できませんでした");
+            response.put("sampleSize", result.sampleSize());
+            response.put("trials", trials);
+            response.put("recommended", result.recommended() != null ? toMap(result.recommended()) : null);
+            response.put("profile", result.profile() != null ? result.profile().toString() : null);
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", "キャリブレーションの試行条件が不正です: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "キャリブレーションに失敗しました: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    private static Map<String, Object> toMap(CalibrationService.Trial trial) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("writerMode", trial.writerMode().name().toLowerCase());
+        item.put("chunkSize", trial.chunkSize());
+        item.put("concurrency", trial.concurrency());
+        item.put("rows", trial.rows());
+        item.put("elapsedMillis", trial.elapsedMillis());
+        item.put("rowsPerSecond", trial.rowsPerSecond());
+        item.put("p99CommitMillis", trial.p99CommitMillis());
+        item.put("p99TransactionMillis", trial.p99TransactionMillis());
+        item.put("error", trial.error());
+        return item;
+    }
 }
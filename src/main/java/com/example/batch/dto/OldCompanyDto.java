@@ -1,8 +1,12 @@
 package com.example.batch.dto;
 
+import org.springframework.batch.item.ItemCountAware;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 
@@ -25,7 +29,7 @@ import java.time.LocalDate;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class OldCompanyDto {
+public class OldCompanyDto implements ItemCountAware {
 
     /** 会社コード（例: COMP001） */
     private String companyCode;
@@ -62,4 +66,9 @@ public class OldCompanyDto {
 
     /** ステータス（ACTIVE または INACTIVE） */
     private String status;
+
+    /** 入力の何件目のレコードか（Readerが設定。除外データの出力に使用） */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int itemCount;
 }
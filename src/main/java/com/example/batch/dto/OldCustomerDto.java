@@ -1,8 +1,12 @@
 package com.example.batch.dto;
 
+import org.springframework.batch.item.ItemCountAware;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -25,7 +29,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class OldCustomerDto {
+public class OldCustomerDto implements ItemCountAware {
 
     /** 顧客コード（例: CUST001） */
     private String customerCode;
@@ -53,4 +57,9 @@ public class OldCustomerDto {
 
     /** 性別コード（1=男性, 2=女性） */
     private Integer genderCode;
+
+    /** 入力の何件目のレコードか（Readerが設定。除外データの出力に使用） */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int itemCount;
 }
@@ -22,10 +22,12 @@ public class ProgressMessage {
     private Long readCount;
     private Long writeCount;
     private Long skipCount;
+    private Long totalCount;
     private Double progressPercentage;
     private Double readSpeed;
     private Double writeSpeed;
     private Long elapsedSeconds;
+    private Long etaSeconds;
     private LocalDateTime timestamp;
     private String message;
 }
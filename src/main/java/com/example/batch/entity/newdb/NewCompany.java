@@ -3,11 +3,15 @@ package com.example.batch.entity.newdb;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import com.example.batch.error.SourceItemAware;
+
 /**
  * 新データベースの会社テーブル（new_companies）を表すエンティティクラス。
  *
@@ -30,7 +34,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class NewCompany {
+public class NewCompany implements SourceItemAware {
 
     /** 主キー（自動採番） */
     @Id
@@ -88,4 +92,10 @@ public class NewCompany {
     /** データ移行実行日時 */
     @Column(name = "migrated_at")
     private LocalDateTime migratedAt;
+
+    /** 変換前のデータ（書き込みエラー時の除外データの出力用、永続化しない） */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Object sourceItem;
 }
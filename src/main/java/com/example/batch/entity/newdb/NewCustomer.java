@@ -3,10 +3,14 @@ package com.example.batch.entity.newdb;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
+import com.example.batch.error.SourceItemAware;
+
 /**
  * 新データベースの顧客テーブル（new_customers）を表すエンティティクラス。
  *
@@ -25,7 +29,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class NewCustomer {
+public class NewCustomer implements SourceItemAware {
 
     /** 主キー（自動採番） */
     @Id
@@ -75,4 +79,10 @@ public class NewCustomer {
     /** 性別（"男性" / "女性"） */
     @Column(name = "gender", length = 10)
     private String gender;
+
+    /** 変換前のデータ（書き込みエラー時の除外データの出力用、永続化しない） */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Object sourceItem;
 }
@@ -0,0 +1,56 @@
+package com.example.batch.entity.old;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "old_companies")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OldCompany {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "company_code", nullable = false, length = 20)
+    private String companyCode;
+
+    @Column(name = "company_name", nullable = false, length = 100)
+    private String companyName;
+
+    @Column(name = "representative_name", length = 100)
+    private String representativeName;
+
+    @Column(name = "industry_type")
+    private Integer industryType;
+
+    @Column(name = "employee_count")
+    private Integer employeeCount;
+
+    @Column(name = "capital")
+    private Long capital;
+
+    @Column(name = "established_date")
+    private LocalDate establishedDate;
+
+    @Column(name = "address", length = 255)
+    private String address;
+
+    @Column(name = "postal_code", length = 10)
+    private String postalCode;
+
+    @Column(name = "phone", length = 20)
+    private String phone;
+
+    @Column(name = "email", length = 100)
+    private String email;
+
+    @Column(name = "status", length = 20)
+    private String status;
+}
@@ -0,0 +1,286 @@
+package com.example.batch.error;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.batch.core.step.skip.SkipPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.batch.metrics.BatchMetrics;
+
+/**
+ * エラーの分類（{@link ErrorClassifier}）に応じて、データの除外・スキップ・ステップの失敗を決めるポリシー。
+ *
+ * <p>
+ * 処理中（プロセッサ）のデータのエラーは{@link RejectingItemProcessor}がその場で除外し、
+ * チャンクのロールバックと1件ずつの再処理を発生させません。
+ * スキップ（{@link SkipPolicy}）の対象は以下に限られます：
+ * </p>
+ * <ul>
+ * <li>読み込み・書き込みで発生したデータのエラー（解析エラー・制約違反）</li>
+ * <li>リトライしても解消しなかった一時的なエラー</li>
+ * </ul>
+ * <p>
+ * それ以外のエラーはスキップせず、ステップを失敗させます。
+ * </p>
+ *
+ * <p>
+ * スキップ上限（{@code batch.skip-limit}）は、除外した件数とスキップした件数の合計に適用します。
+ * 除外した件数はステップ実行ごとに数え、ステップ終了時にExecutionContextの
+ * {@value #REJECT_COUNT_KEY}に記録します（統計レポートに出力）。
+ * パーティションのワーカーのように同じステップが並行に実行される場合も、件数はステップ実行ごとに管理します。
+ * </p>
+ *
+ * <p>
+ * プロセッサは、チャンクのロールバック後の再処理や、書き込みエラー時の1件ずつの再処理（スキャン）で
+ * 同じデータに対して再度呼ばれます。除外したデータはチャンクごとに保留し、
+ * チャンクのトランザクションのコミット後（{@link #afterChunk(ChunkContext)}）に件数へ計上して出力先に渡します。
+ * ロールバックした場合（{@link #afterChunkError(ChunkContext)}）は保留分を破棄し、再処理で改めて除外します。
+ * 同じチャンクで出力済みのデータ（同一のインスタンス）は、再処理で除外されても再度出力しません。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+public class DataErrorPolicy implements SkipPolicy, StepExecutionListener, ChunkListener {
+
+    /** ステップのExecutionContextのキー: データのエラーで除外した件数 */
+    public static final String REJECT_COUNT_KEY = "errorPolicy.rejectCount";
+
+    private final ErrorClassifier classifier;
+
+    private final RejectSink rejectSink;
+
+    private final BatchMetrics metrics;
+
+    private final long skipLimit;
+
+    /** チャンクで除外したデータを保持するChunkContextの属性名 */
+    private static final String PENDING_ATTRIBUTE = DataErrorPolicy.class.getName() + ".pending";
+
+    /** ステップ実行ID → 除外した件数 */
+    private final Map<Long, LongAdder> rejects = new ConcurrentHashMap<>();
+
+    /**
+     * 現在のスレッドが処理中のチャンクの除外データ。
+     * 非同期処理（AsyncItemProcessor）ではアイテムごとにチャンクのスレッドから生成されるスレッドで
+     * プロセッサが実行されるため、生成元のスレッドの値を引き継ぎます。
+     */
+    private final InheritableThreadLocal<ChunkRejects> currentChunk = new InheritableThreadLocal<>();
+
+    /**
+     * ポリシーを生成します。
+     *
+     * @param classifier エラーの分類
+     * @param rejectSink 除外したデータの出力先
+     * @param metrics    メトリクス
+     * @param skipLimit  除外・スキップの合計の上限
+     */
+    public DataErrorPolicy(ErrorClassifier classifier, RejectSink rejectSink, BatchMetrics metrics,
+            @Value("${batch.skip-limit}") long skipLimit) {
+        this.classifier = classifier;
+        this.rejectSink = rejectSink;
+        this.metrics = metrics;
+        this.skipLimit = skipLimit;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        rejects.put(stepExecution.getId(), new LongAdder());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        LongAdder count = rejects.remove(stepExecution.getId());
+        if (count != null) {
+            stepExecution.getExecutionContext().putLong(REJECT_COUNT_KEY, count.sum());
+        }
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        ChunkRejects chunkRejects = (ChunkRejects) context.getAttribute(PENDING_ATTRIBUTE);
+        if (chunkRejects == null) {
+            chunkRejects = new ChunkRejects();
+            context.setAttribute(PENDING_ATTRIBUTE, chunkRejects);
+        }
+        currentChunk.set(chunkRejects);
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        currentChunk.remove();
+        ChunkRejects chunkRejects = (ChunkRejects) context.getAttribute(PENDING_ATTRIBUTE);
+        if (chunkRejects != null) {
+            chunkRejects.publish().forEach(this::publish);
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        currentChunk.remove();
+        // 出力済みの記録はChunkContextに残し、再処理したチャンクで重複して出力しない
+        ChunkRejects chunkRejects = (ChunkRejects) context.getAttribute(PENDING_ATTRIBUTE);
+        if (chunkRejects != null) {
+            chunkRejects.discard();
+        }
+    }
+
+    /**
+     * スキップするかどうかを判定します（読み込み・書き込みのエラー、リトライ後の一時的なエラー）。
+     *
+     * @param error      例外
+     * @param skipCount  これまでにスキップした件数
+     * @return スキップする場合true
+     * @throws SkipLimitExceededException 除外・スキップの合計が上限に達している場合
+     */
+    @Override
+    public boolean shouldSkip(Throwable error, long skipCount) throws SkipLimitExceededException {
+        if (classifier.classify(error) == ErrorCategory.FATAL) {
+            return false;
+        }
+        // 件数が負の場合は、スキップ対象かどうかの判定のみ（ロールバックの要否の判定など）
+        if (skipCount >= 0 && skipCount + rejectCount(currentStepExecution()) >= skipLimit) {
+            throw new SkipLimitExceededException(skipLimit, error);
+        }
+        return true;
+    }
+
+    /**
+     * 例外がデータのエラーの場合、データを除外します（プロセッサから呼ばれる）。
+     *
+     * <p>
+     * チャンクの処理中の場合は、チャンクのコミット後に件数へ計上して出力先に渡します。
+     * </p>
+     *
+     * @param item  処理中のデータ
+     * @param error 例外
+     * @return 除外した場合true（データのエラー以外の場合false）
+     * @throws SkipLimitExceededException 除外・スキップの合計が上限を超えた場合
+     */
+    public boolean rejectIfDataError(Object item, Exception error) {
+        if (!classifier.isDataError(error)) {
+            return false;
+        }
+        StepExecution stepExecution = currentStepExecution();
+        RejectedItem rejected = new RejectedItem(stepExecution != null ? stepExecution.getJobExecutionId() : null,
+                stepExecution != null ? stepExecution.getStepName() : null, "process", ErrorCategory.DATA, item,
+                error);
+        ChunkRejects chunkRejects = currentChunk.get();
+        if (chunkRejects == null) {
+            publish(rejected);
+            return true;
+        }
+        int pending = chunkRejects.add(item, rejected);
+        if (stepExecution != null && rejectCount(stepExecution) + pending + stepExecution.getSkipCount() > skipLimit) {
+            throw new SkipLimitExceededException(skipLimit, error);
+        }
+        return true;
+    }
+
+    /**
+     * スキップしたデータを出力先に渡します（スキップリスナーから呼ばれる）。
+     *
+     * @param phase 発生した段階（read / write）
+     * @param item  データ（読み込みエラーの場合はnull）
+     * @param error 例外
+     */
+    public void skipped(String phase, Object item, Throwable error) {
+        StepExecution stepExecution = currentStepExecution();
+        rejectSink.reject(new RejectedItem(stepExecution != null ? stepExecution.getJobExecutionId() : null,
+                stepExecution != null ? stepExecution.getStepName() : null, phase, classifier.classify(error), item,
+                error));
+    }
+
+    /**
+     * 除外件数とスキップ件数の合計がスキップ上限を超えていないか確認します
+     * （チャンクの外でスキップを計上する場合に使用）。
+     *
+     * @param stepExecution ステップ実行
+     * @param error         最後にスキップした例外
+     * @throws SkipLimitExceededException 合計がスキップ上限を超えた場合
+     */
+    public void checkSkipLimit(StepExecution stepExecution, Throwable error) {
+        if (stepExecution.getSkipCount() + rejectCount(stepExecution) > skipLimit) {
+            throw new SkipLimitExceededException(skipLimit, error);
+        }
+    }
+
+    /**
+     * @param stepExecution ステップ実行（nullの場合は0を返す）
+     * @return 実行中のステップで除外した件数
+     */
+    public long rejectCount(StepExecution stepExecution) {
+        LongAdder count = stepExecution != null ? rejects.get(stepExecution.getId()) : null;
+        return count != null ? count.sum() : 0L;
+    }
+
+    /**
+     * 除外したデータを件数に計上し、出力先に渡します。
+     */
+    private void publish(RejectedItem rejected) {
+        StepExecution stepExecution = currentStepExecution();
+        LongAdder count = stepExecution != null ? rejects.get(stepExecution.getId()) : null;
+        if (count != null) {
+            count.increment();
+            if (count.sum() + stepExecution.getSkipCount() > skipLimit) {
+                throw new SkipLimitExceededException(skipLimit, rejected.error());
+            }
+        }
+        metrics.countReject("process");
+        rejectSink.reject(rejected);
+    }
+
+    private static StepExecution currentStepExecution() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? context.getStepExecution() : null;
+    }
+
+    /**
+     * 1チャンクで除外したデータ（コミット待ち・出力済み）。同じアイテムのインスタンスで重複を判定します。
+     */
+    private static final class ChunkRejects {
+
+        private final Map<Object, RejectedItem> pending = new IdentityHashMap<>();
+
+        private final Set<Object> published = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * @return コミット待ちの件数
+         */
+        synchronized int add(Object item, RejectedItem rejected) {
+            if (!published.contains(item)) {
+                pending.putIfAbsent(item, rejected);
+            }
+            return pending.size();
+        }
+
+        synchronized List<RejectedItem> publish() {
+            List<RejectedItem> items = new ArrayList<>(pending.values());
+            published.addAll(pending.keySet());
+            pending.clear();
+            return items;
+        }
+
+        synchronized void discard() {
+            pending.clear();
+        }
+    }
+}
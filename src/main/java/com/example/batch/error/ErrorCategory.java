@@ -0,0 +1,26 @@
+package com.example.batch.error;
+
+/**
+ * 移行中に発生したエラーの分類（{@link ErrorClassifier}）。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public enum ErrorCategory {
+
+    /** データの誤り（バリデーション・解析・制約違反）。再実行しても結果は変わらないため、そのデータを除外する */
+    DATA,
+
+    /** 一時的なデータベースのエラー（デッドロック・ロック待ちのタイムアウトなど）。リトライし、解消しない場合はスキップする */
+    TRANSIENT,
+
+    /** それ以外（接続断・設定誤り・プログラムの不具合など）。スキップせずにステップを失敗させる */
+    FATAL;
+
+    /**
+     * @return メトリクスのタグの値
+     */
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.batch.error;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.format.DateTimeParseException;
+
+import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.batch.item.ParseException;
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.example.batch.writer.PipelinedItemWriter;
+
+/**
+ * 例外をデータのエラー・一時的なエラー・それ以外に分類します。
+ *
+ * <p>
+ * 例外の原因（cause）を順にたどり、最初に分類できたものを返します。
+ * JPAの書き込みでは制約違反がHibernateの例外として発生し、SQLExceptionは原因にのみ含まれるため、
+ * SQLExceptionはSQLSTATEのクラスでも分類します：
+ * </p>
+ * <ul>
+ * <li>{@link ErrorCategory#DATA}: バリデーション（{@link ValidationException}）、入力の解析
+ * （{@link ParseException}・{@link DateTimeParseException}・{@link NumberFormatException}）、
+ * 制約違反（{@link DataIntegrityViolationException}、SQLSTATE 22xxx・23xxx）</li>
+ * <li>{@link ErrorCategory#TRANSIENT}: {@link TransientDataAccessException}（デッドロック・ロック待ち・クエリのタイムアウト）、
+ * {@link RecoverableDataAccessException}、{@link SQLTransientException}・{@link SQLRecoverableException}、
+ * SQLSTATE 40xxx（シリアライズ失敗・デッドロック）</li>
+ * <li>{@link ErrorCategory#FATAL}: それ以外</li>
+ * </ul>
+ *
+ * <p>
+ * スキップ上限の超過と書き込みプールの失敗（{@link PipelinedItemWriter.PipelinedWriteException}）は、
+ * 原因によらず常に{@link ErrorCategory#FATAL}です。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+public class ErrorClassifier {
+
+    /** 原因をたどる深さの上限（循環参照の対策） */
+    private static final int MAX_DEPTH = 16;
+
+    /**
+     * 例外を分類します。
+     *
+     * @param error 例外
+     * @return 分類
+     */
+    public ErrorCategory classify(Throwable error) {
+        if (error instanceof SkipLimitExceededException || error instanceof PipelinedItemWriter.PipelinedWriteException) {
+            return ErrorCategory.FATAL;
+        }
+        Throwable current = error;
+        for (int depth = 0; current != null && depth < MAX_DEPTH; depth++) {
+            ErrorCategory category = classifyOne(current);
+            if (category != null) {
+                return category;
+            }
+            current = current.getCause() != current ? current.getCause() : null;
+        }
+        return ErrorCategory.FATAL;
+    }
+
+    /**
+     * @param error 例外
+     * @return データのエラーの場合true
+     */
+    public boolean isDataError(Throwable error) {
+        return classify(error) == ErrorCategory.DATA;
+    }
+
+    private static ErrorCategory classifyOne(Throwable error) {
+        if (error instanceof ValidationException || error instanceof ParseException
+                || error instanceof DateTimeParseException || error instanceof NumberFormatException
+                || error instanceof DataIntegrityViolationException) {
+            return ErrorCategory.DATA;
+        }
+        if (error instanceof TransientDataAccessException || error instanceof RecoverableDataAccessException
+                || error instanceof SQLTransientException || error instanceof SQLRecoverableException) {
+            return ErrorCategory.TRANSIENT;
+        }
+        if (error instanceof SQLException sqlException && sqlException.getSQLState() != null
+                && sqlException.getSQLState().length() >= 2) {
+            return switch (sqlException.getSQLState().substring(0, 2)) {
+                case "22", "23" -> ErrorCategory.DATA;
+                case "40" -> ErrorCategory.TRANSIENT;
+                default -> null;
+            };
+        }
+        return null;
+    }
+}
@@ -0,0 +1,465 @@
+package com.example.batch.error;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.example.batch.dto.OldCompanyDto;
+import com.example.batch.dto.OldCustomerDto;
+import com.example.batch.mapper.HeaderColumnMapper;
+import com.example.batch.mapper.OldCompanyMapper;
+import com.example.batch.mapper.OldCustomerMapper;
+
+/**
+ * 除外・スキップしたデータを、ジョブ実行ごとのTSVファイルに非同期で出力する{@link RejectSink}。
+ *
+ * <p>
+ * チャンクのスレッドは有界のキュー（{@code batch.rejects.queue-capacity}）に入れるだけで、
+ * ファイルへの書き込みは専用のスレッドが行います。キューが一杯の場合のみ空きを待ちます
+ * （除外データを失わないためのバックプレッシャー）。
+ * </p>
+ *
+ * <p>
+ * 出力先は {@code batch.rejects.output-dir} 配下の {@code rejects-<ジョブ実行ID>-<対象>-<連番>.tsv} で、
+ * {@code batch.rejects.max-file-size-mb} を超えると次の連番のファイルに切り替えます。
+ * 各ファイルの1行目は入力ファイルと同じヘッダー行で、除外したデータごとに次の2行を出力します：
+ * </p>
+ *
+ * <pre>
+ * # record=12 step=customerMigrationStep stage=process category=data reason=顧客データバリデーションエラー [C001]: ...
+ * C001	山田太郎	...（元のTSVの形式）
+ * </pre>
+ *
+ * <p>
+ * 1行目はコメント行（{@code record} は入力の何件目のレコードか、読み込みエラーの場合は {@code line} に行番号）、
+ * 2行目は元のデータです。読み込みエラーの場合は、読み込んだ行を入力ファイルのヘッダー行
+ * （{@link #sourceHeader}）に従ってヘッダー行と同じ列の順に並べ替えて出力します。
+ * 並べ替えによって行が変わった場合は、読み込んだ行をコメント行の {@code input} にも残します。
+ * 書き込みエラーのデータは、変換後のエンティティが保持する変換前のデータ（{@link SourceItemAware}）を出力します。
+ * ジョブパラメータ {@code replayRejects=<ジョブ実行ID>} で、修正したファイルを同じプロセッサで再処理できます。
+ * </p>
+ *
+ * <p>
+ * ファイルはジョブ終了時（{@link #afterJob}）に、キューに残ったデータを書き込んでから閉じます。
+ * {@code batch.rejects.enabled=false} の場合は{@link LoggingRejectSink}でログに出力します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+@Primary
+public class FileRejectSink implements RejectSink, JobExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileRejectSink.class);
+
+    /** 対象名 → 入力ファイルの形式（ステップ名の接頭辞と一致） */
+    private static final Map<String, Format<?>> FORMATS = new LinkedHashMap<>();
+
+    static {
+        FORMATS.put("customer", new Format<>(OldCustomerDto.class, new OldCustomerMapper(), OldCustomerMapper::new));
+        FORMATS.put("company", new Format<>(OldCompanyDto.class, new OldCompanyMapper(), OldCompanyMapper::new));
+    }
+
+    private final boolean enabled;
+
+    private final Path outputDir;
+
+    private final long maxFileBytes;
+
+    private final BlockingQueue<Task> queue;
+
+    private final LoggingRejectSink fallback;
+
+    private volatile Thread writerThread;
+
+    /** 「ジョブ実行ID/対象名」 → 入力ファイルのヘッダー行を受け取ったマッパー（読み込みエラーの行の並べ替えに使用） */
+    private final Map<String, HeaderColumnMapper<?>> sourceHeaders = new ConcurrentHashMap<>();
+
+    /** ジョブ実行ID → 対象名 → 出力中のファイル（書き込みスレッドのみが参照） */
+    private final Map<Long, Map<String, RotatingFile>> files = new HashMap<>();
+
+    /**
+     * 出力先を生成します。
+     *
+     * @param enabled       ファイルに出力する場合true
+     * @param outputDir     出力先のディレクトリ
+     * @param maxFileSizeMb 1ファイルの上限（MB）
+     * @param queueCapacity 書き込み待ちのデータを保持するキューの容量
+     * @param fallback      ファイルに出力しない場合・出力に失敗した場合の出力先
+     */
+    public FileRejectSink(@Value("${batch.rejects.enabled:true}") boolean enabled,
+            @Value("${batch.rejects.output-dir:./rejects}") String outputDir,
+            @Value("${batch.rejects.max-file-size-mb:64}") long maxFileSizeMb,
+            @Value("${batch.rejects.queue-capacity:10000}") int queueCapacity,
+            LoggingRejectSink fallback) {
+        this.enabled = enabled;
+        this.outputDir = Paths.get(outputDir);
+        this.maxFileBytes = Math.max(1, maxFileSizeMb) * 1024 * 1024;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void reject(RejectedItem rejected) {
+        if (!enabled) {
+            fallback.reject(rejected);
+            return;
+        }
+        ensureStarted();
+        try {
+            queue.put(new Task(rejected.jobExecutionId(), rejected, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fallback.reject(rejected);
+        }
+    }
+
+    /**
+     * 入力ファイルのヘッダー行を登録します（Readerの{@code skippedLinesCallback}から呼ばれる）。
+     *
+     * <p>
+     * 入力ファイルの列の順序がヘッダー行の定義順と異なる場合や、定義にない列がある場合も、
+     * 読み込みエラーの行を定義順に並べ替えて出力し、再処理で読み込めるようにします。
+     * </p>
+     *
+     * @param jobExecutionId ジョブ実行ID
+     * @param target         対象名（customer / company）
+     * @param header         入力ファイルのヘッダー行
+     * @throws IllegalStateException 必要な列がヘッダーにない場合
+     */
+    public void sourceHeader(Long jobExecutionId, String target, String header) {
+        Format<?> format = FORMATS.get(target);
+        if (format == null) {
+            return;
+        }
+        HeaderColumnMapper<?> mapper = format.mappers().get();
+        mapper.handleLine(header);
+        sourceHeaders.put(headerKey(jobExecutionId, target), mapper);
+    }
+
+    /**
+     * キューに残ったデータを書き込み、ジョブ実行のファイルを閉じます。
+     *
+     * @param jobExecution ジョブ実行
+     */
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        if (writerThread == null) {
+            return;
+        }
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        try {
+            queue.put(new Task(jobExecution.getId(), null, closed));
+            while (true) {
+                try {
+                    closed.get(10, TimeUnit.SECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    logger.info("【除外データ】ファイルへの書き込み完了を待機しています（残り: {} 件）", queue.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("【除外データ】ファイルを閉じられませんでした", e.getCause());
+        }
+    }
+
+    /**
+     * ジョブ実行の除外データのファイルを返します（再処理に使用）。
+     *
+     * @param outputDir      出力先のディレクトリ
+     * @param jobExecutionId ジョブ実行ID
+     * @param target         対象名（customer / company）
+     * @return ファイル（連番順、ない場合は空）
+     * @throws IOException ディレクトリの読み込みに失敗した場合
+     */
+    public static List<Path> rejectFiles(Path outputDir, long jobExecutionId, String target) throws IOException {
+        List<Path> result = new ArrayList<>();
+        if (!Files.isDirectory(outputDir)) {
+            return result;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(outputDir,
+                "rejects-" + jobExecutionId + "-" + target + "-*.tsv")) {
+            stream.forEach(result::add);
+        }
+        result.sort(null);
+        return result;
+    }
+
+    private void ensureStarted() {
+        if (writerThread != null) {
+            return;
+        }
+        synchronized (this) {
+            if (writerThread == null) {
+                writerThread = Thread.ofPlatform().daemon().name("reject-writer").start(this::drain);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Task task = queue.poll();
+                if (task == null) {
+                    // キューが空になったらバッファを書き出してから待つ
+                    flushAll();
+                    task = queue.take();
+                }
+                if (task.closed() != null) {
+                    close(task.jobExecutionId(), task.closed());
+                } else {
+                    write(task.rejected());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(RejectedItem rejected) {
+        String target = targetOf(rejected);
+        try {
+            RotatingFile file = files.computeIfAbsent(idOf(rejected.jobExecutionId()), id -> new HashMap<>())
+                    .computeIfAbsent(target, t -> new RotatingFile(idOf(rejected.jobExecutionId()), t));
+            String input = rejected.error() instanceof FlatFileParseException parse ? parse.getInput() : null;
+            String sourceLine = sourceLine(rejected, target);
+            // 並べ替えた場合は、読み込んだ行をコメントに残す
+            file.append(comment(rejected, input != null && !input.equals(sourceLine) ? input : null), sourceLine);
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("【除外データ】ファイルへの書き込みに失敗しました: {}", e.getMessage());
+            fallback.reject(rejected);
+        }
+    }
+
+    private void close(Long jobExecutionId, CompletableFuture<Void> closed) {
+        FORMATS.keySet().forEach(target -> sourceHeaders.remove(headerKey(jobExecutionId, target)));
+        Map<String, RotatingFile> executionFiles = files.remove(idOf(jobExecutionId));
+        if (executionFiles != null) {
+            for (RotatingFile file : executionFiles.values()) {
+                try {
+                    file.close();
+                    logger.info("【除外データ】{} 件を出力しました: {}", file.records, file.paths);
+                } catch (IOException e) {
+                    logger.error("【除外データ】ファイルを閉じられませんでした: {}", file.paths, e);
+                }
+            }
+        }
+        closed.complete(null);
+    }
+
+    private void flushAll() {
+        for (Map<String, RotatingFile> executionFiles : files.values()) {
+            for (RotatingFile file : executionFiles.values()) {
+                try {
+                    file.flush();
+                } catch (IOException e) {
+                    logger.error("【除外データ】ファイルへの書き込みに失敗しました: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static long idOf(Long jobExecutionId) {
+        return jobExecutionId != null ? jobExecutionId : 0L;
+    }
+
+    private static String headerKey(Long jobExecutionId, String target) {
+        return idOf(jobExecutionId) + "/" + target;
+    }
+
+    /**
+     * @return 元のデータ（変換後のデータの場合は変換前のデータ、保持していない場合はそのまま）
+     */
+    private static Object sourceOf(RejectedItem rejected) {
+        if (rejected.item() instanceof SourceItemAware aware && aware.getSourceItem() != null) {
+            return aware.getSourceItem();
+        }
+        return rejected.item();
+    }
+
+    /**
+     * データの型（読み込みエラーの場合はステップ名）から対象名を決めます。
+     */
+    private static String targetOf(RejectedItem rejected) {
+        Object source = sourceOf(rejected);
+        for (Map.Entry<String, Format<?>> format : FORMATS.entrySet()) {
+            if (format.getValue().type().isInstance(source)
+                    || rejected.stepName() != null && rejected.stepName().startsWith(format.getKey())) {
+                return format.getKey();
+            }
+        }
+        return "other";
+    }
+
+    /**
+     * @param input 読み込んだ行（コメントに残す場合のみ、それ以外はnull）
+     */
+    private static String comment(RejectedItem rejected, String input) {
+        Object source = sourceOf(rejected);
+        StringBuilder line = new StringBuilder(160).append("# ");
+        if (rejected.error() instanceof FlatFileParseException parse) {
+            line.append("line=").append(parse.getLineNumber());
+        } else if (source instanceof OldCustomerDto dto) {
+            line.append("record=").append(dto.getItemCount());
+        } else if (source instanceof OldCompanyDto dto) {
+            line.append("record=").append(dto.getItemCount());
+        } else {
+            line.append("record=-");
+        }
+        line.append(" step=").append(rejected.stepName())
+                .append(" stage=").append(rejected.phase())
+                .append(" category=").append(rejected.category().tagValue());
+        if (source != null && FORMATS.values().stream().noneMatch(f -> f.type().isInstance(source))) {
+            // 変換前のデータを保持していない変換後のデータは元の形式に戻せないため、内容をコメントに残す
+            line.append(" item=");
+            HeaderColumnMapper.appendEscaped(line, String.valueOf(source));
+        }
+        if (input != null) {
+            line.append(" input=");
+            HeaderColumnMapper.appendEscaped(line, input);
+        }
+        Throwable error = rejected.error();
+        line.append(" reason=");
+        HeaderColumnMapper.appendEscaped(line,
+                error.getMessage() != null ? error.getMessage() : error.getClass().getName());
+        return line.toString();
+    }
+
+    /**
+     * @return 元の形式の行（出力できない場合はnull）
+     */
+    private String sourceLine(RejectedItem rejected, String target) {
+        if (rejected.error() instanceof FlatFileParseException parse && parse.getInput() != null) {
+            HeaderColumnMapper<?> source = sourceHeaders.get(headerKey(rejected.jobExecutionId(), target));
+            if (source != null) {
+                return source.reorder(parse.getInput());
+            }
+            StringBuilder line = new StringBuilder(parse.getInput().length());
+            // 行内のタブは区切りのため残し、改行のみ置き換える
+            for (int i = 0; i < parse.getInput().length(); i++) {
+                char c = parse.getInput().charAt(i);
+                line.append(c == '\r' || c == '\n' ? ' ' : c);
+            }
+            return line.toString();
+        }
+        Format<?> format = FORMATS.get(target);
+        return format != null ? format.format(sourceOf(rejected)) : null;
+    }
+
+    /**
+     * 書き込みスレッドに渡すデータ（{@code closed} がある場合はファイルを閉じる指示）。
+     */
+    private record Task(Long jobExecutionId, RejectedItem rejected, CompletableFuture<Void> closed) {
+    }
+
+    /**
+     * 入力ファイルの形式（データの型とTSVへの変換、入力ファイルのヘッダー行を解決するマッパーの生成）。
+     */
+    private record Format<T>(Class<T> type, HeaderColumnMapper<T> mapper,
+            Supplier<? extends HeaderColumnMapper<T>> mappers) {
+
+        String format(Object item) {
+            return type.isInstance(item) ? mapper.format(type.cast(item)) : null;
+        }
+
+        String header() {
+            return mapper.getHeader();
+        }
+    }
+
+    /**
+     * 上限のサイズで連番のファイルに切り替えながら追記するファイル。
+     */
+    private final class RotatingFile {
+
+        private final long jobExecutionId;
+
+        private final String target;
+
+        private final List<Path> paths = new ArrayList<>();
+
+        private BufferedWriter writer;
+
+        private long bytes;
+
+        private long records;
+
+        RotatingFile(long jobExecutionId, String target) {
+            this.jobExecutionId = jobExecutionId;
+            this.target = target;
+        }
+
+        void append(String comment, String sourceLine) throws IOException {
+            if (writer == null || bytes >= maxFileBytes) {
+                rotate();
+            }
+            writeLine(comment);
+            if (sourceLine != null) {
+                writeLine(sourceLine);
+            }
+            records++;
+        }
+
+        private void rotate() throws IOException {
+            close();
+            Files.createDirectories(outputDir);
+            Path path = outputDir.resolve(String.format("rejects-%d-%s-%03d.tsv", jobExecutionId, target,
+                    paths.size() + 1));
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            paths.add(path);
+            bytes = 0;
+            Format<?> format = FORMATS.get(target);
+            // 再処理時にReaderが読み飛ばすヘッダー行（対象が不明な場合はコメント行）
+            writeLine(format != null ? format.header() : "# rejects");
+        }
+
+        private void writeLine(String line) throws IOException {
+            writer.write(line);
+            writer.newLine();
+            bytes += line.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+
+        void flush() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.batch.error;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 除外・スキップしたデータをログに出力する{@link RejectSink}。
+ *
+ * <p>
+ * {@code batch.rejects.enabled=false} の場合と、ファイルへの出力に失敗した場合に
+ * {@link FileRejectSink}から使用されます。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+public class LoggingRejectSink implements RejectSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingRejectSink.class);
+
+    @Override
+    public void reject(RejectedItem rejected) {
+        if (rejected.item() != null) {
+            logger.warn("【除外】{} ({}/{}): アイテム: {}, エラー: {}", rejected.stepName(), rejected.phase(),
+                    rejected.category().tagValue(), rejected.item(), rejected.error().getMessage());
+        } else {
+            logger.warn("【除外】{} ({}/{}): エラー: {}", rejected.stepName(), rejected.phase(),
+                    rejected.category().tagValue(), rejected.error().getMessage());
+        }
+        logger.debug("スタックトレース: ", rejected.error());
+    }
+}
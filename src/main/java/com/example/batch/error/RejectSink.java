@@ -0,0 +1,23 @@
+package com.example.batch.error;
+
+/**
+ * 除外・スキップしたデータの出力先。
+ *
+ * <p>
+ * 処理中のデータのエラーで除外したデータ（{@link RejectingItemProcessor}）と、
+ * 読み込み・書き込みでスキップしたデータ（{@code CustomSkipListener}）が渡されます。
+ * チャンクのスレッドから並行に呼ばれるため、実装はスレッドセーフにしてください。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public interface RejectSink {
+
+    /**
+     * 除外・スキップしたデータを出力します。
+     *
+     * @param rejected 除外・スキップしたデータ
+     */
+    void reject(RejectedItem rejected);
+}
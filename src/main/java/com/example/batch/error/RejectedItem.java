@@ -0,0 +1,17 @@
+package com.example.batch.error;
+
+/**
+ * 除外・スキップしたデータ（{@link RejectSink}に渡す）。
+ *
+ * @param jobExecutionId ジョブ実行ID（不明な場合はnull）
+ * @param stepName       ステップ名（不明な場合はnull）
+ * @param phase          発生した段階（read / process / write）
+ * @param category       エラーの分類
+ * @param item           データ（読み込みエラーの場合はnull）
+ * @param error          原因の例外
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public record RejectedItem(Long jobExecutionId, String stepName, String phase, ErrorCategory category, Object item,
+        Throwable error) {
+}
@@ -0,0 +1,71 @@
+package com.example.batch.error;
+
+import org.springframework.batch.item.ItemProcessor;
+
+/**
+ * 処理中のデータのエラーを、チャンクをロールバックせずにその場で除外するプロセッサ。
+ *
+ * <p>
+ * 元のプロセッサが例外を発生させた場合、{@link DataErrorPolicy}がデータのエラー
+ * （バリデーション・解析）と判定すれば、データを{@link RejectSink}に渡してnullを返します
+ * （Spring Batchはフィルタしたデータとして扱い、ステップのフィルタ件数に計上します）。
+ * それ以外の例外はそのまま送出し、リトライ・スキップ・ステップの失敗はステップの設定に従います。
+ * </p>
+ *
+ * <p>
+ * {@code .skip(Exception.class)}でプロセッサの例外をスキップすると、Spring Batchはチャンクを
+ * ロールバックし、1件ずつ処理し直して原因のデータを特定します。データのエラーは再実行しても
+ * 結果が変わらないため、この処理を省きます。
+ * </p>
+ *
+ * <p>
+ * 書き込みエラーなどでチャンクがロールバックされた場合、このプロセッサも再度呼ばれます。
+ * 除外したデータはチャンクのコミット後に出力されるため（{@link DataErrorPolicy#afterChunk}）、
+ * 再処理によって件数や出力が重複することはありません。
+ * </p>
+ *
+ * <p>
+ * 処理結果が{@link SourceItemAware}の場合は、元のデータを設定します
+ * （書き込みエラーで除外したデータを、元の形式で出力するため）。
+ * </p>
+ *
+ * @param <I> 入力アイテムの型
+ * @param <O> 出力アイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class RejectingItemProcessor<I, O> implements ItemProcessor<I, O> {
+
+    private final ItemProcessor<I, O> delegate;
+
+    private final DataErrorPolicy policy;
+
+    /**
+     * プロセッサを生成します。
+     *
+     * @param delegate 元のプロセッサ
+     * @param policy   エラーの扱いを決めるポリシー
+     */
+    public RejectingItemProcessor(ItemProcessor<I, O> delegate, DataErrorPolicy policy) {
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    @Override
+    public O process(I item) throws Exception {
+        O output;
+        try {
+            output = delegate.process(item);
+        } catch (Exception e) {
+            if (policy.rejectIfDataError(item, e)) {
+                return null;
+            }
+            throw e;
+        }
+        if (output instanceof SourceItemAware aware) {
+            // 書き込みエラーで除外した場合に、元のデータを出力できるようにする
+            aware.setSourceItem(item);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.batch.error;
+
+/**
+ * 変換前のデータ（入力の1件）を保持する、処理結果のアイテム。
+ *
+ * <p>
+ * 書き込みエラーで除外した変換後のデータから、元のデータを除外データのファイル（{@link FileRejectSink}）に
+ * 出力し、再処理できるようにするために使用します。{@link RejectingItemProcessor}が処理結果に設定します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public interface SourceItemAware {
+
+    /**
+     * @return 変換前のデータ（未設定の場合null）
+     */
+    Object getSourceItem();
+
+    /**
+     * @param sourceItem 変換前のデータ
+     */
+    void setSourceItem(Object sourceItem);
+}
@@ -4,9 +4,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.retry.RetryCallback;
 import org.springframework.retry.RetryContext;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.retry.RetryListener;
 import org.springframework.stereotype.Component;
 
+import com.example.batch.metrics.BatchMetrics;
+
 /**
  * リトライ処理を監視するリスナー。
  *
@@ -19,6 +22,8 @@ import org.springframework.stereotype.Component;
  *   <li>対象例外: DeadlockLoserDataAccessException, TransientDataAccessException</li>
  * </ul>
  *
+ * <p>リトライ回数はメトリクス {@code batch.retries} としても公開します。</p>
+ *
  * @author Spring Batch Data Migration Team
  * @version 1.0.0
  */
@@ -27,6 +32,9 @@ public class CustomRetryListener implements org.springframework.retry.RetryListe
 
     private static final Logger logger = LoggerFactory.getLogger(CustomRetryListener.class);
 
+    @Autowired
+    private BatchMetrics metrics;
+
     /**
      * リトライ開始時に呼び出されます。
      *
@@ -73,6 +81,7 @@ public class CustomRetryListener implements org.springframework.retry.RetryListe
      */
     @Override
     public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        metrics.countRetry();
         logger.warn("リトライ実行中 ({}/3): {}", context.getRetryCount(), throwable.getMessage());
     }
 }
@@ -1,10 +1,15 @@
 package com.example.batch.listener;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.concurrent.Future;
+
 import org.springframework.batch.core.SkipListener;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.example.batch.error.DataErrorPolicy;
+import com.example.batch.error.RejectSink;
+import com.example.batch.metrics.BatchMetrics;
+
 /**
  * データ処理中にスキップされたアイテムを記録するリスナー。
  *
@@ -15,8 +20,11 @@ import org.springframework.stereotype.Component;
  *   <li>書き込みエラー（DB制約違反など）</li>
  * </ul>
  *
- * <p>本番運用時は、スキップされたデータを別ファイルに出力して
- * 後で手動で確認・修正できるようにすることを推奨します。</p>
+ * <p>スキップ件数はメトリクス {@code batch.skips}（タグ {@code phase}）としても公開します。</p>
+ *
+ * <p>スキップされたデータは{@link DataErrorPolicy}経由で{@link RejectSink}に渡します
+ * （エラーの分類とステップ名を付けて出力）。バリデーションエラーなどのデータのエラーは
+ * プロセッサ内で除外されるため、処理スキップは主にリトライしても解消しなかった一時的なエラーです。</p>
  *
  * @param <T> 入力アイテムの型
  * @param <S> 出力アイテムの型
@@ -26,7 +34,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class CustomSkipListener<T, S> implements org.springframework.batch.core.SkipListener<T, S> {
 
-    private static final Logger logger = LoggerFactory.getLogger(CustomSkipListener.class);
+    @Autowired
+    private BatchMetrics metrics;
+
+    @Autowired
+    private DataErrorPolicy errorPolicy;
 
     /**
      * データ読み込み時にスキップされた場合に呼び出されます。
@@ -35,8 +47,8 @@ public class CustomSkipListener<T, S> implements org.springframework.batch.core.
      */
     @Override
     public void onSkipInRead(Throwable t) {
-        logger.warn("【読み込みスキップ】エラー: {}", t.getMessage());
-        logger.debug("スタックトレース: ", t);
+        metrics.countSkip("read");
+        errorPolicy.skipped("read", null, t);
     }
 
     /**
@@ -47,9 +59,8 @@ public class CustomSkipListener<T, S> implements org.springframework.batch.core.
      */
     @Override
     public void onSkipInProcess(T item, Throwable t) {
-        logger.warn("【処理スキップ】アイテム: {}, エラー: {}", item, t.getMessage());
-        logger.debug("スタックトレース: ", t);
-        // TODO: 本番環境では、スキップされたデータをエラーファイルに出力
+        metrics.countSkip("process");
+        errorPolicy.skipped("process", item, t);
     }
 
     /**
@@ -60,8 +71,23 @@ public class CustomSkipListener<T, S> implements org.springframework.batch.core.
      */
     @Override
     public void onSkipInWrite(S item, Throwable t) {
-        logger.warn("【書き込みスキップ】アイテム: {}, エラー: {}", item, t.getMessage());
-        logger.debug("スタックトレース: ", t);
-        // TODO: 本番環境では、スキップされたデータをエラーファイルに出力
+        metrics.countSkip("write");
+        errorPolicy.skipped("write", describe(item), t);
+    }
+
+    /**
+     * 出力するアイテムの表現を返します。
+     *
+     * <p>非同期処理（batch.async.enabled=true）では書き込み対象が処理結果のFutureになるため、
+     * 処理が成功している場合はその結果を返します。</p>
+     *
+     * @param item アイテム
+     * @return 出力するアイテム
+     */
+    private static Object describe(Object item) {
+        if (item instanceof Future<?> future && future.state() == Future.State.SUCCESS) {
+            return future.resultNow();
+        }
+        return item;
     }
 }
@@ -0,0 +1,87 @@
+package com.example.batch.listener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.Resource;
+
+import com.example.batch.partition.TsvByteRangePartitioner;
+import com.example.batch.reader.TsvLineCounter;
+
+/**
+ * 移行ステップの開始時に、入力ファイルの件数を数えるリスナー。
+ *
+ * <p>
+ * {@link TsvLineCounter}で入力ファイル（パーティション分割時は担当するバイト範囲）の行数を数え、
+ * ステップの{@code ExecutionContext}に{@value #TOTAL_ITEMS_KEY}として記録します。
+ * {@link ProgressListener}（進捗率・残り時間）と{@code /actuator/batch}（進捗率）がこの件数を参照します。
+ * </p>
+ *
+ * <p>
+ * 旧データベースから読み込む場合（ジョブパラメータ source=db）、除外データを再処理する場合（replayRejects）、
+ * 入力ファイルがファイルシステム上にない場合、
+ * {@code batch.progress.pre-scan-threads}が0の場合は数えません（進捗率は表示されません）。
+ * 件数は進捗の表示にのみ使用するため、数えられなかった場合もステップは継続します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class InputRecordCountListener implements StepExecutionListener {
+
+    /** ステップのExecutionContextのキー: 入力の総件数 */
+    public static final String TOTAL_ITEMS_KEY = "progress.totalItems";
+
+    private static final Logger logger = LoggerFactory.getLogger(InputRecordCountListener.class);
+
+    private static final String SOURCE_DB = "db";
+
+    private final Resource resource;
+
+    private final int linesToSkip;
+
+    private final int threads;
+
+    /**
+     * リスナーを生成します。
+     *
+     * @param resource    入力ファイル
+     * @param linesToSkip ファイル先頭で読み飛ばす行数（ヘッダー行など）
+     * @param threads     並行に数えるスレッド数（0以下の場合は数えない）
+     */
+    public InputRecordCountListener(Resource resource, int linesToSkip, int threads) {
+        this.resource = resource;
+        this.linesToSkip = linesToSkip;
+        this.threads = threads;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (threads <= 0 || SOURCE_DB.equalsIgnoreCase(stepExecution.getJobParameters().getString("source"))
+                || stepExecution.getJobParameters().getString("replayRejects") != null || !resource.isFile()) {
+            return;
+        }
+        ExecutionContext context = stepExecution.getExecutionContext();
+        long start = System.nanoTime();
+        try {
+            Path path = resource.getFile().toPath();
+            long total = context.containsKey(TsvByteRangePartitioner.START_OFFSET_KEY)
+                    ? TsvLineCounter.countLines(path, context.getLong(TsvByteRangePartitioner.START_OFFSET_KEY),
+                            context.getLong(TsvByteRangePartitioner.END_OFFSET_KEY), threads)
+                    : TsvLineCounter.countRecords(path, linesToSkip, threads);
+            context.putLong(TOTAL_ITEMS_KEY, total);
+            logger.info("【進捗】{}: 入力件数 {} 件（カウント {} ms）", stepExecution.getStepName(), total,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("【進捗】{}: 入力件数を数えられないため、進捗率を表示しません: {}",
+                    stepExecution.getStepName(), e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.batch.listener;
 
+import com.example.batch.partition.PartitionSteps;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
@@ -67,11 +68,13 @@ public class JobCompletionNotificationListener implements JobExecutionListener {
 
             // 全ステップの読込件数を合計
             System.out.println("読込件数: " + jobExecution.getStepExecutions().stream()
+                    .filter(stepExecution -> !PartitionSteps.isManager(stepExecution))
                     .mapToLong(stepExecution -> stepExecution.getReadCount())
                     .sum());
 
             // 全ステップの書込件数を合計
             System.out.println("書込件数: " + jobExecution.getStepExecutions().stream()
+                    .filter(stepExecution -> !PartitionSteps.isManager(stepExecution))
                     .mapToLong(stepExecution -> stepExecution.getWriteCount())
                     .sum());
 
@@ -3,9 +3,12 @@ package com.example.batch.listener;
 import com.example.batch.dto.ProgressMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.ItemReadListener;
 import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -13,7 +16,10 @@ import org.springframework.stereotype.Component;
 
 import org.springframework.batch.item.Chunk;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * バッチ処理の進捗をリアルタイムで表示するリスナー。
@@ -22,66 +28,98 @@ import java.util.concurrent.atomic.AtomicLong;
  * <ul>
  *   <li>読み込み件数（累計）</li>
  *   <li>書き込み件数（累計）</li>
- *   <li>進捗率（推定）</li>
+ *   <li>進捗率と残り時間（入力件数が分かる場合）</li>
  *   <li>処理速度（件/秒）</li>
  * </ul>
  *
+ * <p>入力件数は{@link InputRecordCountListener}がステップ開始時に数えた値を使用します。
+ * リスタート時は、前回までの実行で読み込んだ件数（{@value #PROCESSED_ITEMS_KEY}）を加えて進捗率を求めます。</p>
+ *
+ * <p>このリスナーは顧客・会社の両ステップとパーティションのワーカーで共有されるため、
+ * 状態はステップ実行ごとに保持します。マルチスレッドステップでは複数のチャンクが同時に処理されるため、
+ * 件数は{@link LongAdder}（スレッドごとに分散したカウンター）で数え、進捗の報告は1つのスレッドのみが行います。
+ * 1件ごとの処理では、チャンク開始時にスレッドに設定したステップの状態を参照するだけで、検索は行いません。</p>
+ *
  * @param <T> 読み込みアイテムの型
  * @param <S> 書き込みアイテムの型
  * @author Spring Batch Data Migration Team
  * @version 1.0.0
  */
 @Component
-public class ProgressListener<T, S> implements ChunkListener, ItemReadListener<T>, ItemWriteListener<S> {
+public class ProgressListener<T, S>
+        implements StepExecutionListener, ChunkListener, ItemReadListener<T>, ItemWriteListener<S> {
+
+    /** ステップのExecutionContextのキー: これまでの実行で読み込んだ件数（リスタート時の進捗率に使用） */
+    public static final String PROCESSED_ITEMS_KEY = "progress.processedItems";
 
     private static final Logger logger = LoggerFactory.getLogger(ProgressListener.class);
 
     @Autowired(required = false)
     private SimpMessagingTemplate messagingTemplate;
 
-    private final AtomicLong readCount = new AtomicLong(0);
-    private final AtomicLong writeCount = new AtomicLong(0);
-    private final AtomicLong skipCount = new AtomicLong(0);
-    private long startTime = 0;
-    private long lastReportTime = 0;
-    private Long executionId;
-    private String currentStepName;
+    /** ステップ実行ID → 進捗 */
+    private final Map<Long, StepProgress> steps = new ConcurrentHashMap<>();
+
+    /** 現在のスレッドが処理中のチャンクのステップの進捗 */
+    private final ThreadLocal<StepProgress> current = new ThreadLocal<>();
+
     private static final long REPORT_INTERVAL_MS = 5000; // 5秒ごとに進捗報告
 
     @Override
-    public void beforeChunk(ChunkContext context) {
-        if (startTime == 0) {
-            startTime = System.currentTimeMillis();
-            lastReportTime = startTime;
+    public void beforeStep(StepExecution stepExecution) {
+        StepProgress progress = new StepProgress(stepExecution);
+        steps.put(stepExecution.getId(), progress);
 
-            // 実行IDとステップ名を取得
-            executionId = context.getStepContext().getStepExecution().getJobExecutionId();
-            currentStepName = context.getStepContext().getStepName();
+        logger.info("【進捗】バッチ処理開始 - ExecutionId: {}, Step: {}, 入力件数: {}",
+            progress.executionId, progress.stepName, progress.totalItems >= 0 ? progress.totalItems : "不明");
+        sendProgressUpdate(progress, progress.snapshot(), "STARTED");
+    }
 
-            logger.info("【進捗】バッチ処理開始 - ExecutionId: {}, Step: {}", executionId, currentStepName);
-            sendProgressUpdate("STARTED");
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        StepProgress progress = steps.remove(stepExecution.getId());
+        if (progress != null) {
+            reportProgress(progress, stepExecution.getStatus().name());
+            // リスタート時の進捗率のため、コミット済みの読み込み件数を記録する
+            stepExecution.getExecutionContext().putLong(PROCESSED_ITEMS_KEY,
+                progress.processedBefore + stepExecution.getReadCount() + stepExecution.getReadSkipCount());
         }
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        current.set(steps.get(context.getStepContext().getStepExecution().getId()));
     }
 
     @Override
     public void afterChunk(ChunkContext context) {
+        StepProgress progress = current.get();
+        current.remove();
+        if (progress == null) {
+            return;
+        }
         long currentTime = System.currentTimeMillis();
 
-        // 5秒ごとまたはチャンク完了時に進捗を表示
-        if (currentTime - lastReportTime >= REPORT_INTERVAL_MS) {
-            reportProgress(currentTime);
-            lastReportTime = currentTime;
+        // 5秒ごとに進捗を表示（同時に完了したチャンクのうち1つだけが報告する）
+        long lastTime = progress.lastReportTime.get();
+        if (currentTime - lastTime >= REPORT_INTERVAL_MS && progress.lastReportTime.compareAndSet(lastTime, currentTime)) {
+            reportProgress(progress, "IN_PROGRESS");
         }
     }
 
     @Override
     public void afterChunkError(ChunkContext context) {
+        current.remove();
         logger.error("【進捗】チャンク処理エラー発生");
     }
 
     @Override
     public void afterRead(T item) {
-        readCount.incrementAndGet();
+        StepProgress progress = current.get();
+        if (progress != null) {
+            progress.readCount.increment();
+        }
     }
 
     @Override
@@ -91,7 +129,10 @@ public class ProgressListener<T, S> implements ChunkListener, ItemReadListener<T
 
     @Override
     public void onReadError(Exception ex) {
-        skipCount.incrementAndGet();
+        StepProgress progress = current.get();
+        if (progress != null) {
+            progress.skipCount.increment();
+        }
         logger.warn("【進捗】読み込みエラー: {}", ex.getMessage());
     }
 
@@ -102,7 +143,10 @@ public class ProgressListener<T, S> implements ChunkListener, ItemReadListener<T
 
     @Override
     public void afterWrite(Chunk<? extends S> items) {
-        writeCount.addAndGet(items.size());
+        StepProgress progress = current.get();
+        if (progress != null) {
+            progress.writeCount.add(items.size());
+        }
     }
 
     @Override
@@ -111,85 +155,111 @@ public class ProgressListener<T, S> implements ChunkListener, ItemReadListener<T
     }
 
     /**
-     * 進捗情報をログに出力します。
+     * 進捗情報をログに出力し、WebSocketで送信します。
      *
-     * @param currentTime 現在時刻（ミリ秒）
+     * @param progress ステップの進捗
+     * @param status   送信するステータス
      */
-    private void reportProgress(long currentTime) {
-        long elapsedTime = currentTime - startTime;
-        long currentReadCount = readCount.get();
-        long currentWriteCount = writeCount.get();
-
-        // 処理速度計算（件/秒）
-        double readSpeed = elapsedTime > 0 ? (currentReadCount * 1000.0 / elapsedTime) : 0;
-        double writeSpeed = elapsedTime > 0 ? (currentWriteCount * 1000.0 / elapsedTime) : 0;
-
-        // 経過時間（秒）
-        long elapsedSeconds = elapsedTime / 1000;
-
-        logger.info("【進捗】読込: {} 件, 書込: {} 件 | 経過時間: {} 秒 | 速度: {}/{} 件/秒",
-            currentReadCount,
-            currentWriteCount,
-            elapsedSeconds,
-            String.format("%.1f", readSpeed),
-            String.format("%.1f", writeSpeed)
+    private void reportProgress(StepProgress progress, String status) {
+        Snapshot snapshot = progress.snapshot();
+
+        logger.info("【進捗】{}: 読込: {} 件, 書込: {} 件{} | 経過時間: {} 秒{} | 速度: {}/{} 件/秒",
+            progress.stepName,
+            snapshot.readCount(),
+            snapshot.writeCount(),
+            snapshot.percentage() != null ? String.format(" (%.1f%%)", snapshot.percentage()) : "",
+            snapshot.elapsedSeconds(),
+            snapshot.etaSeconds() != null ? " | 残り: 約 " + snapshot.etaSeconds() + " 秒" : "",
+            String.format("%.1f", snapshot.readSpeed()),
+            String.format("%.1f", snapshot.writeSpeed())
         );
 
         // WebSocketで進捗を送信
-        sendProgressUpdate("IN_PROGRESS");
+        sendProgressUpdate(progress, snapshot, status);
     }
 
     /**
      * WebSocketで進捗更新を送信します。
      */
-    private void sendProgressUpdate(String status) {
-        if (messagingTemplate == null || executionId == null) {
+    private void sendProgressUpdate(StepProgress progress, Snapshot snapshot, String status) {
+        if (messagingTemplate == null || progress.executionId == null) {
             return;
         }
 
-        long elapsedTime = System.currentTimeMillis() - startTime;
-        long currentReadCount = readCount.get();
-        long currentWriteCount = writeCount.get();
-        long currentSkipCount = skipCount.get();
-
-        double readSpeed = elapsedTime > 0 ? (currentReadCount * 1000.0 / elapsedTime) : 0;
-        double writeSpeed = elapsedTime > 0 ? (currentWriteCount * 1000.0 / elapsedTime) : 0;
-        long elapsedSeconds = elapsedTime / 1000;
-
         ProgressMessage message = new ProgressMessage(
-            executionId,
-            currentStepName,
+            progress.executionId,
+            progress.stepName,
             status,
-            currentReadCount,
-            currentWriteCount,
-            currentSkipCount,
-            null, // 進捗率は総件数が分からないため未設定
-            readSpeed,
-            writeSpeed,
-            elapsedSeconds,
+            snapshot.readCount(),
+            snapshot.writeCount(),
+            snapshot.skipCount(),
+            progress.totalItems >= 0 ? progress.totalItems : null,
+            snapshot.percentage(),
+            snapshot.readSpeed(),
+            snapshot.writeSpeed(),
+            snapshot.elapsedSeconds(),
+            snapshot.etaSeconds(),
             LocalDateTime.now(),
-            String.format("読込: %d, 書込: %d, スキップ: %d", currentReadCount, currentWriteCount, currentSkipCount)
+            String.format("読込: %d, 書込: %d, スキップ: %d", snapshot.readCount(), snapshot.writeCount(), snapshot.skipCount())
         );
 
-        messagingTemplate.convertAndSend("/topic/progress/" + executionId, message);
+        messagingTemplate.convertAndSend("/topic/progress/" + progress.executionId, message);
     }
 
     /**
-     * 処理完了時の最終進捗を表示します。
+     * ステップ実行ごとの進捗。
      */
-    public void reportFinalProgress() {
-        long currentTime = System.currentTimeMillis();
-        reportProgress(currentTime);
+    private static final class StepProgress {
+
+        private final Long executionId;
+        private final String stepName;
+        private final long startTime = System.currentTimeMillis();
+        private final AtomicLong lastReportTime = new AtomicLong(startTime);
+        private final LongAdder readCount = new LongAdder();
+        private final LongAdder writeCount = new LongAdder();
+        private final LongAdder skipCount = new LongAdder();
+        /** 入力の総件数（不明な場合は-1） */
+        private final long totalItems;
+        /** これまでの実行で読み込んだ件数（リスタート時） */
+        private final long processedBefore;
+
+        StepProgress(StepExecution stepExecution) {
+            this.executionId = stepExecution.getJobExecutionId();
+            this.stepName = stepExecution.getStepName();
+            this.totalItems = stepExecution.getExecutionContext().getLong(InputRecordCountListener.TOTAL_ITEMS_KEY, -1L);
+            this.processedBefore = stepExecution.getExecutionContext().getLong(PROCESSED_ITEMS_KEY, 0L);
+        }
+
+        Snapshot snapshot() {
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            long currentReadCount = readCount.sum();
+            long currentSkipCount = skipCount.sum();
+
+            // 処理速度計算（件/秒）
+            double readSpeed = elapsedTime > 0 ? (currentReadCount * 1000.0 / elapsedTime) : 0;
+            double writeSpeed = elapsedTime > 0 ? (writeCount.sum() * 1000.0 / elapsedTime) : 0;
+
+            // 進捗率・残り時間（入力件数が分かる場合のみ）
+            Double percentage = null;
+            Long etaSeconds = null;
+            if (totalItems > 0) {
+                long done = Math.min(totalItems, processedBefore + currentReadCount + currentSkipCount);
+                percentage = Math.round(done * 1000.0 / totalItems) / 10.0;
+                if (readSpeed > 0) {
+                    etaSeconds = Math.round((totalItems - done) / readSpeed);
+                }
+            } else if (totalItems == 0) {
+                percentage = 100.0;
+            }
+            return new Snapshot(currentReadCount, writeCount.sum(), currentSkipCount, percentage,
+                readSpeed, writeSpeed, elapsedTime / 1000, etaSeconds);
+        }
     }
 
     /**
-     * リスナーをリセットします（新しいステップ開始時）。
+     * ある時点の進捗。
      */
-    public void reset() {
-        readCount.set(0);
-        writeCount.set(0);
-        skipCount.set(0);
-        startTime = 0;
-        lastReportTime = 0;
+    private record Snapshot(long readCount, long writeCount, long skipCount, Double percentage,
+            double readSpeed, double writeSpeed, long elapsedSeconds, Long etaSeconds) {
     }
 }
@@ -1,10 +1,16 @@
 package com.example.batch.listener;
 
+import com.example.batch.bulkload.BulkLoadPhase;
+import com.example.batch.error.DataErrorPolicy;
+import com.example.batch.partition.PartitionSteps;
+import com.example.batch.tuning.AdaptiveChunkSizePolicy;
+import com.example.batch.writer.StagingTableMerger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -24,9 +30,11 @@ import java.util.Collection;
  * <ul>
  *   <li>ジョブ実行ID、ジョブ名、ステータス</li>
  *   <li>開始時刻、終了時刻、処理時間</li>
- *   <li>ステップごとの読み込み件数、書き込み件数、スキップ件数</li>
+ *   <li>ステップごとの読み込み件数、書き込み件数、スキップ件数、データエラーの除外件数</li>
  *   <li>ステップごとのコミット回数、ロールバック回数</li>
  *   <li>処理速度（件/秒）</li>
+ *   <li>ステージングテーブルの反映件数・所要時間（writerMode=staging の場合）</li>
+ *   <li>一括ロードの各フェーズの所要時間（bulkLoad=true の場合）</li>
  *   <li>エラー情報（発生した場合）</li>
  * </ul>
  *
@@ -120,6 +128,8 @@ public class StatisticsReportListener implements JobExecutionListener {
             long totalReadCount = 0;
             long totalWriteCount = 0;
             long totalSkipCount = 0;
+            long totalMergedRows = 0;
+            long totalMergeMillis = 0;
 
             for (StepExecution stepExecution : stepExecutions) {
                 String stepPrefix = String.format("ステップ%d(%s)", stepNumber, stepExecution.getStepName());
@@ -137,9 +147,17 @@ public class StatisticsReportListener implements JobExecutionListener {
                 writer.write(String.format("%s,書き込みスキップ件数,%d", stepPrefix, stepExecution.getWriteSkipCount()));
                 writer.newLine();
 
+                // データのエラーで除外した件数（ロールバックなし、スキップ上限の対象）
+                long stepRejectCount = stepExecution.getExecutionContext().containsKey(DataErrorPolicy.REJECT_COUNT_KEY)
+                        ? stepExecution.getExecutionContext().getLong(DataErrorPolicy.REJECT_COUNT_KEY)
+                        : 0L;
+                writer.write(String.format("%s,データエラー除外件数,%d", stepPrefix, stepRejectCount));
+                writer.newLine();
+
                 long stepSkipCount = stepExecution.getReadSkipCount() +
                         stepExecution.getProcessSkipCount() +
-                        stepExecution.getWriteSkipCount();
+                        stepExecution.getWriteSkipCount() +
+                        stepRejectCount;
                 writer.write(String.format("%s,スキップ合計,%d", stepPrefix, stepSkipCount));
                 writer.newLine();
 
@@ -160,6 +178,55 @@ public class StatisticsReportListener implements JobExecutionListener {
                 writer.write(String.format("%s,処理速度(件/秒),%.2f", stepPrefix, processingSpeed));
                 writer.newLine();
 
+                // ステージングテーブルの反映（writerMode=staging）
+                if (stepExecution.getExecutionContext().containsKey(StagingTableMerger.MERGED_ROWS_KEY)) {
+                    long mergedRows = stepExecution.getExecutionContext().getLong(StagingTableMerger.MERGED_ROWS_KEY);
+                    long mergeMillis = stepExecution.getExecutionContext().getLong(StagingTableMerger.MERGE_MILLIS_KEY);
+                    writer.write(String.format("%s,ステージング件数,%d", stepPrefix,
+                            stepExecution.getExecutionContext().getLong(StagingTableMerger.STAGED_ROWS_KEY)));
+                    writer.newLine();
+                    writer.write(String.format("%s,マージ件数,%d", stepPrefix, mergedRows));
+                    writer.newLine();
+                    writer.write(String.format("%s,マージ時間(ミリ秒),%d", stepPrefix, mergeMillis));
+                    writer.newLine();
+                    totalMergedRows += mergedRows;
+                    totalMergeMillis += mergeMillis;
+                }
+
+                // 一括ロードの前処理・後処理のフェーズ別所要時間（bulkLoad=true）
+                for (BulkLoadPhase phase : BulkLoadPhase.values()) {
+                    if (stepExecution.getExecutionContext().containsKey(phase.getContextKey())) {
+                        writer.write(String.format("%s,%s(ミリ秒),%d", stepPrefix, phase.getLabel(),
+                                stepExecution.getExecutionContext().getLong(phase.getContextKey())));
+                        writer.newLine();
+                    }
+                }
+
+                // チャンクサイズ（adaptiveChunk=true の場合は調整の結果）
+                ExecutionContext stepContext = stepExecution.getExecutionContext();
+                if (stepContext.containsKey(AdaptiveChunkSizePolicy.FINAL_SIZE_KEY)) {
+                    writer.write(String.format("%s,チャンクサイズ(初期),%d", stepPrefix,
+                            stepContext.getInt(AdaptiveChunkSizePolicy.INITIAL_SIZE_KEY)));
+                    writer.newLine();
+                    writer.write(String.format("%s,チャンクサイズ(最終),%d", stepPrefix,
+                            stepContext.getInt(AdaptiveChunkSizePolicy.FINAL_SIZE_KEY)));
+                    writer.newLine();
+                    if (stepContext.getInt(AdaptiveChunkSizePolicy.ADJUSTMENTS_KEY) > 0) {
+                        writer.write(String.format("%s,チャンクサイズ(最小),%d", stepPrefix,
+                                stepContext.getInt(AdaptiveChunkSizePolicy.MIN_SIZE_KEY)));
+                        writer.newLine();
+                        writer.write(String.format("%s,チャンクサイズ(最大),%d", stepPrefix,
+                                stepContext.getInt(AdaptiveChunkSizePolicy.MAX_SIZE_KEY)));
+                        writer.newLine();
+                    }
+                    writer.write(String.format("%s,チャンクサイズ調整回数,%d", stepPrefix,
+                            stepContext.getInt(AdaptiveChunkSizePolicy.ADJUSTMENTS_KEY)));
+                    writer.newLine();
+                    writer.write(String.format("%s,平均トランザクション時間(ミリ秒),%d", stepPrefix,
+                            stepContext.getLong(AdaptiveChunkSizePolicy.AVERAGE_TRANSACTION_MILLIS_KEY)));
+                    writer.newLine();
+                }
+
                 // エラー情報
                 if (!stepExecution.getFailureExceptions().isEmpty()) {
                     String errorMessage = stepExecution.getFailureExceptions().get(0).getMessage();
@@ -168,9 +235,12 @@ public class StatisticsReportListener implements JobExecutionListener {
                     writer.newLine();
                 }
 
-                totalReadCount += stepExecution.getReadCount();
-                totalWriteCount += stepExecution.getWriteCount();
-                totalSkipCount += stepSkipCount;
+                // パーティションのマネージャーはワーカーの件数を集約しているため合計から除外
+                if (!PartitionSteps.isManager(stepExecution)) {
+                    totalReadCount += stepExecution.getReadCount();
+                    totalWriteCount += stepExecution.getWriteCount();
+                    totalSkipCount += stepSkipCount;
+                }
                 stepNumber++;
             }
 
@@ -182,6 +252,13 @@ public class StatisticsReportListener implements JobExecutionListener {
             writer.write(String.format("サマリー,総スキップ件数,%d", totalSkipCount));
             writer.newLine();
 
+            if (totalMergeMillis > 0 || totalMergedRows > 0) {
+                writer.write(String.format("サマリー,総マージ件数,%d", totalMergedRows));
+                writer.newLine();
+                writer.write(String.format("サマリー,総マージ時間(ミリ秒),%d", totalMergeMillis));
+                writer.newLine();
+            }
+
             double overallSpeed = durationSeconds > 0 ?
                     (double) totalWriteCount / durationSeconds : 0;
             writer.write(String.format("サマリー,全体処理速度(件/秒),%.2f", overallSpeed));
@@ -0,0 +1,219 @@
+package com.example.batch.mapper;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 固定書式の数値・日付を解析するパーサー。
+ *
+ * <p>
+ * {@link java.time.format.DateTimeFormatter}や{@link Integer#parseInt(String)}は
+ * 文字列の生成や解析用の中間オブジェクトを必要としますが、このクラスは
+ * {@link CharSequence}の各桁を直接読み取るため、結果の値以外のオブジェクトを生成しません。
+ * 同じ日付・日時は{@link PackedKeyCache}から同一のインスタンスを返します。
+ * </p>
+ *
+ * <p>
+ * 対応する書式：
+ * </p>
+ * <ul>
+ * <li>日時: {@code yyyy-MM-dd HH:mm:ss}</li>
+ * <li>日付: {@code yyyy-MM-dd}</li>
+ * <li>整数: 符号（+/-）付きの10進数</li>
+ * </ul>
+ *
+ * <p>
+ * 日の値は{@code DateTimeFormatter}のデフォルト（{@code ResolverStyle.SMART}）と同様に、
+ * 1〜31の範囲であれば月末日に丸めます（例: 2023-02-30 → 2023-02-28）。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public final class FixedFormatParsers {
+
+    /** 日付キャッシュのスロット数（2の指数） */
+    private static final int DATE_CACHE_BITS = 10;
+
+    /** 日時キャッシュのスロット数（2の指数） */
+    private static final int DATE_TIME_CACHE_BITS = 12;
+
+    private static final PackedKeyCache<LocalDate> DATE_CACHE = new PackedKeyCache<>(DATE_CACHE_BITS);
+
+    private static final PackedKeyCache<LocalDateTime> DATE_TIME_CACHE = new PackedKeyCache<>(DATE_TIME_CACHE_BITS);
+
+    private static final int DATE_LENGTH = "yyyy-MM-dd".length();
+
+    private static final int DATE_TIME_LENGTH = "yyyy-MM-dd HH:mm:ss".length();
+
+    private FixedFormatParsers() {
+    }
+
+    /**
+     * {@code yyyy-MM-dd HH:mm:ss}形式の日時を解析します。
+     *
+     * @param text 解析する文字列
+     * @return 日時
+     * @throws DateTimeParseException 書式が不正な場合
+     */
+    public static LocalDateTime parseDateTime(CharSequence text) {
+        if (text.length() != DATE_TIME_LENGTH
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' '
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            throw invalidDate(text, "yyyy-MM-dd HH:mm:ss");
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 14, 16);
+        int second = digits(text, 17, 19);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0) {
+            throw invalidDate(text, "yyyy-MM-dd HH:mm:ss");
+        }
+
+        // yyyyMMddHHmmss を1つのlongに詰めてキーにする
+        long key = ((long) packDate(year, month, day) * 1_000_000L) + hour * 10_000L + minute * 100L + second;
+        LocalDateTime cached = DATE_TIME_CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            LocalDateTime value = LocalDateTime.of(toDate(year, month, day), LocalTime.of(hour, minute, second));
+            DATE_TIME_CACHE.put(key, value);
+            return value;
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), text.toString(), 0, e);
+        }
+    }
+
+    /**
+     * {@code yyyy-MM-dd}形式の日付を解析します。
+     *
+     * @param text 解析する文字列
+     * @return 日付
+     * @throws DateTimeParseException 書式が不正な場合
+     */
+    public static LocalDate parseDate(CharSequence text) {
+        if (text.length() != DATE_LENGTH || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw invalidDate(text, "yyyy-MM-dd");
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 0 || day < 0) {
+            throw invalidDate(text, "yyyy-MM-dd");
+        }
+
+        int key = packDate(year, month, day);
+        LocalDate cached = DATE_CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            LocalDate value = toDate(year, month, day);
+            DATE_CACHE.put(key, value);
+            return value;
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), text.toString(), 0, e);
+        }
+    }
+
+    /**
+     * 10進数の整数を解析します。
+     *
+     * @param text 解析する文字列
+     * @return 整数値
+     * @throws NumberFormatException 書式が不正な場合、またはintの範囲を超える場合
+     */
+    public static int parseInt(CharSequence text) {
+        long value = parseLong(text);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("intの範囲を超えています: \"" + text + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * 10進数の整数を解析します。
+     *
+     * @param text 解析する文字列
+     * @return 整数値
+     * @throws NumberFormatException 書式が不正な場合、またはlongの範囲を超える場合
+     */
+    public static long parseLong(CharSequence text) {
+        int length = text.length();
+        if (length == 0) {
+            throw new NumberFormatException("数値が空です");
+        }
+        int i = 0;
+        boolean negative = false;
+        char first = text.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (length == 1) {
+                throw invalidNumber(text);
+            }
+        }
+
+        // 負数側で累積することで Long.MIN_VALUE も扱う（Long.parseLongと同じ方式）
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw invalidNumber(text);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalidNumber(text);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 指定範囲の数字を整数として読み取ります。
+     *
+     * @return 整数値（数字以外が含まれる場合は-1）
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int packDate(int year, int month, int day) {
+        return year * 10_000 + month * 100 + day;
+    }
+
+    private static LocalDate toDate(int year, int month, int day) {
+        if (month >= 1 && month <= 12 && day >= 29 && day <= 31) {
+            // ResolverStyle.SMART と同様に月末日へ丸める
+            day = Math.min(day, YearMonth.of(year, month).lengthOfMonth());
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static DateTimeParseException invalidDate(CharSequence text, String pattern) {
+        String value = text.toString();
+        return new DateTimeParseException("日付の書式が不正です（期待値: " + pattern + "）: \"" + value + "\"", value, 0);
+    }
+
+    private static NumberFormatException invalidNumber(CharSequence text) {
+        return new NumberFormatException("数値の書式が不正です: \"" + text + "\"");
+    }
+}
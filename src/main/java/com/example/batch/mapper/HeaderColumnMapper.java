@@ -0,0 +1,277 @@
+package com.example.batch.mapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import org.springframework.batch.item.file.LineCallbackHandler;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.validation.BindException;
+
+import com.example.batch.reader.TsvRecord;
+import com.example.batch.reader.TsvRecordMapper;
+
+/**
+ * ヘッダー行から列位置を解決するマッパーの基底クラス。
+ *
+ * <p>
+ * Readerが読み飛ばしたヘッダー行を{@link #handleLine(String)}で受け取り、
+ * 列名ごとのフィールド位置を一度だけ解決します。以降の各行では列名による検索を行わず、
+ * 解決済みの位置（{@link #column(int)}）で直接フィールドを参照します。
+ * ヘッダー行を受け取るまでは、列名の定義順をそのまま位置として使用します。
+ * </p>
+ *
+ * <p>
+ * 1つのインスタンスで{@link com.example.batch.reader.MappedTsvItemReader}用の
+ * {@link TsvRecordMapper}と、FlatFileItemReader用の{@link FieldSetMapper}の両方を実装します。
+ * ヘッダーの状態と行ごとに再利用する参照元を持つため、インスタンスはReaderごとに生成してください。
+ * </p>
+ *
+ * @param <T> 変換後のアイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public abstract class HeaderColumnMapper<T> implements TsvRecordMapper<T>, FieldSetMapper<T>, LineCallbackHandler {
+
+    private static final char BOM = '\uFEFF';
+
+    /** 日時の出力形式（{@link FixedFormatParsers#parseDateTime}で読み込める形式） */
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String[] columnNames;
+
+    /** 列の定義順 → ファイル上のフィールド位置 */
+    private int[] columns;
+
+    private final TsvRecordSource recordSource = new TsvRecordSource();
+
+    private final FieldSetSource fieldSetSource = new FieldSetSource();
+
+    /**
+     * マッパーを生成します。
+     *
+     * @param columnNames ヘッダー行の列名（定義順）
+     */
+    protected HeaderColumnMapper(String... columnNames) {
+        this.columnNames = columnNames.clone();
+        this.columns = new int[columnNames.length];
+        Arrays.setAll(columns, i -> i);
+    }
+
+    /**
+     * ヘッダー行から列位置を解決します。
+     *
+     * @param line ヘッダー行
+     * @throws IllegalStateException 必要な列がヘッダーにない場合
+     */
+    @Override
+    public void handleLine(String line) {
+        String header = !line.isEmpty() && line.charAt(0) == BOM ? line.substring(1) : line;
+        String[] names = header.split("\t", -1);
+
+        int[] resolved = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            resolved[i] = indexOf(names, columnNames[i]);
+            if (resolved[i] < 0) {
+                throw new IllegalStateException(String.format(
+                        "ヘッダー行に列 '%s' がありません: %s", columnNames[i], Arrays.toString(names)));
+            }
+        }
+        this.columns = resolved;
+    }
+
+    @Override
+    public T mapFieldSet(FieldSet fieldSet) throws BindException {
+        fieldSetSource.fieldSet = fieldSet;
+        return mapFields(fieldSetSource);
+    }
+
+    /**
+     * @return ヘッダー行（列名を定義順にタブで連結）
+     */
+    public String getHeader() {
+        return String.join("\t", columnNames);
+    }
+
+    /**
+     * アイテムを定義順のTSVの1行に変換します（除外データの出力に使用）。
+     *
+     * <p>
+     * 出力した行は{@link #getHeader()}をヘッダーとして、このマッパーでそのまま読み込めます。
+     * 値に含まれるタブ・改行は空白に置き換えます。
+     * </p>
+     *
+     * @param item アイテム
+     * @return TSVの1行（改行を含まない）
+     */
+    public String format(T item) {
+        Object[] values = formatValues(item);
+        StringBuilder line = new StringBuilder(128);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            Object value = values[i];
+            if (value instanceof LocalDateTime dateTime) {
+                line.append(DATE_TIME_FORMAT.format(dateTime));
+            } else if (value instanceof LocalDate date) {
+                line.append(date);
+            } else if (value != null) {
+                appendEscaped(line, value.toString());
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * ファイル上の1行を、列の定義順に並べ替えます（読み込みエラーの行の出力に使用）。
+     *
+     * <p>
+     * {@link #handleLine(String)}で受け取ったヘッダー行の列位置に従って並べ替えるため、
+     * 出力した行は{@link #getHeader()}をヘッダーとして読み込めます。
+     * 定義にない列は除き、フィールドが不足する場合は空にします。改行は空白に置き換えます。
+     * </p>
+     *
+     * @param line ファイル上の1行
+     * @return 列の定義順のTSVの1行
+     */
+    public String reorder(String line) {
+        String[] fields = line.split("\t", -1);
+        StringBuilder result = new StringBuilder(line.length());
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                result.append('\t');
+            }
+            if (columns[i] < fields.length) {
+                appendEscaped(result, fields[columns[i]]);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * タブ・改行を空白に置き換えて追加します。
+     *
+     * @param target 追加先
+     * @param text   文字列
+     */
+    public static void appendEscaped(StringBuilder target, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            target.append(c == '\t' || c == '\r' || c == '\n' ? ' ' : c);
+        }
+    }
+
+    /**
+     * 列の定義順に対応するファイル上のフィールド位置を返します。
+     *
+     * @param column 列の定義順（0始まり）
+     * @return フィールド位置
+     */
+    protected final int column(int column) {
+        return columns[column];
+    }
+
+    /**
+     * 1行分のフィールドをアイテムに変換します。
+     *
+     * <p>
+     * {@link TsvRecord}・{@link FieldSet}のどちらから読み込んだ場合も、
+     * 同じ{@link FieldSource}経由で呼び出されます。
+     * </p>
+     *
+     * @param fields フィールドの参照元
+     * @return 変換後のアイテム
+     */
+    protected abstract T mapFields(FieldSource fields);
+
+    /**
+     * アイテムの値を列の定義順に返します（{@link #format}で使用）。
+     *
+     * @param item アイテム
+     * @return 列の定義順の値
+     */
+    protected abstract Object[] formatValues(T item);
+
+    @Override
+    public T mapRecord(TsvRecord record) {
+        recordSource.record = record;
+        return mapFields(recordSource);
+    }
+
+    private static int indexOf(String[] names, String columnName) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].trim().equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * フィールドの参照元（TsvRecord / FieldSet）を共通化するインターフェース。
+     */
+    protected interface FieldSource {
+
+        /**
+         * @param index フィールド位置
+         * @return 空の場合true
+         */
+        boolean isEmpty(int index);
+
+        /**
+         * @param index フィールド位置
+         * @return フィールドの文字列
+         */
+        String getString(int index);
+
+        /**
+         * @param index フィールド位置
+         * @return 解析用のフィールドの参照（次の呼び出しまで有効）
+         */
+        CharSequence getChars(int index);
+    }
+
+    private static final class TsvRecordSource implements FieldSource {
+
+        private TsvRecord record;
+
+        @Override
+        public boolean isEmpty(int index) {
+            return record.isEmpty(index);
+        }
+
+        @Override
+        public String getString(int index) {
+            return record.getString(index);
+        }
+
+        @Override
+        public CharSequence getChars(int index) {
+            return record.getChars(index);
+        }
+    }
+
+    private static final class FieldSetSource implements FieldSource {
+
+        private FieldSet fieldSet;
+
+        @Override
+        public boolean isEmpty(int index) {
+            String value = fieldSet.readString(index);
+            return value == null || value.isEmpty();
+        }
+
+        @Override
+        public String getString(int index) {
+            return fieldSet.readString(index);
+        }
+
+        @Override
+        public CharSequence getChars(int index) {
+            return fieldSet.readString(index);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.batch.mapper;
+
+import com.example.batch.dto.OldCompanyDto;
+
+/**
+ * 会社データTSVの1行をOldCompanyDtoに変換するマッパー。
+ *
+ * <p>
+ * 列位置はヘッダー行から解決され、業種コード・従業員数・資本金・設立日は
+ * {@link FixedFormatParsers}で文字列を生成せずに解析されます。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class OldCompanyMapper extends HeaderColumnMapper<OldCompanyDto> {
+
+    /** ヘッダー行の列名（定義順） */
+    private static final String[] COLUMN_NAMES = {
+            "company_code", "company_name", "representative_name", "industry_type",
+            "employee_count", "capital", "established_date", "address",
+            "postal_code", "phone", "email", "status" };
+
+    private static final int COMPANY_CODE = 0;
+    private static final int COMPANY_NAME = 1;
+    private static final int REPRESENTATIVE_NAME = 2;
+    private static final int INDUSTRY_TYPE = 3;
+    private static final int EMPLOYEE_COUNT = 4;
+    private static final int CAPITAL = 5;
+    private static final int ESTABLISHED_DATE = 6;
+    private static final int ADDRESS = 7;
+    private static final int POSTAL_CODE = 8;
+    private static final int PHONE = 9;
+    private static final int EMAIL = 10;
+    private static final int STATUS = 11;
+
+    public OldCompanyMapper() {
+        super(COLUMN_NAMES);
+    }
+
+    @Override
+    protected OldCompanyDto mapFields(FieldSource fields) {
+        OldCompanyDto dto = new OldCompanyDto();
+        dto.setCompanyCode(fields.getString(column(COMPANY_CODE)));
+        dto.setCompanyName(fields.getString(column(COMPANY_NAME)));
+        dto.setRepresentativeName(fields.getString(column(REPRESENTATIVE_NAME)));
+
+        int industryType = column(INDUSTRY_TYPE);
+        if (!fields.isEmpty(industryType)) {
+            dto.setIndustryType(FixedFormatParsers.parseInt(fields.getChars(industryType)));
+        }
+
+        int employeeCount = column(EMPLOYEE_COUNT);
+        if (!fields.isEmpty(employeeCount)) {
+            dto.setEmployeeCount(FixedFormatParsers.parseInt(fields.getChars(employeeCount)));
+        }
+
+        int capital = column(CAPITAL);
+        if (!fields.isEmpty(capital)) {
+            dto.setCapital(FixedFormatParsers.parseLong(fields.getChars(capital)));
+        }
+
+        int establishedDate = column(ESTABLISHED_DATE);
+        if (!fields.isEmpty(establishedDate)) {
+            dto.setEstablishedDate(FixedFormatParsers.parseDate(fields.getChars(establishedDate)));
+        }
+
+        dto.setAddress(fields.getString(column(ADDRESS)));
+        dto.setPostalCode(fields.getString(column(POSTAL_CODE)));
+        dto.setPhone(fields.getString(column(PHONE)));
+        dto.setEmail(fields.getString(column(EMAIL)));
+        dto.setStatus(fields.getString(column(STATUS)));
+
+        return dto;
+    }
+
+    @Override
+    protected Object[] formatValues(OldCompanyDto dto) {
+        return new Object[] { dto.getCompanyCode(), dto.getCompanyName(), dto.getRepresentativeName(),
+                dto.getIndustryType(), dto.getEmployeeCount(), dto.getCapital(), dto.getEstablishedDate(),
+                dto.getAddress(), dto.getPostalCode(), dto.getPhone(), dto.getEmail(), dto.getStatus() };
+    }
+}
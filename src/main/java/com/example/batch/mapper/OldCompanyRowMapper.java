@@ -0,0 +1,60 @@
+package com.example.batch.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import com.example.batch.dto.OldCompanyDto;
+
+/**
+ * 旧データベースのold_companiesテーブルの1行をOldCompanyDtoに変換するRowMapper。
+ *
+ * <p>
+ * 列は{@link #COLUMNS}の順で取得される前提で、列名ではなく位置で参照します。
+ * 文字列項目はTSVと同様に前後の空白を除去します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class OldCompanyRowMapper implements RowMapper<OldCompanyDto> {
+
+    /** SELECT句の列リスト（この順で位置を参照する） */
+    public static final String COLUMNS = "company_code, company_name, representative_name, industry_type, "
+            + "employee_count, capital, established_date, address, postal_code, phone, email, status";
+
+    @Override
+    public OldCompanyDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        OldCompanyDto dto = new OldCompanyDto();
+        dto.setCompanyCode(trim(rs.getString(1)));
+        dto.setCompanyName(trim(rs.getString(2)));
+        dto.setRepresentativeName(trim(rs.getString(3)));
+
+        int industryType = rs.getInt(4);
+        if (!rs.wasNull()) {
+            dto.setIndustryType(industryType);
+        }
+        int employeeCount = rs.getInt(5);
+        if (!rs.wasNull()) {
+            dto.setEmployeeCount(employeeCount);
+        }
+        long capital = rs.getLong(6);
+        if (!rs.wasNull()) {
+            dto.setCapital(capital);
+        }
+        dto.setEstablishedDate(rs.getObject(7, LocalDate.class));
+
+        dto.setAddress(trim(rs.getString(8)));
+        dto.setPostalCode(trim(rs.getString(9)));
+        dto.setPhone(trim(rs.getString(10)));
+        dto.setEmail(trim(rs.getString(11)));
+        dto.setStatus(trim(rs.getString(12)));
+        return dto;
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.batch.mapper;
+
+import com.example.batch.dto.OldCustomerDto;
+
+/**
+ * 顧客データTSVの1行をOldCustomerDtoに変換するマッパー。
+ *
+ * <p>
+ * 列位置はヘッダー行から解決され、登録日時・性別コードは
+ * {@link FixedFormatParsers}で文字列を生成せずに解析されます。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class OldCustomerMapper extends HeaderColumnMapper<OldCustomerDto> {
+
+    /** ヘッダー行の列名（定義順） */
+    private static final String[] COLUMN_NAMES = {
+            "customer_code", "customer_name", "email", "phone", "address",
+            "postal_code", "created_at", "status", "gender_code" };
+
+    private static final int CUSTOMER_CODE = 0;
+    private static final int CUSTOMER_NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int PHONE = 3;
+    private static final int ADDRESS = 4;
+    private static final int POSTAL_CODE = 5;
+    private static final int CREATED_AT = 6;
+    private static final int STATUS = 7;
+    private static final int GENDER_CODE = 8;
+
+    public OldCustomerMapper() {
+        super(COLUMN_NAMES);
+    }
+
+    @Override
+    protected OldCustomerDto mapFields(FieldSource fields) {
+        OldCustomerDto dto = new OldCustomerDto();
+        dto.setCustomerCode(fields.getString(column(CUSTOMER_CODE)));
+        dto.setCustomerName(fields.getString(column(CUSTOMER_NAME)));
+        dto.setEmail(fields.getString(column(EMAIL)));
+        dto.setPhone(fields.getString(column(PHONE)));
+        dto.setAddress(fields.getString(column(ADDRESS)));
+        dto.setPostalCode(fields.getString(column(POSTAL_CODE)));
+
+        int createdAt = column(CREATED_AT);
+        if (!fields.isEmpty(createdAt)) {
+            dto.setCreatedAt(FixedFormatParsers.parseDateTime(fields.getChars(createdAt)));
+        }
+
+        dto.setStatus(fields.getString(column(STATUS)));
+
+        int genderCode = column(GENDER_CODE);
+        if (!fields.isEmpty(genderCode)) {
+            dto.setGenderCode(FixedFormatParsers.parseInt(fields.getChars(genderCode)));
+        }
+
+        return dto;
+    }
+
+    @Override
+    protected Object[] formatValues(OldCustomerDto dto) {
+        return new Object[] { dto.getCustomerCode(), dto.getCustomerName(), dto.getEmail(), dto.getPhone(),
+                dto.getAddress(), dto.getPostalCode(), dto.getCreatedAt(), dto.getStatus(), dto.getGenderCode() };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.batch.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import com.example.batch.dto.OldCustomerDto;
+
+/**
+ * 旧データベースのold_customersテーブルの1行をOldCustomerDtoに変換するRowMapper。
+ *
+ * <p>
+ * 列は{@link #COLUMNS}の順で取得される前提で、列名ではなく位置で参照します。
+ * 文字列項目はTSVと同様に前後の空白を除去します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class OldCustomerRowMapper implements RowMapper<OldCustomerDto> {
+
+    /** SELECT句の列リスト（この順で位置を参照する） */
+    public static final String COLUMNS = "customer_code, customer_name, email, phone, address, "
+            + "postal_code, created_at, status, gender_code";
+
+    @Override
+    public OldCustomerDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        OldCustomerDto dto = new OldCustomerDto();
+        dto.setCustomerCode(trim(rs.getString(1)));
+        dto.setCustomerName(trim(rs.getString(2)));
+        dto.setEmail(trim(rs.getString(3)));
+        dto.setPhone(trim(rs.getString(4)));
+        dto.setAddress(trim(rs.getString(5)));
+        dto.setPostalCode(trim(rs.getString(6)));
+        dto.setCreatedAt(rs.getObject(7, LocalDateTime.class));
+        dto.setStatus(trim(rs.getString(8)));
+        int genderCode = rs.getInt(9);
+        if (!rs.wasNull()) {
+            dto.setGenderCode(genderCode);
+        }
+        return dto;
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.batch.mapper;
+
+/**
+ * 数値に詰めたキーで値を保持する小さなダイレクトマップ方式のキャッシュ。
+ *
+ * <p>
+ * 各スロットにはキーと値を1つのイミュータブルなエントリとして格納するため、
+ * 複数スレッドから同期なしで参照・更新してもキーと値の組が食い違うことはありません
+ * （衝突時は後から登録した値で上書きされます）。
+ * 値もイミュータブル（{@link java.time.LocalDate}など）である必要があります。
+ * </p>
+ *
+ * @param <T> キャッシュする値の型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+final class PackedKeyCache<T> {
+
+    private final Entry<T>[] entries;
+
+    private final int shift;
+
+    /**
+     * キャッシュを生成します。
+     *
+     * @param sizeBits スロット数の2の指数（例: 10 → 1024スロット）
+     */
+    @SuppressWarnings("unchecked")
+    PackedKeyCache(int sizeBits) {
+        this.entries = (Entry<T>[]) new Entry<?>[1 << sizeBits];
+        this.shift = 64 - sizeBits;
+    }
+
+    /**
+     * キーに対応する値を返します。
+     *
+     * @param key キー
+     * @return キャッシュされた値（ない場合はnull）
+     */
+    T get(long key) {
+        Entry<T> entry = entries[slot(key)];
+        return entry != null && entry.key == key ? entry.value : null;
+    }
+
+    /**
+     * 値を登録します。
+     *
+     * @param key   キー
+     * @param value 値
+     */
+    void put(long key, T value) {
+        entries[slot(key)] = new Entry<>(key, value);
+    }
+
+    private int slot(long key) {
+        // 連続した日付が同じスロットに偏らないよう、乗算ハッシュで分散させる
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private record Entry<T>(long key, T value) {
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.batch.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * チャンク処理の段階ごとの所要時間と、スキップ・リトライ・ロールバック・Upsertの件数を
+ * Micrometerのメトリクスとして公開します。
+ *
+ * <p>
+ * 公開するメトリクス（いずれもタグ {@code step} にステップ名、{@code executionId} にジョブ実行IDを設定）：
+ * </p>
+ * <ul>
+ * <li>{@code batch.stage}: 段階ごとの所要時間（タグ {@code stage} = read / process / validate / mask / write、
+ * パーセンタイルのヒストグラム付き）</li>
+ * <li>{@code batch.skips}: スキップ件数（タグ {@code phase} = read / process / write）</li>
+ * <li>{@code batch.rejects}: データのエラーでロールバックせずに除外した件数（タグ {@code phase} = process）</li>
+ * <li>{@code batch.retries}: リトライ回数</li>
+ * <li>{@code batch.rollbacks}: チャンクのロールバック回数</li>
+ * <li>{@code batch.upsert.lookups}: Upsert時の既存データの検索結果（タグ {@code result} = hit / miss）</li>
+ * </ul>
+ *
+ * <p>
+ * {@code batch.validation.failures}（設定で宣言したバリデーションルールごとの不合格件数）は、
+ * 起動時にルールごとに登録するため、タグは {@code target}（customer / company）・{@code field}・{@code rule} のみです。
+ * </p>
+ *
+ * <p>
+ * ステップ名・ジョブ実行IDは、呼び出したスレッドに登録されたステップ（{@link StepSynchronizationManager}）から取得します。
+ * チャンクのスレッド、マルチスレッドステップのスレッド、非同期処理の仮想スレッドには登録されています。
+ * 書き込みプールのスレッドのように登録されていない場合は、{@link StepExecution}を明示的に指定します。
+ * </p>
+ *
+ * <p>
+ * メーターはジョブ実行ごとに登録し、ジョブ終了時（{@link #afterJob(JobExecution)}）に削除します。
+ * 削除後の値はスクレイプされないため、ジョブ全体の件数は統計レポートを参照してください。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+public class BatchMetrics implements JobExecutionListener {
+
+    /** 段階ごとの所要時間のメトリクス名 */
+    public static final String STAGE_TIMER = "batch.stage";
+
+    /** スキップ件数のメトリクス名 */
+    public static final String SKIP_COUNTER = "batch.skips";
+
+    /** データのエラーで除外した件数のメトリクス名 */
+    public static final String REJECT_COUNTER = "batch.rejects";
+
+    /** リトライ回数のメトリクス名 */
+    public static final String RETRY_COUNTER = "batch.retries";
+
+    /** ロールバック回数のメトリクス名 */
+    public static final String ROLLBACK_COUNTER = "batch.rollbacks";
+
+    /** Upsert時の既存データの検索結果のメトリクス名 */
+    public static final String UPSERT_LOOKUP_COUNTER = "batch.upsert.lookups";
+
+    /** バリデーションルールごとの不合格件数のメトリクス名 */
+    public static final String VALIDATION_FAILURE_COUNTER = "batch.validation.failures";
+
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    /** 1件ごとに呼ばれるため、登録済みのメーターを保持してビルダーの生成を省く */
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * メトリクスを生成します。
+     *
+     * @param meterRegistry メトリクスの登録先
+     */
+    public BatchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 現在のスレッドのステップで、段階の所要時間を記録します。
+     *
+     * @param stage 段階
+     * @param nanos 所要時間（ナノ秒）
+     */
+    public void record(PipelineStage stage, long nanos) {
+        record(stage, currentStepExecution(), nanos);
+    }
+
+    /**
+     * 指定したステップで、段階の所要時間を記録します。
+     *
+     * @param stage         段階
+     * @param stepExecution ステップ実行（不明な場合はnull）
+     * @param nanos         所要時間（ナノ秒）
+     */
+    public void record(PipelineStage stage, StepExecution stepExecution, long nanos) {
+        MeterKey key = MeterKey.of(STAGE_TIMER, stepExecution, "stage", stage.tagValue());
+        timers.computeIfAbsent(key, k -> Timer.builder(STAGE_TIMER)
+                .description("チャンク処理の段階ごとの所要時間")
+                .tags(k.tags())
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * スキップを記録します。
+     *
+     * @param phase スキップした段階（read / process / write）
+     */
+    public void countSkip(String phase) {
+        increment(MeterKey.of(SKIP_COUNTER, currentStepExecution(), "phase", phase), "スキップ件数");
+    }
+
+    /**
+     * データのエラーによる除外（チャンクのロールバックなし）を記録します。
+     *
+     * @param phase 除外した段階（process）
+     */
+    public void countReject(String phase) {
+        increment(MeterKey.of(REJECT_COUNTER, currentStepExecution(), "phase", phase), "除外件数");
+    }
+
+    /**
+     * リトライを記録します。
+     */
+    public void countRetry() {
+        increment(MeterKey.of(RETRY_COUNTER, currentStepExecution(), null, null), "リトライ回数");
+    }
+
+    /**
+     * チャンクのロールバックを記録します。
+     *
+     * @param stepExecution ステップ実行
+     */
+    public void countRollback(StepExecution stepExecution) {
+        increment(MeterKey.of(ROLLBACK_COUNTER, stepExecution, null, null), "チャンクのロールバック回数");
+    }
+
+    /**
+     * Upsert時の既存データの検索結果を記録します。
+     *
+     * @param hit 既存データが見つかった場合true
+     */
+    public void countUpsertLookup(boolean hit) {
+        increment(MeterKey.of(UPSERT_LOOKUP_COUNTER, currentStepExecution(), "result", hit ? "hit" : "miss"),
+                "Upsert時の既存データの検索結果");
+    }
+
+    /**
+     * バリデーションルールの不合格件数のカウンターを登録します（起動時にルールごとに1回呼ばれる）。
+     *
+     * @param target 対象のデータ（customer / company）
+     * @param field  対象の項目
+     * @param rule   ルールの種類
+     * @return カウンター
+     */
+    public Counter validationFailureCounter(String target, String field, String rule) {
+        return Counter.builder(VALIDATION_FAILURE_COUNTER)
+                .description("バリデーションルールごとの不合格件数")
+                .tags("target", target, "field", field, "rule", rule)
+                .register(meterRegistry);
+    }
+
+    /**
+     * ジョブ実行のメーターをレジストリから削除します。
+     *
+     * @param jobExecution ジョブ実行
+     */
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        String executionId = String.valueOf(jobExecution.getId());
+        timers.entrySet().removeIf(entry -> remove(entry, executionId));
+        counters.entrySet().removeIf(entry -> remove(entry, executionId));
+    }
+
+    private boolean remove(Map.Entry<MeterKey, ? extends Meter> entry, String executionId) {
+        if (!entry.getKey().executionId().equals(executionId)) {
+            return false;
+        }
+        meterRegistry.remove(entry.getValue());
+        return true;
+    }
+
+    private void increment(MeterKey key, String description) {
+        counters.computeIfAbsent(key, k -> Counter.builder(k.name())
+                .description(description)
+                .tags(k.tags())
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private static StepExecution currentStepExecution() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? context.getStepExecution() : null;
+    }
+
+    /**
+     * メーターを特定するキー。
+     */
+    private record MeterKey(String name, String step, String executionId, String tagKey, String tagValue) {
+
+        static MeterKey of(String name, StepExecution stepExecution, String tagKey, String tagValue) {
+            if (stepExecution == null) {
+                return new MeterKey(name, UNKNOWN, UNKNOWN, tagKey, tagValue);
+            }
+            return new MeterKey(name, stepExecution.getStepName(), String.valueOf(stepExecution.getJobExecutionId()),
+                    tagKey, tagValue);
+        }
+
+        String[] tags() {
+            return tagKey == null
+                    ? new String[] { "step", step, "executionId", executionId }
+                    : new String[] { "step", step, "executionId", executionId, tagKey, tagValue };
+        }
+    }
+}
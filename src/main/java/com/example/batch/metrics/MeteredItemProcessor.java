@@ -0,0 +1,69 @@
+package com.example.batch.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.batch.item.ItemProcessor;
+
+import com.example.batch.monitor.MonitoredStage;
+import com.example.batch.monitor.StageStatus;
+
+/**
+ * プロセッサの1件ごとの所要時間を{@link PipelineStage#PROCESS}として記録するラッパー。
+ *
+ * <p>
+ * 非同期処理（{@code batch.async.enabled=true}）ではAsyncItemProcessorの内側で包むため、
+ * Futureの生成ではなく、仮想スレッド上での実際の処理時間を記録します。
+ * 処理中のアイテム数は{@code /actuator/batch}に公開します（同じステップ定義の実行の合計）。
+ * </p>
+ *
+ * @param <I> 入力アイテムの型
+ * @param <O> 出力アイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class MeteredItemProcessor<I, O> implements ItemProcessor<I, O>, MonitoredStage {
+
+    private final ItemProcessor<I, O> delegate;
+
+    private final BatchMetrics metrics;
+
+    private final int concurrency;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * ラッパーを生成します。
+     *
+     * @param delegate    元のプロセッサ
+     * @param metrics     メトリクス
+     * @param concurrency 同時に処理するアイテム数の上限
+     */
+    public MeteredItemProcessor(ItemProcessor<I, O> delegate, BatchMetrics metrics, int concurrency) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public O process(I item) throws Exception {
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return delegate.process(item);
+        } finally {
+            metrics.record(PipelineStage.PROCESS, System.nanoTime() - start);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * 処理中のアイテム数を返す関数を返します。
+     *
+     * @return 状態を返す関数
+     */
+    @Override
+    public Supplier<StageStatus> monitor() {
+        return () -> new StageStatus("process", inFlight.get(), concurrency, 0, 0);
+    }
+}
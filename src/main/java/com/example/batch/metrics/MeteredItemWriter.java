@@ -0,0 +1,50 @@
+package com.example.batch.metrics;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+/**
+ * Writerのチャンクごとの書き込み時間を{@link PipelineStage#WRITE}として記録するラッパー。
+ *
+ * <p>
+ * 書き込みプール（{@code batch.writer-pool.size} が2以上）では書き込みプールのスレッドから呼ばれ、
+ * ステップが登録されていないため、記録先のステップ実行を生成時に指定します。
+ * コミットの時間は含みません（{@code batch.chunk.commit} を参照）。
+ * </p>
+ *
+ * @param <T> 書き込むアイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class MeteredItemWriter<T> implements ItemWriter<T> {
+
+    private final ItemWriter<T> delegate;
+
+    private final BatchMetrics metrics;
+
+    private final StepExecution stepExecution;
+
+    /**
+     * ラッパーを生成します。
+     *
+     * @param delegate      元のWriter
+     * @param metrics       メトリクス
+     * @param stepExecution 記録先のステップ実行
+     */
+    public MeteredItemWriter(ItemWriter<T> delegate, BatchMetrics metrics, StepExecution stepExecution) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.stepExecution = stepExecution;
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        long start = System.nanoTime();
+        try {
+            delegate.write(chunk);
+        } finally {
+            metrics.record(PipelineStage.WRITE, stepExecution, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.batch.metrics;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+/**
+ * 1件ごとの読み込み時間（{@link PipelineStage#READ}）とチャンクのロールバックを記録するリスナー。
+ *
+ * <p>
+ * 読み込みはチャンクのスレッドで行われるため、開始時刻はスレッドごとに保持します
+ * （マルチスレッドステップでも共有できます）。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class PipelineMetricsListener implements ItemReadListener<Object>, ChunkListener {
+
+    private final BatchMetrics metrics;
+
+    /** 現在のスレッドの読み込み開始時刻（ナノ秒） */
+    private final ThreadLocal<long[]> readStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * リスナーを生成します。
+     *
+     * @param metrics メトリクス
+     */
+    public PipelineMetricsListener(BatchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void beforeRead() {
+        readStart.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterRead(Object item) {
+        recordRead();
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        recordRead();
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        metrics.countRollback(context.getStepContext().getStepExecution());
+    }
+
+    private void recordRead() {
+        long start = readStart.get()[0];
+        if (start != 0) {
+            metrics.record(PipelineStage.READ, System.nanoTime() - start);
+        }
+    }
+}
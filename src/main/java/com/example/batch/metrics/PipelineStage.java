@@ -0,0 +1,32 @@
+package com.example.batch.metrics;
+
+/**
+ * チャンク処理の段階（メトリクス {@code batch.stage} のタグ {@code stage}）。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public enum PipelineStage {
+
+    /** Readerからの1件の読み込み */
+    READ,
+
+    /** プロセッサによる1件の処理（バリデーション・変換・マスクを含む） */
+    PROCESS,
+
+    /** 1件のバリデーション */
+    VALIDATE,
+
+    /** 1件のマスク処理 */
+    MASK,
+
+    /** Writerによるチャンクの書き込み（コミットは含まない） */
+    WRITE;
+
+    /**
+     * @return タグの値（小文字）
+     */
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
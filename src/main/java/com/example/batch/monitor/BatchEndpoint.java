@@ -0,0 +1,148 @@
+package com.example.batch.monitor;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.example.batch.monitor.LiveStepRegistry.LiveStep;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * 実行中のバッチの内部状態を返すActuatorエンドポイント（{@code /actuator/batch}）。
+ *
+ * <p>
+ * ジョブリポジトリ（JobExplorer）を参照せず、メモリ上の状態のみから次の情報を返すため、
+ * 処理が遅い実行中のジョブを低コストで調査できます：
+ * </p>
+ * <ul>
+ * <li>実行中のジョブ実行・ステップと、コミットしたチャンク数・処理中のチャンク数</li>
+ * <li>読み込み位置（読み込み件数＋読み込みスキップ件数）と、総件数が分かる場合は進捗率</li>
+ * <li>各段階（チャンクのスレッド、先読み、非同期処理、書き込みプール）の処理中の数とキューの深さ</li>
+ * <li>新データベースのコネクションプールの使用状況</li>
+ * <li>直近のチャンクの所要時間</li>
+ * </ul>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "batch")
+public class BatchEndpoint {
+
+    private final LiveStepRegistry registry;
+
+    private final DataSource dataSource;
+
+    /**
+     * エンドポイントを生成します。
+     *
+     * @param registry   実行中のステップのレジストリ
+     * @param dataSource 新データベース用のDataSource
+     */
+    public BatchEndpoint(LiveStepRegistry registry, @Qualifier("newDataSource") DataSource dataSource) {
+        this.registry = registry;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 実行中のバッチの内部状態を返します。
+     *
+     * @return 実行中のジョブ実行・ステップとコネクションプールの状態
+     */
+    @ReadOperation
+    public Map<String, Object> batch() {
+        Map<Long, List<Map<String, Object>>> executions = new TreeMap<>();
+        for (LiveStep step : registry.getSteps()) {
+            executions.computeIfAbsent(step.getStepExecution().getJobExecutionId(), id -> new ArrayList<>())
+                    .add(describe(step));
+        }
+
+        List<Map<String, Object>> running = new ArrayList<>();
+        executions.forEach((jobExecutionId, steps) -> {
+            Map<String, Object> execution = new LinkedHashMap<>();
+            execution.put("jobExecutionId", jobExecutionId);
+            execution.put("steps", steps);
+            running.add(execution);
+        });
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("runningExecutions", running);
+        response.put("connectionPool", connectionPool());
+        return response;
+    }
+
+    private static Map<String, Object> describe(LiveStep step) {
+        StepExecution stepExecution = step.getStepExecution();
+        long offset = stepExecution.getReadCount() + stepExecution.getReadSkipCount();
+        long elapsed = step.getElapsedMillis();
+        List<Long> recent = step.getRecentChunkMillis();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stepName", stepExecution.getStepName());
+        result.put("stepExecutionId", stepExecution.getId());
+        result.put("status", stepExecution.getStatus().name());
+        result.put("elapsedMillis", elapsed);
+        result.put("chunks", step.getChunks());
+        result.put("activeChunks", step.getActiveChunks());
+        result.put("readOffset", offset);
+        result.put("writeCount", stepExecution.getWriteCount());
+        result.put("skipCount", stepExecution.getSkipCount());
+        result.put("itemsPerSecond", elapsed > 0 ? offset * 1000 / elapsed : 0L);
+        if (step.getTotalItems() > 0) {
+            result.put("totalItems", step.getTotalItems());
+            result.put("percent", Math.min(100.0, Math.round(offset * 1000.0 / step.getTotalItems()) / 10.0));
+        }
+        result.put("recentChunkMillis", recent);
+        result.put("averageChunkMillis",
+                recent.isEmpty() ? 0L : recent.stream().mapToLong(Long::longValue).sum() / recent.size());
+
+        List<Map<String, Object>> stages = new ArrayList<>();
+        for (StageStatus stage : step.getStages()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", stage.name());
+            item.put("active", stage.active());
+            item.put("threads", stage.threads());
+            if (stage.threads() > 0) {
+                item.put("utilization", Math.round(stage.active() * 100.0 / stage.threads()));
+            }
+            item.put("queued", stage.queued());
+            item.put("queueCapacity", stage.queueCapacity());
+            stages.add(item);
+        }
+        result.put("stages", stages);
+        return result;
+    }
+
+    private Map<String, Object> connectionPool() {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return pool;
+            }
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            pool.put("maximumPoolSize", hikari.getMaximumPoolSize());
+            HikariPoolMXBean bean = hikari.getHikariPoolMXBean();
+            if (bean != null) {
+                pool.put("active", bean.getActiveConnections());
+                pool.put("idle", bean.getIdleConnections());
+                pool.put("total", bean.getTotalConnections());
+                pool.put("threadsAwaitingConnection", bean.getThreadsAwaitingConnection());
+            }
+        } catch (SQLException e) {
+            pool.put("error", e.getMessage());
+        }
+        return pool;
+    }
+}
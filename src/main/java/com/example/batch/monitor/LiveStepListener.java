@@ -0,0 +1,110 @@
+package com.example.batch.monitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+
+import com.example.batch.listener.InputRecordCountListener;
+import com.example.batch.listener.ProgressListener;
+import com.example.batch.monitor.LiveStepRegistry.LiveStep;
+
+/**
+ * 移行ステップの実行中の状態を{@link LiveStepRegistry}に記録するリスナー。
+ *
+ * <p>
+ * ステップの開始時に各段階（{@link MonitoredStage}）の状態を返す関数を取得して登録し、
+ * チャンクごとに処理中のチャンク数・所要時間を更新し、終了時に登録を削除します。
+ * パーティションのワーカーのように同じステップが並行に実行される場合もあるため、
+ * 状態はステップ実行ごとにレジストリで管理し、チャンクの開始時刻はスレッドごとに保持します。
+ * </p>
+ *
+ * <p>
+ * 進捗率に使用する総件数は、先に登録された{@link InputRecordCountListener}が
+ * ステップのExecutionContextに記録した件数です。このリスナーより前に登録してください。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class LiveStepListener implements StepExecutionListener, ChunkListener {
+
+    private final LiveStepRegistry registry;
+
+    private final int stepThreads;
+
+    private final List<MonitoredStage> stages;
+
+    /** 現在のスレッドが処理中のチャンクの開始時刻（ナノ秒） */
+    private final ThreadLocal<long[]> chunkStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * リスナーを生成します。
+     *
+     * @param registry    実行中のステップのレジストリ
+     * @param stepThreads チャンクを並列に処理するスレッド数
+     * @param stages      状態を公開する段階
+     */
+    public LiveStepListener(LiveStepRegistry registry, int stepThreads, List<MonitoredStage> stages) {
+        this.registry = registry;
+        this.stepThreads = stepThreads;
+        this.stages = List.copyOf(stages);
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        // ステップスコープのプロキシはこのスレッドでのみ実体を解決できるため、ここで関数を取得する
+        List<Supplier<StageStatus>> suppliers = new ArrayList<>();
+        for (MonitoredStage stage : stages) {
+            Supplier<StageStatus> supplier = stage.monitor();
+            if (supplier != null) {
+                suppliers.add(supplier);
+            }
+        }
+        LiveStep step = registry.start(stepExecution, stepThreads, suppliers);
+        // 読み込み位置はこの実行での件数のため、リスタート時は前回までの件数を除いた件数を総件数とする
+        ExecutionContext context = stepExecution.getExecutionContext();
+        long total = context.getLong(InputRecordCountListener.TOTAL_ITEMS_KEY, -1L);
+        if (total >= 0) {
+            step.setTotalItems(Math.max(0L, total - context.getLong(ProgressListener.PROCESSED_ITEMS_KEY, 0L)));
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        registry.finish(stepExecution);
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkStart.get()[0] = System.nanoTime();
+        LiveStep step = registry.get(context.getStepContext().getStepExecution());
+        if (step != null) {
+            step.chunkStarted();
+        }
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        finishChunk(context, true);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        finishChunk(context, false);
+    }
+
+    private void finishChunk(ChunkContext context, boolean committed) {
+        LiveStep step = registry.get(context.getStepContext().getStepExecution());
+        if (step != null) {
+            step.chunkFinished(System.nanoTime() - chunkStart.get()[0], committed);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.batch.monitor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.stereotype.Component;
+
+/**
+ * 実行中の移行ステップの状態をメモリ上に保持するレジストリ。
+ *
+ * <p>
+ * {@link LiveStepListener}がステップの開始時に登録し、チャンクごとに件数と所要時間を更新し、
+ * ステップの終了時に削除します。{@code /actuator/batch}（{@link BatchEndpoint}）は
+ * ジョブリポジトリ（JobExplorer）を参照せず、このレジストリから実行中の状態を返します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+public class LiveStepRegistry {
+
+    /** 保持する直近のチャンクの所要時間の件数 */
+    public static final int RECENT_CHUNKS = 20;
+
+    /** ステップ実行ID → 実行中のステップ */
+    private final Map<Long, LiveStep> steps = new ConcurrentHashMap<>();
+
+    /**
+     * ステップの開始を登録します。
+     *
+     * @param stepExecution ステップ実行
+     * @param stepThreads   チャンクを並列に処理するスレッド数
+     * @param stages        状態を公開する段階
+     * @return 登録したステップ
+     */
+    public LiveStep start(StepExecution stepExecution, int stepThreads, List<Supplier<StageStatus>> stages) {
+        LiveStep step = new LiveStep(stepExecution, stepThreads, stages);
+        steps.put(stepExecution.getId(), step);
+        return step;
+    }
+
+    /**
+     * ステップの終了を登録します。
+     *
+     * @param stepExecution ステップ実行
+     */
+    public void finish(StepExecution stepExecution) {
+        steps.remove(stepExecution.getId());
+    }
+
+    /**
+     * @param stepExecution ステップ実行
+     * @return 実行中のステップ（登録されていない場合はnull）
+     */
+    public LiveStep get(StepExecution stepExecution) {
+        return steps.get(stepExecution.getId());
+    }
+
+    /**
+     * @return 実行中のステップ
+     */
+    public Collection<LiveStep> getSteps() {
+        return List.copyOf(steps.values());
+    }
+
+    /**
+     * 実行中のステップの状態。
+     */
+    public static final class LiveStep {
+
+        private final StepExecution stepExecution;
+
+        private final int stepThreads;
+
+        private final List<Supplier<StageStatus>> stages;
+
+        private final long startNanos = System.nanoTime();
+
+        private final AtomicLong chunks = new AtomicLong();
+
+        private final AtomicInteger activeChunks = new AtomicInteger();
+
+        /** 直近のチャンクの所要時間（ミリ秒、リングバッファ。自身をモニターとして保護） */
+        private final long[] recentChunkMillis = new long[RECENT_CHUNKS];
+
+        private int recentCount;
+
+        private volatile long totalItems = -1;
+
+        LiveStep(StepExecution stepExecution, int stepThreads, List<Supplier<StageStatus>> stages) {
+            this.stepExecution = stepExecution;
+            this.stepThreads = Math.max(1, stepThreads);
+            this.stages = List.copyOf(stages);
+        }
+
+        /**
+         * チャンクの処理開始を記録します。
+         */
+        void chunkStarted() {
+            activeChunks.incrementAndGet();
+        }
+
+        /**
+         * チャンクの処理終了を記録します。
+         *
+         * @param nanos     所要時間（ナノ秒）
+         * @param committed コミットした場合true（ロールバックした場合false）
+         */
+        void chunkFinished(long nanos, boolean committed) {
+            activeChunks.decrementAndGet();
+            if (!committed) {
+                return;
+            }
+            chunks.incrementAndGet();
+            synchronized (recentChunkMillis) {
+                recentChunkMillis[recentCount % RECENT_CHUNKS] = TimeUnit.NANOSECONDS.toMillis(nanos);
+                recentCount++;
+            }
+        }
+
+        /**
+         * 入力の総件数を設定します（進捗率の算出に使用）。
+         *
+         * @param totalItems 入力の総件数
+         */
+        public void setTotalItems(long totalItems) {
+            this.totalItems = totalItems;
+        }
+
+        /**
+         * @return ステップ実行（件数はチャンクのコミットごとに更新される）
+         */
+        public StepExecution getStepExecution() {
+            return stepExecution;
+        }
+
+        /**
+         * @return 開始からの経過時間（ミリ秒）
+         */
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * @return コミットしたチャンク数
+         */
+        public long getChunks() {
+            return chunks.get();
+        }
+
+        /**
+         * @return 処理中のチャンク数
+         */
+        public int getActiveChunks() {
+            return activeChunks.get();
+        }
+
+        /**
+         * @return チャンクを並列に処理するスレッド数
+         */
+        public int getStepThreads() {
+            return stepThreads;
+        }
+
+        /**
+         * @return 入力の総件数（不明な場合は-1）
+         */
+        public long getTotalItems() {
+            return totalItems;
+        }
+
+        /**
+         * @return 直近のチャンクの所要時間（ミリ秒、古い順）
+         */
+        public List<Long> getRecentChunkMillis() {
+            synchronized (recentChunkMillis) {
+                int size = Math.min(recentCount, RECENT_CHUNKS);
+                List<Long> values = new ArrayList<>(size);
+                for (int i = recentCount - size; i < recentCount; i++) {
+                    values.add(recentChunkMillis[i % RECENT_CHUNKS]);
+                }
+                return values;
+            }
+        }
+
+        /**
+         * @return 各段階の現在の状態
+         */
+        public List<StageStatus> getStages() {
+            List<StageStatus> statuses = new ArrayList<>();
+            statuses.add(new StageStatus("chunk", activeChunks.get(), stepThreads, 0, 0));
+            stages.stream().map(Supplier::get).filter(Objects::nonNull).forEach(statuses::add);
+            return statuses;
+        }
+    }
+}
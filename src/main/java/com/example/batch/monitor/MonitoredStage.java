@@ -0,0 +1,26 @@
+package com.example.batch.monitor;
+
+import java.util.function.Supplier;
+
+/**
+ * 実行中の状態を{@code /actuator/batch}に公開するパイプラインの段階。
+ *
+ * <p>
+ * Reader・WriterはステップスコープのプロキシとしてStepBuilderに渡されるため、
+ * ステップのスレッド以外（Actuatorのリクエストのスレッド）からは呼び出せません。
+ * {@link #monitor()}はステップの開始時にステップのスレッドで呼び出し、
+ * 実体に束縛した関数を返します。返された関数は任意のスレッドから呼び出せます。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public interface MonitoredStage {
+
+    /**
+     * 現在の状態を返す関数を返します。
+     *
+     * @return 状態を返す関数（公開する状態がない場合はnull）
+     */
+    Supplier<StageStatus> monitor();
+}
@@ -0,0 +1,15 @@
+package com.example.batch.monitor;
+
+/**
+ * パイプラインの段階（先読み、非同期処理、書き込みプールなど）の現在の状態。
+ *
+ * @param name          段階の名前
+ * @param active        処理中のスレッド数（または処理中のアイテム数）
+ * @param threads       スレッド数の上限（上限がない場合は-1）
+ * @param queued        キューで待機している件数
+ * @param queueCapacity キューの容量（キューがない場合は0）
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public record StageStatus(String name, int active, int threads, int queued, int queueCapacity) {
+}
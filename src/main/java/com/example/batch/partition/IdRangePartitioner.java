@@ -0,0 +1,207 @@
+package com.example.batch.partition;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.Assert;
+
+/**
+ * テーブルの数値キー（主キー）を連続した範囲に分割するPartitioner。
+ *
+ * <p>
+ * キーの最小値・最大値を取得し、PostgreSQLの統計情報（pg_statsのヒストグラム）が
+ * 利用できる場合は、その分位点で各範囲の行数がほぼ均等になるよう分割します。
+ * 統計情報がない場合（ANALYZE未実行など）は、最小値〜最大値を等間隔に分割します。
+ * 各パーティションのExecutionContextには以下の値が設定されます：
+ * </p>
+ * <ul>
+ * <li>{@value #MIN_ID_KEY}: 範囲の下限（この値を含む）</li>
+ * <li>{@value #MAX_ID_KEY}: 範囲の上限（この値を含む）</li>
+ * <li>{@value #PARTITION_INDEX_KEY}: パーティション番号（0始まり）</li>
+ * </ul>
+ *
+ * <p>
+ * ワーカーのReaderは {@code WHERE id BETWEEN :minId AND :maxId ORDER BY id} で
+ * 自分の範囲だけをキー順に読み込みます。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see SnapshotDataSource
+ */
+public class IdRangePartitioner implements Partitioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdRangePartitioner.class);
+
+    /** 範囲の下限のキー */
+    public static final String MIN_ID_KEY = "minId";
+
+    /** 範囲の上限のキー */
+    public static final String MAX_ID_KEY = "maxId";
+
+    /** パーティション番号のキー */
+    public static final String PARTITION_INDEX_KEY = "partitionIndex";
+
+    private static final String PARTITION_PREFIX = "partition";
+
+    private static final String HISTOGRAM_SQL = "SELECT histogram_bounds::text FROM pg_stats "
+            + "WHERE schemaname = current_schema() AND tablename = ? AND attname = ?";
+
+    private final DataSource dataSource;
+
+    private final String table;
+
+    private final String keyColumn;
+
+    /**
+     * Partitionerを生成します。
+     *
+     * @param dataSource 分割対象のテーブルを参照するDataSource
+     * @param table      テーブル名
+     * @param keyColumn  分割に使用する数値キーの列名
+     */
+    public IdRangePartitioner(DataSource dataSource, String table, String keyColumn) {
+        Assert.notNull(dataSource, "dataSource must not be null");
+        Assert.hasText(table, "table must not be empty");
+        Assert.hasText(keyColumn, "keyColumn must not be empty");
+        this.dataSource = dataSource;
+        this.table = table;
+        this.keyColumn = keyColumn;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Assert.isTrue(gridSize > 0, "gridSize must be positive");
+
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            long[] range = selectMinMax(connection);
+            if (range == null) {
+                // 空のテーブル: 何も読まない範囲を1つだけ作る
+                partitions.put(PARTITION_PREFIX + 0, context(0, 1, 0));
+                logger.info("【パーティション】{} は空のため分割しません", table);
+                return partitions;
+            }
+
+            long min = range[0];
+            long max = range[1];
+            long[] histogram = selectHistogram(connection);
+            long[] splits = histogram.length >= 2
+                    ? splitByHistogram(histogram, min, max, gridSize)
+                    : splitEvenly(min, max, gridSize);
+
+            long start = min;
+            for (int i = 0; i <= splits.length; i++) {
+                long end = i < splits.length ? splits[i] - 1 : max;
+                partitions.put(PARTITION_PREFIX + i, context(i, start, end));
+                start = end + 1;
+            }
+
+            logger.info("【パーティション】{}.{} [{}..{}] を {} 個の範囲に分割しました（要求数: {}, 統計情報: {}）",
+                    table, keyColumn, min, max, partitions.size(), gridSize,
+                    histogram.length >= 2 ? "あり" : "なし");
+            return partitions;
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("パーティション分割に失敗しました: " + table, e);
+        }
+    }
+
+    private long[] selectMinMax(Connection connection) throws SQLException {
+        String sql = "SELECT MIN(" + keyColumn + "), MAX(" + keyColumn + ") FROM " + table;
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            long min = rs.getLong(1);
+            if (rs.wasNull()) {
+                return null;
+            }
+            return new long[] { min, rs.getLong(2) };
+        }
+    }
+
+    /**
+     * pg_statsからキー列のヒストグラム境界値を取得します。
+     *
+     * @return 境界値（統計情報がない場合は空配列）
+     */
+    private long[] selectHistogram(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(HISTOGRAM_SQL)) {
+            statement.setString(1, table);
+            statement.setString(2, keyColumn);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next() || rs.getString(1) == null) {
+                    return new long[0];
+                }
+                // "{1,250,500,...}" 形式
+                String bounds = rs.getString(1);
+                String[] values = bounds.substring(1, bounds.length() - 1).split(",");
+                long[] histogram = new long[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    histogram[i] = Long.parseLong(values[i].trim());
+                }
+                return histogram;
+            }
+        } catch (SQLException | RuntimeException e) {
+            // 統計情報は最適化のためだけに使用するため、取得できなくても等間隔分割で続行する
+            logger.debug("統計情報を取得できませんでした: {}.{}", table, keyColumn, e);
+            return new long[0];
+        }
+    }
+
+    /**
+     * ヒストグラムの分位点を分割位置として返します。
+     *
+     * <p>
+     * ヒストグラムの各区間にはほぼ同じ行数が含まれるため、
+     * 区間をgridSize等分する境界値を選ぶことで行数が均等な範囲になります。
+     * </p>
+     */
+    private static long[] splitByHistogram(long[] histogram, long min, long max, int gridSize) {
+        TreeSet<Long> splits = new TreeSet<>();
+        int buckets = histogram.length - 1;
+        for (int i = 1; i < gridSize; i++) {
+            long split = histogram[(int) ((long) buckets * i / gridSize)];
+            if (split > min && split <= max) {
+                splits.add(split);
+            }
+        }
+        return splits.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 最小値〜最大値を等間隔に分ける分割位置を返します。
+     */
+    private static long[] splitEvenly(long min, long max, int gridSize) {
+        TreeSet<Long> splits = new TreeSet<>();
+        // max - min がlongの範囲を超えないよう double で計算する
+        double width = ((double) max - min + 1) / gridSize;
+        for (int i = 1; i < gridSize; i++) {
+            long split = min + (long) (width * i);
+            if (split > min && split <= max) {
+                splits.add(split);
+            }
+        }
+        return splits.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static ExecutionContext context(int index, long minId, long maxId) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(MIN_ID_KEY, minId);
+        context.putLong(MAX_ID_KEY, maxId);
+        context.putInt(PARTITION_INDEX_KEY, index);
+        return context;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.batch.partition;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 旧データベースのスナップショットをジョブ実行ごとにエクスポートし、保持するレジストリ。
+ *
+ * <p>
+ * PostgreSQLのエクスポートされたスナップショットは、エクスポートしたトランザクションが
+ * 終了するまでの間だけ他のコネクションから取り込めます。このクラスは
+ * REPEATABLE READのトランザクションで {@code pg_export_snapshot()} を実行したコネクションを
+ * パーティションのマネージャーステップが終了するまで開いたまま保持します。
+ * </p>
+ *
+ * <p>
+ * スナップショットはジョブ実行単位で共有されるため、同じジョブ実行内で
+ * 顧客・会社のマネージャーステップが同時に実行される場合も同じ時点のデータを参照します。
+ * マネージャーステップにリスナーとして登録し、最後のマネージャーステップが終了した時点で解放します。
+ * </p>
+ *
+ * <p>
+ * リスタート時は新しいジョブ実行として新しいスナップショットをエクスポートするため、
+ * 前回の実行とは異なる時点のデータを参照します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see SnapshotDataSource
+ */
+@Component
+public class LegacySnapshotRegistry implements StepExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacySnapshotRegistry.class);
+
+    /** ジョブ実行ID → エクスポート済みのスナップショット */
+    private final Map<Long, ExportedSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * ジョブ実行のスナップショットを取得します（未エクスポートの場合はエクスポートします）。
+     *
+     * @param managerStepExecution スナップショットを使用するマネージャーステップの実行情報
+     * @param dataSource           旧データベース用のDataSource
+     * @return スナップショットID
+     */
+    public String acquire(StepExecution managerStepExecution, DataSource dataSource) {
+        // 登録と解放（afterStep）が競合しないよう、マップの更新操作内で利用者を記録する
+        ExportedSnapshot snapshot = snapshots.compute(managerStepExecution.getJobExecutionId(),
+                (jobExecutionId, existing) -> {
+                    ExportedSnapshot target = existing != null ? existing
+                            : ExportedSnapshot.export(dataSource, jobExecutionId);
+                    target.users.add(managerStepExecution.getId());
+                    return target;
+                });
+        return snapshot.snapshotId;
+    }
+
+    /**
+     * ジョブ実行でエクスポート済みのスナップショットIDを返します。
+     *
+     * @param jobExecutionId ジョブ実行ID
+     * @return スナップショットID（エクスポートされていない場合はnull）
+     */
+    public String getSnapshotId(Long jobExecutionId) {
+        ExportedSnapshot snapshot = jobExecutionId != null ? snapshots.get(jobExecutionId) : null;
+        return snapshot != null ? snapshot.snapshotId : null;
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        snapshots.computeIfPresent(stepExecution.getJobExecutionId(), (jobExecutionId, snapshot) -> {
+            snapshot.users.remove(stepExecution.getId());
+            if (!snapshot.users.isEmpty()) {
+                return snapshot;
+            }
+            snapshot.close();
+            return null;
+        });
+        return stepExecution.getExitStatus();
+    }
+
+    /**
+     * エクスポートしたスナップショットと、それを保持するコネクション。
+     */
+    private static final class ExportedSnapshot {
+
+        private final Connection connection;
+
+        private final String snapshotId;
+
+        /** スナップショットを使用中のマネージャーステップの実行ID */
+        private final Set<Long> users = new HashSet<>();
+
+        private ExportedSnapshot(Connection connection, String snapshotId) {
+            this.connection = connection;
+            this.snapshotId = snapshotId;
+        }
+
+        static ExportedSnapshot export(DataSource dataSource, long jobExecutionId) {
+            Connection connection = null;
+            try {
+                connection = dataSource.getConnection();
+                connection.setAutoCommit(false);
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                try (Statement statement = connection.createStatement();
+                        ResultSet rs = statement.executeQuery("SELECT pg_export_snapshot()")) {
+                    rs.next();
+                    String snapshotId = rs.getString(1);
+                    logger.info("【スナップショット】旧データベースのスナップショットをエクスポートしました: {} (jobExecutionId={})",
+                            snapshotId, jobExecutionId);
+                    return new ExportedSnapshot(connection, snapshotId);
+                }
+            } catch (SQLException e) {
+                closeQuietly(connection);
+                throw new DataAccessResourceFailureException("スナップショットのエクスポートに失敗しました", e);
+            }
+        }
+
+        void close() {
+            logger.info("【スナップショット】スナップショットを解放しました: {}", snapshotId);
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                logger.warn("スナップショットのトランザクション終了に失敗しました: {}", snapshotId, e);
+            }
+            closeQuietly(connection);
+        }
+
+        private static void closeQuietly(Connection connection) {
+            if (connection == null) {
+                return;
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.warn("コネクションのクローズに失敗しました", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.batch.partition;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.support.SimpleStepExecutionSplitter;
+
+/**
+ * パーティション分割ステップに関するユーティリティ。
+ *
+ * <p>
+ * マネージャーステップの実行にはワーカーの件数が集約されるため、
+ * ジョブ全体の件数を合計する際はマネージャーステップを除外する必要があります。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public final class PartitionSteps {
+
+    /** SimpleStepExecutionSplitterがマネージャーのExecutionContextに記録するキー */
+    private static final String GRID_SIZE_KEY = SimpleStepExecutionSplitter.class.getSimpleName() + ".GRID_SIZE";
+
+    private PartitionSteps() {
+    }
+
+    /**
+     * 指定されたステップ実行がパーティションのマネージャーかどうかを返します。
+     *
+     * @param stepExecution ステップ実行情報
+     * @return マネージャーステップの場合true
+     */
+    public static boolean isManager(StepExecution stepExecution) {
+        return stepExecution.getExecutionContext().containsKey(GRID_SIZE_KEY);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.batch.partition;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * PostgreSQLのエクスポートされたスナップショットを取り込んだコネクションを返すDataSource。
+ *
+ * <p>
+ * 取得したコネクションでREPEATABLE READのトランザクションを開始し、
+ * 最初の文として {@code SET TRANSACTION SNAPSHOT} を実行します。
+ * これにより、同じスナップショットを取り込んだ複数のコネクション（並列実行される各パーティションのReader）は、
+ * 旧システムが更新を続けている間も、エクスポート時点の同一のデータを参照します。
+ * </p>
+ *
+ * <p>
+ * コネクションはトランザクションを開始した状態で返されるため、
+ * 自動コミットを無効にしたまま使用し、使用後はクローズしてください
+ * （コネクションプールへの返却時にロールバックされます）。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see LegacySnapshotRegistry
+ */
+public class SnapshotDataSource extends DelegatingDataSource {
+
+    /** pg_export_snapshot() が返すスナップショットIDの形式（例: 00000003-0000001B-1） */
+    private static final Pattern SNAPSHOT_ID_PATTERN = Pattern.compile("[0-9A-Fa-f]+(-[0-9A-Fa-f]+)+");
+
+    private final String snapshotId;
+
+    /**
+     * DataSourceを生成します。
+     *
+     * @param targetDataSource 旧データベース用のDataSource
+     * @param snapshotId       取り込むスナップショットのID
+     */
+    public SnapshotDataSource(DataSource targetDataSource, String snapshotId) {
+        super(targetDataSource);
+        // SET TRANSACTION SNAPSHOT はバインド変数を使用できないため、値の形式を検証する
+        if (snapshotId == null || !SNAPSHOT_ID_PATTERN.matcher(snapshotId).matches()) {
+            throw new IllegalArgumentException("スナップショットIDの形式が不正です: " + snapshotId);
+        }
+        this.snapshotId = snapshotId;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return importSnapshot(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return importSnapshot(super.getConnection(username, password));
+    }
+
+    /**
+     * @return 取り込むスナップショットのID
+     */
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    private Connection importSnapshot(Connection connection) throws SQLException {
+        try {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+            }
+            return connection;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.batch.partition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.util.Assert;
+
+/**
+ * TSVファイルを行境界に揃えたバイト範囲に分割するPartitioner。
+ *
+ * <p>
+ * ヘッダー行を除いたデータ部分をほぼ均等なN個のバイト範囲に分け、
+ * 各境界を次の行頭まで進めることで、1行が2つのパーティションに跨らないようにします。
+ * 各パーティションのExecutionContextには以下の値が設定されます：
+ * </p>
+ * <ul>
+ * <li>{@value #START_OFFSET_KEY}: 範囲の開始位置（行頭）</li>
+ * <li>{@value #END_OFFSET_KEY}: 範囲の終了位置（次の範囲の行頭）</li>
+ * <li>{@value #PARTITION_INDEX_KEY}: パーティション番号（0始まり）</li>
+ * </ul>
+ *
+ * <p>
+ * 各パーティションはワーカーステップの実行（StepExecution）として個別に管理されるため、
+ * Readerが保存する読込位置もパーティションごとに記録され、
+ * 失敗したパーティションだけをリスタートできます。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see com.example.batch.reader.MappedTsvItemReader#setRange(long, long)
+ */
+public class TsvByteRangePartitioner implements Partitioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TsvByteRangePartitioner.class);
+
+    /** 範囲の開始位置のキー */
+    public static final String START_OFFSET_KEY = "startOffset";
+
+    /** 範囲の終了位置のキー */
+    public static final String END_OFFSET_KEY = "endOffset";
+
+    /** パーティション番号のキー */
+    public static final String PARTITION_INDEX_KEY = "partitionIndex";
+
+    private static final String PARTITION_PREFIX = "partition";
+
+    /** 行境界を探す際の読み込みバッファサイズ */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+
+    private final int linesToSkip;
+
+    /**
+     * Partitionerを生成します。
+     *
+     * @param path        分割するTSVファイル
+     * @param linesToSkip ファイル先頭で読み飛ばす行数（ヘッダー行など）
+     */
+    public TsvByteRangePartitioner(Path path, int linesToSkip) {
+        Assert.notNull(path, "path must not be null");
+        this.path = path;
+        this.linesToSkip = linesToSkip;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Assert.isTrue(gridSize > 0, "gridSize must be positive");
+
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+
+            // ヘッダー行の後ろからデータ部分が始まる
+            long dataStart = 0;
+            for (int i = 0; i < linesToSkip && dataStart < fileSize; i++) {
+                dataStart = nextLineStart(channel, dataStart, fileSize);
+            }
+
+            long dataSize = fileSize - dataStart;
+            long nominalSize = Math.max(1, dataSize / gridSize);
+
+            long start = dataStart;
+            int index = 0;
+            while (start < fileSize) {
+                long end = index == gridSize - 1
+                        ? fileSize
+                        : nextLineStart(channel, Math.max(start, dataStart + nominalSize * (index + 1) - 1), fileSize);
+
+                ExecutionContext context = new ExecutionContext();
+                context.putLong(START_OFFSET_KEY, start);
+                context.putLong(END_OFFSET_KEY, end);
+                context.putInt(PARTITION_INDEX_KEY, index);
+                partitions.put(PARTITION_PREFIX + index, context);
+
+                start = end;
+                index++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("パーティション分割に失敗しました: " + path, e);
+        }
+
+        logger.info("【パーティション】{} を {} 個の範囲に分割しました（要求数: {}）",
+                path.getFileName(), partitions.size(), gridSize);
+        return partitions;
+    }
+
+    /**
+     * 指定位置以降で最初に現れる改行の次の位置（次の行頭）を返します。
+     *
+     * @param channel  ファイルチャネル
+     * @param from     探索開始位置
+     * @param fileSize ファイルサイズ
+     * @return 次の行頭の位置（改行がない場合はファイルサイズ）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private long nextLineStart(FileChannel channel, long from, long fileSize) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        while (position < fileSize) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return fileSize;
+    }
+}
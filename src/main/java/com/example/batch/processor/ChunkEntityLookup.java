@@ -0,0 +1,244 @@
+package com.example.batch.processor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+/**
+ * 既存エンティティをチャンク単位でまとめて検索するルックアップ。
+ *
+ * <p>
+ * Upsert時にプロセッサが1件ずつ既存データを検索すると、1行ごとにDBへの往復が発生します。
+ * このクラスはステップに{@link ItemReadListener}として登録され、チャンク内で読み込まれた
+ * アイテムのキーを記録します。プロセッサが最初に{@link #find(Object)}を呼び出した時点で、
+ * 記録済みのキーを {@code IN (...)} の1回のクエリ（{@link #MAX_KEYS_PER_QUERY}件ごと）で検索し、
+ * 以降はメモリ上の結果から返します。
+ * </p>
+ *
+ * <p>
+ * 検索結果はチャンクのコミット後（{@link #afterChunk(ChunkContext)}）に破棄されます。
+ * ロールバック時（{@link #afterChunkError(ChunkContext)}）は検索結果のみを破棄し、
+ * 再処理時に同じキーを検索し直します（スキップ時の再処理では読み込みが行われないため）。
+ * 記録されていないキーを指定された場合は、そのキーだけを個別に検索します。
+ * </p>
+ *
+ * <p>
+ * マルチスレッドステップでは複数のチャンクが同時に処理されるため、記録したキーと検索結果は
+ * チャンク（{@link ChunkContext}）ごとに保持し、{@link #beforeChunk(ChunkContext)}で
+ * チャンクを処理するスレッドに関連付けます。ロールバックされたチャンクは別のスレッドで
+ * 再処理される場合がありますが、状態はChunkContextとともに引き継がれます。
+ * 非同期プロセッサの仮想スレッドはチャンクのスレッドから関連付けを継承します。
+ * 状態は並行コレクションで保持し、関連付けがないスレッドから呼び出された場合は
+ * 個別検索にフォールバックするため、結果が不正になることはありません。
+ * </p>
+ *
+ * <p>
+ * 非同期プロセッサの仮想スレッドにはチャンクのトランザクションがないため、検索ごとにプールから
+ * コネクションを取得します。{@code maxConcurrentQueries}を指定した場合は同時に実行する検索をその数までに制限し、
+ * 待機中に他のスレッドが検索したキーは検索し直しません。
+ * </p>
+ *
+ * @param <I> 読み込むアイテムの型
+ * @param <K> 既存データを特定するキーの型
+ * @param <E> 既存エンティティの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class ChunkEntityLookup<I, K, E> implements ItemReadListener<I>, ChunkListener {
+
+    /** 1回のクエリで検索するキーの最大件数 */
+    public static final int MAX_KEYS_PER_QUERY = 1000;
+
+    /** チャンクごとの状態を保持するChunkContextの属性名 */
+    private static final String STATE_ATTRIBUTE = ChunkEntityLookup.class.getName() + ".state";
+
+    private final Function<I, K> itemKey;
+
+    private final Function<E, K> entityKey;
+
+    private final Function<Collection<K>, List<E>> finder;
+
+    private final boolean enabled;
+
+    /** 同時に実行する検索の許可（制限しない場合はnull） */
+    private final Semaphore queryPermits;
+
+    /** 現在のスレッドが処理中のチャンクの状態（非同期処理の仮想スレッドに継承する） */
+    private final InheritableThreadLocal<ChunkState<K, E>> currentChunk = new InheritableThreadLocal<>();
+
+    /**
+     * ルックアップを生成します。
+     *
+     * @param itemKey              アイテムからキーを取り出す関数
+     * @param entityKey            エンティティからキーを取り出す関数
+     * @param finder               キーの集合に一致するエンティティを検索する関数
+     * @param enabled              有効な場合true（無効な場合はキーを記録しない）
+     * @param maxConcurrentQueries 同時に実行する検索の最大数（0以下の場合は制限しない）
+     */
+    public ChunkEntityLookup(Function<I, K> itemKey, Function<E, K> entityKey,
+            Function<Collection<K>, List<E>> finder, boolean enabled, int maxConcurrentQueries) {
+        this.itemKey = itemKey;
+        this.entityKey = entityKey;
+        this.finder = finder;
+        this.enabled = enabled;
+        this.queryPermits = maxConcurrentQueries > 0 ? new Semaphore(maxConcurrentQueries, true) : null;
+    }
+
+    /**
+     * @return 既存エンティティを検索する場合true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * キーに一致する既存エンティティを返します。
+     *
+     * @param key キー
+     * @return 既存エンティティ（存在しない場合はnull）
+     */
+    public E find(K key) {
+        if (key == null) {
+            return null;
+        }
+        ChunkState<K, E> state = currentChunk.get();
+        if (state == null) {
+            acquireQueryPermit();
+            try {
+                return finder.apply(List.of(key)).stream().findFirst().orElse(null);
+            } finally {
+                releaseQueryPermit();
+            }
+        }
+        Optional<E> cached = state.loaded.get(key);
+        if (cached == null) {
+            loadPending(state);
+            cached = state.loaded.get(key);
+        }
+        if (cached == null) {
+            // 記録されていないキー（キャッシュ破棄後の再処理など）は個別に検索する
+            load(state, List.of(key));
+            cached = state.loaded.getOrDefault(key, Optional.empty());
+        }
+        return cached.orElse(null);
+    }
+
+    @Override
+    public void afterRead(I item) {
+        if (!enabled || item == null) {
+            return;
+        }
+        K key = itemKey.apply(item);
+        ChunkState<K, E> state = currentChunk.get();
+        if (key != null && state != null) {
+            state.pendingKeys.add(key);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void beforeChunk(ChunkContext context) {
+        if (!enabled) {
+            return;
+        }
+        ChunkState<K, E> state = (ChunkState<K, E>) context.getAttribute(STATE_ATTRIBUTE);
+        if (state == null) {
+            state = new ChunkState<>();
+            context.setAttribute(STATE_ATTRIBUTE, state);
+        }
+        currentChunk.set(state);
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        context.removeAttribute(STATE_ATTRIBUTE);
+        currentChunk.remove();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterChunkError(ChunkContext context) {
+        ChunkState<K, E> state = (ChunkState<K, E>) context.getAttribute(STATE_ATTRIBUTE);
+        if (state != null) {
+            // 検索結果はロールバックされたトランザクションのものなので、再処理時に検索し直す
+            state.pendingKeys.addAll(state.loaded.keySet());
+            state.loaded.clear();
+        }
+        currentChunk.remove();
+    }
+
+    private void loadPending(ChunkState<K, E> state) {
+        if (state.pendingKeys.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(state.pendingKeys);
+        state.pendingKeys.removeAll(keys);
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_QUERY) {
+            load(state, keys.subList(from, Math.min(from + MAX_KEYS_PER_QUERY, keys.size())));
+        }
+    }
+
+    private void load(ChunkState<K, E> state, List<K> keys) {
+        acquireQueryPermit();
+        try {
+            // 他のスレッドが「存在しない」と誤って判定しないよう、結果を確定してから登録する
+            Map<K, Optional<E>> found = new HashMap<>();
+            for (K key : keys) {
+                if (!state.loaded.containsKey(key)) {
+                    found.put(key, Optional.empty());
+                }
+            }
+            if (found.isEmpty()) {
+                // 許可の待機中に他のスレッドが検索済み
+                return;
+            }
+            for (E entity : finder.apply(List.copyOf(found.keySet()))) {
+                found.put(entityKey.apply(entity), Optional.of(entity));
+            }
+            state.loaded.putAll(found);
+        } finally {
+            releaseQueryPermit();
+        }
+    }
+
+    private void acquireQueryPermit() {
+        if (queryPermits == null) {
+            return;
+        }
+        try {
+            queryPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("既存データの検索待ちが中断されました", e);
+        }
+    }
+
+    private void releaseQueryPermit() {
+        if (queryPermits != null) {
+            queryPermits.release();
+        }
+    }
+
+    /**
+     * チャンクごとの記録済みキーと検索結果。
+     */
+    private static final class ChunkState<K, E> {
+
+        /** 読み込み済みで未検索のキー */
+        private final Set<K> pendingKeys = ConcurrentHashMap.newKeySet();
+
+        /** 検索済みのキー → 既存エンティティ（存在しない場合は空） */
+        private final Map<K, Optional<E>> loaded = new ConcurrentHashMap<>();
+    }
+}
@@ -2,18 +2,17 @@ package com.example.batch.processor;
 
 import com.example.batch.dto.OldCompanyDto;
 import com.example.batch.entity.newdb.NewCompany;
-import com.example.batch.validator.CompanyValidator;
+import com.example.batch.metrics.BatchMetrics;
+import com.example.batch.metrics.PipelineStage;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.validator.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -44,14 +43,16 @@ import java.util.Map;
 @StepScope
 public class CompanyMigrationProcessor implements ItemProcessor<OldCompanyDto, NewCompany> {
 
-    @Value("#{jobParameters['upsertEnabled']}")
-    private String upsertEnabled;
+    @Autowired
+    private ChunkEntityLookup<OldCompanyDto, String, NewCompany> companyEntityLookup;
 
-    @PersistenceContext(unitName = "new")
-    private EntityManager entityManager;
+    /** 設定のルール、または組み込みのバリデータ（ValidationConfiguration） */
+    @Autowired
+    @Qualifier("effectiveCompanyValidator")
+    private Validator<OldCompanyDto> validator;
 
     @Autowired
-    private CompanyValidator validator;
+    private BatchMetrics metrics;
 
     /**
      * 業種コードと業種名のマッピングテーブル。
@@ -99,20 +100,20 @@ public class CompanyMigrationProcessor implements ItemProcessor<OldCompanyDto, N
     @Override
     public NewCompany process(OldCompanyDto oldCompany) throws Exception {
         // バリデーション実行
-        validator.validate(oldCompany);
+        long validationStart = System.nanoTime();
+        try {
+            validator.validate(oldCompany);
+        } finally {
+            metrics.record(PipelineStage.VALIDATE, System.nanoTime() - validationStart);
+        }
 
         NewCompany newCompany = null;
         String targetCompanyId = oldCompany.getCompanyCode();
 
-        if ("true".equalsIgnoreCase(upsertEnabled) && targetCompanyId != null) {
-            List<NewCompany> existingCompanies = entityManager.createQuery(
-                    "SELECT n FROM NewCompany n WHERE n.companyId = :companyId", NewCompany.class)
-                    .setParameter("companyId", targetCompanyId)
-                    .getResultList();
-
-            if (!existingCompanies.isEmpty()) {
-                newCompany = existingCompanies.get(0);
-            }
+        // 既存データの存在確認（Upsert対応、チャンク単位でまとめて検索済み）
+        if (companyEntityLookup.isEnabled() && targetCompanyId != null) {
+            newCompany = companyEntityLookup.find(targetCompanyId);
+            metrics.countUpsertLookup(newCompany != null);
         }
 
         if (newCompany == null) {
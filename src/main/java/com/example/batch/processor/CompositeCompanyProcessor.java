@@ -2,6 +2,8 @@ package com.example.batch.processor;
 
 import com.example.batch.dto.OldCompanyDto;
 import com.example.batch.entity.newdb.NewCompany;
+import com.example.batch.metrics.BatchMetrics;
+import com.example.batch.metrics.PipelineStage;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -31,6 +33,9 @@ public class CompositeCompanyProcessor implements ItemProcessor<OldCompanyDto, N
     @Autowired
     private DataMaskingProcessor<NewCompany> maskingProcessor;
 
+    @Autowired
+    private BatchMetrics metrics;
+
     @Override
     public NewCompany process(OldCompanyDto item) throws Exception {
         // 1. データ変換
@@ -40,6 +45,11 @@ public class CompositeCompanyProcessor implements ItemProcessor<OldCompanyDto, N
         }
 
         // 2. マスク処理
-        return maskingProcessor.process(company);
+        long maskStart = System.nanoTime();
+        try {
+            return maskingProcessor.process(company);
+        } finally {
+            metrics.record(PipelineStage.MASK, System.nanoTime() - maskStart);
+        }
     }
 }
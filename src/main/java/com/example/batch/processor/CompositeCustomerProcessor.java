@@ -2,6 +2,8 @@ package com.example.batch.processor;
 
 import com.example.batch.dto.OldCustomerDto;
 import com.example.batch.entity.newdb.NewCustomer;
+import com.example.batch.metrics.BatchMetrics;
+import com.example.batch.metrics.PipelineStage;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -31,6 +33,9 @@ public class CompositeCustomerProcessor implements ItemProcessor<OldCustomerDto,
     @Autowired
     private DataMaskingProcessor<NewCustomer> maskingProcessor;
 
+    @Autowired
+    private BatchMetrics metrics;
+
     @Override
     public NewCustomer process(OldCustomerDto item) throws Exception {
         // 1. データ変換
@@ -40,6 +45,11 @@ public class CompositeCustomerProcessor implements ItemProcessor<OldCustomerDto,
         }
 
         // 2. マスク処理
-        return maskingProcessor.process(customer);
+        long maskStart = System.nanoTime();
+        try {
+            return maskingProcessor.process(customer);
+        } finally {
+            metrics.record(PipelineStage.MASK, System.nanoTime() - maskStart);
+        }
     }
 }
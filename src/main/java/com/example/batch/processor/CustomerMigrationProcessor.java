@@ -1,20 +1,18 @@
 package com.example.batch.processor;
 
 import java.time.LocalDateTime;
-import java.util.List;
-
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.validator.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import com.example.batch.dto.OldCustomerDto;
 import com.example.batch.entity.newdb.NewCustomer;
-import com.example.batch.validator.CustomerValidator;
+import com.example.batch.metrics.BatchMetrics;
+import com.example.batch.metrics.PipelineStage;
 
 /**
  * 顧客データを旧形式から新形式に変換するプロセッサ。
@@ -44,14 +42,16 @@ import com.example.batch.validator.CustomerValidator;
 @StepScope
 public class CustomerMigrationProcessor implements ItemProcessor<OldCustomerDto, NewCustomer> {
 
-    @Value("#{jobParameters['upsertEnabled']}")
-    private String upsertEnabled;
+    @Autowired
+    private ChunkEntityLookup<OldCustomerDto, String, NewCustomer> customerEntityLookup;
 
-    @PersistenceContext(unitName = "new")
-    private EntityManager entityManager;
+    /** 設定のルール、または組み込みのバリデータ（ValidationConfiguration） */
+    @Autowired
+    @Qualifier("effectiveCustomerValidator")
+    private Validator<OldCustomerDto> validator;
 
     @Autowired
-    private CustomerValidator validator;
+    private BatchMetrics metrics;
 
     /**
      * 旧顧客データを新顧客データに変換します。
@@ -77,21 +77,20 @@ public class CustomerMigrationProcessor implements ItemProcessor<OldCustomerDto,
     @Override
     public NewCustomer process(OldCustomerDto oldCustomer) throws Exception {
         // バリデーション実行
-        validator.validate(oldCustomer);
+        long validationStart = System.nanoTime();
+        try {
+            validator.validate(oldCustomer);
+        } finally {
+            metrics.record(PipelineStage.VALIDATE, System.nanoTime() - validationStart);
+        }
 
         NewCustomer newCustomer = null;
         String targetCustomerId = oldCustomer.getCustomerCode();
 
-        // 既存データの存在確認（Upsert対応）
-        if ("true".equalsIgnoreCase(upsertEnabled) && targetCustomerId != null) {
-            List<NewCustomer> existingCustomers = entityManager.createQuery(
-                    "SELECT n FROM NewCustomer n WHERE n.customerId = :customerId", NewCustomer.class)
-                    .setParameter("customerId", targetCustomerId)
-                    .getResultList();
-
-            if (!existingCustomers.isEmpty()) {
-                newCustomer = existingCustomers.get(0);
-            }
+        // 既存データの存在確認（Upsert対応、チャンク単位でまとめて検索済み）
+        if (customerEntityLookup.isEnabled() && targetCustomerId != null) {
+            newCustomer = customerEntityLookup.find(targetCustomerId);
+            metrics.countUpsertLookup(newCustomer != null);
         }
 
         if (newCustomer == null) {
@@ -0,0 +1,264 @@
+package com.example.batch.reader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+
+import com.example.batch.monitor.MonitoredStage;
+import com.example.batch.monitor.StageStatus;
+
+/**
+ * マルチスレッドステップ・書き込みプール用に、Readerの読み込みを直列化し、リスタート位置を管理するラッパー。
+ *
+ * <p>
+ * FlatFileItemReaderや{@link MappedTsvItemReader}はスレッドセーフではないため、
+ * マルチスレッドステップ（{@code batch.multi-thread.threads} が2以上）では
+ * {@link #read()}をロックで直列化します。
+ * </p>
+ *
+ * <p>
+ * マルチスレッドステップではチャンクが読み込み順にコミットされないため、
+ * 元のReaderが保存する読み込み件数はリスタート位置として使用できません。
+ * このクラスは読み込んだアイテムに通し番号を振り、チャンクのコミット後
+ * （{@link #afterChunk(ChunkContext)}）に、そのチャンクの通し番号を完了として記録します。
+ * {@link #update(ExecutionContext)}では、先頭から途切れなく完了した件数（ウォーターマーク）のみを保存し、
+ * リスタート時はウォーターマークの位置から読み込みを再開します。
+ * </p>
+ *
+ * <p>
+ * ウォーターマークより後ろで既にコミットされたチャンクは、リスタート時に再度書き込まれます。
+ * 挿入のみの書き込み方式では重複エラーとしてスキップされるため、
+ * マルチスレッドステップのリスタートにはUpsert（upsertEnabled、writerMode=upsert / staging）を推奨します。
+ * </p>
+ *
+ * <p>
+ * 書き込みプール（{@code batch.writer-pool.size} が2以上）では、チャンクのトランザクションの
+ * コミット時点ではまだデータが書き込まれていません。Writerは{@link #detachCurrentChunk()}で
+ * チャンクの通し番号を切り離し、プールでの書き込みのコミット後に完了として記録します。
+ * </p>
+ *
+ * <p>
+ * チャンクがロールバックされた場合、再処理は別のスレッドで行われる場合があるため、
+ * 通し番号はスレッドではなくチャンク（{@link ChunkContext}）の属性として保持します。
+ * </p>
+ *
+ * <p>
+ * どちらも使用しない場合は、読み込み・状態の保存をそのまま元のReaderに委譲します。
+ * </p>
+ *
+ * @param <T> 読み込むアイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class CheckpointingSynchronizedItemReader<T> implements ItemStreamReader<T>, ChunkListener, MonitoredStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointingSynchronizedItemReader.class);
+
+    /** チャンクで読み込んだアイテムの通し番号を保持するChunkContextの属性名 */
+    private static final String SEQUENCES_ATTRIBUTE = CheckpointingSynchronizedItemReader.class.getName()
+            + ".sequences";
+
+    private final ItemStreamReader<T> delegate;
+
+    private final String name;
+
+    private final boolean checkpointing;
+
+    private final Lock lock = new ReentrantLock();
+
+    /** 現在のスレッドが処理中のチャンクの通し番号 */
+    private final ThreadLocal<List<Long>> currentChunk = new ThreadLocal<>();
+
+    /** 読み込み済みの最後の通し番号（lockで保護） */
+    private long readSequence;
+
+    /** ウォーターマークより後ろでコミット済みの通し番号（自身をモニターとして保護） */
+    private final TreeSet<Long> completed = new TreeSet<>();
+
+    /** 先頭から途切れなくコミット済みの件数（completedで保護） */
+    private long watermark;
+
+    /**
+     * ラッパーを生成します。
+     *
+     * @param delegate      元のReader
+     * @param name          ExecutionContextのキーの接頭辞
+     * @param checkpointing マルチスレッドステップまたは書き込みプールで使用する場合true
+     */
+    public CheckpointingSynchronizedItemReader(ItemStreamReader<T> delegate, String name, boolean checkpointing) {
+        this.delegate = delegate;
+        this.name = name;
+        this.checkpointing = checkpointing;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (!checkpointing) {
+            delegate.open(executionContext);
+            return;
+        }
+        long start = executionContext.getLong(watermarkKey(), 0L);
+        // 元のReaderが保存した読み込み件数はコミット順と一致しないため使用しない
+        ItemReaderPositions.openAt(delegate, start);
+        readSequence = start;
+        synchronized (completed) {
+            watermark = start;
+            completed.clear();
+        }
+        if (start > 0) {
+            logger.info("【リスタート】{} を {} 件目の後から再開します", name, start);
+        }
+    }
+
+    @Override
+    public T read() throws Exception {
+        if (!checkpointing) {
+            return delegate.read();
+        }
+        lock.lock();
+        try {
+            // 読み込みエラーの行も件数に含まれる（スキップされた行はリスタート時に読み直さない）
+            long sequence = ++readSequence;
+            T item;
+            try {
+                item = delegate.read();
+            } catch (Exception e) {
+                track(sequence);
+                throw e;
+            }
+            if (item == null) {
+                readSequence--;
+            } else {
+                track(sequence);
+            }
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (!checkpointing) {
+            delegate.update(executionContext);
+            return;
+        }
+        synchronized (completed) {
+            executionContext.putLong(watermarkKey(), watermark);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        currentChunk.remove();
+        delegate.close();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void beforeChunk(ChunkContext context) {
+        if (!checkpointing) {
+            return;
+        }
+        List<Long> sequences = (List<Long>) context.getAttribute(SEQUENCES_ATTRIBUTE);
+        if (sequences == null) {
+            sequences = new ArrayList<>();
+            context.setAttribute(SEQUENCES_ATTRIBUTE, sequences);
+        }
+        currentChunk.set(sequences);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterChunk(ChunkContext context) {
+        if (!checkpointing) {
+            return;
+        }
+        currentChunk.remove();
+        List<Long> sequences = (List<Long>) context.removeAttribute(SEQUENCES_ATTRIBUTE);
+        if (sequences != null) {
+            complete(sequences);
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        // 通し番号はChunkContextに残し、再処理したチャンクのコミット時に完了とする
+        currentChunk.remove();
+    }
+
+    /**
+     * 現在のスレッドが処理中のチャンクで読み込んだアイテムを、チャンクのコミット時に完了としないよう切り離します。
+     *
+     * <p>
+     * チャンクのスレッドからWriterが呼び出します。返されたコールバックは、
+     * 書き込みのコミット後に任意のスレッドから呼び出せます。
+     * </p>
+     *
+     * @return 書き込みのコミット後に呼び出すコールバック
+     */
+    public Runnable detachCurrentChunk() {
+        List<Long> sequences = currentChunk.get();
+        if (!checkpointing || sequences == null || sequences.isEmpty()) {
+            return () -> {
+            };
+        }
+        List<Long> detached = new ArrayList<>(sequences);
+        sequences.clear();
+        return () -> complete(detached);
+    }
+
+    /**
+     * 元のReaderが先読みする場合（{@link PrefetchingItemReader}）は、その状態を返す関数を返します。
+     *
+     * @return 状態を返す関数（公開する状態がない場合はnull）
+     */
+    @Override
+    public Supplier<StageStatus> monitor() {
+        return delegate instanceof MonitoredStage stage ? stage.monitor() : null;
+    }
+
+    /**
+     * @return 先頭から途切れなくコミット済みの件数
+     */
+    public long getWatermark() {
+        synchronized (completed) {
+            return watermark;
+        }
+    }
+
+    private void complete(List<Long> sequences) {
+        if (sequences.isEmpty()) {
+            return;
+        }
+        synchronized (completed) {
+            completed.addAll(sequences);
+            while (!completed.isEmpty() && completed.first() == watermark + 1) {
+                completed.pollFirst();
+                watermark++;
+            }
+        }
+    }
+
+    private void track(long sequence) {
+        List<Long> sequences = currentChunk.get();
+        if (sequences != null) {
+            sequences.add(sequence);
+        }
+    }
+
+    private String watermarkKey() {
+        return name + ".watermark";
+    }
+}
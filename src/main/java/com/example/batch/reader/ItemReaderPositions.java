@@ -0,0 +1,63 @@
+package com.example.batch.reader;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ParseException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+/**
+ * Readerを指定した件数の位置から開くためのユーティリティ。
+ *
+ * <p>
+ * Readerのラッパーが自身でリスタート位置を管理する場合に使用します。
+ * 元のReaderが保存した状態は使用せず、空のExecutionContextで開いてから指定位置へ移動します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+final class ItemReaderPositions {
+
+    private ItemReaderPositions() {
+    }
+
+    /**
+     * Readerを開き、先頭から{@code position}件を読み飛ばした位置に移動します。
+     *
+     * <p>
+     * 読み込み件数を管理するReader（{@link AbstractItemCountingItemStreamItemReader}）は
+     * 自身の{@code jumpToItem()}で移動します（FlatFileItemReader・{@link MappedTsvItemReader}は
+     * 行を変換せずに読み飛ばし、JdbcCursorItemReaderはカーソルを移動します）。
+     * それ以外は読み込んで破棄します。この場合、読み込みエラー（{@link ParseException}）になった行は
+     * 前回の実行でスキップ済みのため、1件として数えて読み進めます。
+     * </p>
+     *
+     * @param reader   Reader
+     * @param position 読み飛ばす件数
+     * @throws ItemStreamException Readerを開けない、または移動に失敗した場合
+     */
+    static void openAt(ItemStreamReader<?> reader, long position) {
+        if (position > 0 && reader instanceof PrefetchingItemReader<?> prefetching) {
+            prefetching.openAt(position);
+            return;
+        }
+        if (position > 0 && reader instanceof AbstractItemCountingItemStreamItemReader<?> counting) {
+            counting.setCurrentItemCount(Math.toIntExact(position));
+            counting.open(new ExecutionContext());
+            return;
+        }
+        reader.open(new ExecutionContext());
+        for (long i = 0; i < position; i++) {
+            try {
+                if (reader.read() == null) {
+                    return;
+                }
+            } catch (ParseException e) {
+                // 前回の実行でスキップ済みの行
+            } catch (Exception e) {
+                throw new ItemStreamException("リスタート位置への移動に失敗しました: " + position, e);
+            }
+        }
+    }
+}
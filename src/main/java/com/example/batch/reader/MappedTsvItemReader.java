@@ -0,0 +1,376 @@
+package com.example.batch.reader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineCallbackHandler;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.util.Assert;
+
+/**
+ * NIOのメモリマップを使用してTSVファイルを読み込むItemReader。
+ *
+ * <p>
+ * FlatFileItemReaderは1行ごとにString・トークン配列・FieldSetを生成しますが、
+ * このReaderは{@link FileChannel#map}でマップしたバイト列から
+ * タブと改行の位置を直接探し、フィールドの位置情報だけを{@link TsvRecord}に記録します。
+ * UTF-8のデコードはマッパーが参照したフィールドに対してのみ行われます。
+ * </p>
+ *
+ * <p>
+ * 2GBを超えるファイルにも対応するため、ファイルは{@link #setWindowSize(int)}で指定した
+ * サイズのウィンドウ単位でマップされます。行がウィンドウ境界を跨ぐ場合は、
+ * 行頭からマップし直します（1行の長さはウィンドウサイズ未満である必要があります）。
+ * </p>
+ *
+ * <p>
+ * リスタート時は、{@link AbstractItemCountingItemStreamItemReader}の読込件数に加えて
+ * 次に読む行のバイト位置をExecutionContextに保存し、先頭から読み直すことなく再開します。
+ * 読込件数のみを指定して開いた場合（{@link #setCurrentItemCount(int)}）は、
+ * 行の変換を行わずに行境界だけを辿って読み飛ばします。
+ * </p>
+ *
+ * <p>
+ * {@link #setRange(long, long)}でバイト範囲を指定すると、その範囲に行頭がある行のみを読み込みます
+ * （パーティション分割時に使用）。範囲の境界は行頭に揃えておく必要があります。
+ * この場合の行番号は範囲内での相対行番号になります。
+ * </p>
+ *
+ * @param <T> 読み込むアイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see TsvRecord
+ * @see TsvRecordMapper
+ */
+public class MappedTsvItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+    /** ジョブパラメータでこのReaderを選択する際の値 */
+    public static final String READER_TYPE = "mmap";
+
+    /** デフォルトのマッピングウィンドウサイズ（256MB） */
+    public static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    private static final String POSITION_KEY = "position";
+
+    private static final String LINE_KEY = "line";
+
+    private static final byte TAB = '\t';
+
+    private static final byte LF = '\n';
+
+    private static final byte CR = '\r';
+
+    private final Path path;
+
+    private final TsvRecordMapper<T> recordMapper;
+
+    private final TsvRecord record = new TsvRecord();
+
+    private int linesToSkip = 0;
+
+    private int expectedFieldCount = 0;
+
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+
+    private LineCallbackHandler skippedLinesCallback;
+
+    /** 読み込み範囲の開始位置（-1はファイル先頭） */
+    private long startOffset = -1;
+
+    /** 読み込み範囲の終了位置（-1はファイル終端） */
+    private long endOffset = -1;
+
+    /** 実際の読み込み終了位置 */
+    private long limit;
+
+    private FileChannel channel;
+
+    private long fileSize;
+
+    private MappedByteBuffer window;
+
+    private long windowStart;
+
+    /** 次に読む行のバイト位置 */
+    private long position;
+
+    /** 最後に読んだ行の行番号 */
+    private long lineNumber;
+
+    /** リスタート時に復元するバイト位置（-1は未設定） */
+    private long restartPosition = -1;
+
+    private long restartLineNumber;
+
+    /** 最後に読んだ行のウィンドウ内の開始位置 */
+    private int lineFrom;
+
+    /** 最後に読んだ行のウィンドウ内の終了位置（改行を含まない） */
+    private int lineTo;
+
+    /** 最後に読んだ行のバイト位置 */
+    private long lineOffset;
+
+    /**
+     * Readerを生成します。
+     *
+     * @param path         読み込むTSVファイル
+     * @param recordMapper 行をアイテムに変換するマッパー
+     */
+    public MappedTsvItemReader(Path path, TsvRecordMapper<T> recordMapper) {
+        Assert.notNull(path, "path must not be null");
+        Assert.notNull(recordMapper, "recordMapper must not be null");
+        this.path = path;
+        this.recordMapper = recordMapper;
+    }
+
+    /**
+     * ファイル先頭で読み飛ばす行数（ヘッダー行など）を設定します。
+     *
+     * @param linesToSkip 読み飛ばす行数
+     */
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    /**
+     * 読み飛ばした行（ヘッダー行など）を受け取るコールバックを設定します。
+     *
+     * <p>
+     * FlatFileItemReaderの{@code skippedLinesCallback}に相当します。
+     * パーティション分割時やリスタート時も、{@link #open(ExecutionContext)}のたびに呼び出されます。
+     * </p>
+     *
+     * @param skippedLinesCallback コールバック
+     */
+    public void setSkippedLinesCallback(LineCallbackHandler skippedLinesCallback) {
+        this.skippedLinesCallback = skippedLinesCallback;
+    }
+
+    /**
+     * 1行あたりの期待フィールド数を設定します。
+     *
+     * <p>
+     * 0より大きい値を設定すると、フィールド数が一致しない行は
+     * {@link FlatFileParseException}になります（DelimitedLineTokenizerのstrictモード相当）。
+     * </p>
+     *
+     * @param expectedFieldCount 期待フィールド数（0はチェックなし）
+     */
+    public void setExpectedFieldCount(int expectedFieldCount) {
+        this.expectedFieldCount = expectedFieldCount;
+    }
+
+    /**
+     * 1回にマップするウィンドウのサイズを設定します。
+     *
+     * @param windowSize ウィンドウサイズ（バイト）
+     */
+    public void setWindowSize(int windowSize) {
+        Assert.isTrue(windowSize > 0, "windowSize must be positive");
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * 読み込むバイト範囲を設定します。
+     *
+     * @param startOffset 開始位置（行頭、この位置を含む）
+     * @param endOffset   終了位置（次の範囲の行頭、この位置を含まない）
+     */
+    public void setRange(long startOffset, long endOffset) {
+        Assert.isTrue(startOffset >= 0 && endOffset >= startOffset, "invalid range");
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        // jumpToItem()で使用するため、親クラスのopen()より前に保存位置を取得
+        if (isSaveState() && executionContext.containsKey(getExecutionContextKey(POSITION_KEY))) {
+            restartPosition = executionContext.getLong(getExecutionContextKey(POSITION_KEY));
+            restartLineNumber = executionContext.getLong(getExecutionContextKey(LINE_KEY), 0L);
+        } else {
+            restartPosition = -1;
+        }
+        super.open(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState()) {
+            executionContext.putLong(getExecutionContextKey(POSITION_KEY), position);
+            executionContext.putLong(getExecutionContextKey(LINE_KEY), lineNumber);
+        }
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileSize = channel.size();
+        limit = endOffset < 0 ? fileSize : Math.min(endOffset, fileSize);
+        window = null;
+        position = 0;
+        lineNumber = 0;
+
+        // UTF-8 BOMを読み飛ばす
+        if (fileSize >= 3) {
+            map(0);
+            if ((window.get(0) & 0xff) == 0xEF && (window.get(1) & 0xff) == 0xBB && (window.get(2) & 0xff) == 0xBF) {
+                position = 3;
+            }
+        }
+
+        // ヘッダー行を読み飛ばす
+        for (int i = 0; i < linesToSkip && readLine(); i++) {
+            if (skippedLinesCallback != null) {
+                skippedLinesCallback.handleLine(record.getLine());
+            }
+        }
+
+        if (startOffset > position) {
+            position = startOffset;
+            lineNumber = 0;
+        }
+    }
+
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (restartPosition >= 0) {
+            // 保存済みのバイト位置から直接再開
+            position = restartPosition;
+            lineNumber = restartLineNumber;
+            restartPosition = -1;
+            return;
+        }
+        // 行の変換は行わず、行境界だけを辿って読み飛ばす
+        // （読み込みエラーでスキップした行も1件として数え、再度エラーにしない）
+        int skipped = 0;
+        while (skipped < itemIndex && nextLine()) {
+            if (lineTo > lineFrom) {
+                skipped++;
+            }
+        }
+    }
+
+    @Override
+    protected T doRead() throws Exception {
+        while (readLine()) {
+            if (record.isBlank()) {
+                continue;
+            }
+            if (expectedFieldCount > 0 && record.getFieldCount() != expectedFieldCount) {
+                throw new FlatFileParseException(String.format(
+                        "フィールド数が不正です（期待値: %d, 実際: %d）: line=%d, offset=%d",
+                        expectedFieldCount, record.getFieldCount(), lineNumber, record.getOffset()),
+                        record.getLine(), (int) lineNumber);
+            }
+            try {
+                return recordMapper.mapRecord(record);
+            } catch (Exception e) {
+                throw new FlatFileParseException(String.format(
+                        "行の変換に失敗しました: line=%d, offset=%d", lineNumber, record.getOffset()),
+                        e, record.getLine(), (int) lineNumber);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        // MappedByteBufferはGCで解放されるため、参照を外してチャネルのみ閉じる
+        window = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * 次の1行を読み込み、{@link #record}に設定します。
+     *
+     * @return 行を読み込んだ場合true、ファイル終端の場合false
+     * @throws IOException マップに失敗した場合
+     */
+    private boolean readLine() throws IOException {
+        if (!nextLine()) {
+            return false;
+        }
+        tokenize(lineFrom, lineTo, lineOffset);
+        return true;
+    }
+
+    /**
+     * 次の1行の位置を{@link #lineFrom}・{@link #lineTo}・{@link #lineOffset}に設定します（分割は行いません）。
+     *
+     * @return 行を読み込んだ場合true、ファイル終端の場合false
+     * @throws IOException マップに失敗した場合
+     */
+    private boolean nextLine() throws IOException {
+        if (position >= limit) {
+            return false;
+        }
+        if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+            map(position);
+        }
+
+        int from = (int) (position - windowStart);
+        int newline = indexOf(LF, from, window.limit());
+        if (newline < 0 && windowStart + window.limit() < fileSize) {
+            // 行がウィンドウ境界を跨ぐため、行頭からマップし直す
+            map(position);
+            from = 0;
+            newline = indexOf(LF, 0, window.limit());
+            if (newline < 0 && window.limit() < fileSize - windowStart) {
+                throw new ItemStreamException(String.format(
+                        "1行の長さがマッピングウィンドウサイズ(%d bytes)を超えています: offset=%d",
+                        windowSize, position));
+            }
+        }
+
+        int lineEnd = newline < 0 ? window.limit() : newline;
+        lineOffset = position;
+        position = windowStart + (newline < 0 ? window.limit() : newline + 1);
+        lineNumber++;
+
+        if (lineEnd > from && window.get(lineEnd - 1) == CR) {
+            lineEnd--;
+        }
+        lineFrom = from;
+        lineTo = lineEnd;
+        return true;
+    }
+
+    private void tokenize(int from, int to, long lineOffset) {
+        record.reset(window, from, to, lineNumber, lineOffset);
+        int fieldStart = from;
+        int tab;
+        while ((tab = indexOf(TAB, fieldStart, to)) >= 0) {
+            record.addField(fieldStart, tab);
+            fieldStart = tab + 1;
+        }
+        record.addField(fieldStart, to);
+    }
+
+    private int indexOf(byte target, int from, int to) {
+        MappedByteBuffer buffer = window;
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void map(long offset) throws IOException {
+        long size = Math.min(windowSize, fileSize - offset);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        windowStart = offset;
+    }
+}
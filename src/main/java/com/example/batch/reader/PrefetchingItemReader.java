@@ -0,0 +1,199 @@
+package com.example.batch.reader;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+
+import com.example.batch.monitor.MonitoredStage;
+import com.example.batch.monitor.StageStatus;
+
+/**
+ * 専用スレッドで先読みするReaderのラッパー。
+ *
+ * <p>
+ * 通常、チャンクのスレッドはファイルの読み込みとパースを終えるまで処理・書き込みに進めません。
+ * このクラスは元のReaderを専用スレッドで読み進め、最大{@code prefetchSize}件のアイテムを
+ * 有界のバッファに保持します。チャンクの処理・コミット中も次のアイテムの読み込みが進むため、
+ * 読み込みの待ち時間がチャンクの処理時間に加算されなくなります。
+ * </p>
+ *
+ * <p>
+ * 元のReaderは先読みした分だけ先に進んでいるため、その読み込み件数はリスタート位置として使用できません。
+ * このクラスはバッファから取り出した件数を保存し、リスタート時はその位置から元のReaderを開き直します。
+ * シングルスレッドのステップでは、{@link #update(ExecutionContext)}が呼ばれた時点で取り出した
+ * アイテムはすべて、コミット済みか同じトランザクションでコミットされるチャンクに含まれます。
+ * </p>
+ *
+ * <p>
+ * 元のReaderの例外は読み込み順を保ったままバッファに格納し、取り出した時点で再スローするため、
+ * 読み込みスキップは先読みしない場合と同じように記録されます。
+ * </p>
+ *
+ * @param <T> 読み込むアイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class PrefetchingItemReader<T> implements ItemStreamReader<T>, MonitoredStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrefetchingItemReader.class);
+
+    /** 読み込みの終了を表すバッファの要素 */
+    private static final Object END = new Object();
+
+    private final ItemStreamReader<T> delegate;
+
+    private final String name;
+
+    private final int prefetchSize;
+
+    private volatile BlockingQueue<Object> buffer;
+
+    private volatile Thread producer;
+
+    /** バッファから取り出した件数（読み込みエラーを含む） */
+    private final AtomicLong consumed = new AtomicLong();
+
+    private volatile boolean exhausted;
+
+    /**
+     * ラッパーを生成します。
+     *
+     * @param delegate     元のReader
+     * @param name         ExecutionContextのキーの接頭辞
+     * @param prefetchSize 先読みする最大件数
+     */
+    public PrefetchingItemReader(ItemStreamReader<T> delegate, String name, int prefetchSize) {
+        this.delegate = delegate;
+        this.name = name;
+        this.prefetchSize = Math.max(1, prefetchSize);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        long start = executionContext.getLong(consumedKey(), 0L);
+        if (start > 0) {
+            logger.info("【リスタート】{} を {} 件目の後から先読みします", name, start);
+        }
+        openAt(start);
+    }
+
+    /**
+     * 元のReaderを先頭から{@code position}件を読み飛ばした位置で開き、先読みを開始します。
+     *
+     * @param position 読み飛ばす件数
+     */
+    void openAt(long position) {
+        ItemReaderPositions.openAt(delegate, position);
+        consumed.set(position);
+        exhausted = false;
+        buffer = new ArrayBlockingQueue<>(prefetchSize);
+        producer = Thread.ofPlatform().daemon().name("prefetch-" + name).start(this::prefetch);
+    }
+
+    @Override
+    public T read() throws Exception {
+        if (exhausted) {
+            return null;
+        }
+        Object element;
+        while ((element = buffer.poll(1, TimeUnit.SECONDS)) == null) {
+            Thread thread = producer;
+            if (thread != null && !thread.isAlive() && buffer.isEmpty()) {
+                throw new ItemStreamException("先読みスレッドが異常終了しました: " + name);
+            }
+        }
+        if (element == END) {
+            exhausted = true;
+            return null;
+        }
+        consumed.incrementAndGet();
+        if (element instanceof ReadFailure failure) {
+            throw failure.exception();
+        }
+        @SuppressWarnings("unchecked")
+        T item = (T) element;
+        return item;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(consumedKey(), consumed.get());
+    }
+
+    /**
+     * 先読みスレッドの稼働状況とバッファの件数を返す関数を返します。
+     *
+     * @return 状態を返す関数
+     */
+    @Override
+    public Supplier<StageStatus> monitor() {
+        return () -> {
+            BlockingQueue<Object> queue = buffer;
+            Thread thread = producer;
+            return new StageStatus("prefetch", thread != null && thread.isAlive() ? 1 : 0, 1,
+                    queue != null ? queue.size() : 0, prefetchSize);
+        };
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        Thread thread = producer;
+        producer = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                // 元のReaderはスレッドセーフではないため、先読みの停止を待ってから閉じる
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        buffer = null;
+        delegate.close();
+    }
+
+    /**
+     * 先読みスレッドの処理。バッファが一杯の場合は空きを待ちます。
+     */
+    private void prefetch() {
+        BlockingQueue<Object> queue = buffer;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Object element;
+                try {
+                    T item = delegate.read();
+                    element = item != null ? item : END;
+                } catch (Exception e) {
+                    element = new ReadFailure(e);
+                }
+                queue.put(element);
+                if (element == END) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // close()による停止
+        } catch (RuntimeException | Error e) {
+            logger.error("【先読み】{} の読み込みスレッドが異常終了しました", name, e);
+            throw e;
+        }
+    }
+
+    private String consumedKey() {
+        return name + ".prefetch.consumed";
+    }
+
+    /**
+     * 元のReaderが送出した例外。
+     */
+    private record ReadFailure(Exception exception) {
+    }
+}
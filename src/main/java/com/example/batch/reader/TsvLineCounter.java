@@ -0,0 +1,176 @@
+package com.example.batch.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.util.Assert;
+
+/**
+ * TSVファイルの行数を高速に数えるユーティリティ。
+ *
+ * <p>
+ * ファイルを{@link FileChannel#map}でマップし、8バイトずつ読み込んで改行（LF）の数を
+ * ビット演算で数えます（1バイトずつの比較や行のデコードは行いません）。
+ * 範囲が{@value #MIN_SEGMENT_SIZE}バイトを超える場合は複数の区間に分け、
+ * 指定したスレッド数で並行に数えます。
+ * </p>
+ *
+ * <p>
+ * 行数は改行の数に、末尾が改行で終わらない最終行を加えたものです。
+ * 空行も1行として数えるため、進捗率の算出などの概算に使用してください。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see MappedTsvItemReader
+ */
+public final class TsvLineCounter {
+
+    /** 1スレッドが数える区間の最小サイズ（64MB） */
+    static final long MIN_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    /** 1回にマップするサイズの上限（256MB） */
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private static final long LF_PATTERN = 0x0A0A0A0A0A0A0A0AL;
+
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    private static final byte LF = '\n';
+
+    private TsvLineCounter() {
+    }
+
+    /**
+     * ファイル全体の行数から、先頭で読み飛ばす行数を除いた件数を返します。
+     *
+     * @param path        TSVファイル
+     * @param linesToSkip ファイル先頭で読み飛ばす行数（ヘッダー行など）
+     * @param threads     並行に数えるスレッド数の上限
+     * @return データ行の件数
+     * @throws UncheckedIOException 読み込みに失敗した場合
+     */
+    public static long countRecords(Path path, int linesToSkip, int threads) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return Math.max(0L, countLines(channel, 0L, channel.size(), threads) - linesToSkip);
+        } catch (IOException e) {
+            throw new UncheckedIOException("入力ファイルの行数を数えられませんでした: " + path, e);
+        }
+    }
+
+    /**
+     * 指定したバイト範囲にある行数を返します（パーティション分割時に使用）。
+     *
+     * <p>
+     * 範囲の境界は行頭に揃えておく必要があります（{@code TsvByteRangePartitioner}が生成する範囲）。
+     * </p>
+     *
+     * @param path    TSVファイル
+     * @param start   範囲の開始位置（含む）
+     * @param end     範囲の終了位置（含まない）
+     * @param threads 並行に数えるスレッド数の上限
+     * @return 範囲内の行数
+     * @throws UncheckedIOException 読み込みに失敗した場合
+     */
+    public static long countLines(Path path, long start, long end, int threads) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return countLines(channel, start, Math.min(end, channel.size()), threads);
+        } catch (IOException e) {
+            throw new UncheckedIOException("入力ファイルの行数を数えられませんでした: " + path, e);
+        }
+    }
+
+    private static long countLines(FileChannel channel, long start, long end, int threads) throws IOException {
+        Assert.isTrue(start >= 0 && start <= end, "invalid range: " + start + "-" + end);
+        if (start == end) {
+            return 0L;
+        }
+        long length = end - start;
+        int segments = (int) Math.max(1, Math.min(Math.max(1, threads), length / MIN_SEGMENT_SIZE));
+        long newlines = segments == 1
+                ? countNewlines(channel, start, end)
+                : countNewlinesInParallel(channel, start, end, segments);
+
+        // 末尾が改行で終わらない最終行も1行として数える
+        MappedByteBuffer last = channel.map(FileChannel.MapMode.READ_ONLY, end - 1, 1);
+        return last.get(0) == LF ? newlines : newlines + 1;
+    }
+
+    private static long countNewlinesInParallel(FileChannel channel, long start, long end, int segments)
+            throws IOException {
+        long segmentSize = (end - start + segments - 1) / segments;
+        ExecutorService executor = Executors.newFixedThreadPool(segments,
+                Thread.ofPlatform().daemon().name("line-count-", 1).factory());
+        try {
+            List<Future<Long>> results = new ArrayList<>(segments);
+            for (long from = start; from < end; from += segmentSize) {
+                long segmentStart = from;
+                long segmentEnd = Math.min(end, from + segmentSize);
+                results.add(executor.submit(() -> countNewlines(channel, segmentStart, segmentEnd)));
+            }
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("行数のカウント中に割り込まれました", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("行数のカウントに失敗しました", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 指定したバイト範囲の改行の数を、ウィンドウ単位でマップしながら数えます。
+     */
+    private static long countNewlines(FileChannel channel, long start, long end) throws IOException {
+        long count = 0;
+        for (long position = start; position < end; position += WINDOW_SIZE) {
+            long size = Math.min(WINDOW_SIZE, end - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            buffer.order(ByteOrder.nativeOrder());
+            int limit = (int) size;
+            int i = 0;
+            for (int words = limit & ~7; i < words; i += 8) {
+                count += countNewlines(buffer.getLong(i));
+            }
+            for (; i < limit; i++) {
+                if (buffer.get(i) == LF) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 8バイトの中のLFの数を返します。
+     *
+     * <p>
+     * LFとのXORで一致したバイトを0にし、各バイトの下位7ビットに0x7Fを加えて
+     * 最上位ビットへ桁上がりしないバイト（＝0のバイト）だけを取り出します（誤検出なし）。
+     * </p>
+     */
+    private static int countNewlines(long word) {
+        long x = word ^ LF_PATTERN;
+        long t = (x & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+        return Long.bitCount(~(t | x | LOW_SEVEN_BITS));
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.batch.reader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * メモリマップされたTSVの1行分を表す再利用可能なビュー。
+ *
+ * <p>
+ * {@link MappedTsvItemReader}が行を読み込むたびに内容を差し替えるため、
+ * 保持できるのは{@link TsvRecordMapper#mapRecord(TsvRecord)}の呼び出し中のみです。
+ * </p>
+ *
+ * <p>
+ * 各フィールドはバイト位置（開始・終了）だけを保持しており、
+ * {@link #getString(int)}が呼ばれたフィールドのみUTF-8デコードされます。
+ * フィールドの前後の空白は{@link String#trim()}と同じ規則で除去されます
+ * （FlatFileItemReaderの{@code readString}と同じ挙動）。
+ * </p>
+ *
+ * <p>
+ * 数値や日付のように文字列として保持する必要のないフィールドは、
+ * {@link #getChars(int)}でデコードせずにパーサーへ渡せます。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see MappedTsvItemReader
+ */
+public final class TsvRecord {
+
+    private static final int INITIAL_FIELD_CAPACITY = 16;
+
+    private ByteBuffer buffer;
+    private int lineStart;
+    private int lineEnd;
+    private long lineNumber;
+    private long offset;
+
+    private int[] fieldStarts = new int[INITIAL_FIELD_CAPACITY];
+    private int[] fieldEnds = new int[INITIAL_FIELD_CAPACITY];
+    private int fieldCount;
+
+    /** デコード用の作業バッファ（フィールド長に応じて拡張） */
+    private byte[] scratch = new byte[256];
+
+    /** {@link #getChars(int)}で返す再利用ビュー */
+    private final FieldChars chars = new FieldChars();
+
+    /**
+     * 新しい行で内容を初期化します。
+     *
+     * @param buffer     行を含むバッファ
+     * @param lineStart  バッファ内の行頭位置
+     * @param lineEnd    バッファ内の行末位置（改行を含まない）
+     * @param lineNumber 行番号
+     * @param offset     ファイル先頭からの行頭バイト位置
+     */
+    void reset(ByteBuffer buffer, int lineStart, int lineEnd, long lineNumber, long offset) {
+        this.buffer = buffer;
+        this.lineStart = lineStart;
+        this.lineEnd = lineEnd;
+        this.lineNumber = lineNumber;
+        this.offset = offset;
+        this.fieldCount = 0;
+    }
+
+    /**
+     * フィールドを追加します（前後の空白を除去した範囲で保持）。
+     *
+     * @param start バッファ内のフィールド開始位置
+     * @param end   バッファ内のフィールド終了位置
+     */
+    void addField(int start, int end) {
+        while (start < end && (buffer.get(start) & 0xff) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer.get(end - 1) & 0xff) <= ' ') {
+            end--;
+        }
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    /**
+     * 行が空（空白のみを含む場合も含む）かどうかを返します。
+     *
+     * @return 空行の場合true
+     */
+    boolean isBlank() {
+        return fieldCount == 1 && fieldStarts[0] == fieldEnds[0];
+    }
+
+    /**
+     * @return この行のフィールド数
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @return 行番号（パーティション読み込み時は範囲内での相対行番号）
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return ファイル先頭からの行頭バイト位置
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * 指定フィールドが空かどうかを返します。
+     *
+     * @param index フィールド位置（0始まり）
+     * @return 空の場合true
+     */
+    public boolean isEmpty(int index) {
+        checkIndex(index);
+        return fieldStarts[index] == fieldEnds[index];
+    }
+
+    /**
+     * 指定フィールドの長さ（バイト数）を返します。
+     *
+     * @param index フィールド位置（0始まり）
+     * @return フィールドのバイト長
+     */
+    public int length(int index) {
+        checkIndex(index);
+        return fieldEnds[index] - fieldStarts[index];
+    }
+
+    /**
+     * 指定フィールドの1バイトを返します。
+     *
+     * @param index フィールド位置（0始まり）
+     * @param pos   フィールド内の位置
+     * @return バイト値（0-255）
+     */
+    public int byteAt(int index, int pos) {
+        return buffer.get(fieldStarts[index] + pos) & 0xff;
+    }
+
+    /**
+     * 指定フィールドをUTF-8でデコードして返します。
+     *
+     * @param index フィールド位置（0始まり）
+     * @return フィールドの文字列（空の場合は空文字列）
+     */
+    public String getString(int index) {
+        checkIndex(index);
+        return decode(fieldStarts[index], fieldEnds[index]);
+    }
+
+    /**
+     * 指定フィールドをデコードせずに文字列として参照するビューを返します。
+     *
+     * <p>
+     * 返されるビューは1バイトを1文字として扱うため、ASCIIのみで構成される
+     * フィールド（数値・日付など）の解析に使用してください。
+     * ビューは再利用されるため、次の{@code getChars}呼び出しまでしか有効ではありません。
+     * {@link CharSequence#toString()}はUTF-8でデコードした文字列を返します。
+     * </p>
+     *
+     * @param index フィールド位置（0始まり）
+     * @return フィールドのビュー
+     */
+    public CharSequence getChars(int index) {
+        checkIndex(index);
+        chars.start = fieldStarts[index];
+        chars.end = fieldEnds[index];
+        return chars;
+    }
+
+    /**
+     * 行全体をデコードして返します（エラーメッセージ用）。
+     *
+     * @return 行の文字列
+     */
+    public String getLine() {
+        return decode(lineStart, lineEnd);
+    }
+
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return "";
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException(
+                    "フィールド位置が範囲外です: " + index + " (フィールド数: " + fieldCount + ")");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getLine();
+    }
+
+    /**
+     * フィールドのバイト列を1バイト1文字として参照するビュー。
+     */
+    private final class FieldChars implements CharSequence {
+
+        private int start;
+        private int end;
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().subSequence(from, to);
+        }
+
+        @Override
+        public String toString() {
+            return decode(start, end);
+        }
+    }
+}
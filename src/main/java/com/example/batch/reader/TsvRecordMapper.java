@@ -0,0 +1,27 @@
+package com.example.batch.reader;
+
+/**
+ * {@link TsvRecord}をアイテムに変換するマッパー。
+ *
+ * <p>
+ * FlatFileItemReaderの{@code FieldSetMapper}に相当します。
+ * 渡される{@link TsvRecord}は読み込みごとに再利用されるため、
+ * 呼び出し後に参照を保持してはいけません。
+ * </p>
+ *
+ * @param <T> 変換後のアイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface TsvRecordMapper<T> {
+
+    /**
+     * 1行分のレコードをアイテムに変換します。
+     *
+     * @param record 読み込んだ行
+     * @return 変換後のアイテム
+     * @throws Exception 変換に失敗した場合
+     */
+    T mapRecord(TsvRecord record) throws Exception;
+}
@@ -0,0 +1,297 @@
+package com.example.batch.tuning;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+
+/**
+ * 計測したトランザクション時間に応じてチャンクサイズを調整する{@link CompletionPolicy}。
+ *
+ * <p>
+ * 最適なチャンクサイズは行の幅、データベースの負荷、時間帯によって変わります。
+ * このポリシーはチャンクごとに、読み込み・処理の時間、書き込みの時間、コミットの時間を計測し、
+ * トランザクション全体（読み込み開始からコミット完了まで）が目標時間
+ * （{@code batch.adaptive-chunk.target-millis}）になるよう、次のチャンクのサイズを決めます：
+ * </p>
+ * <ol>
+ * <li>計測した1件あたりの時間から、目標時間に収まる件数を求める</li>
+ * <li>現在のサイズとの平均を取り、急激な変動を抑える（1回の調整は半分〜2倍まで）</li>
+ * <li>{@code batch.adaptive-chunk.min-size}〜{@code max-size}の範囲に収める</li>
+ * <li>変化が{@value #DEAD_BAND_PERCENT}%未満の場合は変更しない</li>
+ * </ol>
+ *
+ * <p>
+ * 調整は{@link ChunkSizeMetrics}でメトリクスとして公開し、ステップ終了時に初期・最終・最小・最大の
+ * チャンクサイズと調整回数をステップの{@code ExecutionContext}に記録します（統計レポートに出力）。
+ * </p>
+ *
+ * <p>
+ * 調整が無効な場合は、固定サイズのチャンク（{@code SimpleCompletionPolicy}と同じ）として動作します。
+ * マルチスレッドステップでは各チャンクのサイズを開始時点の値で確定し、計測はスレッドごとに行います。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class AdaptiveChunkSizePolicy
+        implements CompletionPolicy, ChunkListener, ItemWriteListener<Object>, StepExecutionListener {
+
+    /** ステップのExecutionContextのキー: 初期チャンクサイズ */
+    public static final String INITIAL_SIZE_KEY = "adaptiveChunk.initialSize";
+
+    /** ステップのExecutionContextのキー: 最終チャンクサイズ */
+    public static final String FINAL_SIZE_KEY = "adaptiveChunk.finalSize";
+
+    /** ステップのExecutionContextのキー: 最小チャンクサイズ */
+    public static final String MIN_SIZE_KEY = "adaptiveChunk.minSize";
+
+    /** ステップのExecutionContextのキー: 最大チャンクサイズ */
+    public static final String MAX_SIZE_KEY = "adaptiveChunk.maxSize";
+
+    /** ステップのExecutionContextのキー: 調整回数 */
+    public static final String ADJUSTMENTS_KEY = "adaptiveChunk.adjustments";
+
+    /** ステップのExecutionContextのキー: 平均トランザクション時間（ミリ秒） */
+    public static final String AVERAGE_TRANSACTION_MILLIS_KEY = "adaptiveChunk.averageTransactionMillis";
+
+    /** この割合未満の変化は無視する（%） */
+    static final int DEAD_BAND_PERCENT = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveChunkSizePolicy.class);
+
+    private final boolean adaptive;
+
+    private final long targetNanos;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final ChunkSizeMetrics metrics;
+
+    private final int initialSize;
+
+    private final AtomicInteger chunkSize;
+
+    private final AtomicInteger observedMin;
+
+    private final AtomicInteger observedMax;
+
+    private final AtomicInteger adjustments = new AtomicInteger();
+
+    private final AtomicLong transactionNanos = new AtomicLong();
+
+    private final AtomicLong transactions = new AtomicLong();
+
+    /** 現在のスレッドが処理中のチャンクの計測値 */
+    private final ThreadLocal<Sample> currentSample = new ThreadLocal<>();
+
+    private volatile String stepName = "unknown";
+
+    /**
+     * ポリシーを生成します。
+     *
+     * @param initialSize  初期チャンクサイズ
+     * @param adaptive     チャンクサイズを調整する場合true（falseの場合は固定）
+     * @param targetMillis 目標とするトランザクション時間（ミリ秒）
+     * @param minSize      チャンクサイズの下限
+     * @param maxSize      チャンクサイズの上限
+     * @param metrics      メトリクス
+     * @throws IllegalArgumentException サイズの指定が不正な場合
+     */
+    public AdaptiveChunkSizePolicy(int initialSize, boolean adaptive, long targetMillis, int minSize, int maxSize,
+            ChunkSizeMetrics metrics) {
+        if (initialSize < 1 || minSize < 1 || maxSize < minSize || targetMillis < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "チャンクサイズの設定が不正です: 初期=%d, 下限=%d, 上限=%d, 目標時間=%dms",
+                    initialSize, minSize, maxSize, targetMillis));
+        }
+        this.adaptive = adaptive;
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.metrics = metrics;
+        this.initialSize = adaptive ? Math.max(minSize, Math.min(maxSize, initialSize)) : initialSize;
+        this.chunkSize = new AtomicInteger(this.initialSize);
+        this.observedMin = new AtomicInteger(this.initialSize);
+        this.observedMax = new AtomicInteger(this.initialSize);
+    }
+
+    /**
+     * @return 次のチャンクのサイズ
+     */
+    public int getChunkSize() {
+        return chunkSize.get();
+    }
+
+    // ========== CompletionPolicy ==========
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        return new SizedContext(parent, chunkSize.get());
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        ((SizedContext) context).increment();
+        Sample sample = currentSample.get();
+        if (sample != null) {
+            sample.items++;
+        }
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        return (result != null && !result.isContinuable()) || isComplete(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        SizedContext sized = (SizedContext) context;
+        return sized.getStartedCount() >= sized.limit;
+    }
+
+    // ========== 計測 ==========
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        stepName = stepExecution.getStepName();
+        metrics.recordSize(stepName, chunkSize.get());
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        currentSample.set(new Sample(System.nanoTime()));
+    }
+
+    @Override
+    public void beforeWrite(Chunk<? extends Object> items) {
+        Sample sample = currentSample.get();
+        if (sample != null && sample.writeStart == 0) {
+            sample.writeStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends Object> items) {
+        Sample sample = currentSample.get();
+        if (sample != null) {
+            sample.writeEnd = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        Sample sample = currentSample.get();
+        currentSample.remove();
+        if (sample == null) {
+            return;
+        }
+        long end = System.nanoTime();
+        long total = end - sample.start;
+        transactionNanos.addAndGet(total);
+        transactions.incrementAndGet();
+        metrics.recordTransaction(stepName, total, sample.writeEnd > 0 ? end - sample.writeEnd : -1);
+        if (logger.isDebugEnabled() && sample.writeEnd > 0) {
+            logger.debug("【チャンクサイズ】{}: {}件, 読込・処理 {} ms, 書込 {} ms, コミット {} ms", stepName, sample.items,
+                    TimeUnit.NANOSECONDS.toMillis(sample.writeStart - sample.start),
+                    TimeUnit.NANOSECONDS.toMillis(sample.writeEnd - sample.writeStart),
+                    TimeUnit.NANOSECONDS.toMillis(end - sample.writeEnd));
+        }
+        // ロールバック後の再処理（読み込みなし）は1件あたりの時間が求められないため調整しない
+        if (adaptive && sample.items > 0) {
+            adjust(sample.items, total);
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        currentSample.remove();
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        executionContext.putInt(INITIAL_SIZE_KEY, initialSize);
+        executionContext.putInt(FINAL_SIZE_KEY, chunkSize.get());
+        executionContext.putInt(MIN_SIZE_KEY, observedMin.get());
+        executionContext.putInt(MAX_SIZE_KEY, observedMax.get());
+        executionContext.putInt(ADJUSTMENTS_KEY, adjustments.get());
+        long count = transactions.get();
+        executionContext.putLong(AVERAGE_TRANSACTION_MILLIS_KEY,
+                count > 0 ? TimeUnit.NANOSECONDS.toMillis(transactionNanos.get() / count) : 0L);
+        return null;
+    }
+
+    /**
+     * 計測結果から次のチャンクサイズを決めます。
+     *
+     * @param items      チャンクで読み込んだ件数
+     * @param totalNanos トランザクション時間（ナノ秒）
+     */
+    private void adjust(int items, long totalNanos) {
+        int current = chunkSize.get();
+        double ideal = items * (double) targetNanos / Math.max(1L, totalNanos);
+        long next = Math.round((current + ideal) / 2);
+        next = Math.max(current / 2, Math.min((long) current * 2, next));
+        next = Math.max(minSize, Math.min(maxSize, next));
+        if (Math.abs(next - current) * 100 < (long) current * DEAD_BAND_PERCENT) {
+            return;
+        }
+        int size = (int) next;
+        if (chunkSize.compareAndSet(current, size)) {
+            adjustments.incrementAndGet();
+            observedMin.accumulateAndGet(size, Math::min);
+            observedMax.accumulateAndGet(size, Math::max);
+            metrics.recordAdjustment(stepName, current, size);
+            logger.debug("【チャンクサイズ】{}: {} → {}（{}件 / {} ms）", stepName, current, size, items,
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        }
+    }
+
+    /**
+     * チャンク開始時点のサイズを上限とするRepeatContext。
+     */
+    private static final class SizedContext extends RepeatContextSupport {
+
+        private final int limit;
+
+        SizedContext(RepeatContext parent, int limit) {
+            super(parent);
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * チャンクごとの計測値。
+     */
+    private static final class Sample {
+
+        private final long start;
+
+        private long writeStart;
+
+        private long writeEnd;
+
+        private int items;
+
+        Sample(long start) {
+            this.start = start;
+        }
+    }
+}
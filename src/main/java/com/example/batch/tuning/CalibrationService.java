@@ -0,0 +1,538 @@
+package com.example.batch.tuning;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.batch.concurrency.ConnectionBudget;
+import com.example.batch.dto.OldCustomerDto;
+import com.example.batch.entity.newdb.NewCustomer;
+import com.example.batch.mapper.OldCustomerMapper;
+import com.example.batch.writer.NewTableMappings;
+import com.example.batch.writer.PgCopyItemWriter;
+import com.example.batch.writer.PgUpsertItemWriter;
+import com.example.batch.writer.WriterMode;
+
+/**
+ * 本番の移行前に、チャンクサイズ・書き込みスレッド数・書き込み方式の組み合わせを試行し、
+ * 推奨設定をプロファイル（YAML）として出力するキャリブレーション。
+ *
+ * <p>
+ * 顧客TSVファイルの先頭から試行データを読み込み、使い捨てのスキーマ（{@code calibration_<時刻>}）に
+ * 作成した new_customers の複製へ、組み合わせごとに同じ件数を書き込みます（グリッドサーチ）。
+ * 書き込みは移行ステップと同じWriter（JPA / {@link PgUpsertItemWriter} / {@link PgCopyItemWriter}）を使用し、
+ * トランザクション内で {@code SET LOCAL search_path} を切り替えて複製のテーブルに書き込みます。
+ * 本番のテーブル・シーケンスには書き込みません。
+ * </p>
+ *
+ * <p>
+ * 試行ごとに次の値を計測します：
+ * </p>
+ * <ul>
+ * <li>スループット（件/秒）: 全チャンクの書き込み完了までの経過時間から算出</li>
+ * <li>p99コミット時間: チャンクの書き込み完了からコミット完了までの時間の99パーセンタイル</li>
+ * <li>p99トランザクション時間: チャンクのトランザクション開始からコミット完了までの時間の99パーセンタイル</li>
+ * </ul>
+ *
+ * <p>
+ * p99コミット時間が上限以下の試行のうち、スループットが最大の組み合わせを推奨とし、
+ * {@code batch.calibration.output-file}に書き出します（既定は {@code ./config/application-calibrated.yml} で、
+ * {@code --spring.profiles.active=calibrated} で読み込めます）。
+ * 書き込みスレッド数は{@code batch.writer-pool.size}として出力し、{@link ConnectionBudget}の予算を超える値は試行しません。
+ * 試行は空のテーブルへの書き込み（初回移行）を計測します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+public class CalibrationService {
+
+    /** 試行データの件数の既定値 */
+    public static final int DEFAULT_SAMPLE_SIZE = 10000;
+
+    /** 試行するチャンクサイズの既定値 */
+    public static final List<Integer> DEFAULT_CHUNK_SIZES = List.of(100, 500, 1000, 5000);
+
+    /** 試行する書き込みスレッド数の既定値 */
+    public static final List<Integer> DEFAULT_CONCURRENCY = List.of(1, 2, 4);
+
+    /** 試行する書き込み方式の既定値 */
+    public static final List<WriterMode> DEFAULT_WRITER_MODES = List.of(WriterMode.JPA, WriterMode.UPSERT,
+            WriterMode.COPY);
+
+    /** p99コミット時間の上限（ミリ秒）の既定値 */
+    public static final long DEFAULT_MAX_COMMIT_P99_MILLIS = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(CalibrationService.class);
+
+    private static final String TABLE = NewTableMappings.NEW_CUSTOMERS.getTable();
+
+    private final DataSource dataSource;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConnectionBudget connectionBudget;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${batch.input.customer-file}")
+    private Resource customerInputResource;
+
+    @Value("${batch.calibration.output-file:./config/application-calibrated.yml}")
+    private String outputFile;
+
+    @Value("${batch.connection-budget.reserved:2}")
+    private int reservedConnections;
+
+    /**
+     * キャリブレーションを生成します。
+     *
+     * @param dataSource           新データベース用のDataSource
+     * @param entityManagerFactory 新データベース用のEntityManagerFactory
+     * @param transactionManager   新データベース用のトランザクションマネージャー
+     * @param connectionBudget     コネクション予算
+     */
+    public CalibrationService(@Qualifier("newDataSource") DataSource dataSource,
+            @Qualifier("newEntityManagerFactory") EntityManagerFactory entityManagerFactory,
+            @Qualifier("newTransactionManager") PlatformTransactionManager transactionManager,
+            ConnectionBudget connectionBudget) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.connectionBudget = connectionBudget;
+    }
+
+    /**
+     * キャリブレーションを実行し、推奨プロファイルを出力します。
+     *
+     * @param plan 試行する組み合わせ
+     * @return 試行結果と推奨設定
+     * @throws IllegalStateException 既にキャリブレーションが実行中の場合
+     * @throws IOException           試行データの読み込み、またはプロファイルの出力に失敗した場合
+     */
+    public CalibrationResult calibrate(Plan plan) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("キャリブレーションは既に実行中です");
+        }
+        String schema = "calibration_" + System.currentTimeMillis();
+        try {
+            List<OldCustomerDto> sample = readSample(plan.sampleSize());
+            logger.info("【キャリブレーション】試行データ {} 件、スキーマ {} で開始します", sample.size(), schema);
+            createSchema(schema);
+
+            // JITコンパイル・コネクション確立の影響を除くため、最初に小さな試行を行い結果は捨てる
+            runTrial(schema, sample.subList(0, Math.min(sample.size(), 1000)), plan.writerModes().get(0), 100, 1);
+
+            List<Trial> trials = new ArrayList<>();
+            for (WriterMode mode : plan.writerModes()) {
+                for (int chunkSize : plan.chunkSizes()) {
+                    for (int concurrency : plan.concurrency()) {
+                        if (concurrency > connectionBudget.getTotalPermits()) {
+                            logger.warn("【キャリブレーション】書き込みスレッド数 {} はコネクション予算（{}）を超えるため試行しません",
+                                    concurrency, connectionBudget.getTotalPermits());
+                            continue;
+                        }
+                        Trial trial = runTrial(schema, sample, mode, chunkSize, concurrency);
+                        logger.info("【キャリブレーション】{}", trial.describe());
+                        trials.add(trial);
+                    }
+                }
+            }
+
+            Trial recommended = recommend(trials, plan.maxCommitP99Millis());
+            Path profile = null;
+            if (recommended != null) {
+                profile = writeProfile(recommended, trials, sample.size(), plan.maxCommitP99Millis());
+                logger.info("【キャリブレーション】推奨: {}（{}）", recommended.describe(), profile);
+            } else {
+                logger.warn("【キャリブレーション】成功した試行がないため、プロファイルを出力しません");
+            }
+            return new CalibrationResult(schema, sample.size(), trials, recommended, profile);
+        } finally {
+            try {
+                jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+            } catch (RuntimeException e) {
+                logger.warn("【キャリブレーション】スキーマ {} の削除に失敗しました: {}", schema, e.getMessage());
+            }
+            running.set(false);
+        }
+    }
+
+    /**
+     * 顧客TSVファイルの先頭から試行データを読み込みます。
+     *
+     * <p>
+     * ファイルの件数が試行データの件数に満たない場合は、先頭から繰り返して使用します。
+     * 業務キーは試行時に振り直すため、重複しても問題ありません。
+     * </p>
+     */
+    private List<OldCustomerDto> readSample(int sampleSize) throws IOException {
+        OldCustomerMapper mapper = new OldCustomerMapper();
+        FlatFileItemReader<OldCustomerDto> reader = new FlatFileItemReaderBuilder<OldCustomerDto>()
+                .name("calibrationSampleReader")
+                .resource(customerInputResource)
+                .linesToSkip(1)
+                .delimited()
+                .delimiter("\t")
+                .names("customerCode", "customerName", "email", "phone", "address",
+                        "postalCode", "createdAt", "status", "genderCode")
+                .skippedLinesCallback(mapper)
+                .fieldSetMapper(mapper)
+                .saveState(false)
+                .build();
+        List<OldCustomerDto> rows = new ArrayList<>();
+        reader.open(new ExecutionContext());
+        try {
+            while (rows.size() < sampleSize) {
+                OldCustomerDto row;
+                try {
+                    row = reader.read();
+                } catch (FlatFileParseException e) {
+                    // 解析できない行は試行データに含めない
+                    continue;
+                }
+                if (row == null) {
+                    break;
+                }
+                rows.add(row);
+            }
+        } catch (Exception e) {
+            throw new IOException("試行データの読み込みに失敗しました: " + customerInputResource, e);
+        } finally {
+            reader.close();
+        }
+        if (rows.isEmpty()) {
+            throw new IOException("試行データがありません: " + customerInputResource);
+        }
+        int distinct = rows.size();
+        for (int i = distinct; i < sampleSize; i++) {
+            rows.add(rows.get(i % distinct));
+        }
+        return rows;
+    }
+
+    /**
+     * 使い捨てのスキーマに new_customers の複製を作成します。
+     *
+     * <p>
+     * 主キーの既定値（本番のシーケンス）は複製のスキーマのシーケンスに置き換え、本番の採番に影響しないようにします。
+     * </p>
+     */
+    private void createSchema(String schema) {
+        String source = jdbcTemplate.queryForObject("SELECT current_schema()", String.class) + "." + TABLE;
+        String table = schema + "." + TABLE;
+        jdbcTemplate.execute("CREATE SCHEMA " + schema);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE " + source + " INCLUDING ALL)");
+        jdbcTemplate.execute("CREATE SEQUENCE " + table + "_id_seq OWNED BY " + table + ".id");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + table + "_id_seq')");
+    }
+
+    /**
+     * 1つの組み合わせで試行データを書き込み、計測結果を返します。
+     */
+    private Trial runTrial(String schema, List<OldCustomerDto> sample, WriterMode mode, int chunkSize,
+            int concurrency) {
+        jdbcTemplate.execute("TRUNCATE " + schema + "." + TABLE + " RESTART IDENTITY");
+        ItemWriter<NewCustomer> writer = writer(mode);
+        List<Chunk<NewCustomer>> chunks = new ArrayList<>();
+        for (int from = 0; from < sample.size(); from += chunkSize) {
+            List<NewCustomer> items = new ArrayList<>();
+            for (int i = from; i < Math.min(from + chunkSize, sample.size()); i++) {
+                items.add(toEntity(sample.get(i), i));
+            }
+            chunks.add(new Chunk<>(items));
+        }
+        long[] commitNanos = new long[chunks.size()];
+        long[] transactionNanos = new long[chunks.size()];
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+                Thread.ofPlatform().daemon().name("calibration-", 1).factory());
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < chunks.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> writeChunk(schema, writer, chunks.get(index), index,
+                        commitNanos, transactionNanos)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = Objects.toString(e.getCause().getMessage(), e.getCause().getClass().getName());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "中断されました";
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Trial(mode, chunkSize, concurrency, sample.size(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                error == null ? (long) (sample.size() * 1_000_000_000.0 / Math.max(1L, elapsed)) : 0L,
+                p99Millis(commitNanos), p99Millis(transactionNanos), error);
+    }
+
+    private void writeChunk(String schema, ItemWriter<NewCustomer> writer, Chunk<NewCustomer> chunk, int index,
+            long[] commitNanos, long[] transactionNanos) {
+        long start = System.nanoTime();
+        long[] writeEnd = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            // チャンクのトランザクションのコネクションで、複製のスキーマのテーブルを参照させる
+            jdbcTemplate.execute("SET LOCAL search_path TO " + schema);
+            try {
+                writer.write(chunk);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            writeEnd[0] = System.nanoTime();
+        });
+        long end = System.nanoTime();
+        commitNanos[index] = end - writeEnd[0];
+        transactionNanos[index] = end - start;
+    }
+
+    private ItemWriter<NewCustomer> writer(WriterMode mode) {
+        return switch (mode) {
+            case JPA -> new JpaItemWriterBuilder<NewCustomer>()
+                    .entityManagerFactory(entityManagerFactory)
+                    .build();
+            case UPSERT -> new PgUpsertItemWriter<>(dataSource, NewTableMappings.NEW_CUSTOMERS);
+            case COPY -> new PgCopyItemWriter<>(dataSource, NewTableMappings.NEW_CUSTOMERS,
+                    PgCopyItemWriter.Format.BINARY);
+            default -> throw new IllegalArgumentException("キャリブレーションで試行できない書き込み方式です: " + mode);
+        };
+    }
+
+    /**
+     * 試行データを書き込み用のエンティティに変換します。業務キーは試行データ内で一意になるよう振り直します。
+     */
+    private static NewCustomer toEntity(OldCustomerDto row, int index) {
+        NewCustomer customer = new NewCustomer();
+        customer.setCustomerId(String.format("CAL%017d", index));
+        customer.setFullName(Objects.requireNonNullElse(row.getCustomerName(), ""));
+        customer.setEmailAddress(row.getEmail());
+        customer.setPhoneNumber(row.getPhone());
+        customer.setFullAddress(row.getAddress());
+        customer.setZipCode(row.getPostalCode());
+        customer.setRegistrationDate(row.getCreatedAt());
+        customer.setIsActive("ACTIVE".equalsIgnoreCase(row.getStatus()));
+        customer.setMigratedAt(LocalDateTime.now());
+        return customer;
+    }
+
+    private static long p99Millis(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.max(0, (int) Math.ceil(sorted.length * 0.99) - 1);
+        return sorted.length == 0 ? 0L : TimeUnit.NANOSECONDS.toMillis(sorted[index]);
+    }
+
+    /**
+     * p99コミット時間が上限以下の試行のうちスループットが最大のもの（該当がない場合は成功した試行のうち最大のもの）を返します。
+     */
+    private static Trial recommend(List<Trial> trials, long maxCommitP99Millis) {
+        Comparator<Trial> byThroughput = Comparator.comparingLong(Trial::rowsPerSecond);
+        return trials.stream()
+                .filter(trial -> trial.error() == null && trial.p99CommitMillis() <= maxCommitP99Millis)
+                .max(byThroughput)
+                .orElseGet(() -> trials.stream()
+                        .filter(trial -> trial.error() == null)
+                        .max(byThroughput)
+                        .orElse(null));
+    }
+
+    private Path writeProfile(Trial recommended, List<Trial> trials, int sampleSize, long maxCommitP99Millis)
+            throws IOException {
+        int writerPoolSize = recommended.concurrency();
+        int poolSize = 1 + (writerPoolSize > 1 ? writerPoolSize : 0) + reservedConnections;
+
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("# キャリブレーション（POST /api/batch/calibrate）で生成した推奨プロファイル\n");
+        yaml.append("# 生成日時: ").append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .append('\n');
+        yaml.append("# 試行データ: 顧客 ").append(sampleSize).append(" 件（").append(customerInputResource)
+                .append("）\n");
+        yaml.append("# 推奨: ").append(recommended.describe()).append('\n');
+        if (recommended.p99CommitMillis() > maxCommitP99Millis) {
+            yaml.append("# 注意: p99コミット時間が上限（").append(maxCommitP99Millis)
+                    .append(" ms）以下の試行がないため、スループットのみで選択しました\n");
+        }
+        yaml.append("# 書き込み方式はジョブパラメータで指定してください: writerMode=")
+                .append(recommended.writerMode().name().toLowerCase()).append('\n');
+        yaml.append("# 並列実行（parallel=true）の場合は、maximum-pool-size に同時に実行するステップ数分を加算してください\n");
+        yaml.append("batch:\n");
+        yaml.append("  chunk-size: ").append(recommended.chunkSize()).append('\n');
+        yaml.append("  writer-pool:\n");
+        yaml.append("    size: ").append(writerPoolSize).append('\n');
+        yaml.append("spring:\n");
+        yaml.append("  datasource:\n");
+        yaml.append("    hikari:\n");
+        yaml.append("      maximum-pool-size: ").append(poolSize).append('\n');
+        yaml.append("#\n# 試行結果\n");
+        trials.forEach(trial -> yaml.append("#   ").append(trial.describe()).append('\n'));
+
+        Path path = Path.of(outputFile).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, yaml, StandardCharsets.UTF_8);
+        return path;
+    }
+
+    /**
+     * 試行する組み合わせ。
+     *
+     * @param sampleSize         試行データの件数
+     * @param chunkSizes         試行するチャンクサイズ
+     * @param concurrency        試行する書き込みスレッド数
+     * @param writerModes        試行する書き込み方式（JPA / UPSERT / COPY）
+     * @param maxCommitP99Millis 推奨とするp99コミット時間の上限（ミリ秒）
+     */
+    public record Plan(int sampleSize, List<Integer> chunkSizes, List<Integer> concurrency,
+            List<WriterMode> writerModes, long maxCommitP99Millis) {
+
+        /**
+         * 組み合わせを検証します。
+         *
+         * @throws IllegalArgumentException 値が不正な場合
+         */
+        public Plan {
+            if (sampleSize < 1 || chunkSizes.isEmpty() || concurrency.isEmpty() || writerModes.isEmpty()
+                    || chunkSizes.stream().anyMatch(size -> size < 1)
+                    || concurrency.stream().anyMatch(threads -> threads < 1)) {
+                throw new IllegalArgumentException("キャリブレーションの試行条件が不正です");
+            }
+            if (writerModes.contains(WriterMode.STAGING)) {
+                throw new IllegalArgumentException("キャリブレーションでは writerMode=staging は試行できません");
+            }
+            chunkSizes = List.copyOf(chunkSizes);
+            concurrency = List.copyOf(concurrency);
+            writerModes = List.copyOf(writerModes);
+        }
+
+        /**
+         * リクエストパラメータから組み合わせを生成します（未指定の項目は既定値）。
+         *
+         * <p>
+         * sampleSize、chunkSizes（カンマ区切り）、concurrency（カンマ区切り）、
+         * writerModes（カンマ区切り）、maxCommitP99Millis を参照します。
+         * </p>
+         *
+         * @param params リクエストパラメータ（nullの場合はすべて既定値）
+         * @return 試行する組み合わせ
+         * @throws IllegalArgumentException 値が不正な場合
+         */
+        public static Plan of(Map<String, String> params) {
+            Map<String, String> values = params != null ? params : Map.of();
+            return new Plan(
+                    Integer.parseInt(values.getOrDefault("sampleSize", String.valueOf(DEFAULT_SAMPLE_SIZE)).trim()),
+                    list(values.get("chunkSizes"), Integer::valueOf, DEFAULT_CHUNK_SIZES),
+                    list(values.get("concurrency"), Integer::valueOf, DEFAULT_CONCURRENCY),
+                    list(values.get("writerModes"), WriterMode::of, DEFAULT_WRITER_MODES),
+                    Long.parseLong(values.getOrDefault("maxCommitP99Millis",
+                            String.valueOf(DEFAULT_MAX_COMMIT_P99_MILLIS)).trim()));
+        }
+
+        private static <T> List<T> list(String value, Function<String, T> parser, List<T> defaults) {
+            if (value == null || value.isBlank()) {
+                return defaults;
+            }
+            return Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .filter(token -> !token.isEmpty())
+                    .map(parser)
+                    .distinct()
+                    .toList();
+        }
+    }
+
+    /**
+     * 1つの組み合わせの試行結果。
+     *
+     * @param writerMode           書き込み方式
+     * @param chunkSize            チャンクサイズ
+     * @param concurrency          書き込みスレッド数
+     * @param rows                 書き込んだ件数
+     * @param elapsedMillis        経過時間（ミリ秒）
+     * @param rowsPerSecond        スループット（件/秒、失敗した場合は0）
+     * @param p99CommitMillis      p99コミット時間（ミリ秒）
+     * @param p99TransactionMillis p99トランザクション時間（ミリ秒）
+     * @param error                失敗した場合のエラーメッセージ（成功した場合はnull）
+     */
+    public record Trial(WriterMode writerMode, int chunkSize, int concurrency, int rows, long elapsedMillis,
+            long rowsPerSecond, long p99CommitMillis, long p99TransactionMillis, String error) {
+
+        /**
+         * @return ログ・プロファイルに出力する1行の説明
+         */
+        public String describe() {
+            String result = error == null
+                    ? String.format("%d 件/秒, p99コミット %d ms, p99トランザクション %d ms", rowsPerSecond,
+                            p99CommitMillis, p99TransactionMillis)
+                    : "失敗: " + error;
+            return String.format("writerMode=%s, chunkSize=%d, 書き込みスレッド数=%d: %s",
+                    writerMode.name().toLowerCase(), chunkSize, concurrency, result);
+        }
+    }
+
+    /**
+     * キャリブレーションの結果。
+     *
+     * @param schema      試行に使用したスキーマ（削除済み）
+     * @param sampleSize  試行データの件数
+     * @param trials      試行結果
+     * @param recommended 推奨する組み合わせ（成功した試行がない場合はnull）
+     * @param profile     出力したプロファイルのパス（出力しなかった場合はnull）
+     */
+    public record CalibrationResult(String schema, int sampleSize, List<Trial> trials, Trial recommended,
+            Path profile) {
+    }
+}
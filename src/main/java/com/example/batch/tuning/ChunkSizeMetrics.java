@@ -0,0 +1,108 @@
+package com.example.batch.tuning;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * チャンクサイズの調整とチャンクのトランザクション時間をMicrometerのメトリクスとして公開します。
+ *
+ * <p>
+ * 公開するメトリクス（いずれもタグ {@code step} にステップ名を設定）：
+ * </p>
+ * <ul>
+ * <li>{@code batch.chunk.size}: 現在のチャンクサイズ（ゲージ）</li>
+ * <li>{@code batch.chunk.size.adjustments}: チャンクサイズの調整回数（タグ {@code direction} = grow / shrink）</li>
+ * <li>{@code batch.chunk.transaction}: チャンクのトランザクション時間（読み込みからコミットまで）</li>
+ * <li>{@code batch.chunk.commit}: 書き込み完了からコミット完了までの時間</li>
+ * </ul>
+ *
+ * <p>
+ * ゲージは同じ名前・タグで一度しか登録できないため、ステップ名ごとの値をこのクラスで保持し、
+ * 同じステップの再実行やリスタートでも同じゲージを更新します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+@Component
+public class ChunkSizeMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /** ステップ名 → ゲージに公開する現在のチャンクサイズ */
+    private final Map<String, AtomicInteger> sizes = new ConcurrentHashMap<>();
+
+    /**
+     * メトリクスを生成します。
+     *
+     * @param meterRegistry メトリクスの登録先
+     */
+    public ChunkSizeMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 現在のチャンクサイズを記録します。
+     *
+     * @param stepName ステップ名
+     * @param size     チャンクサイズ
+     */
+    public void recordSize(String stepName, int size) {
+        sizes.computeIfAbsent(stepName, name -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder("batch.chunk.size", value, AtomicInteger::get)
+                    .description("現在のチャンクサイズ")
+                    .tag("step", name)
+                    .register(meterRegistry);
+            return value;
+        }).set(size);
+    }
+
+    /**
+     * チャンクサイズの調整を記録します。
+     *
+     * @param stepName ステップ名
+     * @param from     調整前のチャンクサイズ
+     * @param to       調整後のチャンクサイズ
+     */
+    public void recordAdjustment(String stepName, int from, int to) {
+        Counter.builder("batch.chunk.size.adjustments")
+                .description("チャンクサイズの調整回数")
+                .tag("step", stepName)
+                .tag("direction", to > from ? "grow" : "shrink")
+                .register(meterRegistry)
+                .increment();
+        recordSize(stepName, to);
+    }
+
+    /**
+     * チャンクのトランザクション時間を記録します。
+     *
+     * @param stepName    ステップ名
+     * @param totalNanos  読み込みからコミットまでの時間（ナノ秒）
+     * @param commitNanos 書き込み完了からコミット完了までの時間（ナノ秒、不明な場合は負の値）
+     */
+    public void recordTransaction(String stepName, long totalNanos, long commitNanos) {
+        Timer.builder("batch.chunk.transaction")
+                .description("チャンクのトランザクション時間")
+                .tag("step", stepName)
+                .register(meterRegistry)
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+        if (commitNanos >= 0) {
+            Timer.builder("batch.chunk.commit")
+                    .description("チャンクのコミット時間")
+                    .tag("step", stepName)
+                    .register(meterRegistry)
+                    .record(commitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -5,10 +5,6 @@ import org.springframework.batch.item.validator.ValidationException;
 import org.springframework.batch.item.validator.Validator;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
-
 /**
  * 会社データのバリデーションを行うクラス。
  *
@@ -24,23 +20,23 @@ import java.util.regex.Pattern;
  *   <li>資本金の妥当性チェック（正の数）</li>
  * </ul>
  *
+ * <p>形式は{@link FieldFormats}で正規表現を使わずに判定し、正常な場合はオブジェクトを生成しません。
+ * エラーメッセージはエラーがあった場合にのみ組み立てます（{@link CustomerValidator}と同じ方式）。</p>
+ *
  * @author Spring Batch Data Migration Team
  * @version 1.0.0
  */
 @Component
 public class CompanyValidator implements Validator<OldCompanyDto> {
 
-    // メールアドレスの正規表現パターン
-    private static final Pattern EMAIL_PATTERN =
-        Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-
-    // 電話番号の正規表現パターン（日本の形式）
-    private static final Pattern PHONE_PATTERN =
-        Pattern.compile("^(0\\d{1,4}-\\d{1,4}-\\d{4}|0\\d{9,10})$");
-
-    // 郵便番号の正規表現パターン（日本の形式）
-    private static final Pattern ZIP_PATTERN =
-        Pattern.compile("^\\d{3}-\\d{4}$");
+    private static final int COMPANY_CODE_REQUIRED = 1;
+    private static final int COMPANY_NAME_REQUIRED = 1 << 1;
+    private static final int INVALID_EMAIL = 1 << 2;
+    private static final int INVALID_PHONE = 1 << 3;
+    private static final int INVALID_POSTAL_CODE = 1 << 4;
+    private static final int INVALID_INDUSTRY_TYPE = 1 << 5;
+    private static final int INVALID_EMPLOYEE_COUNT = 1 << 6;
+    private static final int INVALID_CAPITAL = 1 << 7;
 
     /**
      * 会社データのバリデーションを実行します。
@@ -50,59 +46,99 @@ public class CompanyValidator implements Validator<OldCompanyDto> {
      */
     @Override
     public void validate(OldCompanyDto company) throws ValidationException {
-        List<String> errors = new ArrayList<>();
+        int errors = 0;
 
         // 必須項目チェック
-        if (company.getCompanyCode() == null || company.getCompanyCode().trim().isEmpty()) {
-            errors.add("会社コードは必須です");
+        if (FieldFormats.isBlank(company.getCompanyCode())) {
+            errors |= COMPANY_CODE_REQUIRED;
         }
 
-        if (company.getCompanyName() == null || company.getCompanyName().trim().isEmpty()) {
-            errors.add("会社名は必須です");
+        if (FieldFormats.isBlank(company.getCompanyName())) {
+            errors |= COMPANY_NAME_REQUIRED;
         }
 
         // メールアドレス形式チェック
-        if (company.getEmail() != null && !company.getEmail().isEmpty()) {
-            if (!EMAIL_PATTERN.matcher(company.getEmail()).matches()) {
-                errors.add("メールアドレスの形式が不正です: " + company.getEmail());
-            }
+        String email = company.getEmail();
+        if (email != null && !email.isEmpty() && !FieldFormats.isEmail(email)) {
+            errors |= INVALID_EMAIL;
         }
 
         // 電話番号形式チェック
-        if (company.getPhone() != null && !company.getPhone().isEmpty()) {
-            if (!PHONE_PATTERN.matcher(company.getPhone()).matches()) {
-                errors.add("電話番号の形式が不正です: " + company.getPhone());
-            }
+        String phone = company.getPhone();
+        if (phone != null && !phone.isEmpty() && !FieldFormats.isPhone(phone)) {
+            errors |= INVALID_PHONE;
         }
 
         // 郵便番号形式チェック
-        if (company.getPostalCode() != null && !company.getPostalCode().isEmpty()) {
-            if (!ZIP_PATTERN.matcher(company.getPostalCode()).matches()) {
-                errors.add("郵便番号の形式が不正です: " + company.getPostalCode());
-            }
+        String postalCode = company.getPostalCode();
+        if (postalCode != null && !postalCode.isEmpty() && !FieldFormats.isPostalCode(postalCode)) {
+            errors |= INVALID_POSTAL_CODE;
         }
 
         // 業種コード範囲チェック
-        if (company.getIndustryType() != null) {
-            if (company.getIndustryType() < 1 || company.getIndustryType() > 11) {
-                errors.add("業種コードは1-11の範囲である必要があります: " + company.getIndustryType());
-            }
+        Integer industryType = company.getIndustryType();
+        if (industryType != null && (industryType < 1 || industryType > 11)) {
+            errors |= INVALID_INDUSTRY_TYPE;
         }
 
         // 従業員数の妥当性チェック
         if (company.getEmployeeCount() != null && company.getEmployeeCount() < 0) {
-            errors.add("従業員数は0以上である必要があります: " + company.getEmployeeCount());
+            errors |= INVALID_EMPLOYEE_COUNT;
         }
 
         // 資本金の妥当性チェック
         if (company.getCapital() != null && company.getCapital() < 0) {
-            errors.add("資本金は0以上である必要があります: " + company.getCapital());
+            errors |= INVALID_CAPITAL;
         }
 
         // エラーがある場合は例外をスロー
-        if (!errors.isEmpty()) {
-            throw new ValidationException("会社データバリデーションエラー [" +
-                company.getCompanyCode() + "]: " + String.join(", ", errors));
+        if (errors != 0) {
+            throw new ValidationException(buildMessage(company, errors));
+        }
+    }
+
+    /**
+     * エラーメッセージを組み立てます（エラーがあった場合のみ呼ばれる）。
+     *
+     * @param company 会社データ
+     * @param errors  エラーのビット
+     * @return エラーメッセージ
+     */
+    private static String buildMessage(OldCompanyDto company, int errors) {
+        StringBuilder message = new StringBuilder("会社データバリデーションエラー [")
+            .append(company.getCompanyCode()).append("]: ");
+        int start = message.length();
+        if ((errors & COMPANY_CODE_REQUIRED) != 0) {
+            append(message, start, "会社コードは必須です");
+        }
+        if ((errors & COMPANY_NAME_REQUIRED) != 0) {
+            append(message, start, "会社名は必須です");
+        }
+        if ((errors & INVALID_EMAIL) != 0) {
+            append(message, start, "メールアドレスの形式が不正です: ").append(company.getEmail());
+        }
+        if ((errors & INVALID_PHONE) != 0) {
+            append(message, start, "電話番号の形式が不正です: ").append(company.getPhone());
+        }
+        if ((errors & INVALID_POSTAL_CODE) != 0) {
+            append(message, start, "郵便番号の形式が不正です: ").append(company.getPostalCode());
+        }
+        if ((errors & INVALID_INDUSTRY_TYPE) != 0) {
+            append(message, start, "業種コードは1-11の範囲である必要があります: ").append(company.getIndustryType());
+        }
+        if ((errors & INVALID_EMPLOYEE_COUNT) != 0) {
+            append(message, start, "従業員数は0以上である必要があります: ").append(company.getEmployeeCount());
+        }
+        if ((errors & INVALID_CAPITAL) != 0) {
+            append(message, start, "資本金は0以上である必要があります: ").append(company.getCapital());
+        }
+        return message.toString();
+    }
+
+    private static StringBuilder append(StringBuilder message, int start, String error) {
+        if (message.length() > start) {
+            message.append(", ");
         }
+        return message.append(error);
     }
 }
@@ -5,10 +5,6 @@ import org.springframework.batch.item.validator.ValidationException;
 import org.springframework.batch.item.validator.Validator;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
-
 /**
  * 顧客データのバリデーションを行うクラス。
  *
@@ -22,23 +18,22 @@ import java.util.regex.Pattern;
  *   <li>性別コード範囲チェック（1または2）</li>
  * </ul>
  *
+ * <p>ほとんどの行は正常なため、形式は{@link FieldFormats}で正規表現を使わずに判定し、
+ * 正常な場合はオブジェクトを生成しません。エラーはビットで記録し、
+ * エラーがあった場合にのみメッセージを組み立てます。</p>
+ *
  * @author Spring Batch Data Migration Team
  * @version 1.0.0
  */
 @Component
 public class CustomerValidator implements Validator<OldCustomerDto> {
 
-    // メールアドレスの正規表現パターン
-    private static final Pattern EMAIL_PATTERN =
-        Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-
-    // 電話番号の正規表現パターン（日本の形式）
-    private static final Pattern PHONE_PATTERN =
-        Pattern.compile("^(0\\d{1,4}-\\d{1,4}-\\d{4}|0\\d{9,10})$");
-
-    // 郵便番号の正規表現パターン（日本の形式）
-    private static final Pattern ZIP_PATTERN =
-        Pattern.compile("^\\d{3}-\\d{4}$");
+    private static final int CUSTOMER_CODE_REQUIRED = 1;
+    private static final int CUSTOMER_NAME_REQUIRED = 1 << 1;
+    private static final int INVALID_EMAIL = 1 << 2;
+    private static final int INVALID_PHONE = 1 << 3;
+    private static final int INVALID_POSTAL_CODE = 1 << 4;
+    private static final int INVALID_GENDER_CODE = 1 << 5;
 
     /**
      * 顧客データのバリデーションを実行します。
@@ -48,49 +43,84 @@ public class CustomerValidator implements Validator<OldCustomerDto> {
      */
     @Override
     public void validate(OldCustomerDto customer) throws ValidationException {
-        List<String> errors = new ArrayList<>();
+        int errors = 0;
 
         // 必須項目チェック
-        if (customer.getCustomerCode() == null || customer.getCustomerCode().trim().isEmpty()) {
-            errors.add("顧客コードは必須です");
+        if (FieldFormats.isBlank(customer.getCustomerCode())) {
+            errors |= CUSTOMER_CODE_REQUIRED;
         }
 
-        if (customer.getCustomerName() == null || customer.getCustomerName().trim().isEmpty()) {
-            errors.add("顧客名は必須です");
+        if (FieldFormats.isBlank(customer.getCustomerName())) {
+            errors |= CUSTOMER_NAME_REQUIRED;
         }
 
         // メールアドレス形式チェック
-        if (customer.getEmail() != null && !customer.getEmail().isEmpty()) {
-            if (!EMAIL_PATTERN.matcher(customer.getEmail()).matches()) {
-                errors.add("メールアドレスの形式が不正です: " + customer.getEmail());
-            }
+        String email = customer.getEmail();
+        if (email != null && !email.isEmpty() && !FieldFormats.isEmail(email)) {
+            errors |= INVALID_EMAIL;
         }
 
         // 電話番号形式チェック
-        if (customer.getPhone() != null && !customer.getPhone().isEmpty()) {
-            if (!PHONE_PATTERN.matcher(customer.getPhone()).matches()) {
-                errors.add("電話番号の形式が不正です: " + customer.getPhone());
-            }
+        String phone = customer.getPhone();
+        if (phone != null && !phone.isEmpty() && !FieldFormats.isPhone(phone)) {
+            errors |= INVALID_PHONE;
         }
 
         // 郵便番号形式チェック
-        if (customer.getPostalCode() != null && !customer.getPostalCode().isEmpty()) {
-            if (!ZIP_PATTERN.matcher(customer.getPostalCode()).matches()) {
-                errors.add("郵便番号の形式が不正です: " + customer.getPostalCode());
-            }
+        String postalCode = customer.getPostalCode();
+        if (postalCode != null && !postalCode.isEmpty() && !FieldFormats.isPostalCode(postalCode)) {
+            errors |= INVALID_POSTAL_CODE;
         }
 
         // 性別コード範囲チェック
-        if (customer.getGenderCode() != null) {
-            if (customer.getGenderCode() < 1 || customer.getGenderCode() > 2) {
-                errors.add("性別コードは1（男性）または2（女性）である必要があります: " + customer.getGenderCode());
-            }
+        Integer genderCode = customer.getGenderCode();
+        if (genderCode != null && (genderCode < 1 || genderCode > 2)) {
+            errors |= INVALID_GENDER_CODE;
         }
 
         // エラーがある場合は例外をスロー
-        if (!errors.isEmpty()) {
-            throw new ValidationException("顧客データバリデーションエラー [" +
-                customer.getCustomerCode() + "]: " + String.join(", ", errors));
+        if (errors != 0) {
+            throw new ValidationException(buildMessage(customer, errors));
+        }
+    }
+
+    /**
+     * エラーメッセージを組み立てます（エラーがあった場合のみ呼ばれる）。
+     *
+     * @param customer 顧客データ
+     * @param errors   エラーのビット
+     * @return エラーメッセージ
+     */
+    private static String buildMessage(OldCustomerDto customer, int errors) {
+        StringBuilder message = new StringBuilder("顧客データバリデーションエラー [")
+            .append(customer.getCustomerCode()).append("]: ");
+        int start = message.length();
+        if ((errors & CUSTOMER_CODE_REQUIRED) != 0) {
+            append(message, start, "顧客コードは必須です");
+        }
+        if ((errors & CUSTOMER_NAME_REQUIRED) != 0) {
+            append(message, start, "顧客名は必須です");
+        }
+        if ((errors & INVALID_EMAIL) != 0) {
+            append(message, start, "メールアドレスの形式が不正です: ").append(customer.getEmail());
+        }
+        if ((errors & INVALID_PHONE) != 0) {
+            append(message, start, "電話番号の形式が不正です: ").append(customer.getPhone());
+        }
+        if ((errors & INVALID_POSTAL_CODE) != 0) {
+            append(message, start, "郵便番号の形式が不正です: ").append(customer.getPostalCode());
+        }
+        if ((errors & INVALID_GENDER_CODE) != 0) {
+            append(message, start, "性別コードは1（男性）または2（女性）である必要があります: ")
+                .append(customer.getGenderCode());
+        }
+        return message.toString();
+    }
+
+    private static StringBuilder append(StringBuilder message, int start, String error) {
+        if (message.length() > start) {
+            message.append(", ");
         }
+        return message.append(error);
     }
 }
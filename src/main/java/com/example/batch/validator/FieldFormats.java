@@ -0,0 +1,144 @@
+package com.example.batch.validator;
+
+/**
+ * 項目の形式を判定する、正規表現を使わないスキャナ。
+ *
+ * <p>
+ * バリデーションは1件ごとに実行され、ほとんどの行は正常です。
+ * {@link java.util.regex.Matcher}は判定のたびに生成され、バックトラックも行うため、
+ * 各形式を1文字ずつの走査（状態遷移）で判定し、オブジェクトを生成しません。
+ * 判定結果は以下の正規表現の{@code matches()}と一致します（{@code \d}はASCIIの数字のみ）：
+ * </p>
+ * <ul>
+ * <li>メールアドレス: {@code [A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}}</li>
+ * <li>電話番号: {@code 0\d{1,4}-\d{1,4}-\d{4}|0\d{9,10}}</li>
+ * <li>郵便番号: {@code \d{3}-\d{4}}</li>
+ * </ul>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public final class FieldFormats {
+
+    private FieldFormats() {
+    }
+
+    /**
+     * @param value 判定する値
+     * @return nullまたは空白文字（{@link String#trim()}で除去される文字）のみの場合true
+     */
+    public static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * メールアドレスの形式かどうかを判定します。
+     *
+     * <p>
+     * ドメイン部も{@code .}を含むため、正規表現の{@code \.[A-Za-z]{2,}}に当たるのは最後の{@code .}以降のみです
+     * （それより前の{@code .}で区切ると、残りに{@code .}が含まれ英字のみになりません）。
+     * </p>
+     *
+     * @param value 判定する値
+     * @return メールアドレスの形式の場合true
+     */
+    public static boolean isEmail(String value) {
+        int length = value.length();
+        int i = 0;
+        // ローカル部: [A-Za-z0-9+_.-]+
+        while (i < length && isLocalChar(value.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i >= length || value.charAt(i) != '@') {
+            return false;
+        }
+        int domainStart = ++i;
+        // ドメイン部: [A-Za-z0-9.-]+ と最後の . の位置
+        int lastDot = -1;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isAlphanumeric(c) && c != '-') {
+                return false;
+            }
+        }
+        // 最後の . の前に1文字以上、後ろに英字が2文字以上
+        if (lastDot <= domainStart || length - lastDot - 1 < 2) {
+            return false;
+        }
+        for (i = lastDot + 1; i < length; i++) {
+            if (!isLetter(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 日本の電話番号の形式（ハイフン区切り、またはハイフンなしの10〜11桁）かどうかを判定します。
+     *
+     * @param value 判定する値
+     * @return 電話番号の形式の場合true
+     */
+    public static boolean isPhone(String value) {
+        int length = value.length();
+        if (length == 0 || value.charAt(0) != '0') {
+            return false;
+        }
+        int firstHyphen = value.indexOf('-');
+        if (firstHyphen < 0) {
+            // 0\d{9,10}
+            return (length == 10 || length == 11) && isDigits(value, 1, length);
+        }
+        // 0\d{1,4}-\d{1,4}-\d{4}
+        int secondHyphen = value.indexOf('-', firstHyphen + 1);
+        return firstHyphen >= 2 && firstHyphen <= 5 && isDigits(value, 1, firstHyphen)
+                && secondHyphen - firstHyphen - 1 >= 1 && secondHyphen - firstHyphen - 1 <= 4
+                && isDigits(value, firstHyphen + 1, secondHyphen)
+                && length - secondHyphen - 1 == 4 && isDigits(value, secondHyphen + 1, length);
+    }
+
+    /**
+     * 日本の郵便番号の形式（3桁-4桁）かどうかを判定します。
+     *
+     * @param value 判定する値
+     * @return 郵便番号の形式の場合true
+     */
+    public static boolean isPostalCode(String value) {
+        return value.length() == 8 && value.charAt(3) == '-' && isDigits(value, 0, 3) && isDigits(value, 4, 8);
+    }
+
+    private static boolean isDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isAlphanumeric(c) || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isLetter(c) || isDigit(c);
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
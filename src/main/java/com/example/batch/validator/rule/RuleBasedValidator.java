@@ -0,0 +1,69 @@
+package com.example.batch.validator.rule;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.batch.item.validator.Validator;
+
+/**
+ * 設定で宣言したルール（{@link ValidationRuleCompiler}で変換済み）でデータを判定するバリデータ。
+ *
+ * <p>
+ * ルールは配列に保持して宣言順にすべて判定し、エラーメッセージは不合格のルールがあった場合にのみ組み立てます
+ * （正常なデータではオブジェクトを生成しません）。メッセージの形式は{@code CustomerValidator}・
+ * {@code CompanyValidator}と同じです。
+ * </p>
+ *
+ * @param <T> 判定するデータの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class RuleBasedValidator<T> implements Validator<T> {
+
+    private final String label;
+
+    private final Function<T, ?> key;
+
+    private final ValidationRule<T>[] rules;
+
+    /**
+     * バリデータを生成します。
+     *
+     * @param label エラーメッセージの対象名（例: 顧客データ）
+     * @param key   エラーメッセージに出力するキー（例: 顧客コード）
+     * @param rules 判定するルール（宣言順）
+     */
+    @SuppressWarnings("unchecked")
+    public RuleBasedValidator(String label, Function<T, ?> key, List<ValidationRule<T>> rules) {
+        this.label = label;
+        this.key = key;
+        this.rules = rules.toArray((ValidationRule<T>[]) new ValidationRule<?>[rules.size()]);
+    }
+
+    @Override
+    public void validate(T item) throws ValidationException {
+        StringBuilder message = null;
+        for (ValidationRule<T> rule : rules) {
+            if (rule.test(item)) {
+                continue;
+            }
+            if (message == null) {
+                message = new StringBuilder(label).append("バリデーションエラー [").append(key.apply(item)).append("]: ");
+            } else {
+                message.append(", ");
+            }
+            rule.appendMessage(message, item);
+        }
+        if (message != null) {
+            throw new ValidationException(message.toString());
+        }
+    }
+
+    /**
+     * @return 判定するルール（宣言順）
+     */
+    public List<ValidationRule<T>> getRules() {
+        return List.of(rules);
+    }
+}
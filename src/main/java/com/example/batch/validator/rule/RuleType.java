@@ -0,0 +1,57 @@
+package com.example.batch.validator.rule;
+
+/**
+ * 設定で宣言するバリデーションルールの種類（{@code batch.validation.rules.*[].type}）。
+ *
+ * <p>
+ * {@link #REQUIRED}以外のルールは、値がnull（文字列の場合は空文字）の場合は判定しません。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public enum RuleType {
+
+    /** 必須（null・空白のみの文字列は不可） */
+    REQUIRED,
+
+    /** 文字列の長さ（{@code min}〜{@code max}文字） */
+    LENGTH,
+
+    /** 正規表現（{@code pattern}、文字列全体が一致すること） */
+    PATTERN,
+
+    /** 組み込みの形式（{@code format} = email / phone / postal-code） */
+    FORMAT,
+
+    /** 数値の範囲（{@code min}〜{@code max}） */
+    RANGE,
+
+    /** 列挙した値のいずれか（{@code values}） */
+    ENUM;
+
+    /**
+     * 設定の値からルールの種類を解決します。
+     *
+     * @param value 設定の値（大文字・小文字、ハイフン・アンダースコアは区別しない）
+     * @return ルールの種類
+     * @throws IllegalArgumentException 未定義の値が指定された場合
+     */
+    public static RuleType of(String value) {
+        if (value != null) {
+            for (RuleType type : values()) {
+                if (type.name().equalsIgnoreCase(value.trim().replace('-', '_'))) {
+                    return type;
+                }
+            }
+        }
+        throw new IllegalArgumentException("バリデーションルールの種類が不正です: " + value);
+    }
+
+    /**
+     * @return メトリクスのタグの値
+     */
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.batch.validator.rule;
+
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * 設定から生成した1つのバリデーションルール。
+ *
+ * <p>
+ * 項目の値は起動時に生成した関数（{@link ValidationRuleCompiler}）で取得し、判定は
+ * ルールの種類ごとのサブクラスが行います。不合格の場合のみ、ルールごとのカウンターを加算します。
+ * </p>
+ *
+ * @param <T> 判定するデータの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public abstract class ValidationRule<T> {
+
+    private final String field;
+
+    private final RuleType type;
+
+    private final String message;
+
+    private final Function<T, Object> accessor;
+
+    private final Counter failures;
+
+    ValidationRule(String field, RuleType type, String message, Function<T, Object> accessor, Counter failures) {
+        this.field = field;
+        this.type = type;
+        this.message = message;
+        this.accessor = accessor;
+        this.failures = failures;
+    }
+
+    /**
+     * データを判定します。
+     *
+     * @param item 判定するデータ
+     * @return 合格の場合true
+     */
+    public final boolean test(T item) {
+        if (accepts(accessor.apply(item))) {
+            return true;
+        }
+        failures.increment();
+        return false;
+    }
+
+    /**
+     * 不合格の理由をメッセージに追加します（不合格の場合のみ呼ばれる）。
+     *
+     * @param target 追加先
+     * @param item   不合格のデータ
+     */
+    public void appendMessage(StringBuilder target, T item) {
+        target.append(message);
+        if (type != RuleType.REQUIRED) {
+            target.append(": ").append(accessor.apply(item));
+        }
+    }
+
+    /**
+     * @return 対象の項目
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * @return ルールの種類
+     */
+    public RuleType getType() {
+        return type;
+    }
+
+    /**
+     * @return これまでの不合格件数
+     */
+    public long getFailureCount() {
+        return (long) failures.count();
+    }
+
+    /**
+     * 項目の値を判定します。
+     *
+     * @param value 項目の値（null の場合もある）
+     * @return 合格の場合true
+     */
+    protected abstract boolean accepts(Object value);
+}
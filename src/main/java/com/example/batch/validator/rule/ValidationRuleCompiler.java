@@ -0,0 +1,360 @@
+package com.example.batch.validator.rule;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.springframework.beans.BeanUtils;
+
+import com.example.batch.metrics.BatchMetrics;
+import com.example.batch.validator.FieldFormats;
+import com.example.batch.validator.rule.ValidationRuleProperties.RuleDefinition;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * 設定で宣言したバリデーションルールを、判定用のオブジェクトに変換します。
+ *
+ * <p>
+ * 変換は起動時に1回だけ行い、1件ごとの判定ではリフレクションを使用しません：
+ * </p>
+ * <ul>
+ * <li>項目のgetterは{@link LambdaMetafactory}でラムダ（通常のクラス）に変換し、メソッド参照と同じ速度で呼び出します</li>
+ * <li>ルールは種類と項目の型ごとの専用クラスに変換し、設定値（範囲・列挙値・正規表現）も変換済みの形で保持します</li>
+ * <li>形式（format）は{@link FieldFormats}のスキャナを使用します（pattern は{@link Pattern}で判定するため、1件ごとにMatcherを生成します）</li>
+ * </ul>
+ *
+ * <p>
+ * 項目が存在しない、ルールの種類と項目の型が合わない、必要な設定値がない場合は、
+ * 起動時に{@link IllegalArgumentException}で失敗します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public final class ValidationRuleCompiler {
+
+    private static final Set<Class<?>> INTEGRAL_TYPES = Set.of(Integer.class, Long.class, Short.class, Byte.class);
+
+    private ValidationRuleCompiler() {
+    }
+
+    /**
+     * ルールの定義を判定用のオブジェクトに変換します。
+     *
+     * @param <T>         判定するデータの型
+     * @param type        判定するデータのクラス
+     * @param target      対象のデータの名前（customer / company、メトリクスのタグに使用）
+     * @param definitions ルールの定義（宣言順）
+     * @param metrics     ルールごとの不合格件数の登録先
+     * @return 判定用のルール（宣言順）
+     * @throws IllegalArgumentException ルールの定義が不正な場合
+     */
+    public static <T> List<ValidationRule<T>> compile(Class<T> type, String target, List<RuleDefinition> definitions,
+            BatchMetrics metrics) {
+        List<ValidationRule<T>> rules = new ArrayList<>(definitions.size());
+        for (int i = 0; i < definitions.size(); i++) {
+            RuleDefinition definition = definitions.get(i);
+            try {
+                rules.add(compile(type, target, definition, metrics));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("batch.validation.rules.%s[%d]（%s）: %s",
+                        target, i, definition.getField(), e.getMessage()), e);
+            }
+        }
+        return rules;
+    }
+
+    private static <T> ValidationRule<T> compile(Class<T> type, String target, RuleDefinition definition,
+            BatchMetrics metrics) {
+        RuleType ruleType = RuleType.of(definition.getType());
+        String field = definition.getField();
+        Method getter = getter(type, field);
+        Class<?> valueType = MethodType.methodType(getter.getReturnType()).wrap().returnType();
+        Function<T, Object> accessor = accessor(type, getter);
+        String message = definition.getMessage() != null ? definition.getMessage()
+                : field + " が不正です（" + ruleType.tagValue() + "）";
+        Counter failures = metrics.validationFailureCounter(target, field, ruleType.tagValue());
+
+        return switch (ruleType) {
+            case REQUIRED -> valueType == String.class
+                    ? new RequiredText<>(field, message, accessor, failures)
+                    : new RequiredValue<>(field, message, accessor, failures);
+            case LENGTH -> {
+                requireType(valueType, String.class);
+                if (definition.getMin() == null && definition.getMax() == null) {
+                    throw new IllegalArgumentException("length には min または max を指定してください");
+                }
+                yield new Length<>(field, message, accessor, failures,
+                        definition.getMin() != null ? definition.getMin() : 0L,
+                        definition.getMax() != null ? definition.getMax() : Long.MAX_VALUE);
+            }
+            case PATTERN -> {
+                requireType(valueType, String.class);
+                if (definition.getPattern() == null) {
+                    throw new IllegalArgumentException("pattern には pattern を指定してください");
+                }
+                try {
+                    yield new Matches<>(field, message, accessor, failures, Pattern.compile(definition.getPattern()));
+                } catch (PatternSyntaxException e) {
+                    throw new IllegalArgumentException("正規表現が不正です: " + e.getMessage(), e);
+                }
+            }
+            case FORMAT -> {
+                requireType(valueType, String.class);
+                yield new Format<>(field, message, accessor, failures, format(definition.getFormat()));
+            }
+            case RANGE -> {
+                requireIntegral(valueType);
+                if (definition.getMin() == null && definition.getMax() == null) {
+                    throw new IllegalArgumentException("range には min または max を指定してください");
+                }
+                yield new Range<>(field, message, accessor, failures,
+                        definition.getMin() != null ? definition.getMin() : Long.MIN_VALUE,
+                        definition.getMax() != null ? definition.getMax() : Long.MAX_VALUE);
+            }
+            case ENUM -> {
+                if (definition.getValues().isEmpty()) {
+                    throw new IllegalArgumentException("enum には values を指定してください");
+                }
+                if (valueType == String.class) {
+                    yield new TextEnum<>(field, message, accessor, failures,
+                            definition.getValues().toArray(new String[0]));
+                }
+                requireIntegral(valueType);
+                long[] values = new long[definition.getValues().size()];
+                for (int i = 0; i < values.length; i++) {
+                    try {
+                        values[i] = Long.parseLong(definition.getValues().get(i).trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("values に数値以外が含まれています: " + definition.getValues());
+                    }
+                }
+                yield new IntegralEnum<>(field, message, accessor, failures, values);
+            }
+        };
+    }
+
+    private static Method getter(Class<?> type, String field) {
+        PropertyDescriptor descriptor = field != null ? BeanUtils.getPropertyDescriptor(type, field) : null;
+        if (descriptor == null || descriptor.getReadMethod() == null) {
+            throw new IllegalArgumentException(type.getSimpleName() + " に項目がありません: " + field);
+        }
+        return descriptor.getReadMethod();
+    }
+
+    /**
+     * getterを呼び出すラムダを生成します（{@code OldCustomerDto::getEmail} と同じ形のクラスになる）。
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Function<T, Object> accessor(Class<T> type, Method getter) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(getter);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(getter.getReturnType(), type).wrap());
+            return (Function<T, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("項目の取得関数を生成できません: " + getter, e);
+        }
+    }
+
+    private static Predicate<String> format(String format) {
+        if (format == null) {
+            throw new IllegalArgumentException("format には format（email / phone / postal-code）を指定してください");
+        }
+        return switch (format.trim().toLowerCase().replace('_', '-')) {
+            case "email" -> FieldFormats::isEmail;
+            case "phone" -> FieldFormats::isPhone;
+            case "postal-code" -> FieldFormats::isPostalCode;
+            default -> throw new IllegalArgumentException("format が不正です: " + format);
+        };
+    }
+
+    private static void requireType(Class<?> valueType, Class<?> expected) {
+        if (valueType != expected) {
+            throw new IllegalArgumentException(
+                    "項目の型が " + valueType.getSimpleName() + " のため使用できません（" + expected.getSimpleName() + " のみ）");
+        }
+    }
+
+    private static void requireIntegral(Class<?> valueType) {
+        if (!INTEGRAL_TYPES.contains(valueType)) {
+            throw new IllegalArgumentException("項目の型が " + valueType.getSimpleName() + " のため使用できません（整数のみ）");
+        }
+    }
+
+    // ========== ルールの種類・項目の型ごとの判定 ==========
+
+    /** 必須（文字列）: null・空白のみは不可 */
+    private static final class RequiredText<T> extends ValidationRule<T> {
+
+        RequiredText(String field, String message, Function<T, Object> accessor, Counter failures) {
+            super(field, RuleType.REQUIRED, message, accessor, failures);
+        }
+
+        @Override
+        protected boolean accepts(Object value) {
+            return !FieldFormats.isBlank((String) value);
+        }
+    }
+
+    /** 必須（文字列以外）: nullは不可 */
+    private static final class RequiredValue<T> extends ValidationRule<T> {
+
+        RequiredValue(String field, String message, Function<T, Object> accessor, Counter failures) {
+            super(field, RuleType.REQUIRED, message, accessor, failures);
+        }
+
+        @Override
+        protected boolean accepts(Object value) {
+            return value != null;
+        }
+    }
+
+    /** 文字列の長さ（コードポイント数） */
+    private static final class Length<T> extends ValidationRule<T> {
+
+        private final long min;
+
+        private final long max;
+
+        Length(String field, String message, Function<T, Object> accessor, Counter failures, long min, long max) {
+            super(field, RuleType.LENGTH, message, accessor, failures);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        protected boolean accepts(Object value) {
+            String text = (String) value;
+            if (text == null || text.isEmpty()) {
+                return true;
+            }
+            int length = text.codePointCount(0, text.length());
+            return length >= min && length <= max;
+        }
+    }
+
+    /** 正規表現（文字列全体が一致すること） */
+    private static final class Matches<T> extends ValidationRule<T> {
+
+        private final Pattern pattern;
+
+        Matches(String field, String message, Function<T, Object> accessor, Counter failures, Pattern pattern) {
+            super(field, RuleType.PATTERN, message, accessor, failures);
+            this.pattern = pattern;
+        }
+
+        @Override
+        protected boolean accepts(Object value) {
+            String text = (String) value;
+            return text == null || text.isEmpty() || pattern.matcher(text).matches();
+        }
+    }
+
+    /** 組み込みの形式 */
+    private static final class Format<T> extends ValidationRule<T> {
+
+        private final Predicate<String> format;
+
+        Format(String field, String message, Function<T, Object> accessor, Counter failures,
+                Predicate<String> format) {
+            super(field, RuleType.FORMAT, message, accessor, failures);
+            this.format = format;
+        }
+
+        @Override
+        protected boolean accepts(Object value) {
+            String text = (String) value;
+            return text == null || text.isEmpty() || format.test(text);
+        }
+    }
+
+    /** 整数の範囲 */
+    private static final class Range<T> extends ValidationRule<T> {
+
+        private final long min;
+
+        private final long max;
+
+        Range(String field, String message, Function<T, Object> accessor, Counter failures, long min, long max) {
+            super(field, RuleType.RANGE, message, accessor, failures);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        protected boolean accepts(Object value) {
+            if (value == null) {
+                return true;
+            }
+            long number = ((Number) value).longValue();
+            return number >= min && number <= max;
+        }
+    }
+
+    /** 列挙した文字列のいずれか */
+    private static final class TextEnum<T> extends ValidationRule<T> {
+
+        private final String[] values;
+
+        TextEnum(String field, String message, Function<T, Object> accessor, Counter failures, String[] values) {
+            super(field, RuleType.ENUM, message, accessor, failures);
+            this.values = values;
+        }
+
+        @Override
+        protected boolean accepts(Object value) {
+            String text = (String) value;
+            if (text == null || text.isEmpty()) {
+                return true;
+            }
+            for (String candidate : values) {
+                if (candidate.equals(text)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** 列挙した整数のいずれか */
+    private static final class IntegralEnum<T> extends ValidationRule<T> {
+
+        private final long[] values;
+
+        IntegralEnum(String field, String message, Function<T, Object> accessor, Counter failures, long[] values) {
+            super(field, RuleType.ENUM, message, accessor, failures);
+            this.values = values;
+        }
+
+        @Override
+        protected boolean accepts(Object value) {
+            if (value == null) {
+                return true;
+            }
+            long number = ((Number) value).longValue();
+            for (long candidate : values) {
+                if (candidate == number) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.batch.validator.rule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 設定で宣言するバリデーションルール（{@code batch.validation}）。
+ *
+ * <p>
+ * {@code rules} のキーは対象のデータ（{@code customer} / {@code company}）で、
+ * ルールは宣言した順に判定され、エラーメッセージもその順に連結されます。
+ * </p>
+ *
+ * <pre>
+ * batch:
+ *   validation:
+ *     rules:
+ *       customer:
+ *         - field: customerCode
+ *           type: required
+ *           message: 顧客コードは必須です
+ *         - field: genderCode
+ *           type: enum
+ *           values: [1, 2]
+ *           message: 性別コードは1（男性）または2（女性）である必要があります
+ * </pre>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see ValidationRuleCompiler
+ */
+@Data
+@ConfigurationProperties(prefix = "batch.validation")
+public class ValidationRuleProperties {
+
+    /** 対象のデータ → ルールの定義（宣言順） */
+    private Map<String, List<RuleDefinition>> rules = new LinkedHashMap<>();
+
+    /**
+     * @param target 対象のデータ（customer / company）
+     * @return ルールの定義（宣言されていない場合は空）
+     */
+    public List<RuleDefinition> getRules(String target) {
+        return rules.getOrDefault(target, List.of());
+    }
+
+    /**
+     * 1つのルールの定義。
+     */
+    @Data
+    public static class RuleDefinition {
+
+        /** 対象の項目（DTOのプロパティ名） */
+        private String field;
+
+        /** ルールの種類（required / length / pattern / format / range / enum） */
+        private String type;
+
+        /** 下限（length: 文字数、range: 値） */
+        private Long min;
+
+        /** 上限（length: 文字数、range: 値） */
+        private Long max;
+
+        /** 正規表現（pattern） */
+        private String pattern;
+
+        /** 組み込みの形式（format: email / phone / postal-code） */
+        private String format;
+
+        /** 許可する値（enum） */
+        private List<String> values = new ArrayList<>();
+
+        /** エラーメッセージ（required以外は「: 値」を付けて出力） */
+        private String message;
+    }
+}
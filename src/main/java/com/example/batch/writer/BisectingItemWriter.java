@@ -0,0 +1,229 @@
+package com.example.batch.writer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.batch.error.DataErrorPolicy;
+import com.example.batch.error.ErrorClassifier;
+import com.example.batch.listener.CustomSkipListener;
+
+/**
+ * 書き込みがデータのエラー（制約違反など）で失敗した場合に、チャンクを二分して原因の行を特定するWriter。
+ *
+ * <p>
+ * Spring Batchは書き込みエラーをスキップする場合、チャンクをロールバックし、
+ * 1件ずつ別のトランザクションで処理・書き込みし直します（500件のチャンクでは500トランザクション）。
+ * このWriterは、トランザクションのコネクションにセーブポイントを設定して元のWriterに書き込み、
+ * データのエラーで失敗した場合はセーブポイントまで戻して、チャンクを半分ずつに分けて書き込み直します。
+ * 不正な行がk件の場合、約 k log n 回の書き込みで特定でき、チャンクのトランザクションはロールバックされません。
+ * </p>
+ *
+ * <p>
+ * 特定した行は{@link CustomSkipListener#onSkipInWrite}に渡し、ステップの書き込みスキップ件数に計上します
+ * （書き込み件数からは除きます）。除外件数とスキップ件数の合計がスキップ上限を超えた場合は
+ * ステップを失敗させます。データのエラー以外の例外（一時的なエラーなど）はそのまま送出し、
+ * ステップ・書き込みプールのリトライに従います。
+ * </p>
+ *
+ * <p>
+ * 件数の計上と通知は、書き込んだトランザクションのコミット後に行います。
+ * トランザクションがロールバックされた場合（後続の書き込みの失敗・リトライなど）は計上せず、
+ * 再度書き込んだ際に特定した行をそのコミット後に計上するため、件数や出力が重複しません。
+ * </p>
+ *
+ * <p>
+ * 元のWriterは{@link DataSourceUtils}でトランザクションのコネクションを使用するWriter
+ * （COPY・Upsert・ステージング）である必要があります。JPAのWriterは永続化コンテキストが
+ * セーブポイントまで戻らないため対象外です。
+ * </p>
+ *
+ * @param <T> 書き込むアイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class BisectingItemWriter<T> implements ItemWriter<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BisectingItemWriter.class);
+
+    private final ItemWriter<T> delegate;
+
+    private final DataSource dataSource;
+
+    private final ErrorClassifier classifier;
+
+    private final DataErrorPolicy errorPolicy;
+
+    private final CustomSkipListener<?, T> skipListener;
+
+    private final StepExecution stepExecution;
+
+    /**
+     * Writerを生成します。
+     *
+     * @param delegate      元のWriter
+     * @param dataSource    元のWriterが書き込むDataSource（セーブポイントの設定に使用）
+     * @param classifier    エラーの分類
+     * @param errorPolicy   スキップ上限の判定
+     * @param skipListener  特定した行の通知先
+     * @param stepExecution スキップ件数の計上先のステップ実行
+     */
+    public BisectingItemWriter(ItemWriter<T> delegate, DataSource dataSource, ErrorClassifier classifier,
+            DataErrorPolicy errorPolicy, CustomSkipListener<?, T> skipListener, StepExecution stepExecution) {
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.classifier = classifier;
+        this.errorPolicy = errorPolicy;
+        this.skipListener = skipListener;
+        this.stepExecution = stepExecution;
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            List<T> items = new ArrayList<>(chunk.getItems());
+            Exception error = tryWrite(connection, items);
+            if (error == null) {
+                return;
+            }
+            List<Rejected<T>> rejected = new ArrayList<>();
+            int[] writes = { 1 };
+            bisect(connection, items, error, rejected, writes);
+            logger.warn("【書き込み分割】{} 件中 {} 件の不正な行を {} 回の書き込みで特定しました",
+                    items.size(), rejected.size(), writes[0]);
+            afterCommit(rejected);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * 失敗した範囲を半分ずつ書き込み直し、失敗した1件を特定します。
+     *
+     * @param connection トランザクションのコネクション
+     * @param items      失敗した範囲
+     * @param error      失敗した範囲の例外
+     * @param rejected   特定した行の追加先
+     * @param writes     書き込み回数（ログ出力用）
+     */
+    private void bisect(Connection connection, List<T> items, Exception error, List<Rejected<T>> rejected,
+            int[] writes) throws Exception {
+        if (items.size() == 1) {
+            rejected.add(new Rejected<>(items.get(0), error));
+            return;
+        }
+        int middle = items.size() >>> 1;
+        for (List<T> half : List.of(items.subList(0, middle), items.subList(middle, items.size()))) {
+            writes[0]++;
+            Exception halfError = tryWrite(connection, half);
+            if (halfError != null) {
+                bisect(connection, half, halfError, rejected, writes);
+            }
+        }
+    }
+
+    /**
+     * セーブポイントを設定して書き込みます。
+     *
+     * @param connection トランザクションのコネクション
+     * @param items      書き込む行
+     * @return データのエラーで失敗した場合はその例外（セーブポイントまで戻し済み）、成功した場合null
+     * @throws Exception データのエラー以外で失敗した場合
+     */
+    private Exception tryWrite(Connection connection, List<T> items) throws Exception {
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            delegate.write(new Chunk<>(items));
+        } catch (Exception e) {
+            rollback(connection, savepoint, e);
+            if (!classifier.isDataError(e)) {
+                throw e;
+            }
+            return e;
+        }
+        connection.releaseSavepoint(savepoint);
+        return null;
+    }
+
+    private static void rollback(Connection connection, Savepoint savepoint, Exception error) {
+        try {
+            connection.rollback(savepoint);
+        } catch (SQLException e) {
+            // セーブポイントまで戻せない場合はトランザクション全体のロールバックに任せる
+            error.addSuppressed(e);
+        }
+    }
+
+    /**
+     * 特定した行の計上を、トランザクションのコミット後に行うよう登録します。
+     *
+     * <p>
+     * トランザクションの同期が有効でない場合は、その場で計上します。
+     * </p>
+     */
+    private void afterCommit(List<Rejected<T>> rejected) {
+        if (rejected.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reject(rejected);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reject(rejected);
+            }
+        });
+    }
+
+    /**
+     * 特定した行を書き込みスキップとして計上し、スキップリスナーに通知します。
+     */
+    private void reject(List<Rejected<T>> rejected) {
+        synchronized (stepExecution) {
+            // StepExecution#apply と同じロックで更新する（書き込み件数はチャンク全体で計上されるため除く）
+            stepExecution.setWriteSkipCount(stepExecution.getWriteSkipCount() + rejected.size());
+            stepExecution.setWriteCount(stepExecution.getWriteCount() - rejected.size());
+        }
+        // 書き込みプールのスレッドにはステップが登録されていないため、通知の間だけ登録する
+        boolean register = StepSynchronizationManager.getContext() == null;
+        if (register) {
+            StepSynchronizationManager.register(stepExecution);
+        }
+        try {
+            for (Rejected<T> row : rejected) {
+                skipListener.onSkipInWrite(row.item(), row.error());
+            }
+            errorPolicy.checkSkipLimit(stepExecution, rejected.get(rejected.size() - 1).error());
+        } finally {
+            if (register) {
+                StepSynchronizationManager.close();
+            }
+        }
+    }
+
+    /**
+     * 特定した行とその例外。
+     */
+    private record Rejected<T>(T item, Exception error) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.batch.writer;
+
+import java.util.List;
+
+import com.example.batch.entity.newdb.NewCompany;
+import com.example.batch.entity.newdb.NewCustomer;
+import com.example.batch.writer.TableMapping.Column;
+import com.example.batch.writer.TableMapping.ColumnType;
+
+/**
+ * 新データベースのテーブル（new_customers / new_companies）の列定義。
+ *
+ * <p>
+ * 列の並びと型は schema-new.sql と一致させてください。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public final class NewTableMappings {
+
+    /** new_customers テーブルの列定義 */
+    public static final TableMapping<NewCustomer> NEW_CUSTOMERS = new TableMapping<>("new_customers", "customer_id",
+            List.of(
+                    new Column<>("customer_id", ColumnType.VARCHAR, NewCustomer::getCustomerId),
+                    new Column<>("full_name", ColumnType.VARCHAR, NewCustomer::getFullName),
+                    new Column<>("email_address", ColumnType.VARCHAR, NewCustomer::getEmailAddress),
+                    new Column<>("phone_number", ColumnType.VARCHAR, NewCustomer::getPhoneNumber),
+                    new Column<>("full_address", ColumnType.VARCHAR, NewCustomer::getFullAddress),
+                    new Column<>("zip_code", ColumnType.VARCHAR, NewCustomer::getZipCode),
+                    new Column<>("registration_date", ColumnType.TIMESTAMP, NewCustomer::getRegistrationDate),
+                    new Column<>("is_active", ColumnType.BOOLEAN, NewCustomer::getIsActive),
+                    new Column<>("migrated_at", ColumnType.TIMESTAMP, NewCustomer::getMigratedAt),
+                    new Column<>("source_id", ColumnType.BIGINT, NewCustomer::getSourceId),
+                    new Column<>("gender", ColumnType.VARCHAR, NewCustomer::getGender)));
+
+    /** new_companies テーブルの列定義 */
+    public static final TableMapping<NewCompany> NEW_COMPANIES = new TableMapping<>("new_companies", "company_id",
+            List.of(
+                    new Column<>("company_id", ColumnType.VARCHAR, NewCompany::getCompanyId),
+                    new Column<>("company_name", ColumnType.VARCHAR, NewCompany::getCompanyName),
+                    new Column<>("representative", ColumnType.VARCHAR, NewCompany::getRepresentative),
+                    new Column<>("industry_category", ColumnType.VARCHAR, NewCompany::getIndustryCategory),
+                    new Column<>("employees", ColumnType.INTEGER, NewCompany::getEmployees),
+                    new Column<>("capital_amount", ColumnType.BIGINT, NewCompany::getCapitalAmount),
+                    new Column<>("foundation_date", ColumnType.DATE, NewCompany::getFoundationDate),
+                    new Column<>("office_address", ColumnType.VARCHAR, NewCompany::getOfficeAddress),
+                    new Column<>("zip_code", ColumnType.VARCHAR, NewCompany::getZipCode),
+                    new Column<>("contact_phone", ColumnType.VARCHAR, NewCompany::getContactPhone),
+                    new Column<>("contact_email", ColumnType.VARCHAR, NewCompany::getContactEmail),
+                    new Column<>("is_active", ColumnType.BOOLEAN, NewCompany::getIsActive),
+                    new Column<>("migrated_at", ColumnType.TIMESTAMP, NewCompany::getMigratedAt)));
+
+    private NewTableMappings() {
+    }
+}
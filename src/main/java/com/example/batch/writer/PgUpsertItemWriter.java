@@ -0,0 +1,159 @@
+package com.example.batch.writer;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.batch.writer.TableMapping.Column;
+
+/**
+ * 複数行の {@code INSERT ... ON CONFLICT DO UPDATE} でチャンクを一括Upsertする ItemWriter。
+ *
+ * <p>
+ * {@link UpsertItemWriter}はアイテムごとに {@code merge} を実行するため、
+ * 1件ごとにSELECTとUPDATE（またはINSERT）が発生し、永続化コンテキストも
+ * チャンク内で増え続けます。このWriterは業務キーの一意制約を使って
+ * データベース側で挿入・更新を判定するため、既存データの事前検索が不要で、
+ * チャンクあたり1回（{@link #MAX_ROWS_PER_STATEMENT}行ごと）の文で書き込みます。
+ * </p>
+ *
+ * <p>
+ * 同じ文の中で同じキーの行を2回更新するとエラーになるため、
+ * チャンク内で業務キーが重複する場合は後に読み込まれたアイテムを採用します。
+ * 書き込みは{@link JdbcTemplate}で行い、チャンクのトランザクションに参加します。
+ * </p>
+ *
+ * @param <T> エンティティの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see NewTableMappings
+ */
+public class PgUpsertItemWriter<T> implements ItemWriter<T> {
+
+    /** 1つの文で書き込む最大行数（バインド変数の上限 65535 を超えないようにする） */
+    public static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(PgUpsertItemWriter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TableMapping<T> mapping;
+
+    private final Column<T> keyColumn;
+
+    /** 最大行数のUpsert文（チャンクサイズが最大行数を超える場合に繰り返し使用する） */
+    private volatile Statement fullStatement;
+
+    /** 直近に使用した最大行数未満のUpsert文（行数の異なる端数のチャンクで文が増え続けないよう、1つだけ保持する） */
+    private volatile Statement lastStatement;
+
+    /**
+     * Writerを生成します。
+     *
+     * @param dataSource 新データベース用のDataSource
+     * @param mapping    書き込み先テーブルの列定義
+     */
+    public PgUpsertItemWriter(DataSource dataSource, TableMapping<T> mapping) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.mapping = mapping;
+        this.keyColumn = mapping.getColumns().stream()
+                .filter(column -> column.name().equals(mapping.getKeyColumn()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        List<T> rows = distinctByKey(chunk.getItems());
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<T> slice = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+            String sql = sqlFor(slice.size());
+            jdbcTemplate.update(sql, ps -> bind(ps, slice));
+        }
+        logger.debug("【Upsert】{} に {} 件のデータを書き込みました", mapping.getTable(), rows.size());
+    }
+
+    private List<T> distinctByKey(List<? extends T> items) {
+        Map<Object, T> byKey = new LinkedHashMap<>();
+        List<T> withoutKey = new ArrayList<>();
+        for (T item : items) {
+            Object key = keyColumn.valueOf(item);
+            if (key == null) {
+                // キーがない行は競合しないため、そのまま挿入する（NOT NULL制約があればエラーになる）
+                withoutKey.add(item);
+            } else {
+                byKey.remove(key);
+                byKey.put(key, item);
+            }
+        }
+        if (withoutKey.isEmpty() && byKey.size() == items.size()) {
+            return Collections.unmodifiableList(items);
+        }
+        List<T> rows = new ArrayList<>(byKey.values());
+        rows.addAll(withoutKey);
+        return rows;
+    }
+
+    private String sqlFor(int rowCount) {
+        Statement statement = rowCount == MAX_ROWS_PER_STATEMENT ? fullStatement : lastStatement;
+        if (statement == null || statement.rowCount() != rowCount) {
+            statement = new Statement(rowCount, buildSql(rowCount));
+            if (rowCount == MAX_ROWS_PER_STATEMENT) {
+                fullStatement = statement;
+            } else {
+                lastStatement = statement;
+            }
+        }
+        return statement.sql();
+    }
+
+    private String buildSql(int rowCount) {
+        String placeholders = mapping.getColumns().stream()
+                .map(column -> "?")
+                .collect(Collectors.joining(", ", "(", ")"));
+        StringBuilder sql = new StringBuilder(64 + rowCount * (placeholders.length() + 2));
+        sql.append("INSERT INTO ").append(mapping.getTable())
+                .append(" (").append(mapping.getColumnList()).append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(placeholders);
+        }
+        sql.append(' ').append(mapping.getConflictUpdateClause());
+        return sql.toString();
+    }
+
+    private void bind(PreparedStatement ps, List<T> rows) throws SQLException {
+        int index = 1;
+        for (T row : rows) {
+            for (Column<T> column : mapping.getColumns()) {
+                Object value = column.valueOf(row);
+                if (value == null) {
+                    ps.setNull(index++, column.type().getSqlType());
+                } else {
+                    ps.setObject(index++, value, column.type().getSqlType());
+                }
+            }
+        }
+    }
+
+    /**
+     * 行数ごとのUpsert文。
+     */
+    private record Statement(int rowCount, String sql) {
+    }
+}
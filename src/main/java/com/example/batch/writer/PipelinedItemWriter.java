@@ -0,0 +1,270 @@
+package com.example.batch.writer;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.batch.monitor.MonitoredStage;
+import com.example.batch.monitor.StageStatus;
+import com.example.batch.reader.CheckpointingSynchronizedItemReader;
+
+/**
+ * チャンクを書き込みスレッドのプールに渡し、複数のコネクションで並行に書き込むWriter。
+ *
+ * <p>
+ * 1ステップに1つのWriterでは、PostgreSQLへのコミットの待ち時間がスループットの上限になります。
+ * このWriterは{@link #write(Chunk)}で受け取ったチャンクを有界のキューに入れ、
+ * {@code batch.writer-pool.size}個の書き込みスレッドが、それぞれ専用のコネクションと
+ * トランザクションで元のWriterに書き込みます。キューが一杯の場合、チャンクのスレッドは
+ * 空きを待つため（バックプレッシャー）、メモリ上に滞留するチャンク数は
+ * プールのサイズとキューの容量の合計までに制限されます。
+ * </p>
+ *
+ * <p>
+ * チャンクのトランザクションのコミット時点ではまだ書き込まれていないため、
+ * Readerのリスタート位置は{@link CheckpointingSynchronizedItemReader}が管理し、
+ * 書き込みのコミット後に、それより前のチャンクがすべてコミット済みの位置までのみ進めます。
+ * </p>
+ *
+ * <p>
+ * 書き込みは一時的なデータアクセスエラー（デッドロックなど）の場合に最大3回再試行します。
+ * それ以外のエラーはスキップできないため（{@link BisectingItemWriter}で包んだ場合、データのエラーの行は
+ * 元のWriterの中でスキップされます）、以降のチャンクの受け付け時（{@link PipelinedWriteException}）
+ * またはステップ終了時にステップを失敗させます。ステップ終了時には書き込みの完了を待ってから
+ * Readerのリスタート位置を保存し直すため、リスタートするとプールでコミット済みの位置から再開します。
+ * チャンクは並行に書き込まれるため、同じキーを含む複数のチャンクの反映順は保証されません。
+ * </p>
+ *
+ * <p>
+ * 書き込みプールを使用する場合、次の点が通常の書き込みと異なります。
+ * </p>
+ * <ul>
+ *   <li>書き込みの失敗（{@link PipelinedWriteException}）はスキップされません。制約違反が1件でもあると
+ *   ステップは失敗します。データのエラーの行を除外するには{@code batch.write.bisect-on-error=true} を指定してください。</li>
+ *   <li>ステップ実行の書き込み件数・コミット数はチャンクのトランザクションのコミット時に計上されるため、
+ *   実行中は書き込みプールでまだ書き込まれていないチャンクを含みます。ステップ終了時
+ *   （{@link #afterStep(StepExecution)}）に書き込みの完了を待ち、失敗した場合はステップを失敗させます。</li>
+ *   <li>チャンクのトランザクションの永続化コンテキストで管理されているエンティティは渡せません。
+ *   JPAでのUpsert（{@code writerMode=jpa}・{@code upsertEnabled=true}）とは併用できません。</li>
+ * </ul>
+ *
+ * <p>
+ * プールのサイズが1以下の場合は、チャンクのスレッド・トランザクションでそのまま元のWriterに書き込みます。
+ * </p>
+ *
+ * @param <T> 書き込むアイテムの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class PipelinedItemWriter<T> implements ItemWriter<T>, StepExecutionListener, MonitoredStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelinedItemWriter.class);
+
+    /** 一時的なエラーで再試行する最大回数 */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ItemWriter<T> delegate;
+
+    private final CheckpointingSynchronizedItemReader<?> reader;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int poolSize;
+
+    private final int queueCapacity;
+
+    private volatile ThreadPoolExecutor executor;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Writerを生成します。
+     *
+     * @param delegate           元のWriter
+     * @param reader             リスタート位置を管理するReader
+     * @param transactionManager 書き込みスレッドのトランザクションマネージャー
+     * @param poolSize           書き込みスレッド数
+     * @param queueCapacity      書き込み待ちのチャンクを保持するキューの容量
+     */
+    public PipelinedItemWriter(ItemWriter<T> delegate, CheckpointingSynchronizedItemReader<?> reader,
+            PlatformTransactionManager transactionManager, int poolSize, int queueCapacity) {
+        this.delegate = delegate;
+        this.reader = reader;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.poolSize = poolSize;
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    /**
+     * @return 書き込みプールを使用する場合true
+     */
+    public boolean isPipelined() {
+        return poolSize > 1;
+    }
+
+    /**
+     * 書き込みプールの処理中のスレッド数と書き込み待ちのチャンク数を返す関数を返します。
+     *
+     * @return 状態を返す関数（書き込みプールを使用しない場合はnull）
+     */
+    @Override
+    public Supplier<StageStatus> monitor() {
+        if (!isPipelined()) {
+            return null;
+        }
+        return () -> {
+            ThreadPoolExecutor pool = executor;
+            return pool == null
+                    ? new StageStatus("writerPool", 0, poolSize, 0, queueCapacity)
+                    : new StageStatus("writerPool", pool.getActiveCount(), poolSize, pool.getQueue().size(),
+                            queueCapacity);
+        };
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (!isPipelined() || executor != null) {
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        String prefix = "writer-" + stepExecution.getStepName() + "-";
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> Thread.ofPlatform().daemon().name(prefix + threadNumber.incrementAndGet())
+                        .unstarted(runnable),
+                (runnable, pool) -> {
+                    // キューが一杯の場合は空きを待つ
+                    try {
+                        pool.getQueue().put(runnable);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("書き込み待ちが中断されました", e);
+                    }
+                });
+        failure.set(null);
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (!isPipelined()) {
+            delegate.write(chunk);
+            return;
+        }
+        checkFailure();
+        // チャンクのリストは処理後に再利用される場合があるため、書き込み用に複製する
+        Chunk<T> copy = new Chunk<>(new ArrayList<>(chunk.getItems()));
+        Runnable completion = reader.detachCurrentChunk();
+        executor.execute(() -> writeChunk(copy, completion));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (executor == null) {
+            return null;
+        }
+        ThreadPoolExecutor pool = executor;
+        executor = null;
+        pool.shutdown();
+        try {
+            // 書き込み待ちのチャンクがすべてコミットされるまで待つ
+            while (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.info("【書き込みプール】{} の書き込み完了を待機しています（残り: {} チャンク）",
+                        stepExecution.getStepName(), pool.getQueue().size() + pool.getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        // 最後のチャンクの位置はプールでのコミット前に保存されているため、書き込みの完了後の位置を保存し直す
+        // （ステップのExecutionContextはafterStepの後に保存される）
+        reader.update(stepExecution.getExecutionContext());
+        Throwable error = failure.get();
+        if (error == null) {
+            return null;
+        }
+        // afterStepの例外はステップの状態に反映されないため、ここで失敗として記録する
+        stepExecution.setStatus(BatchStatus.FAILED);
+        stepExecution.addFailureException(error);
+        return ExitStatus.FAILED.addExitDescription(error);
+    }
+
+    private void writeChunk(Chunk<T> chunk, Runnable completion) {
+        if (failure.get() != null) {
+            // 先行するチャンクが失敗した場合は、リスタート時に再処理する
+            return;
+        }
+        for (int attempt = 1;; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        delegate.write(chunk);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new PipelinedWriteException("チャンクの書き込みに失敗しました", e);
+                    }
+                });
+                completion.run();
+                return;
+            } catch (TransientDataAccessException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    fail(e);
+                    return;
+                }
+                logger.warn("【書き込みプール】一時的なエラーのため再試行します（{}/{}）: {}",
+                        attempt, MAX_ATTEMPTS, e.getMessage());
+            } catch (RuntimeException | Error e) {
+                fail(e);
+                return;
+            }
+        }
+    }
+
+    private void fail(Throwable error) {
+        if (failure.compareAndSet(null, error)) {
+            logger.error("【書き込みプール】チャンクの書き込みに失敗しました", error);
+        }
+    }
+
+    private void checkFailure() {
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new PipelinedWriteException("書き込みプールでチャンクの書き込みに失敗しました", error);
+        }
+    }
+
+    /**
+     * 書き込みプールでの書き込みの失敗を表す例外。スキップ・再試行の対象外です。
+     */
+    public static class PipelinedWriteException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 例外を生成します。
+         *
+         * @param message メッセージ
+         * @param cause   原因
+         */
+        public PipelinedWriteException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.batch.writer;
+
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * ステージングテーブルに蓄積したデータを、ステップ終了時に集合演算で移行先テーブルへ反映するリスナー。
+ *
+ * <p>
+ * ジョブパラメータ {@code writerMode=staging} の場合、各チャンクは
+ * {@link PgCopyItemWriter}でステップ実行ごとのUNLOGGEDテーブルにCOPYされるだけで、
+ * 一意制約の判定などの重い処理はチャンクのトランザクションから除かれます。
+ * ステップが正常に終了すると、1つのトランザクションで
+ * {@code INSERT ... SELECT ... ON CONFLICT DO UPDATE} を実行してステージングテーブルを削除します。
+ * </p>
+ *
+ * <p>
+ * ステージングテーブル名はジョブインスタンスIDとステップ名から決まるため、
+ * 失敗したステップをリスタートすると同じテーブルを引き継いで残りのデータを追加し、
+ * 最後にまとめて反映します。同じ業務キーが複数回ステージングされた場合は、
+ * 最後にCOPYされた行を採用します。
+ * </p>
+ *
+ * <p>
+ * 制約違反（文字数超過など）はアイテム単位のスキップではなく反映時のエラーとなり、
+ * ステップは失敗します（ステージングテーブルは残るため、原因を調査できます）。
+ * UNLOGGEDテーブルはデータベースのクラッシュ時に空になるため、
+ * その場合はジョブを最初から実行し直してください。
+ * </p>
+ *
+ * <p>
+ * 反映件数と所要時間はステップの{@code ExecutionContext}に記録され、
+ * {@code StatisticsReportListener}がレポートに出力します。
+ * </p>
+ *
+ * @param <T> エンティティの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public class StagingTableMerger<T> implements StepExecutionListener {
+
+    /** ExecutionContextのキー: ステージングされた行数 */
+    public static final String STAGED_ROWS_KEY = "staging.stagedRows";
+
+    /** ExecutionContextのキー: 移行先テーブルに反映した行数 */
+    public static final String MERGED_ROWS_KEY = "staging.mergedRows";
+
+    /** ExecutionContextのキー: 反映の所要時間（ミリ秒） */
+    public static final String MERGE_MILLIS_KEY = "staging.mergeMillis";
+
+    /** ステージングテーブルで行の順序を保持する列 */
+    private static final String SEQUENCE_COLUMN = "stg_seq";
+
+    private static final Logger logger = LoggerFactory.getLogger(StagingTableMerger.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TableMapping<T> target;
+
+    /**
+     * リスナーを生成します。
+     *
+     * @param dataSource         新データベース用のDataSource
+     * @param transactionManager 反映時のトランザクションマネージャー
+     * @param target             移行先テーブルの列定義
+     */
+    public StagingTableMerger(DataSource dataSource, PlatformTransactionManager transactionManager,
+            TableMapping<T> target) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.target = target;
+    }
+
+    /**
+     * ステップ実行のステージングテーブル名を返します。
+     *
+     * @param table         移行先テーブル名
+     * @param stepExecution ステップ実行
+     * @return ステージングテーブル名
+     */
+    public static String stagingTableName(String table, StepExecution stepExecution) {
+        // パーティションのワーカー名（xxxStep:partitionN）は識別子に使えないため、ハッシュ値にする
+        return "stg_" + table + "_" + stepExecution.getJobExecution().getJobInstance().getInstanceId()
+                + "_" + Integer.toHexString(stepExecution.getStepName().hashCode());
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (!isStagingMode(stepExecution)) {
+            return;
+        }
+        String stagingTable = stagingTableName(target.getTable(), stepExecution);
+        jdbcTemplate.execute("CREATE UNLOGGED TABLE IF NOT EXISTS " + stagingTable + " ("
+                + SEQUENCE_COLUMN + " BIGSERIAL, "
+                + target.getColumns().stream()
+                        .map(column -> column.name() + " " + column.type().getTypeName())
+                        .collect(Collectors.joining(", "))
+                + ")");
+        logger.info("【ステージング】ステージングテーブルを準備しました: {}", stagingTable);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (!isStagingMode(stepExecution)) {
+            return null;
+        }
+        String stagingTable = stagingTableName(target.getTable(), stepExecution);
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            logger.warn("【ステージング】ステップが正常終了しなかったため反映を保留します（リスタート時に反映）: {}",
+                    stagingTable);
+            return null;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            long[] counts = transactionTemplate.execute(status -> merge(stagingTable));
+            long elapsed = System.currentTimeMillis() - start;
+            stepExecution.getExecutionContext().putLong(STAGED_ROWS_KEY, counts[0]);
+            stepExecution.getExecutionContext().putLong(MERGED_ROWS_KEY, counts[1]);
+            stepExecution.getExecutionContext().putLong(MERGE_MILLIS_KEY, elapsed);
+            logger.info("【ステージング】{} → {}: ステージング {} 件、反映 {} 件（{} ms）",
+                    stagingTable, target.getTable(), counts[0], counts[1], elapsed);
+            return null;
+        } catch (RuntimeException e) {
+            // afterStepの例外はステップの状態に反映されないため、ここで失敗として記録する
+            logger.error("【ステージング】{} の反映に失敗しました", stagingTable, e);
+            stepExecution.setStatus(BatchStatus.FAILED);
+            stepExecution.addFailureException(e);
+            return ExitStatus.FAILED.addExitDescription(e);
+        }
+    }
+
+    private long[] merge(String stagingTable) {
+        Long staged = jdbcTemplate.queryForObject("SELECT count(*) FROM " + stagingTable, Long.class);
+        String columns = target.getColumnList();
+        int merged = jdbcTemplate.update("INSERT INTO " + target.getTable() + " (" + columns + ")"
+                + " SELECT DISTINCT ON (" + target.getKeyColumn() + ") " + columns
+                + " FROM " + stagingTable
+                + " ORDER BY " + target.getKeyColumn() + ", " + SEQUENCE_COLUMN + " DESC "
+                + target.getConflictUpdateClause());
+        jdbcTemplate.execute("DROP TABLE " + stagingTable);
+        return new long[] { staged != null ? staged : 0L, merged };
+    }
+
+    private static boolean isStagingMode(StepExecution stepExecution) {
+        return WriterMode.of(stepExecution.getJobParameters().getString("writerMode")) == WriterMode.STAGING;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.batch.writer;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.util.Assert;
+
+/**
+ * エンティティとテーブル列の対応を表す定義。
+ *
+ * <p>
+ * JPAを経由せずにJDBCで直接書き込むWriter（COPY、INSERT ... ON CONFLICT など）が、
+ * 列名・型・値の取得方法を共通で参照するために使用します。
+ * 主キー（自動採番のid）は含めず、業務キー（{@link #getKeyColumn()}）で行を特定します。
+ * </p>
+ *
+ * @param <T> エンティティの型
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ * @see NewTableMappings
+ */
+public final class TableMapping<T> {
+
+    /**
+     * 列の型。
+     */
+    public enum ColumnType {
+        /** 文字列（VARCHAR） */
+        VARCHAR(Types.VARCHAR, "text"),
+        /** 4バイト整数（INTEGER） */
+        INTEGER(Types.INTEGER, "integer"),
+        /** 8バイト整数（BIGINT） */
+        BIGINT(Types.BIGINT, "bigint"),
+        /** 真偽値（BOOLEAN） */
+        BOOLEAN(Types.BOOLEAN, "boolean"),
+        /** タイムゾーンなし日時（TIMESTAMP） */
+        TIMESTAMP(Types.TIMESTAMP, "timestamp"),
+        /** 日付（DATE） */
+        DATE(Types.DATE, "date");
+
+        private final int sqlType;
+
+        private final String typeName;
+
+        ColumnType(int sqlType, String typeName) {
+            this.sqlType = sqlType;
+            this.typeName = typeName;
+        }
+
+        /**
+         * @return {@link Types}の型コード
+         */
+        public int getSqlType() {
+            return sqlType;
+        }
+
+        /**
+         * @return DDLで使用するPostgreSQLの型名（文字列は長さ制限のないtext）
+         */
+        public String getTypeName() {
+            return typeName;
+        }
+    }
+
+    /**
+     * 1列分の定義。
+     *
+     * @param <T>      エンティティの型
+     * @param name     列名
+     * @param type     列の型
+     * @param accessor エンティティから値を取得する関数
+     */
+    public record Column<T>(String name, ColumnType type, Function<T, Object> accessor) {
+
+        /**
+         * エンティティから列の値を取得します。
+         *
+         * @param entity エンティティ
+         * @return 列の値（nullの場合あり）
+         */
+        public Object valueOf(T entity) {
+            return accessor.apply(entity);
+        }
+    }
+
+    private final String table;
+
+    private final String keyColumn;
+
+    private final List<Column<T>> columns;
+
+    /**
+     * 定義を生成します。
+     *
+     * @param table     テーブル名
+     * @param keyColumn 行を特定する業務キーの列名（一意制約あり）
+     * @param columns   書き込む列（定義順）
+     */
+    public TableMapping(String table, String keyColumn, List<Column<T>> columns) {
+        Assert.hasText(table, "table must not be empty");
+        Assert.notEmpty(columns, "columns must not be empty");
+        Assert.isTrue(columns.stream().anyMatch(column -> column.name().equals(keyColumn)),
+                "keyColumn must be one of columns");
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.columns = List.copyOf(columns);
+    }
+
+    /**
+     * @return テーブル名
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return 業務キーの列名
+     */
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    /**
+     * @return 書き込む列（定義順）
+     */
+    public List<Column<T>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 書き込み先のテーブル名だけを変更した定義を返します（ステージングテーブル用）。
+     *
+     * @param otherTable テーブル名
+     * @return 列定義が同じで、テーブル名が異なる定義
+     */
+    public TableMapping<T> withTable(String otherTable) {
+        return new TableMapping<>(otherTable, keyColumn, columns);
+    }
+
+    /**
+     * 業務キーが競合した場合に業務キー以外の全列を更新する句を返します。
+     *
+     * @return {@code ON CONFLICT (key) DO UPDATE SET col = EXCLUDED.col, ...}
+     */
+    public String getConflictUpdateClause() {
+        return "ON CONFLICT (" + keyColumn + ") DO UPDATE SET " + columns.stream()
+                .filter(column -> !column.name().equals(keyColumn))
+                .map(column -> column.name() + " = EXCLUDED." + column.name())
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * 列名をカンマ区切りで返します（SQLの列リスト用）。
+     *
+     * @return 列リスト
+     */
+    public String getColumnList() {
+        return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+    }
+}
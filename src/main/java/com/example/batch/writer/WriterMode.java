@@ -0,0 +1,71 @@
+package com.example.batch.writer;
+
+/**
+ * 新データベースへの書き込み方式（ジョブパラメータ writerMode）。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+public enum WriterMode {
+
+    /** JPAで1件ずつ永続化する（既定） */
+    JPA,
+
+    /** PostgreSQLのCOPYでチャンクを一括挿入する（挿入のみ） */
+    COPY,
+
+    /** 複数行の INSERT ... ON CONFLICT DO UPDATE でチャンクを一括Upsertする */
+    UPSERT,
+
+    /** ステップ実行ごとのステージングテーブルにCOPYし、ステップ終了時にまとめて反映する */
+    STAGING;
+
+    /**
+     * ジョブパラメータの値から書き込み方式を解決します。
+     *
+     * @param value ジョブパラメータの値（未指定の場合はJPA）
+     * @return 書き込み方式
+     * @throws IllegalArgumentException 未定義の値が指定された場合
+     */
+    public static WriterMode of(String value) {
+        if (value == null || value.isBlank()) {
+            return JPA;
+        }
+        for (WriterMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("writerMode が不正です: " + value);
+    }
+
+    /**
+     * プロセッサで既存エンティティを検索する必要があるかを返します。
+     *
+     * <p>
+     * JPAでUpsertする場合のみ、既存エンティティを更新対象として読み込みます。
+     * {@link #UPSERT}・{@link #STAGING}はデータベース側で競合を解決するため検索は不要です。
+     * </p>
+     *
+     * @param upsertEnabled ジョブパラメータ upsertEnabled が有効な場合true
+     * @return 検索が必要な場合true
+     */
+    public boolean requiresEntityLookup(boolean upsertEnabled) {
+        return this == JPA && upsertEnabled;
+    }
+
+    /**
+     * 書き込みエラー時にチャンクを二分して不正な行を特定できるかを返します。
+     *
+     * <p>
+     * JDBCでトランザクションのコネクションに書き込む方式のみ対象です。
+     * JPAは永続化コンテキストがセーブポイントまで戻らないため対象外です。
+     * </p>
+     *
+     * @return 特定できる場合true
+     * @see BisectingItemWriter
+     */
+    public boolean supportsBisect() {
+        return this != JPA;
+    }
+}
@@ -14,3 +14,21 @@ CREATE TABLE old_customers (
     status VARCHAR(20),
     gender_code INTEGER
 );
+
+DROP TABLE IF EXISTS old_companies CASCADE;
+
+CREATE TABLE old_companies (
+    id BIGSERIAL PRIMARY KEY,
+    company_code VARCHAR(20) NOT NULL,
+    company_name VARCHAR(100) NOT NULL,
+    representative_name VARCHAR(100),
+    industry_type INTEGER,
+    employee_count INTEGER,
+    capital BIGINT,
+    established_date DATE,
+    address VARCHAR(255),
+    postal_code VARCHAR(10),
+    phone VARCHAR(20),
+    email VARCHAR(100),
+    status VARCHAR(20)
+);
@@ -0,0 +1,34 @@
+package com.example.batch.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * {@link ConnectionBudget}のテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class ConnectionBudgetTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            // maxPoolSize, reserved, stepThreads, writerPoolSize, asyncLookupConnections（0は非同期処理なし）, expected
+            "10, 2, 1, 1, 0, 8", // 1ステップ1本
+            "10, 2, 2, 1, 0, 4", // マルチスレッドステップ
+            "10, 2, 1, 3, 0, 2", // 書き込みプール（1 + 3本）
+            "10, 2, 1, 1, 1, 4", // 非同期処理の既存データの検索（1 + 1本）
+            "10, 2, 4, 4, 0, 1", // 1ステップが予算と同じ
+            "4, 2, 8, 1, 0, 1", // 1ステップが予算を超える
+            "1, 2, 1, 1, 0, 1" // 予算は最低1本
+    })
+    void maxConcurrentStepsDividesBudgetByStepConnections(int maxPoolSize, int reserved, int stepThreads,
+            int writerPoolSize, int asyncLookupConnections, int expected) {
+        ConnectionBudget budget = new ConnectionBudget(maxPoolSize, reserved, stepThreads, writerPoolSize,
+                asyncLookupConnections > 0, asyncLookupConnections);
+
+        assertThat(budget.getMaxConcurrentSteps()).isEqualTo(expected);
+    }
+}
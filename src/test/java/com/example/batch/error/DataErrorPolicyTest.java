@@ -0,0 +1,98 @@
+package com.example.batch.error;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import com.example.batch.metrics.BatchMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link DataErrorPolicy}の処理中の除外のテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class DataErrorPolicyTest {
+
+    private final List<RejectedItem> sink = new CopyOnWriteArrayList<>();
+
+    private final DataErrorPolicy policy = new DataErrorPolicy(new ErrorClassifier(), sink::add,
+            new BatchMetrics(new SimpleMeterRegistry()), 100);
+
+    private StepExecution stepExecution;
+
+    private ChunkContext chunkContext;
+
+    @BeforeEach
+    void setUp() {
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+        StepSynchronizationManager.register(stepExecution);
+        policy.beforeStep(stepExecution);
+        chunkContext = new ChunkContext(new StepContext(stepExecution));
+    }
+
+    @AfterEach
+    void tearDown() {
+        StepSynchronizationManager.close();
+    }
+
+    @Test
+    void publishesRejectsOnlyAfterChunkCommit() {
+        policy.beforeChunk(chunkContext);
+        assertThat(policy.rejectIfDataError("bad", new ValidationException("invalid"))).isTrue();
+        assertThat(sink).isEmpty();
+        assertThat(policy.rejectCount(stepExecution)).isZero();
+
+        policy.afterChunk(chunkContext);
+
+        assertThat(sink).extracting(RejectedItem::item).containsExactly("bad");
+        assertThat(policy.rejectCount(stepExecution)).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotDuplicateRejectsWhenChunkIsReprocessed() {
+        String item = new String("bad");
+
+        // 書き込みエラーでロールバックしたチャンク
+        policy.beforeChunk(chunkContext);
+        policy.rejectIfDataError(item, new ValidationException("invalid"));
+        policy.afterChunkError(chunkContext);
+        assertThat(sink).isEmpty();
+
+        // 1件ずつの再処理（スキャン）の1トランザクション目
+        policy.beforeChunk(chunkContext);
+        policy.rejectIfDataError(item, new ValidationException("invalid"));
+        policy.afterChunk(chunkContext);
+
+        // 2トランザクション目でも同じデータが再処理される
+        policy.beforeChunk(chunkContext);
+        policy.rejectIfDataError(item, new ValidationException("invalid"));
+        policy.afterChunk(chunkContext);
+
+        assertThat(sink).hasSize(1);
+        assertThat(policy.rejectCount(stepExecution)).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotRejectNonDataErrors() {
+        policy.beforeChunk(chunkContext);
+
+        assertThat(policy.rejectIfDataError("item", new IllegalStateException("bug"))).isFalse();
+        policy.afterChunk(chunkContext);
+
+        assertThat(sink).isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.batch.error;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.example.batch.writer.PipelinedItemWriter.PipelinedWriteException;
+
+/**
+ * {@link ErrorClassifier}のテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class ErrorClassifierTest {
+
+    private final ErrorClassifier classifier = new ErrorClassifier();
+
+    @ParameterizedTest
+    @CsvSource({
+            "23505, DATA", // unique_violation
+            "23503, DATA", // foreign_key_violation
+            "22001, DATA", // string_data_right_truncation
+            "22P02, DATA", // invalid_text_representation
+            "40001, TRANSIENT", // serialization_failure
+            "40P01, TRANSIENT", // deadlock_detected
+            "08006, FATAL", // connection_failure
+            "42P01, FATAL" // undefined_table
+    })
+    void classifiesBySqlStateClass(String sqlState, ErrorCategory expected) {
+        assertThat(classifier.classify(new SQLException("error", sqlState))).isEqualTo(expected);
+    }
+
+    @Test
+    void classifiesSqlExceptionInCauseChain() {
+        // JPAの書き込みではSQLExceptionは原因にのみ含まれる
+        RuntimeException error = new RuntimeException("flush failed",
+                new IllegalStateException("constraint", new SQLException("duplicate key", "23505")));
+
+        assertThat(classifier.classify(error)).isEqualTo(ErrorCategory.DATA);
+        assertThat(classifier.isDataError(error)).isTrue();
+    }
+
+    @Test
+    void treatsMissingSqlStateAsFatal() {
+        assertThat(classifier.classify(new SQLException("error"))).isEqualTo(ErrorCategory.FATAL);
+    }
+
+    @Test
+    void classifiesDataIntegrityViolationAsData() {
+        assertThat(classifier.classify(new DataIntegrityViolationException("duplicate")))
+                .isEqualTo(ErrorCategory.DATA);
+    }
+
+    @Test
+    void treatsSkipLimitAndWriterPoolFailuresAsFatalRegardlessOfCause() {
+        SQLException dataError = new SQLException("duplicate key", "23505");
+
+        assertThat(classifier.classify(new SkipLimitExceededException(10, dataError)))
+                .isEqualTo(ErrorCategory.FATAL);
+        assertThat(classifier.classify(new PipelinedWriteException("failed", dataError)))
+                .isEqualTo(ErrorCategory.FATAL);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.batch.error;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.example.batch.dto.OldCustomerDto;
+import com.example.batch.entity.newdb.NewCustomer;
+import com.example.batch.mapper.OldCustomerMapper;
+
+/**
+ * {@link FileRejectSink}の出力を再処理用のReaderで読み込めることのテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class FileRejectSinkTest {
+
+    private static final long JOB_EXECUTION_ID = 42L;
+
+    private static final String STEP_NAME = "customerMigrationStep";
+
+    /** 列の順序が定義順と異なり、定義にない列（note）を含む入力ファイルのヘッダー行 */
+    private static final String SOURCE_HEADER = "status\tcustomer_code\tnote\tcustomer_name\temail\tphone\taddress"
+            + "\tpostal_code\tcreated_at\tgender_code";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesRejectsThatReplayReaderCanRead() throws Exception {
+        FileRejectSink sink = new FileRejectSink(true, dir.toString(), 64, 100, new LoggingRejectSink());
+        sink.sourceHeader(JOB_EXECUTION_ID, "customer", SOURCE_HEADER);
+
+        // 読み込みエラー（入力ファイルの列の順序のまま。定義にない列があるため列数が一致しない）
+        String input = "ACTIVE\tC001\tmemo\t山田太郎\tyamada@example.com\t090-0000-0001\t東京都\t100-0001"
+                + "\t2025-01-01 10:00:00\t1";
+        sink.reject(new RejectedItem(JOB_EXECUTION_ID, STEP_NAME, "read", ErrorCategory.DATA, null,
+                new FlatFileParseException("Parsing error at line: 2", input, 2)));
+        // 処理中のエラー
+        sink.reject(new RejectedItem(JOB_EXECUTION_ID, STEP_NAME, "process", ErrorCategory.DATA,
+                customer("C002"), new ValidationException("invalid email")));
+        // 書き込みエラー（変換後のエンティティが変換前のデータを保持する）
+        NewCustomer entity = new NewCustomer();
+        entity.setCustomerId("C003");
+        entity.setSourceItem(customer("C003"));
+        sink.reject(new RejectedItem(JOB_EXECUTION_ID, STEP_NAME, "write", ErrorCategory.DATA, entity,
+                new DataIntegrityViolationException("duplicate key")));
+        sink.afterJob(new JobExecution(JOB_EXECUTION_ID));
+
+        List<Path> files = FileRejectSink.rejectFiles(dir, JOB_EXECUTION_ID, "customer");
+        assertThat(files).hasSize(1);
+        List<String> lines = Files.readAllLines(files.get(0), StandardCharsets.UTF_8);
+        assertThat(lines.get(0)).isEqualTo(new OldCustomerMapper().getHeader());
+        assertThat(lines).anyMatch(line -> line.startsWith("# line=2 ") && line.contains(" input="));
+
+        List<OldCustomerDto> replayed = replay(files.get(0));
+
+        assertThat(replayed).extracting(OldCustomerDto::getCustomerCode).containsExactly("C001", "C002", "C003");
+        OldCustomerDto reordered = replayed.get(0);
+        assertThat(reordered.getCustomerName()).isEqualTo("山田太郎");
+        assertThat(reordered.getStatus()).isEqualTo("ACTIVE");
+        assertThat(reordered.getCreatedAt()).isEqualTo(LocalDateTime.of(2025, 1, 1, 10, 0));
+        assertThat(reordered.getGenderCode()).isEqualTo(1);
+        // 書き込みエラーのデータは変換前のデータとして出力される
+        assertThat(replayed.get(2)).extracting(OldCustomerDto::getCustomerName, OldCustomerDto::getCreatedAt)
+                .containsExactly("顧客C003", LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+    }
+
+    /**
+     * 再処理（replayRejects）と同じ設定のReaderで読み込みます。
+     */
+    private static List<OldCustomerDto> replay(Path file) throws Exception {
+        OldCustomerMapper mapper = new OldCustomerMapper();
+        FlatFileItemReader<OldCustomerDto> reader = new FlatFileItemReaderBuilder<OldCustomerDto>()
+                .name("replay")
+                .resource(new FileSystemResource(file))
+                .linesToSkip(1)
+                .comments("#")
+                .delimited()
+                .delimiter("\t")
+                .names("customerCode", "customerName", "email", "phone", "address", "postalCode", "createdAt",
+                        "status", "genderCode")
+                .skippedLinesCallback(mapper)
+                .fieldSetMapper(mapper)
+                .build();
+        List<OldCustomerDto> items = new ArrayList<>();
+        reader.open(new ExecutionContext());
+        try {
+            OldCustomerDto item;
+            while ((item = reader.read()) != null) {
+                items.add(item);
+            }
+        } finally {
+            reader.close();
+        }
+        return items;
+    }
+
+    private static OldCustomerDto customer(String code) {
+        OldCustomerDto dto = new OldCustomerDto();
+        dto.setCustomerCode(code);
+        dto.setCustomerName("顧客" + code);
+        dto.setEmail(code.toLowerCase() + "@example.com");
+        dto.setStatus("ACTIVE");
+        dto.setCreatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+        dto.setGenderCode(1);
+        return dto;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.batch.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link BatchMetrics}のジョブ終了時のメーターの削除のテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class BatchMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final BatchMetrics metrics = new BatchMetrics(registry);
+
+    @Test
+    void removesMetersOfFinishedJobExecution() {
+        StepExecution finished = stepExecution(1L);
+        StepExecution running = stepExecution(2L);
+        metrics.record(PipelineStage.WRITE, finished, 1_000L);
+        metrics.countRollback(finished);
+        metrics.record(PipelineStage.WRITE, running, 1_000L);
+        metrics.countRollback(running);
+
+        metrics.afterJob(finished.getJobExecution());
+
+        assertThat(registry.find(BatchMetrics.STAGE_TIMER).timers())
+                .extracting(timer -> timer.getId().getTag("executionId")).containsExactly("2");
+        assertThat(registry.find(BatchMetrics.ROLLBACK_COUNTER).counters())
+                .extracting(counter -> counter.getId().getTag("executionId")).containsExactly("2");
+    }
+
+    @Test
+    void registersMetersAgainAfterRemoval() {
+        StepExecution stepExecution = stepExecution(1L);
+        metrics.countRollback(stepExecution);
+        metrics.afterJob(stepExecution.getJobExecution());
+
+        metrics.countRollback(stepExecution);
+
+        assertThat(registry.get(BatchMetrics.ROLLBACK_COUNTER).counter().count()).isEqualTo(1.0);
+    }
+
+    private static StepExecution stepExecution(long jobExecutionId) {
+        JobExecution jobExecution = new JobExecution(new JobInstance(jobExecutionId, "dataMigrationJob"),
+                jobExecutionId, new JobParameters());
+        return jobExecution.createStepExecution("customerMigrationStep");
+    }
+}
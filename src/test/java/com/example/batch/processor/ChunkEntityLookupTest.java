@@ -0,0 +1,88 @@
+package com.example.batch.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+/**
+ * {@link ChunkEntityLookup}の非同期処理での検索のテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class ChunkEntityLookupTest {
+
+    private static final int ITEMS = 50;
+
+    /** 同時に実行中の検索数 */
+    private final AtomicInteger running = new AtomicInteger();
+
+    /** 同時に実行された検索数の最大 */
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    /** 実行した検索ごとのキー */
+    private final List<Collection<String>> queries = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void limitsConcurrentQueriesFromVirtualThreads() throws Exception {
+        ChunkEntityLookup<String, String, String> lookup = new ChunkEntityLookup<>(item -> item, entity -> entity,
+                this::find, true, 1);
+        ChunkContext chunkContext = new ChunkContext(new StepContext(MetaDataInstanceFactory.createStepExecution()));
+        lookup.beforeChunk(chunkContext);
+        for (int i = 0; i < ITEMS; i++) {
+            lookup.afterRead("key" + i);
+        }
+
+        // 非同期プロセッサと同様に、チャンクのスレッドから仮想スレッドを起動して同時に検索する
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < ITEMS; i++) {
+                String key = "key" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return lookup.find(key);
+                }));
+            }
+            start.countDown();
+        }
+
+        for (int i = 0; i < ITEMS; i++) {
+            assertThat(results.get(i).get()).isEqualTo(i % 2 == 0 ? "key" + i : null);
+        }
+        assertThat(maxRunning.get()).isEqualTo(1);
+        // 許可を待つ間に一括検索が終わるため、キーごとの個別検索は行わない
+        assertThat(queries).hasSize(1);
+        assertThat(queries.get(0)).hasSize(ITEMS);
+    }
+
+    /**
+     * 偶数番目のキーのエンティティが存在するものとして検索します。
+     */
+    private List<String> find(Collection<String> keys) {
+        queries.add(List.copyOf(keys));
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(20);
+            return keys.stream().filter(key -> Integer.parseInt(key.substring(3)) % 2 == 0).toList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.batch.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+/**
+ * {@link MappedTsvItemReader}のリスタートのテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class MappedTsvItemReaderTest {
+
+    /** 2行目のフィールド数が不正な入力（ヘッダー行・空行を含む） */
+    private static final String INPUT = "id\tname\n"
+            + "1\tA\n"
+            + "2\tB\textra\n"
+            + "\n"
+            + "3\tC\n"
+            + "4\tD\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restartsAfterReadSkipWithoutParsingSkippedLine() throws Exception {
+        Path file = write(INPUT);
+
+        MappedTsvItemReader<String> first = reader(file);
+        first.open(new ExecutionContext());
+        assertThat(first.read()).isEqualTo("1");
+        assertThatThrownBy(first::read).isInstanceOf(FlatFileParseException.class);
+        first.close();
+
+        // 保存したバイト位置を使わず、読込件数（読み込みエラーの行を含む2件）のみを指定して開く
+        MappedTsvItemReader<String> restarted = reader(file);
+        restarted.setCurrentItemCount(2);
+        restarted.open(new ExecutionContext());
+        assertThat(restarted.read()).isEqualTo("3");
+        assertThat(restarted.read()).isEqualTo("4");
+        assertThat(restarted.read()).isNull();
+        restarted.close();
+    }
+
+    @Test
+    void restartsFromSavedPosition() throws Exception {
+        Path file = write(INPUT);
+
+        MappedTsvItemReader<String> first = reader(file);
+        ExecutionContext context = new ExecutionContext();
+        first.open(context);
+        assertThat(first.read()).isEqualTo("1");
+        assertThatThrownBy(first::read).isInstanceOf(FlatFileParseException.class);
+        first.update(context);
+        first.close();
+
+        MappedTsvItemReader<String> restarted = reader(file);
+        restarted.open(context);
+        assertThat(restarted.read()).isEqualTo("3");
+        restarted.close();
+    }
+
+    @Test
+    void checkpointingReaderRestartsAtWatermarkAfterReadSkip() throws Exception {
+        Path file = write(INPUT);
+        ExecutionContext context = new ExecutionContext();
+        context.putLong("reader.watermark", 2L);
+
+        CheckpointingSynchronizedItemReader<String> reader = new CheckpointingSynchronizedItemReader<>(
+                reader(file), "reader", true);
+        reader.open(context);
+        assertThat(reader.read()).isEqualTo("3");
+        assertThat(reader.read()).isEqualTo("4");
+        assertThat(reader.read()).isNull();
+        reader.close();
+    }
+
+    private MappedTsvItemReader<String> reader(Path file) {
+        MappedTsvItemReader<String> reader = new MappedTsvItemReader<>(file, record -> record.getString(0));
+        reader.setName("reader");
+        reader.setLinesToSkip(1);
+        reader.setExpectedFieldCount(2);
+        // ウィンドウ境界を跨ぐ行の扱いも通るよう、小さなウィンドウでマップする
+        reader.setWindowSize(16);
+        return reader;
+    }
+
+    private Path write(String content) throws Exception {
+        return Files.writeString(dir.resolve("input.tsv"), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.batch.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * {@link FieldFormats}のテスト。
+ *
+ * <p>
+ * バリデータが以前使用していた正規表現の{@code matches()}と、判定結果が一致することを確認します。
+ * </p>
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class FieldFormatsTest {
+
+    static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    static final Pattern PHONE_PATTERN = Pattern.compile("^(0\\d{1,4}-\\d{1,4}-\\d{4}|0\\d{9,10})$");
+
+    static final Pattern ZIP_PATTERN = Pattern.compile("^\\d{3}-\\d{4}$");
+
+    /** 各形式の区切り・境界になる文字と、ASCII以外の数字・英字 */
+    private static final String ALPHABET = "0123456789aZz@.-+_ \t#٠０é";
+
+    private static final int RANDOM_INPUTS = 1_000_000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "user@example.com", "a@b.co", "a+b_c.d-e@sub.example.co.jp", ".@-.ab", "a@.ab", "a@b.c", "a@b.c1",
+            "a@b.", "@b.co", "a@@b.co", "a@b..co", "a@b.co.", "a@bco", "a@b-c.d-e", "a@1.23ab", "a b@c.co",
+            "a@b.ｃｏ", "user@example.com\n", "" })
+    void emailMatchesPattern(String value) {
+        assertThat(FieldFormats.isEmail(value)).as(value).isEqualTo(EMAIL_PATTERN.matcher(value).matches());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "03-1234-5678", "090-1234-5678", "0-1-1234", "01234-1234-1234", "012345-1-1234", "03-12345-5678",
+            "03--5678", "03-1234-567", "03-1234-56789", "03-1234-5678-", "0312345678", "09012345678",
+            "031234567", "090123456789", "3-1234-5678", "0a-1234-5678", "03-1234-５６７８", "0٠-1234-5678",
+            "-", "0", "" })
+    void phoneMatchesPattern(String value) {
+        assertThat(FieldFormats.isPhone(value)).as(value).isEqualTo(PHONE_PATTERN.matcher(value).matches());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "123-4567", "1234567", "12-34567", "123-456", "123-45678", "123_4567", "１２３-4567", "123-4567 ",
+            "" })
+    void postalCodeMatchesPattern(String value) {
+        assertThat(FieldFormats.isPostalCode(value)).as(value).isEqualTo(ZIP_PATTERN.matcher(value).matches());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", " ", "\t\n", " a ", "　" })
+    void blankMatchesTrim(String value) {
+        assertThat(FieldFormats.isBlank(value)).as(value).isEqualTo(value.trim().isEmpty());
+    }
+
+    @Test
+    void blankAcceptsNull() {
+        assertThat(FieldFormats.isBlank(null)).isTrue();
+    }
+
+    @Test
+    void randomInputsMatchPatterns() {
+        Random random = new Random(20240101L);
+        for (int i = 0; i < RANDOM_INPUTS; i++) {
+            String value = i % 2 == 0 ? randomString(random) : mutate(random, sample(random));
+            assertSame(value, FieldFormats::isEmail, EMAIL_PATTERN);
+            assertSame(value, FieldFormats::isPhone, PHONE_PATTERN);
+            assertSame(value, FieldFormats::isPostalCode, ZIP_PATTERN);
+        }
+    }
+
+    private static void assertSame(String value, Predicate<String> scanner, Pattern pattern) {
+        boolean expected = pattern.matcher(value).matches();
+        if (scanner.test(value) != expected) {
+            // 大量の入力を比較するため、一致した場合はメッセージを組み立てない
+            assertThat(scanner.test(value)).as("%s: \"%s\"", pattern, value).isEqualTo(expected);
+        }
+    }
+
+    private static String randomString(Random random) {
+        int length = random.nextInt(20);
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return value.toString();
+    }
+
+    /**
+     * 正しい形式の値を返します（一致・不一致の境界付近の入力を作るため）。
+     */
+    private static String sample(Random random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> "user.name+tag@mail.example.co.jp";
+            case 1 -> random.nextBoolean() ? "090-1234-5678" : "0312345678";
+            default -> "123-4567";
+        };
+    }
+
+    /**
+     * 1〜3文字を置換・挿入・削除します。
+     */
+    private static String mutate(Random random, String value) {
+        StringBuilder mutated = new StringBuilder(value);
+        int edits = 1 + random.nextInt(3);
+        for (int i = 0; i < edits; i++) {
+            int position = random.nextInt(mutated.length() + 1);
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            switch (random.nextInt(3)) {
+                case 0 -> mutated.insert(position, c);
+                case 1 -> {
+                    if (position < mutated.length()) {
+                        mutated.setCharAt(position, c);
+                    }
+                }
+                default -> {
+                    if (position < mutated.length()) {
+                        mutated.deleteCharAt(position);
+                    }
+                }
+            }
+        }
+        return mutated.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.batch.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.batch.error.DataErrorPolicy;
+import com.example.batch.error.ErrorClassifier;
+import com.example.batch.listener.CustomSkipListener;
+
+/**
+ * {@link BisectingItemWriter}のテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class BisectingItemWriterTest {
+
+    private final List<List<String>> committed = new ArrayList<>();
+
+    private DataSource dataSource;
+
+    private DataErrorPolicy errorPolicy;
+
+    private CustomSkipListener<Object, String> skipListener;
+
+    private StepExecution stepExecution;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.setSavepoint()).thenReturn(mock(Savepoint.class));
+        dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        errorPolicy = mock(DataErrorPolicy.class);
+        skipListener = mock(CustomSkipListener.class);
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+    }
+
+    @AfterEach
+    void tearDown() {
+        endTransaction();
+    }
+
+    @Test
+    void isolatesSingleBadRow() throws Exception {
+        List<String> items = List.of("1", "2", "bad-3", "4", "5", "6", "7", "8");
+        stepExecution.setWriteCount(items.size());
+
+        writer().write(new Chunk<>(items));
+
+        verify(skipListener).onSkipInWrite(eq("bad-3"), any(DataIntegrityViolationException.class));
+        verify(skipListener, times(1)).onSkipInWrite(any(), any());
+        assertThat(written()).containsExactlyInAnyOrder("1", "2", "4", "5", "6", "7", "8");
+        assertThat(stepExecution.getWriteSkipCount()).isEqualTo(1);
+        assertThat(stepExecution.getWriteCount()).isEqualTo(7);
+    }
+
+    @Test
+    void isolatesSeveralBadRows() throws Exception {
+        List<String> items = List.of("bad-1", "2", "3", "bad-4", "bad-5", "6", "7", "8", "9", "bad-10");
+        stepExecution.setWriteCount(items.size());
+
+        writer().write(new Chunk<>(items));
+
+        for (String bad : List.of("bad-1", "bad-4", "bad-5", "bad-10")) {
+            verify(skipListener).onSkipInWrite(eq(bad), any(DataIntegrityViolationException.class));
+        }
+        verify(skipListener, times(4)).onSkipInWrite(any(), any());
+        assertThat(written()).containsExactlyInAnyOrder("2", "3", "6", "7", "8", "9");
+        assertThat(stepExecution.getWriteSkipCount()).isEqualTo(4);
+        assertThat(stepExecution.getWriteCount()).isEqualTo(6);
+    }
+
+    @Test
+    void countsIsolatedRowsOnlyAfterCommit() throws Exception {
+        List<String> items = List.of("1", "bad-2", "3", "4");
+        stepExecution.setWriteCount(items.size());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // ロールバックされた書き込み（リトライ前）
+        writer().write(new Chunk<>(items));
+        endTransaction();
+        assertThat(stepExecution.getWriteSkipCount()).isZero();
+        verify(skipListener, never()).onSkipInWrite(any(), any());
+
+        // コミットされた書き込み
+        TransactionSynchronizationManager.initSynchronization();
+        writer().write(new Chunk<>(items));
+        assertThat(stepExecution.getWriteSkipCount()).isZero();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(skipListener, times(1)).onSkipInWrite(eq("bad-2"), any(DataIntegrityViolationException.class));
+        assertThat(stepExecution.getWriteSkipCount()).isEqualTo(1);
+        assertThat(stepExecution.getWriteCount()).isEqualTo(3);
+    }
+
+    private BisectingItemWriter<String> writer() {
+        return new BisectingItemWriter<>(chunk -> {
+            // 不正な行を含む書き込みは失敗し、セーブポイントまで戻される
+            if (chunk.getItems().stream().anyMatch(item -> item.startsWith("bad"))) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            committed.add(new ArrayList<>(chunk.getItems()));
+        }, dataSource, new ErrorClassifier(), errorPolicy, skipListener, stepExecution);
+    }
+
+    /**
+     * トランザクションの同期と、DataSourceUtilsが登録したコネクションを解除します。
+     */
+    private void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+    }
+
+    private List<String> written() {
+        return committed.stream().flatMap(List::stream).toList();
+    }
+}
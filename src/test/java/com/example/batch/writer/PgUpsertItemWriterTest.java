@@ -0,0 +1,108 @@
+package com.example.batch.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+
+import com.example.batch.writer.TableMapping.Column;
+import com.example.batch.writer.TableMapping.ColumnType;
+
+/**
+ * {@link PgUpsertItemWriter}が実行する文と、バインドする値のテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class PgUpsertItemWriterTest {
+
+    private static final TableMapping<Row> MAPPING = new TableMapping<>("rows", "id", List.of(
+            new Column<>("id", ColumnType.VARCHAR, Row::id),
+            new Column<>("name", ColumnType.VARCHAR, Row::name)));
+
+    /** 実行した文 */
+    private final List<String> statements = new ArrayList<>();
+
+    /** 実行した文ごとにバインドした値 */
+    private final List<List<Object>> parameters = new ArrayList<>();
+
+    private final PgUpsertItemWriter<Row> writer = new PgUpsertItemWriter<>(dataSource(), MAPPING);
+
+    @Test
+    void writesChunkInOneStatementKeepingLastItemPerKey() throws Exception {
+        writer.write(Chunk.of(new Row("1", "a"), new Row("2", "b"), new Row("1", "c")));
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0)).isEqualTo("INSERT INTO rows (id, name) VALUES (?, ?), (?, ?) "
+                + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name");
+        assertThat(parameters.get(0)).containsExactly("2", "b", "1", "c");
+    }
+
+    @Test
+    void splitsChunkAtMaxRowsPerStatement() throws Exception {
+        int size = PgUpsertItemWriter.MAX_ROWS_PER_STATEMENT * 2 + 3;
+        Chunk<Row> chunk = new Chunk<>(IntStream.range(0, size)
+                .mapToObj(i -> new Row(String.valueOf(i), "name" + i)).toList());
+
+        writer.write(chunk);
+        writer.write(chunk);
+
+        assertThat(parameters).extracting(List::size).containsExactly(2000, 2000, 6, 2000, 2000, 6);
+        // 同じ行数の文は保持した文を使用する
+        assertThat(statements.get(3)).isSameAs(statements.get(0));
+        assertThat(statements.get(5)).isSameAs(statements.get(2));
+    }
+
+    /**
+     * 実行した文とバインドした値を記録するDataSource。
+     */
+    private DataSource dataSource() {
+        Connection connection = proxy(Connection.class, (method, args) -> {
+            if (method.equals("prepareStatement")) {
+                statements.add((String) args[0]);
+                List<Object> values = new ArrayList<>();
+                parameters.add(values);
+                return proxy(PreparedStatement.class, (statementMethod, statementArgs) -> {
+                    if (statementMethod.equals("setObject")) {
+                        values.add(statementArgs[1]);
+                    }
+                    return statementMethod.equals("executeUpdate") ? 1 : null;
+                });
+            }
+            return null;
+        });
+        return proxy(DataSource.class, (method, args) -> method.equals("getConnection") ? connection : null);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    Object result = handler.invoke(method.getName(), args);
+                    if (result == null && method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    if (result == null && method.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    return result;
+                }));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object invoke(String method, Object[] args);
+    }
+
+    private record Row(String id, String name) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.batch.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import com.example.batch.reader.CheckpointingSynchronizedItemReader;
+
+/**
+ * {@link PipelinedItemWriter}のリスタート位置のテスト。
+ *
+ * @author Spring Batch Data Migration Team
+ * @version 1.0.0
+ */
+class PipelinedItemWriterTest {
+
+    private static final List<Integer> ITEMS = List.of(1, 2, 3, 4, 5, 6);
+
+    /** 書き込みプールでの書き込みを、チャンクのupdateの後まで止める */
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private StepExecution stepExecution;
+
+    private ExecutionContext executionContext;
+
+    private CheckpointingSynchronizedItemReader<Integer> reader;
+
+    @BeforeEach
+    void setUp() {
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+        executionContext = stepExecution.getExecutionContext();
+        reader = new CheckpointingSynchronizedItemReader<>(new ListReader(), "reader", true);
+        reader.open(executionContext);
+    }
+
+    @Test
+    void savesWatermarkAfterPoolCommitsLastChunks() throws Exception {
+        PipelinedItemWriter<Integer> writer = writer(chunk -> release.await());
+
+        runChunks(writer);
+        // 最後のチャンクのupdateの時点では、プールでまだ1件もコミットされていない
+        assertThat(executionContext.getLong("reader.watermark")).isZero();
+
+        release.countDown();
+        assertThat(writer.afterStep(stepExecution)).isNull();
+        assertThat(executionContext.getLong("reader.watermark")).isEqualTo(6);
+    }
+
+    @Test
+    void restartsAfterPoolFailureWithoutRewritingCommittedChunks() throws Exception {
+        // 3番目のチャンクは、先行する2つのチャンクの書き込み後に失敗させる
+        CountDownLatch written = new CountDownLatch(2);
+        PipelinedItemWriter<Integer> writer = writer(chunk -> {
+            release.await();
+            if (chunk.getItems().contains(5)) {
+                written.await();
+                throw new IllegalStateException("duplicate key");
+            }
+            written.countDown();
+        });
+
+        runChunks(writer);
+        release.countDown();
+        ExitStatus exitStatus = writer.afterStep(stepExecution);
+
+        assertThat(exitStatus.getExitCode()).isEqualTo(ExitStatus.FAILED.getExitCode());
+        assertThat(stepExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+        // 1・2番目のチャンクはコミット済み、3番目のチャンクから再開する
+        assertThat(executionContext.getLong("reader.watermark")).isEqualTo(4);
+
+        CheckpointingSynchronizedItemReader<Integer> restarted = new CheckpointingSynchronizedItemReader<>(
+                new ListReader(), "reader", true);
+        restarted.open(executionContext);
+        assertThat(restarted.read()).isEqualTo(5);
+        assertThat(restarted.read()).isEqualTo(6);
+        assertThat(restarted.read()).isNull();
+    }
+
+    private PipelinedItemWriter<Integer> writer(ItemWriter<Integer> delegate) {
+        PipelinedItemWriter<Integer> writer = new PipelinedItemWriter<>(delegate, reader,
+                new ResourcelessTransactionManager(), 2, 4);
+        writer.beforeStep(stepExecution);
+        return writer;
+    }
+
+    /**
+     * 2件ずつのチャンクを、チャンクのスレッドと同じ順序（読み込み・書き込み・update・コミット）で処理します。
+     */
+    private void runChunks(PipelinedItemWriter<Integer> writer) throws Exception {
+        for (int i = 0; i < ITEMS.size() / 2; i++) {
+            ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+            reader.beforeChunk(chunkContext);
+            writer.write(Chunk.of(reader.read(), reader.read()));
+            reader.update(executionContext);
+            reader.afterChunk(chunkContext);
+        }
+    }
+
+    /**
+     * {@link #ITEMS}を読み込むReader。
+     */
+    private static class ListReader extends AbstractItemCountingItemStreamItemReader<Integer> {
+
+        ListReader() {
+            setName("list");
+        }
+
+        @Override
+        protected Integer doRead() {
+            int index = getCurrentItemCount() - 1;
+            return index < ITEMS.size() ? ITEMS.get(index) : null;
+        }
+
+        @Override
+        protected void doOpen() {
+        }
+
+        @Override
+        protected void doClose() {
+        }
+    }
+}